@@ -0,0 +1,62 @@
+package com.study.moya.roadmap;
+
+import com.study.moya.ai_roadmap.util.WorksheetResponseParser;
+import com.study.moya.ai_roadmap.util.WorksheetStreamParser;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 기존 정규식 파서와 단일 순회 파서의 처리량/할당량 비교 (gc 프로파일러의 gc.alloc.rate.norm 으로 호출당 할당 바이트 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WorksheetResponseParserBenchmark {
+
+    // 한 그룹(7일)과 큰 응답(28일)
+    @Param({"7", "28"})
+    private int days;
+
+    private String response;
+    private String[] chunks;
+    private WorksheetResponseParser parser;
+
+    @Setup
+    public void setUp() {
+        response = WorksheetResponseFixtures.largeResponse(new Random(7), days);
+        // 스트리밍 응답의 토큰 조각과 비슷한 크기로 나눈다
+        chunks = new String[(response.length() + 3) / 4];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = response.substring(i * 4, Math.min(response.length(), i * 4 + 4));
+        }
+        parser = new WorksheetResponseParser();
+    }
+
+    @Benchmark
+    public Map<Integer, String> legacyRegex() {
+        return LegacyWorksheetResponseParser.parseResponse(response);
+    }
+
+    @Benchmark
+    public Map<Integer, String> singlePass() {
+        return parser.parseResponse(response);
+    }
+
+    @Benchmark
+    public Map<Integer, String> singlePassStreamed() {
+        WorksheetStreamParser streamParser = parser.newStreamParser();
+        for (String chunk : chunks) {
+            streamParser.feed(chunk);
+        }
+        return streamParser.finish();
+    }
+}
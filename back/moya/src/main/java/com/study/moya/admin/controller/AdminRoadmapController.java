@@ -212,6 +212,19 @@ public class AdminRoadmapController {
         ));
     }
 
+    @Operation(summary = "로드맵 생성 캐시 삭제", description = "동일 요청 재사용을 위한 로드맵 생성 캐시를 모두 비웁니다")
+    @SwaggerSuccessResponse(status = 200, name = "캐시 삭제 성공", value = RoadmapUpdateResponse.class)
+    @DeleteMapping("/generation-cache")
+    public ResponseEntity<RoadmapUpdateResponse> purgeGenerationCache() {
+        log.info("어드민 - 로드맵 생성 캐시 삭제 요청");
+
+        int purged = adminRoadmapService.purgeGenerationCache();
+
+        return ResponseEntity.ok(RoadmapUpdateResponse.success(
+                String.format("로드맵 생성 캐시 %d건이 삭제되었습니다", purged)
+        ));
+    }
+
     @Operation(summary = "전체 로드맵 목록 조회", description = "관리자용 전체 로드맵 목록을 조회합니다")
     @SwaggerSuccessResponse(status = 200, name = "전체 로드맵 조회 성공", value = List.class)
     @SwaggerErrorDescription(name = "조회 실패", description = "로드맵 목록 조회 중 오류가 발생했습니다", value = AdminErrorCode.class, code = "STATISTICS_RETRIEVAL_FAILED")
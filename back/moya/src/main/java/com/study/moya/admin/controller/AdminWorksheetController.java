@@ -5,7 +5,9 @@ import com.study.moya.admin.dto.roadmap.response.WorksheetResponse;
 import com.study.moya.admin.exception.AdminErrorCode;
 import com.study.moya.admin.service.AdminWorksheetService;
 import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
+import com.study.moya.ai_roadmap.dto.response.WorksheetCompressionStatusResponse;
 import com.study.moya.ai_roadmap.dto.response.WorksheetStatusResponse;
+import com.study.moya.ai_roadmap.service.WorksheetCompressionMigration;
 import com.study.moya.swagger.annotation.SwaggerErrorDescription;
 import com.study.moya.swagger.annotation.SwaggerErrorDescriptions;
 import com.study.moya.swagger.annotation.SwaggerSuccessResponse;
@@ -15,6 +17,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,6 +32,7 @@ import java.util.List;
 public class AdminWorksheetController {
 
     private final AdminWorksheetService adminWorksheetService;
+    private final WorksheetCompressionMigration worksheetCompressionMigration;
 
     @Operation(summary = "워크시트 생성", description = "특정 로드맵의 모든 워크시트를 비동기로 생성합니다")
     @SwaggerSuccessResponse(status = 202, name = "워크시트 생성 요청 수락됨")
@@ -124,4 +128,23 @@ public class AdminWorksheetController {
         log.info("일간계획 ID: {}의 워크시트 삭제 완료", dailyPlanId);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "학습지 압축 이관 시작", description = "압축 도입 전에 저장된 학습지를 청크 단위로 압축해 다시 저장합니다 (이미 진행 중이면 409)")
+    @SwaggerSuccessResponse(status = 202, name = "학습지 압축 이관 시작됨", value = WorksheetCompressionStatusResponse.class)
+    @PostMapping("/compression/migrate")
+    public ResponseEntity<WorksheetCompressionStatusResponse> migrateCompression(
+            @Parameter(description = "한 번에 처리할 행 수", example = "500")
+            @RequestParam(defaultValue = "500") int chunkSize) {
+        boolean started = worksheetCompressionMigration.start(chunkSize);
+        log.info("학습지 압축 이관 요청 - 청크 크기: {}, 시작 여부: {}", chunkSize, started);
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(worksheetCompressionMigration.getStatus());
+    }
+
+    @Operation(summary = "학습지 압축 이관 상태 조회", description = "처리한 행 수와 절감한 바이트 수를 조회합니다")
+    @SwaggerSuccessResponse(status = 200, name = "학습지 압축 이관 상태 조회 성공", value = WorksheetCompressionStatusResponse.class)
+    @GetMapping("/compression/status")
+    public ResponseEntity<WorksheetCompressionStatusResponse> getCompressionStatus() {
+        return ResponseEntity.ok(worksheetCompressionMigration.getStatus());
+    }
+}
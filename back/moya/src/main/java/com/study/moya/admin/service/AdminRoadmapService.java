@@ -2,6 +2,7 @@ package com.study.moya.admin.service;
 
 import com.study.moya.admin.dto.roadmap.request.UpdateRoadmapInfoRequest;
 import com.study.moya.admin.dto.roadmap.response.AdminMemberSubscriptionResponse;
+import com.study.moya.ai_roadmap.client.ChatCompletionGateway;
 import com.study.moya.ai_roadmap.domain.*;
 import com.study.moya.ai_roadmap.dto.request.RoadmapRequest;
 import com.study.moya.ai_roadmap.dto.response.RoadMapSimpleDto;
@@ -9,7 +10,14 @@ import com.study.moya.ai_roadmap.dto.response.RoadMapSummaryDTO;
 import com.study.moya.ai_roadmap.dto.response.RoadMapSummaryProjection;
 import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
 import com.study.moya.ai_roadmap.repository.*;
+import com.study.moya.ai_roadmap.service.GenerationJobService;
+import com.study.moya.ai_roadmap.service.QuizCache;
+import com.study.moya.ai_roadmap.service.RoadmapBulkWriter;
+import com.study.moya.ai_roadmap.service.RoadmapGenerationCache;
 import com.study.moya.ai_roadmap.service.RoadmapPromptService;
+import com.study.moya.ai_roadmap.service.RoadmapQueryService;
+import com.study.moya.ai_roadmap.service.RoadmapSnapshotStore;
+import com.study.moya.ai_roadmap.service.WorksheetProgressTracker;
 import com.study.moya.ai_roadmap.util.RoadmapResponseParser;
 import com.study.moya.member.domain.Member;
 import com.study.moya.member.repository.MemberRepository;
@@ -19,7 +27,6 @@ import com.study.moya.token.service.TokenFacadeService;
 import com.theokanning.openai.Usage;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatCompletionResult;
-import com.theokanning.openai.service.OpenAiService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,9 +35,9 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,7 +53,7 @@ public class AdminRoadmapService {
     @Value("${openai.api.models.roadmap_generation.model}")
     private String roadmapModel;
 
-    private final OpenAiService openAiService;
+    private final ChatCompletionGateway chatCompletionGateway;
     private final RoadmapPromptService promptService;
     private final RoadmapResponseParser responseParser;
 
@@ -58,6 +65,14 @@ public class AdminRoadmapService {
     private final MemberRoadMapRepository memberRoadMapRepository;
     private final MemberRepository memberRepository;
     private final EtcRepository etcRepository;
+    private final RoadmapGenerationCache generationCache;
+    private final RoadmapBulkWriter roadmapBulkWriter;
+    private final RoadmapQueryService roadmapQueryService;
+    private final RoadmapSnapshotStore snapshotStore;
+    private final GenerationJobService generationJobService;
+    private final QuizRepository quizRepository;
+    private final QuizCache quizCache;
+    private final WorksheetProgressTracker progressTracker;
 
     private final JdbcTemplate jdbcTemplate;
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
@@ -66,102 +81,61 @@ public class AdminRoadmapService {
     public static final Long MAIN_CATEGORY = 1L;    // 대분류(etc1)
     public static final Long SUB_CATEGORY = 2L;     // 중분류(etc2)
 
-    @Async("taskExecutor")
+    @Async("adminBatchExecutor")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // OpenAI 호출 동안 DB 커넥션을 잡지 않도록 (저장은 RoadmapBulkWriter 트랜잭션)
     public CompletableFuture<WeeklyRoadmapResponse> generateWeeklyRoadmapAsync(RoadmapRequest request) {
-        return CompletableFuture.supplyAsync(() -> {
-            log.info("어드민 - 로드맵 생성 시작");
-
-            String systemPrompt = promptService.createSystemPrompt(request);
-            String prompt = promptService.createPrompt(request);
-
-            log.info("어드민 - 생성된 Prompt:\n{}", prompt);
-
-            ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
-                    .model(roadmapModel)
-                    .messages(promptService.buildMessages(systemPrompt, prompt))
-                    .temperature(0.8)
-                    .maxTokens(2000)
-                    .build();
-
-            try {
-                log.info("어드민 - OpenAI API 호출 시작...");
-                ChatCompletionResult chatCompletion = openAiService.createChatCompletion(completionRequest);
-
-                String apiResponse = chatCompletion.getChoices().get(0).getMessage().getContent();
-                log.info("어드민 - OpenAI API 응답 수신 완료");
-
-                // 토큰 사용량 로깅 (정보용)
-                logTokenUsage(chatCompletion.getUsage());
-
-                // 응답 파싱
-                WeeklyRoadmapResponse response = responseParser.parseResponse(apiResponse);
-
-                Category category = null;
-                if (request.getMainCategory() != null && !request.getMainCategory().trim().isEmpty()) {
-                    category = categoryRepository.findByName(request.getMainCategory())
-                            .orElseThrow(() -> new IllegalArgumentException("카테고리를 찾을 수 없습니다: " + request.getMainCategory()));
-                }
-
-                // 파싱된 응답을 엔티티로 저장 (멤버 구독 없이)
-                saveCurriculum(Integer.parseInt(request.getCurrentLevel()) + 1,
-                        request.getSubCategory(), request.getDuration(),
-                        request.getLearningObjective(), response, category,
-                        request.getEtc1(), request.getEtc2());
-
-                return response;
-            } catch (Exception e) {
-                log.error("어드민 - OpenAI API 호출 실패:", e);
-                throw new RuntimeException("로드맵 생성 실패", e);
-            }
-        });
-    }
+        log.info("어드민 - 로드맵 생성 시작");
 
-    public Long saveCurriculum(int goalLevel, String topic, int duration, String learningObjective,
-                                    WeeklyRoadmapResponse response, Category category,
-                                    String etc1Name, String etc2Name) {
-        log.info("어드민 - 커리큘럼 저장 시작");
+        String systemPrompt = promptService.createSystemPrompt(request);
+        String prompt = promptService.createPrompt(request);
+
+        log.info("어드민 - 생성된 Prompt:\n{}", prompt);
 
-        Etc etc1 = createEtc(etc1Name, MAIN_CATEGORY);
-        Etc etc2 = createEtc(etc2Name, SUB_CATEGORY);
-
-        // RoadMap 생성
-        RoadMap roadMap = RoadMap.builder()
-                .duration(duration)
-                .goalLevel(goalLevel)
-                .topic(topic)
-                .evaluation(response.getCurriculumEvaluation())
-                .overallTips(response.getOverallTips())
-                .learningObjective(learningObjective)
-                .category(category)
-                .etc1(etc1)
-                .etc2(etc2)
+        ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
+                .model(roadmapModel)
+                .messages(promptService.buildMessages(systemPrompt, prompt))
+                .temperature(0.8)
+                .maxTokens(2000)
                 .build();
 
-        RoadMap savedRoadMap = roadMapRepository.save(roadMap);
+        try {
+            log.info("어드민 - OpenAI API 호출 시작...");
+            ChatCompletionResult chatCompletion = chatCompletionGateway.createChatCompletion(completionRequest);
 
-        // WeeklyPlan & DailyPlan 생성 (기존과 동일)
-        for (WeeklyRoadmapResponse.WeeklyPlan weeklyPlanDto : response.getWeeklyPlans()) {
-            WeeklyPlan weeklyPlan = WeeklyPlan.builder()
-                    .weekNumber(weeklyPlanDto.getWeek())
-                    .keyword(weeklyPlanDto.getWeeklyKeyword())
-                    .roadMap(savedRoadMap)
-                    .build();
+            String apiResponse = chatCompletion.getChoices().get(0).getMessage().getContent();
+            log.info("어드민 - OpenAI API 응답 수신 완료");
 
-            WeeklyPlan savedWeeklyPlan = weeklyPlanRepository.save(weeklyPlan);
+            // 토큰 사용량 로깅 (정보용)
+            logTokenUsage(chatCompletion.getUsage());
 
-            for (WeeklyRoadmapResponse.DailyPlan dailyPlanDto : weeklyPlanDto.getDailyPlans()) {
-                DailyPlan dailyPlan = DailyPlan.builder()
-                        .dayNumber(dailyPlanDto.getDay())
-                        .keyword(dailyPlanDto.getDailyKeyword())
-                        .weeklyPlan(savedWeeklyPlan)
-                        .build();
+            // 응답 파싱
+            WeeklyRoadmapResponse response = responseParser.parseResponse(apiResponse);
 
-                dailyPlanRepository.save(dailyPlan);
+            Category category = null;
+            if (request.getMainCategory() != null && !request.getMainCategory().trim().isEmpty()) {
+                category = categoryRepository.findByName(request.getMainCategory())
+                        .orElseThrow(() -> new IllegalArgumentException("카테고리를 찾을 수 없습니다: " + request.getMainCategory()));
             }
+
+            // 파싱된 응답을 엔티티로 저장 (멤버 구독 없이)
+            saveCurriculum(Integer.parseInt(request.getCurrentLevel()) + 1,
+                    request.getSubCategory(), request.getDuration(),
+                    request.getLearningObjective(), response, category,
+                    request.getEtc1(), request.getEtc2());
+
+            return CompletableFuture.completedFuture(response);
+        } catch (Exception e) {
+            log.error("어드민 - OpenAI API 호출 실패:", e);
+            return CompletableFuture.failedFuture(new RuntimeException("로드맵 생성 실패", e));
         }
+    }
 
-        log.info("어드민 - 커리큘럼 저장 완료. ID: {}", savedRoadMap.getId());
-        return savedRoadMap.getId();
+    public Long saveCurriculum(int goalLevel, String topic, int duration, String learningObjective,
+                                    WeeklyRoadmapResponse response, Category category,
+                                    String etc1Name, String etc2Name) {
+        log.info("어드민 - 커리큘럼 저장 시작");
+        return roadmapBulkWriter.saveCurriculum(goalLevel, topic, duration, learningObjective,
+                response, category, etc1Name, etc2Name);
     }
 
     /**
@@ -235,62 +209,7 @@ public class AdminRoadmapService {
 
     @Transactional(readOnly = true)
     public WeeklyRoadmapResponse getRoadmapById(Long roadmapId) {
-        // 1. 로드맵 정보 조회
-        RoadMap roadMap = roadMapRepository.findById(roadmapId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 로드맵을 찾을 수 없습니다: " + roadmapId));
-
-        // 2. 로드맵에 속한 모든 일별 계획 조회 (주차, 일자 순으로 정렬됨)
-        List<DailyPlan> allDailyPlans = dailyPlanRepository.findAllByWeeklyPlan_RoadMap_IdOrderByDayNumber(roadmapId);
-        log.info("========================데일리 플랜 내용: {}", allDailyPlans.get(1).toString());
-
-        // 3. 주차별로 일별 계획을 그룹화
-        Map<Integer, List<DailyPlan>> weeklyGroupedPlans = new HashMap<>();
-        for (DailyPlan dailyPlan : allDailyPlans) {
-            Integer weekNumber = dailyPlan.getWeeklyPlan().getWeekNumber();
-            weeklyGroupedPlans.computeIfAbsent(weekNumber, k -> new ArrayList<>())
-                    .add(dailyPlan);
-        }
-
-        // 4. 응답 DTO 구성
-        List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlansDto = new ArrayList<>();
-
-        // 주차 번호 오름차순으로 정렬
-        List<Integer> sortedWeekNumbers = weeklyGroupedPlans.keySet().stream()
-                .sorted()
-                .collect(Collectors.toList());
-
-        for (Integer weekNumber : sortedWeekNumbers) {
-            List<DailyPlan> weekDailyPlans = weeklyGroupedPlans.get(weekNumber);
-
-            // 각 주차의 첫 번째 DailyPlan에서 WeeklyPlan 정보 가져오기
-            WeeklyPlan weeklyPlan = weekDailyPlans.get(0).getWeeklyPlan();
-
-            // 일별 계획 DTO 변환
-            List<WeeklyRoadmapResponse.DailyPlan> dailyPlansDto = weekDailyPlans.stream()
-                    .map(plan -> new WeeklyRoadmapResponse.DailyPlan(
-                            plan.getDayNumber(),
-                            plan.getKeyword(),
-                            getWorksheet(plan)
-                    ))
-                    .collect(Collectors.toList());
-
-            // 주차 계획 DTO 생성
-            WeeklyRoadmapResponse.WeeklyPlan weeklyPlanDto = new WeeklyRoadmapResponse.WeeklyPlan(
-                    weekNumber,
-                    weeklyPlan.getKeyword(),
-                    dailyPlansDto
-            );
-
-            weeklyPlansDto.add(weeklyPlanDto);
-        }
-
-        // 5. 최종 응답 생성
-        return new WeeklyRoadmapResponse(
-                weeklyPlansDto,
-                roadMap.getOverallTips(),
-                roadMap.getEvaluation(),
-                "없음" // 금지된 주제 여부는 별도 필드가 없어 기본값으로 설정
-        );
+        return snapshotStore.getResponse(roadmapId, () -> roadmapQueryService.getRoadmapById(roadmapId));
     }
 
     // ============ 로드맵 수정 기능들 (워크시트 제외) ============
@@ -308,6 +227,7 @@ public class AdminRoadmapService {
 
         dailyPlan.updateKeyword(newKeyword);
         dailyPlanRepository.save(dailyPlan);
+        evictCaches(roadmapId);
 
         log.info("어드민 - 일별 키워드 수정 완료");
 
@@ -327,6 +247,7 @@ public class AdminRoadmapService {
 
         weeklyPlan.updateKeyword(newKeyword);
         weeklyPlanRepository.save(weeklyPlan);
+        evictCaches(roadmapId);
 
         log.info("어드민 - 주차별 키워드 수정 완료");
         return weeklyPlan.getKeyword(); // 수정된 키워드 반환
@@ -342,6 +263,7 @@ public class AdminRoadmapService {
         RoadMap roadMap = getRoadmap(roadmapId);
         roadMap.updateOverallTips(newTips);
         roadMapRepository.save(roadMap);
+        evictCaches(roadmapId);
 
         log.info("어드민 - 전체 팁 수정 완료");
         return roadMap.getOverallTips(); // 수정된 팁 목록 반환
@@ -363,6 +285,7 @@ public class AdminRoadmapService {
         );
 
         roadMapRepository.save(roadMap);
+        evictCaches(roadmapId);
 
         log.info("어드민 - 로드맵 기본 정보 수정 완료");
 
@@ -383,15 +306,30 @@ public class AdminRoadmapService {
     public void deleteRoadmap(Long roadmapId) {
         log.info("어드민 - 로드맵 삭제 시작 - 로드맵: {}", roadmapId);
 
+        // 진행 중인 학습지 생성 작업은 먼저 취소해 삭제된 일차에 쓰지 않게 하고 티켓을 환불
+        generationJobService.cancelForRoadmap(roadmapId);
+
         // 순차적 삭제 (구독자 수 조회 제거)
+        quizRepository.deleteByRoadmapId(roadmapId);
         dailyPlanRepository.deleteByWeeklyPlanRoadMapId(roadmapId);
         weeklyPlanRepository.deleteByRoadMapId(roadmapId);
         memberRoadMapRepository.deleteByRoadMapId(roadmapId);
         roadMapRepository.deleteById(roadmapId);
+        evictCaches(roadmapId);
+        quizCache.evictRoadmap(roadmapId);
+        progressTracker.evict(roadmapId);
 
         log.info("어드민 - 로드맵 삭제 완료");
     }
 
+    /**
+     * 로드맵 생성 캐시 전체 삭제 (관리자용)
+     */
+    public int purgeGenerationCache() {
+        log.info("어드민 - 로드맵 생성 캐시 삭제");
+        return generationCache.purge();
+    }
+
     /**
      * 전체 로드맵 조회 (관리자용)
      */
@@ -457,24 +395,12 @@ public class AdminRoadmapService {
                 .orElseThrow(() -> new EntityNotFoundException("해당 로드맵을 찾을 수 없습니다: " + roadmapId));
     }
 
-    private String getWorksheet(DailyPlan plan) {
-        if (plan.getWorkSheet() == null) {
-            return "";
-        }
-        return plan.getWorkSheet();
-    }
-
-    private Etc createEtc(String name, Long etcType){
-        if (name == null || name.trim().isEmpty()) {
-            return null;
-        }
-
-        Etc etc = Etc.builder()
-                .name(name)
-                .etcType(etcType)
-                .build();
-
-        return etcRepository.save(etc);
+    /**
+     * 로드맵 수정/삭제 후 스냅샷과 생성 캐시 제거 (생성 캐시에 남아 있으면 이후 같은 요청의 회원이 수정된 로드맵을 그대로 구독하게 됨)
+     */
+    private void evictCaches(Long roadmapId) {
+        snapshotStore.evict(roadmapId);
+        generationCache.evictRoadmap(roadmapId);
     }
 
     private void logTokenUsage(Usage usage) {
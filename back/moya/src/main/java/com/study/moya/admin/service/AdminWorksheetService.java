@@ -2,17 +2,23 @@ package com.study.moya.admin.service;
 
 import com.study.moya.admin.dto.roadmap.request.WorksheetUpdateRequest;
 import com.study.moya.admin.dto.roadmap.response.WorksheetResponse;
+import com.study.moya.ai_roadmap.client.ChatCompletionRetrier;
 import com.study.moya.ai_roadmap.domain.DailyPlan;
 import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
 import com.study.moya.ai_roadmap.repository.DailyPlanRepository;
+import com.study.moya.ai_roadmap.repository.QuizRepository;
+import com.study.moya.ai_roadmap.service.QuizCache;
+import com.study.moya.ai_roadmap.service.RoadmapGenerationCache;
+import com.study.moya.ai_roadmap.service.RoadmapSnapshotStore;
+import com.study.moya.ai_roadmap.service.WorksheetBatchPlan;
+import com.study.moya.ai_roadmap.service.WorksheetBatchPlanner;
+import com.study.moya.ai_roadmap.service.WorksheetProgressTracker;
 import com.study.moya.ai_roadmap.service.WorksheetPromptService;
 import com.study.moya.ai_roadmap.util.WorksheetResponseParser;
 import com.theokanning.openai.Usage;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
-import com.theokanning.openai.completion.chat.ChatCompletionResult;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.completion.chat.ChatMessageRole;
-import com.theokanning.openai.service.OpenAiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -23,10 +29,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @Transactional
@@ -37,45 +43,46 @@ public class AdminWorksheetService {
     @Value("${openai.api.models.worksheet_generation.model}")
     private String worksheetModel;
 
-    private static final int MAX_RETRIES = 3;  // 최대 재시도 횟수
-    private static final long DELAY_MS = 1000;  // 재시도 간 대기 시간 (1초)
-
-    private final OpenAiService openAiService;
+    private final ChatCompletionRetrier chatCompletionRetrier;
     private final WorksheetPromptService promptService;
     private final WorksheetResponseParser worksheetResponseParser;
     private final DailyPlanRepository dailyPlanRepository;
-    @Qualifier("taskExecutor")
-    private final ThreadPoolTaskExecutor taskExecutor;
-
-    @Async("taskExecutor")
+    private final QuizRepository quizRepository;
+    private final QuizCache quizCache;
+    private final RoadmapSnapshotStore snapshotStore;
+    private final RoadmapGenerationCache generationCache;
+    private final WorksheetBatchPlanner batchPlanner;
+    private final WorksheetProgressTracker progressTracker;
+    @Qualifier("adminBatchExecutor")
+    private final ThreadPoolTaskExecutor adminBatchExecutor;
+
+    @Async("adminBatchExecutor")
     @Transactional
     public CompletableFuture<Void> generateAllWorksheets(Long roadmapId, WorkSheetRequest request) {
         log.info("어드민 - 로드맵 ID: {}의 전체 학습지 생성 시작", roadmapId);
 
         try {
             List<DailyPlan> allDailyPlans = dailyPlanRepository.findAllByWeeklyPlan_RoadMap_IdOrderByDayNumber(roadmapId);
-            List<List<DailyPlan>> groupedPlans = splitIntoGroups(allDailyPlans, 3);
-
-            List<CompletableFuture<Void>> futures = new ArrayList<>();
-
-            for (List<DailyPlan> planGroup : groupedPlans) {
-                CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                    log.info("어드민 - 그룹 처리 시작: {}일차 ~ {}일차",
-                            planGroup.getFirst().getDayNumber(),
-                            planGroup.getLast().getDayNumber());
-
-                    try {
-                        generateWorksheetForGroup(planGroup, request);  // 어드민용 메서드 호출
-                    } catch (Exception e) {
-                        log.error("어드민 - 그룹 학습지 생성 중 오류: {}일차 그룹, 오류: {}",
-                                planGroup.getFirst().getDayNumber(), e.getMessage(), e);
-                    }
-                }, taskExecutor);
-
-                futures.add(future);
+            Map<Long, List<DailyPlan>> plansByWeek = new LinkedHashMap<>();
+            for (DailyPlan plan : allDailyPlans) {
+                plansByWeek.computeIfAbsent(plan.getWeeklyPlan().getId(), k -> new ArrayList<>()).add(plan);
             }
+            WorksheetBatchPlan batchPlan = batchPlanner.plan(plansByWeek.values().stream().map(List::size).toList());
 
-            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+            return batchPlan.run(batchPlan.split(plansByWeek.values()), planGroup -> {
+                log.info("어드민 - 그룹 처리 시작: {}일차 ~ {}일차",
+                        planGroup.getFirst().getDayNumber(),
+                        planGroup.getLast().getDayNumber());
+
+                // 실패는 그룹별로 기록만 하고 다시 던져, 나머지 그룹을 마친 뒤 실패 그룹 수를 담아 완료되게 한다
+                try {
+                    generateWorksheetForGroup(roadmapId, planGroup, request, batchPlan.maxTokens());  // 어드민용 메서드 호출
+                } catch (RuntimeException e) {
+                    log.error("어드민 - 그룹 학습지 생성 중 오류: {}일차 그룹, 오류: {}",
+                            planGroup.getFirst().getDayNumber(), e.getMessage(), e);
+                    throw e;
+                }
+            }, adminBatchExecutor);
         } catch (Exception e) {
             log.error("어드민 - 학습지 생성 준비 중 오류: {}", e.getMessage(), e);
             CompletableFuture<Void> failedFuture = new CompletableFuture<>();
@@ -84,73 +91,36 @@ public class AdminWorksheetService {
         }
     }
 
-    private List<List<DailyPlan>> splitIntoGroups(List<DailyPlan> allPlans, int groupSize) {
-        List<List<DailyPlan>> groups = new ArrayList<>();
-        for (int i = 0; i < allPlans.size(); i += groupSize) {
-            int end = Math.min(i + groupSize, allPlans.size());
-            groups.add(allPlans.subList(i, end));
-        }
-        return groups;
-    }
-
-    private void generateWorksheetForGroup(List<DailyPlan> planGroup, WorkSheetRequest request) {
+    private void generateWorksheetForGroup(Long roadmapId, List<DailyPlan> planGroup, WorkSheetRequest request, int maxTokens) {
         String initialPrompt = promptService.createPrompt(planGroup, request);
-        Map<Integer, String> dayWorksheets = retryChatCompletion(initialPrompt, planGroup);
+        Map<Integer, String> dayWorksheets = retryChatCompletion(initialPrompt, planGroup, maxTokens);
 
         updateDailyPlansWithWorksheet(planGroup, dayWorksheets);
+        snapshotStore.evict(roadmapId);
+        progressTracker.evict(roadmapId);
         log.info("학습지 생성 완료 - {} ~ {}일차", planGroup.getFirst().getDayNumber(), planGroup.getLast().getDayNumber());
     }
 
-    private Map<Integer, String> retryChatCompletion(String prompt, List<DailyPlan> planGroup) {
-        AtomicInteger retryCount = new AtomicInteger(0);
-
-        while (retryCount.get() < MAX_RETRIES) {
-            try {
-                ChatCompletionResult chatCompletion = createChatCompletion(prompt, planGroup, retryCount.get() + 1);
-                String worksheetContent = chatCompletion.getChoices().getFirst().getMessage().getContent();
-                Map<Integer, String> dayWorksheets = worksheetResponseParser.parseResponse(worksheetContent);
-
-                if (!dayWorksheets.isEmpty()) {
-                    log.info("어드민 - 토큰 사용량 {}일 ~ {}일", planGroup.getFirst().getDayNumber(), planGroup.getLast().getDayNumber());
-                    logTokenUsage(chatCompletion.getUsage());  // 정보용 로깅만 유지
-                    return dayWorksheets;
-                }
+    private Map<Integer, String> retryChatCompletion(String prompt, List<DailyPlan> planGroup, int maxTokens) {
+        String target = "어드민 - 학습지 " + planGroup.getFirst().getDayNumber() + " ~ " + planGroup.getLast().getDayNumber() + "일차";
+        return chatCompletionRetrier.execute(createCompletionRequest(prompt, maxTokens), chatCompletion -> {
+            Map<Integer, String> dayWorksheets = worksheetResponseParser.parseResponse(
+                    chatCompletion.getChoices().getFirst().getMessage().getContent());
+            if (dayWorksheets.isEmpty()) {
                 throw new IllegalStateException("파싱된 학습 가이드가 없습니다.");
-
-            } catch (Exception e) {
-                int attempts = retryCount.incrementAndGet();
-                if (attempts >= MAX_RETRIES) {
-                    log.error("어드민 - 최대 재시도 횟수({}) 초과, 학습지 생성 실패 - {} ~ {}일차: {}",
-                            MAX_RETRIES, planGroup.getFirst().getDayNumber(), planGroup.getLast().getDayNumber(), e.getMessage());
-                    throw new RuntimeException("학습지 생성 실패: 최대 재시도 초과", e);
-                }
-                log.warn("어드민 - 학습지 생성 실패, 재시도 {}회 시도 - {} ~ {}일차: {}",
-                        attempts, planGroup.getFirst().getDayNumber(), planGroup.getLast().getDayNumber(), e.getMessage());
-                try {
-                    Thread.sleep(DELAY_MS * attempts);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("재시도 대기 중 인터럽트 발생", ie);
-                }
             }
-        }
-        throw new RuntimeException("학습지 생성 실패: 알 수 없는 오류");
+            logTokenUsage(chatCompletion.getUsage());  // 정보용 로깅만 유지
+            return dayWorksheets;
+        }, () -> false, target);
     }
 
-    private ChatCompletionResult createChatCompletion(String prompt, List<DailyPlan> planGroup, int attempt) {
-
-        log.info("학습지 생성 API 호출 시작 - {} ~ {}일차, 시도 횟수: {}",
-                planGroup.getFirst().getDayNumber(), planGroup.getLast().getDayNumber(), attempt);
-
-
-        ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
+    private ChatCompletionRequest createCompletionRequest(String prompt, int maxTokens) {
+        return ChatCompletionRequest.builder()
                 .model(worksheetModel)
                 .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), prompt)))
                 .temperature(0.7)
-                .maxTokens(2500)
+                .maxTokens(maxTokens)
                 .build();
-
-        return openAiService.createChatCompletion(completionRequest);
     }
 
     protected void updateDailyPlansWithWorksheet(List<DailyPlan> plans, Map<Integer, String> dayWorksheets) {
@@ -210,6 +180,7 @@ public class AdminWorksheetService {
         dailyPlan.updateWorkSheet(request.getWorksheet());
 
         dailyPlanRepository.save(dailyPlan);
+        evictChangedDay(dailyPlan);
 
         log.info("일간계획 ID: {}의 워크시트 수정 완료. 기존 길이: {}, 새로운 길이: {}",
                 dailyPlanId,
@@ -231,9 +202,26 @@ public class AdminWorksheetService {
         dailyPlan.updateWorkSheet(null);
 
         dailyPlanRepository.save(dailyPlan);
+        evictChangedDay(dailyPlan);
 
         log.info("일간계획 ID: {}의 워크시트 삭제 완료. 삭제된 워크시트 길이: {}",
                 dailyPlanId,
                 currentWorksheet != null ? currentWorksheet.length() : 0);
     }
+
+    /**
+     * 학습지가 바뀐 일차의 캐시를 비우고, 이전 학습지로 만든 퀴즈는 삭제한다. (다음 퀴즈 생성 때 다시 생성)
+     */
+    private void evictChangedDay(DailyPlan dailyPlan) {
+        Long roadmapId = dailyPlan.getWeeklyPlan().getRoadMap().getId();
+        int deletedQuizzes = quizRepository.deleteByDailyPlanId(dailyPlan.getId());
+        quizCache.evictDays(roadmapId,
+                List.of(QuizCache.field(dailyPlan.getWeeklyPlan().getWeekNumber(), dailyPlan.getDayNumber())));
+        snapshotStore.evict(roadmapId);
+        generationCache.evictRoadmap(roadmapId);
+        progressTracker.evict(roadmapId);
+        if (deletedQuizzes > 0) {
+            log.info("학습지가 바뀐 일차의 퀴즈 {}문항 삭제. 일간계획 ID: {}", deletedQuizzes, dailyPlan.getId());
+        }
+    }
 }
@@ -0,0 +1,17 @@
+package com.study.moya.ai_roadmap.client;
+
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import io.reactivex.Flowable;
+
+/**
+ * 채팅 완성 호출 백엔드. 실제 OpenAI 외에 부하/성능 테스트용 기록·재생·합성 구현으로 교체할 수 있다.
+ * (openai.stand-in.mode: live | record | replay | synthetic)
+ */
+public interface ChatCompletionClient {
+
+    ChatCompletionResult createChatCompletion(ChatCompletionRequest request);
+
+    Flowable<ChatCompletionChunk> streamChatCompletion(ChatCompletionRequest request);
+}
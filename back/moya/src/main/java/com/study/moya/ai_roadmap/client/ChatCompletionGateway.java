@@ -0,0 +1,409 @@
+package com.study.moya.ai_roadmap.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.OpenAiHttpException;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.reactivex.Flowable;
+import jakarta.annotation.PreDestroy;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 모든 OpenAI 채팅 호출이 거쳐 가는 단일 진입점.
+ * <ul>
+ *     <li>호출 전에 {@link OpenAiRateLimiter} 에서 예산을 확보한다.
+ *     프롬프트 토큰은 글자 수 x (응답 usage 로 보정되는 글자당 토큰 비율) 로 추정한다.</li>
+ *     <li>모델별 서킷 브레이커가 열려 있거나 호출이 장애로 실패하면 대체 모델(openai.api.models.fallback.model)로 한 번 더 시도한다.</li>
+ *     <li>헤징을 켜면 모델의 p95 응답 시간이 지나도 응답이 없을 때 같은 요청을 한 번 더 보내 먼저 온 응답을 사용한다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ChatCompletionGateway {
+
+    private static final int HTTP_REQUEST_TIMEOUT = 408;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int DEFAULT_MAX_TOKENS = 4096;
+    private static final double EMA_ALPHA = 0.2;
+    private static final double HEDGE_PERCENTILE = 0.95;
+    private static final ObjectMapper REQUEST_COPIER = new ObjectMapper();
+
+    private final ChatCompletionClient chatCompletionClient;
+    private final OpenAiRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    private final String fallbackModel;
+    private final int circuitWindowSize;
+    private final int circuitMinimumCalls;
+    private final double circuitFailureRateThreshold;
+    private final Duration circuitOpenDuration;
+    private final boolean hedgingEnabled;
+    private final Duration hedgingMinDelay;
+    private final long hedgingMinSamples;
+
+    private final Map<String, ModelCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ExecutorService hedgeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 한글 위주 프롬프트 기준 초기값, 실제 usage 가 들어올 때마다 지수이동평균으로 보정
+    private volatile double tokensPerChar = 0.5;
+
+    public ChatCompletionGateway(ChatCompletionClient chatCompletionClient,
+                                 OpenAiRateLimiter rateLimiter,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${openai.api.models.fallback.model:}") String fallbackModel,
+                                 @Value("${openai.resilience.circuit.window-size:20}") int circuitWindowSize,
+                                 @Value("${openai.resilience.circuit.minimum-calls:10}") int circuitMinimumCalls,
+                                 @Value("${openai.resilience.circuit.failure-rate-threshold:0.5}") double circuitFailureRateThreshold,
+                                 @Value("${openai.resilience.circuit.open-duration:PT30S}") Duration circuitOpenDuration,
+                                 @Value("${openai.resilience.hedging.enabled:false}") boolean hedgingEnabled,
+                                 @Value("${openai.resilience.hedging.min-delay:PT5S}") Duration hedgingMinDelay,
+                                 @Value("${openai.resilience.hedging.min-samples:20}") long hedgingMinSamples) {
+        this.chatCompletionClient = chatCompletionClient;
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.fallbackModel = fallbackModel;
+        this.circuitWindowSize = circuitWindowSize;
+        this.circuitMinimumCalls = circuitMinimumCalls;
+        this.circuitFailureRateThreshold = circuitFailureRateThreshold;
+        this.circuitOpenDuration = circuitOpenDuration;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgingMinDelay = hedgingMinDelay;
+        this.hedgingMinSamples = hedgingMinSamples;
+    }
+
+    public ChatCompletionResult createChatCompletion(ChatCompletionRequest request) {
+        String model = request.getModel();
+        ModelCircuitBreaker breaker = breaker(model);
+        if (!breaker.tryAcquirePermission()) {
+            String fallback = acquireFallback(model, null);
+            return executeWithHedging(withModel(request, fallback), breaker(fallback));
+        }
+
+        try {
+            return executeWithHedging(request, breaker);
+        } catch (RuntimeException e) {
+            if (!hasFallback(model) || !isFailure(e)) {
+                throw e;
+            }
+            log.warn("OpenAI 호출 실패, 대체 모델로 재시도. 모델: {}, 사유: {}", model, e.getMessage());
+            String fallback = acquireFallback(model, e);
+            return executeWithHedging(withModel(request, fallback), breaker(fallback));
+        }
+    }
+
+    /**
+     * 스트리밍 호출. 스트림 응답에는 usage 가 없으므로 추정치로만 차감하고, 헤징은 하지 않는다.
+     */
+    public Flowable<ChatCompletionChunk> streamChatCompletion(ChatCompletionRequest request) {
+        String model = request.getModel();
+        ChatCompletionRequest target = request;
+        if (!breaker(model).tryAcquirePermission()) {
+            target = withModel(request, acquireFallback(model, null));
+        }
+        ModelCircuitBreaker breaker = breaker(target.getModel());
+
+        try {
+            acquire(estimatePromptTokens(promptChars(target)) + maxTokens(target));
+        } catch (RuntimeException e) {
+            breaker.onIgnored();
+            throw e;
+        }
+        return chatCompletionClient.streamChatCompletion(target)
+                .doOnError(e -> {
+                    if (isRateLimited(e)) {
+                        rateLimiter.onRateLimited();
+                    }
+                    recordOutcome(breaker, e);
+                })
+                .doOnComplete(breaker::onSuccess)
+                .doOnCancel(breaker::onIgnored);
+    }
+
+    public static boolean isRateLimited(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof OpenAiHttpException httpException && httpException.statusCode == HTTP_TOO_MANY_REQUESTS) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 서킷 브레이커가 장애로 집계하는 실패인지 (5xx, 타임아웃, 네트워크 오류). 429/4xx 와 취소는 제외.
+     * 취소로 인터럽트된 스레드의 오류는 종류와 관계없이 제외하고, 인터럽트로 끊긴 I/O 오류도 제외한다. (소켓 타임아웃은 장애로 집계)
+     */
+    static boolean isFailure(Throwable throwable) {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof OpenAiHttpException httpException) {
+                return httpException.statusCode >= 500 || httpException.statusCode == HTTP_REQUEST_TIMEOUT;
+            }
+            if (t instanceof InterruptedException || t instanceof CancellationException
+                    || t instanceof ClosedByInterruptException
+                    || (t instanceof InterruptedIOException && !(t instanceof SocketTimeoutException))) {
+                return false;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    /**
+     * 헤징 대상이 아니면 바로 호출하고, 대상이면 p95 시간 동안 기다린 뒤 응답이 없으면 같은 요청을 한 번 더 보낸다.
+     */
+    private ChatCompletionResult executeWithHedging(ChatCompletionRequest request, ModelCircuitBreaker breaker) {
+        Duration hedgeDelay = hedgeDelay(request.getModel());
+        try {
+            ChatCompletionResult result = hedgeDelay == null ? invoke(request) : invokeHedged(request, hedgeDelay);
+            breaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            recordOutcome(breaker, e);
+            throw e;
+        }
+    }
+
+    private ChatCompletionResult invokeHedged(ChatCompletionRequest request, Duration hedgeDelay) {
+        // FutureTask 로 제출해야 cancel(true) 가 호출 중인 스레드를 인터럽트해 진 쪽 요청의 HTTP 호출까지 끊긴다
+        ExecutorCompletionService<ChatCompletionResult> completion = new ExecutorCompletionService<>(hedgeExecutor);
+        List<Future<ChatCompletionResult>> calls = new ArrayList<>(2);
+        try {
+            calls.add(completion.submit(() -> invoke(request)));
+            Future<ChatCompletionResult> done = completion.poll(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS);
+            if (done != null) {
+                return result(done);
+            }
+
+            log.info("OpenAI 응답 지연으로 헤지 요청 발송. 모델: {}, 대기: {}ms", request.getModel(), hedgeDelay.toMillis());
+            hedgeCounter(request.getModel(), "launched").increment();
+            Future<ChatCompletionResult> hedge = completion.submit(() -> invoke(request));
+            calls.add(hedge);
+
+            // 먼저 성공한 응답을 사용하고, 둘 다 실패하면 마지막 예외를 던진다
+            RuntimeException lastError = null;
+            for (int i = 0; i < calls.size(); i++) {
+                Future<ChatCompletionResult> next = completion.take();
+                try {
+                    ChatCompletionResult result = result(next);
+                    if (next == hedge) {
+                        hedgeCounter(request.getModel(), "won").increment();
+                    }
+                    return result;
+                } catch (RuntimeException e) {
+                    lastError = e;
+                }
+            }
+            throw lastError;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("OpenAI 응답 대기 중 인터럽트 발생", e);
+        } finally {
+            calls.forEach(call -> call.cancel(true));
+        }
+    }
+
+    private static ChatCompletionResult result(Future<ChatCompletionResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    /**
+     * 실제 호출 1회: 제한기 예산 확보 → 호출 → 사용량으로 예산 보정, 지연 시간 기록
+     */
+    private ChatCompletionResult invoke(ChatCompletionRequest request) {
+        long promptChars = promptChars(request);
+        long maxTokens = maxTokens(request);
+        long reserved = acquire(estimatePromptTokens(promptChars) + maxTokens);
+
+        long startedAt = System.nanoTime();
+        try {
+            ChatCompletionResult result = chatCompletionClient.createChatCompletion(request);
+            latencyTimer(request.getModel(), "success").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            Usage usage = result.getUsage();
+            if (usage != null) {
+                // 제공자는 max_tokens 까지 예약해 계산하므로 프롬프트 부분만 실제 값으로 보정
+                rateLimiter.reconcile(reserved, usage.getPromptTokens() + maxTokens);
+                updateTokensPerChar(promptChars, usage.getPromptTokens());
+            }
+            return result;
+        } catch (RuntimeException e) {
+            latencyTimer(request.getModel(), "error").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (isRateLimited(e)) {
+                rateLimiter.onRateLimited();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 대체 모델의 호출 허가를 받아 모델명을 반환. 대체 모델이 없거나 그 서킷도 열려 있으면 즉시 실패
+     */
+    private String acquireFallback(String model, Throwable cause) {
+        if (!hasFallback(model)) {
+            throw new OpenAiUnavailableException(model, cause);
+        }
+        if (!breaker(fallbackModel).tryAcquirePermission()) {
+            throw new OpenAiUnavailableException(fallbackModel, cause);
+        }
+        Counter.builder("openai.chat.fallback")
+                .description("대체 모델로 전환된 호출 수")
+                .tag("from", model)
+                .tag("to", fallbackModel)
+                .register(meterRegistry)
+                .increment();
+        return fallbackModel;
+    }
+
+    private boolean hasFallback(String model) {
+        return StringUtils.hasText(fallbackModel) && !fallbackModel.equals(model);
+    }
+
+    private void recordOutcome(ModelCircuitBreaker breaker, Throwable error) {
+        if (isFailure(error)) {
+            breaker.onFailure();
+        } else {
+            breaker.onIgnored();
+        }
+    }
+
+    private ModelCircuitBreaker breaker(String model) {
+        return breakers.computeIfAbsent(model, key -> {
+            ModelCircuitBreaker breaker = new ModelCircuitBreaker(
+                    circuitWindowSize, circuitMinimumCalls, circuitFailureRateThreshold, circuitOpenDuration);
+            Gauge.builder("openai.circuit.state", breaker, b -> b.getState().ordinal())
+                    .description("모델별 서킷 상태 (0: CLOSED, 1: OPEN, 2: HALF_OPEN)")
+                    .tag("model", key)
+                    .register(meterRegistry);
+            return breaker;
+        });
+    }
+
+    /**
+     * 모델의 성공 호출 p95. 헤징이 꺼져 있거나 표본이 부족하면 null
+     */
+    private Duration hedgeDelay(String model) {
+        if (!hedgingEnabled) {
+            return null;
+        }
+        Timer timer = latencyTimer(model, "success");
+        if (timer.count() < hedgingMinSamples) {
+            return null;
+        }
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == HEDGE_PERCENTILE) {
+                long p95Millis = (long) value.value(TimeUnit.MILLISECONDS);
+                return p95Millis > hedgingMinDelay.toMillis() ? Duration.ofMillis(p95Millis) : hedgingMinDelay;
+            }
+        }
+        return null;
+    }
+
+    private Timer latencyTimer(String model, String outcome) {
+        return Timer.builder("openai.chat.latency")
+                .description("모델별 OpenAI 채팅 호출 응답 시간")
+                .tag("model", model)
+                .tag("outcome", outcome)
+                .publishPercentiles(HEDGE_PERCENTILE)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter hedgeCounter(String model, String result) {
+        return Counter.builder("openai.chat.hedge")
+                .description("헤지 요청 발송(launched) 및 헤지 응답 채택(won) 수")
+                .tag("model", model)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private long acquire(long estimatedTokens) {
+        try {
+            return rateLimiter.acquire(estimatedTokens);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("OpenAI 호출 대기 중 인터럽트 발생", e);
+        }
+    }
+
+    private long estimatePromptTokens(long promptChars) {
+        return (long) Math.ceil(promptChars * tokensPerChar);
+    }
+
+    private void updateTokensPerChar(long promptChars, long promptTokens) {
+        if (promptChars <= 0 || promptTokens <= 0) {
+            return;
+        }
+        double observed = (double) promptTokens / promptChars;
+        tokensPerChar = tokensPerChar * (1 - EMA_ALPHA) + observed * EMA_ALPHA;
+    }
+
+    private static RuntimeException unwrap(Throwable throwable) {
+        return throwable instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new RuntimeException(throwable);
+    }
+
+    /**
+     * 모델만 바꾼 요청 사본. 라이브러리에 필드가 추가돼도 빠지지 않도록 필드를 하나씩 옮기지 않고 통째로 복사한다
+     */
+    private static ChatCompletionRequest withModel(ChatCompletionRequest request, String model) {
+        ChatCompletionRequest copy = REQUEST_COPIER.convertValue(request, ChatCompletionRequest.class);
+        copy.setModel(model);
+        return copy;
+    }
+
+    private static long promptChars(ChatCompletionRequest request) {
+        long chars = 0;
+        for (ChatMessage message : request.getMessages()) {
+            if (message.getContent() != null) {
+                chars += message.getContent().length();
+            }
+        }
+        return chars;
+    }
+
+    private static long maxTokens(ChatCompletionRequest request) {
+        return request.getMaxTokens() != null ? request.getMaxTokens() : DEFAULT_MAX_TOKENS;
+    }
+}
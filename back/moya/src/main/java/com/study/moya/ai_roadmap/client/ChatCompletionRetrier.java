@@ -0,0 +1,75 @@
+package com.study.moya.ai_roadmap.client;
+
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 응답을 파싱해야 쓸 수 있는 채팅 호출의 공통 재시도 정책 (학습지 생성/어드민 일괄 생성 공용).
+ * <ul>
+ *     <li>파싱 실패(빈 응답 포함)와 429 는 대기 없이 바로 다시 호출한다. 429 는 제한기가 예산이 찰 때까지 대기시킨다.</li>
+ *     <li>그 밖의 호출 오류(5xx/타임아웃/네트워크, 서킷 열림 {@link OpenAiUnavailableException})는 게이트웨이가 이미
+ *     대체 모델로 한 번 더 시도했으므로 스레드를 붙잡고 기다리지 않고 바로 실패한다. (작업 큐는 작업 단위 백오프로 재시도)</li>
+ *     <li>취소되면 재시도하지 않는다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ChatCompletionRetrier {
+
+    private final ChatCompletionGateway chatCompletionGateway;
+    private final int maxAttempts;
+
+    public ChatCompletionRetrier(ChatCompletionGateway chatCompletionGateway,
+                                 @Value("${openai.retry.max-attempts:3}") int maxAttempts) {
+        this.chatCompletionGateway = chatCompletionGateway;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * @param parser    응답을 쓸 수 있는 결과로 변환 (쓸 수 없는 응답이면 예외를 던져 재시도)
+     * @param cancelled 호출 전후로 확인해 취소됐으면 {@link CancellationException} 을 던진다
+     * @param target    로그용 대상 설명 (예: "학습지 1 ~ 3일차")
+     */
+    public <T> T execute(ChatCompletionRequest request, Function<ChatCompletionResult, T> parser,
+                         BooleanSupplier cancelled, String target) {
+        for (int attempt = 1; ; attempt++) {
+            throwIfCancelled(cancelled);
+            log.info("{} API 호출 시작, 시도 횟수: {}", target, attempt);
+            ChatCompletionResult result;
+            try {
+                result = chatCompletionGateway.createChatCompletion(request);
+            } catch (RuntimeException e) {
+                // 취소로 인터럽트되어 끊긴 호출은 재시도하지 않음
+                throwIfCancelled(cancelled);
+                if (!ChatCompletionGateway.isRateLimited(e) || attempt >= maxAttempts) {
+                    log.warn("{} 호출 실패, 시도 횟수: {}: {}", target, attempt, e.getMessage());
+                    throw e;
+                }
+                log.warn("{} 호출이 429 로 거절되어 다시 호출합니다. 시도 횟수: {}", target, attempt);
+                continue;
+            }
+
+            try {
+                return parser.apply(result);
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    log.error("최대 시도 횟수({}) 초과, {} 실패: {}", maxAttempts, target, e.getMessage());
+                    throw new IllegalStateException(target + " 실패: 최대 시도 횟수 초과", e);
+                }
+                log.warn("{} 응답을 쓸 수 없어 다시 호출합니다. 시도 횟수: {}: {}", target, attempt, e.getMessage());
+            }
+        }
+    }
+
+    private static void throwIfCancelled(BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("생성 작업이 취소되었습니다");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.study.moya.ai_roadmap.client;
+
+import java.time.Duration;
+
+/**
+ * 모델별 서킷 브레이커. 최근 windowSize 건의 호출 중 실패 비율이 임계치를 넘으면 openDuration 동안 호출을 막고,
+ * 이후 한 건만 시험 호출(HALF_OPEN)을 허용해 성공하면 다시 닫는다.
+ */
+public class ModelCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+
+    // 최근 호출 결과 (true: 실패) 링 버퍼
+    private final boolean[] outcomes;
+    private int index;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public ModelCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration) {
+        this.outcomes = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, outcomes.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    /**
+     * 호출 허용 여부. OPEN 상태에서 대기 시간이 지나면 시험 호출 한 건만 허용한다.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    yield false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                yield true;
+            }
+            case HALF_OPEN -> {
+                if (probeInFlight) {
+                    yield false;
+                }
+                probeInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        switch (state) {
+            case HALF_OPEN -> close();
+            case CLOSED -> record(false);
+            case OPEN -> {
+                // 열리기 전에 시작된 호출의 결과는 무시
+            }
+        }
+    }
+
+    public synchronized void onFailure() {
+        switch (state) {
+            case HALF_OPEN -> open();
+            case CLOSED -> {
+                record(true);
+                if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+                    open();
+                }
+            }
+            case OPEN -> {
+            }
+        }
+    }
+
+    /**
+     * 장애로 보지 않는 결과(429, 잘못된 요청, 취소 등). 시험 호출이었다면 다음 호출이 다시 시험할 수 있게 한다.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == outcomes.length) {
+            if (outcomes[index]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[index] = failed;
+        if (failed) {
+            failures++;
+        }
+        index = (index + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        probeInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probeInFlight = false;
+        recorded = 0;
+        failures = 0;
+        index = 0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.study.moya.ai_roadmap.client;
+
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.service.OpenAiService;
+import io.reactivex.Flowable;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 실제 OpenAI API 호출
+ */
+@RequiredArgsConstructor
+public class OpenAiChatCompletionClient implements ChatCompletionClient {
+
+    private final OpenAiService openAiService;
+
+    @Override
+    public ChatCompletionResult createChatCompletion(ChatCompletionRequest request) {
+        return openAiService.createChatCompletion(request);
+    }
+
+    @Override
+    public Flowable<ChatCompletionChunk> streamChatCompletion(ChatCompletionRequest request) {
+        return openAiService.streamChatCompletion(request);
+    }
+}
@@ -0,0 +1,186 @@
+package com.study.moya.ai_roadmap.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * OpenAI 분당 요청 수(RPM)와 분당 토큰 수(TPM)를 함께 지키는 클라이언트 측 제한기.
+ * 두 버킷 모두 1분에 걸쳐 연속적으로 채워지며, 공정 락으로 먼저 온 호출자부터 순서대로 통과시킨다.
+ */
+@Slf4j
+@Component
+public class OpenAiRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    // 공정 락: 락을 잡은 호출자가 버킷이 찰 때까지 대기하고 나머지는 도착 순서대로 줄을 선다
+    private final ReentrantLock queue = new ReentrantLock(true);
+    // 버킷 상태 보호용 (짧게만 잡으므로 대기 중인 호출자와 무관하게 보정/조회 가능)
+    private final ReentrantLock state = new ReentrantLock();
+
+    private final double requestCapacity;
+    private final double tokenCapacity;
+    private double availableRequests;
+    private double availableTokens;
+    private long lastRefillNanos;
+
+    private final Timer waitTimer;
+    private final Counter rateLimitedCounter;
+
+    public OpenAiRateLimiter(MeterRegistry meterRegistry,
+                             @Value("${openai.rate-limit.requests-per-minute:500}") int requestsPerMinute,
+                             @Value("${openai.rate-limit.tokens-per-minute:200000}") int tokensPerMinute,
+                             @Value("${openai.rate-limit.headroom:0.9}") double headroom) {
+        this.requestCapacity = Math.max(1, requestsPerMinute * headroom);
+        this.tokenCapacity = Math.max(1, tokensPerMinute * headroom);
+        this.availableRequests = requestCapacity;
+        this.availableTokens = tokenCapacity;
+        this.lastRefillNanos = System.nanoTime();
+
+        this.waitTimer = Timer.builder("openai.ratelimit.wait")
+                .description("OpenAI 호출 전 제한기에서 대기한 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rateLimitedCounter = Counter.builder("openai.ratelimit.upstream_429")
+                .description("OpenAI 에서 429 응답을 받은 횟수")
+                .register(meterRegistry);
+        Gauge.builder("openai.ratelimit.available_tokens", this, OpenAiRateLimiter::availableTokens)
+                .register(meterRegistry);
+        Gauge.builder("openai.ratelimit.available_requests", this, OpenAiRateLimiter::availableRequests)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청 1건과 추정 토큰만큼 예산을 확보할 때까지 대기
+     *
+     * @return 실제로 차감한 토큰 수 (용량보다 큰 요청은 용량으로 잘라서 차감)
+     */
+    public long acquire(long estimatedTokens) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        double tokens = Math.min(Math.max(estimatedTokens, 1), tokenCapacity);
+
+        queue.lockInterruptibly();
+        try {
+            long waitNanos;
+            while ((waitNanos = tryTake(tokens)) > 0) {
+                LockSupport.parkNanos(this, waitNanos);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("OpenAI 호출 대기 중 인터럽트 발생");
+                }
+            }
+        } finally {
+            queue.unlock();
+        }
+
+        waitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return (long) tokens;
+    }
+
+    /**
+     * 응답의 실제 사용량으로 예산 보정 (추정보다 적게 썼으면 돌려주고 많이 썼으면 추가 차감)
+     */
+    public void reconcile(long reservedTokens, long actualTokens) {
+        state.lock();
+        try {
+            refill();
+            availableTokens = Math.min(tokenCapacity, availableTokens + (reservedTokens - actualTokens));
+        } finally {
+            state.unlock();
+        }
+    }
+
+    /**
+     * 429 수신 시 남은 예산을 모두 비워 다음 호출부터 다시 채워질 때까지 기다리게 한다.
+     */
+    public void onRateLimited() {
+        rateLimitedCounter.increment();
+        state.lock();
+        try {
+            availableRequests = 0;
+            availableTokens = 0;
+            lastRefillNanos = System.nanoTime();
+            log.warn("OpenAI 429 수신, 제한기 예산 초기화");
+        } finally {
+            state.unlock();
+        }
+    }
+
+    /**
+     * 여유율을 적용한 분당 토큰 예산
+     */
+    public double tokensPerMinute() {
+        return tokenCapacity;
+    }
+
+    /**
+     * 현재 남은 토큰 예산의 비율 (0.0 ~ 1.0)
+     */
+    public double tokenHeadroom() {
+        return Math.max(0, availableTokens()) / tokenCapacity;
+    }
+
+    /**
+     * 예산이 충분하면 차감 후 0, 부족하면 다시 확인할 때까지 기다릴 시간(ns)
+     */
+    private long tryTake(double tokens) {
+        state.lock();
+        try {
+            refill();
+            if (availableRequests >= 1 && availableTokens >= tokens) {
+                availableRequests -= 1;
+                availableTokens -= tokens;
+                return 0;
+            }
+            return nanosUntilAvailable(tokens);
+        } finally {
+            state.unlock();
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        long elapsed = now - lastRefillNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        availableRequests = Math.min(requestCapacity, availableRequests + requestCapacity * elapsed / NANOS_PER_MINUTE);
+        availableTokens = Math.min(tokenCapacity, availableTokens + tokenCapacity * elapsed / NANOS_PER_MINUTE);
+        lastRefillNanos = now;
+    }
+
+    private long nanosUntilAvailable(double tokens) {
+        double missingRequests = Math.max(0, 1 - availableRequests);
+        double missingTokens = Math.max(0, tokens - availableTokens);
+        long waitNanos = (long) (Math.max(missingRequests / requestCapacity, missingTokens / tokenCapacity) * NANOS_PER_MINUTE);
+        return Math.max(TimeUnit.MILLISECONDS.toNanos(1), Math.min(waitNanos, MAX_PARK_NANOS));
+    }
+
+    private double availableTokens() {
+        state.lock();
+        try {
+            refill();
+            return availableTokens;
+        } finally {
+            state.unlock();
+        }
+    }
+
+    private double availableRequests() {
+        state.lock();
+        try {
+            refill();
+            return availableRequests;
+        } finally {
+            state.unlock();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.study.moya.ai_roadmap.client;
+
+/**
+ * 서킷이 열려 있고 사용할 수 있는 대체 모델도 없어 OpenAI 호출을 시도하지 않은 경우
+ */
+public class OpenAiUnavailableException extends RuntimeException {
+
+    public OpenAiUnavailableException(String model, Throwable cause) {
+        super("OpenAI 모델을 일시적으로 사용할 수 없습니다: " + model, cause);
+    }
+}
@@ -0,0 +1,100 @@
+package com.study.moya.ai_roadmap.client.standin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청 → 응답 기록을 디스크에 내용 주소(SHA-256) 방식으로 저장한다.
+ * 키는 모델, 메시지, temperature, maxTokens 로 계산하므로 같은 프롬프트는 같은 파일을 가리킨다.
+ * 파일 위치: {dir}/{키 앞 2자리}/{키}.json
+ */
+@Slf4j
+public class ChatCompletionRecordStore {
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    public ChatCompletionRecordStore(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    public String key(ChatCompletionRequest request) {
+        List<Map<String, String>> messages = new ArrayList<>();
+        for (ChatMessage message : request.getMessages()) {
+            Map<String, String> canonical = new LinkedHashMap<>();
+            canonical.put("role", message.getRole());
+            canonical.put("content", message.getContent());
+            messages.add(canonical);
+        }
+        Map<String, Object> canonical = new LinkedHashMap<>();
+        canonical.put("model", request.getModel());
+        canonical.put("messages", messages);
+        canonical.put("temperature", request.getTemperature());
+        canonical.put("maxTokens", request.getMaxTokens());
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(canonical));
+            return HexFormat.of().formatHex(digest);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Optional<ChatCompletionResult> find(String key) {
+        Path file = pathOf(key);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.treeToValue(objectMapper.readTree(file.toFile()).get("result"),
+                    ChatCompletionResult.class));
+        } catch (IOException e) {
+            log.warn("기록 파일을 읽을 수 없습니다: {} ({})", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void save(String key, ChatCompletionRequest request, ChatCompletionResult result) {
+        Path file = pathOf(key);
+        try {
+            Files.createDirectories(file.getParent());
+            ObjectNode record = objectMapper.createObjectNode();
+            record.set("request", objectMapper.valueToTree(request));
+            record.set("result", objectMapper.valueToTree(result));
+
+            // 동시에 같은 키를 기록해도 반쯤 쓴 파일이 보이지 않도록 임시 파일에 쓴 뒤 교체
+            Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+            Files.writeString(temp, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(record),
+                    StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("OpenAI 응답 기록 저장: {}", file);
+        } catch (IOException e) {
+            log.warn("OpenAI 응답 기록 저장 실패: {} ({})", file, e.getMessage());
+        }
+    }
+
+    private Path pathOf(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+}
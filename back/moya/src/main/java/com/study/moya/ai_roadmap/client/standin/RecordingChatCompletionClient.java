@@ -0,0 +1,48 @@
+package com.study.moya.ai_roadmap.client.standin;
+
+import com.study.moya.ai_roadmap.client.ChatCompletionClient;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import io.reactivex.Flowable;
+
+/**
+ * 실제 호출 결과를 그대로 돌려주면서 디스크에 기록한다. (replay 모드의 입력 데이터 수집용)
+ */
+public class RecordingChatCompletionClient implements ChatCompletionClient {
+
+    private final ChatCompletionClient delegate;
+    private final ChatCompletionRecordStore recordStore;
+
+    public RecordingChatCompletionClient(ChatCompletionClient delegate, ChatCompletionRecordStore recordStore) {
+        this.delegate = delegate;
+        this.recordStore = recordStore;
+    }
+
+    @Override
+    public ChatCompletionResult createChatCompletion(ChatCompletionRequest request) {
+        ChatCompletionResult result = delegate.createChatCompletion(request);
+        recordStore.save(recordStore.key(request), request, result);
+        return result;
+    }
+
+    /**
+     * 스트림은 조각을 이어 붙여 하나의 응답으로 기록 (stream 옵션은 키 계산에 포함되지 않으므로 일반 호출과 기록을 공유)
+     */
+    @Override
+    public Flowable<ChatCompletionChunk> streamChatCompletion(ChatCompletionRequest request) {
+        StringBuilder content = new StringBuilder();
+        return delegate.streamChatCompletion(request)
+                .doOnNext(chunk -> {
+                    if (chunk.getChoices() != null && !chunk.getChoices().isEmpty()) {
+                        ChatMessage delta = chunk.getChoices().get(0).getMessage();
+                        if (delta != null && delta.getContent() != null) {
+                            content.append(delta.getContent());
+                        }
+                    }
+                })
+                .doOnComplete(() -> recordStore.save(recordStore.key(request), request,
+                        StandInResponses.result(request, content.toString())));
+    }
+}
@@ -0,0 +1,49 @@
+package com.study.moya.ai_roadmap.client.standin;
+
+import com.study.moya.ai_roadmap.client.ChatCompletionClient;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import io.reactivex.Flowable;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기록된 응답을 설정한 지연 분포에 맞춰 돌려준다. 기록이 없으면 합성 응답으로 대체하거나(missFallback) 실패한다.
+ */
+@Slf4j
+public class ReplayChatCompletionClient implements ChatCompletionClient {
+
+    private final ChatCompletionRecordStore recordStore;
+    private final StandInLatency latency;
+    private final SyntheticChatCompletionClient missFallback;
+
+    public ReplayChatCompletionClient(ChatCompletionRecordStore recordStore, StandInLatency latency,
+                                      SyntheticChatCompletionClient missFallback) {
+        this.recordStore = recordStore;
+        this.latency = latency;
+        this.missFallback = missFallback;
+    }
+
+    @Override
+    public ChatCompletionResult createChatCompletion(ChatCompletionRequest request) {
+        StandInResponses.sleep(latency.sampleMillis());
+        return replay(request);
+    }
+
+    @Override
+    public Flowable<ChatCompletionChunk> streamChatCompletion(ChatCompletionRequest request) {
+        return Flowable.defer(() -> StandInResponses.stream(request,
+                StandInResponses.content(replay(request)), latency.sampleMillis()));
+    }
+
+    private ChatCompletionResult replay(ChatCompletionRequest request) {
+        String key = recordStore.key(request);
+        return recordStore.find(key).orElseGet(() -> {
+            if (missFallback == null) {
+                throw new IllegalStateException("기록된 응답이 없습니다. 키: " + key);
+            }
+            log.debug("기록된 응답이 없어 합성 응답으로 대체. 키: {}", key);
+            return StandInResponses.result(request, missFallback.generate(request));
+        });
+    }
+}
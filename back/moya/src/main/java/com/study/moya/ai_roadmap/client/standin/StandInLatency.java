@@ -0,0 +1,49 @@
+package com.study.moya.ai_roadmap.client.standin;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 대역 응답의 지연 시간 분포
+ * <ul>
+ *     <li>none: 지연 없음</li>
+ *     <li>fixed: 항상 median</li>
+ *     <li>uniform: min ~ max 균등 분포</li>
+ *     <li>lognormal: 중앙값 median, p99 가 max 가 되도록 맞춘 로그정규 분포 (min ~ max 로 자름)</li>
+ * </ul>
+ */
+public class StandInLatency {
+
+    // 표준정규분포의 99 백분위 값
+    private static final double Z_99 = 2.326;
+
+    private final String distribution;
+    private final long minMillis;
+    private final long medianMillis;
+    private final long maxMillis;
+
+    public StandInLatency(String distribution, Duration min, Duration median, Duration max) {
+        this.distribution = distribution;
+        this.minMillis = min.toMillis();
+        this.medianMillis = median.toMillis();
+        this.maxMillis = Math.max(max.toMillis(), medianMillis);
+    }
+
+    public long sampleMillis() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (distribution) {
+            case "none" -> 0;
+            case "fixed" -> medianMillis;
+            case "uniform" -> minMillis >= maxMillis ? maxMillis : random.nextLong(minMillis, maxMillis + 1);
+            case "lognormal" -> {
+                if (medianMillis <= 0) {
+                    yield 0;
+                }
+                double sigma = Math.log((double) maxMillis / medianMillis) / Z_99;
+                long sampled = Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+                yield Math.max(minMillis, Math.min(maxMillis, sampled));
+            }
+            default -> throw new IllegalArgumentException("지원하지 않는 지연 분포입니다: " + distribution);
+        };
+    }
+}
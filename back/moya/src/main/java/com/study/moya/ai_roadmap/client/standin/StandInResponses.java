@@ -0,0 +1,106 @@
+package com.study.moya.ai_roadmap.client.standin;
+
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.completion.chat.ChatMessageRole;
+import io.reactivex.Flowable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대역(stand-in) 구현이 공통으로 쓰는 응답 객체 생성 도우미
+ */
+final class StandInResponses {
+
+    private static final int STREAM_CHUNK_CHARS = 40;
+    // 한글 위주 텍스트 기준 대략적인 글자당 토큰 수
+    private static final double TOKENS_PER_CHAR = 0.5;
+
+    private StandInResponses() {
+    }
+
+    static ChatCompletionResult result(ChatCompletionRequest request, String content) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setIndex(0);
+        choice.setMessage(new ChatMessage(ChatMessageRole.ASSISTANT.value(), content));
+        choice.setFinishReason("stop");
+
+        Usage usage = new Usage();
+        usage.setPromptTokens(estimateTokens(promptText(request)));
+        usage.setCompletionTokens(estimateTokens(content));
+        usage.setTotalTokens(usage.getPromptTokens() + usage.getCompletionTokens());
+
+        ChatCompletionResult result = new ChatCompletionResult();
+        result.setId("standin-" + UUID.randomUUID());
+        result.setObject("chat.completion");
+        result.setCreated(System.currentTimeMillis() / 1000);
+        result.setModel(request.getModel());
+        result.setChoices(List.of(choice));
+        result.setUsage(usage);
+        return result;
+    }
+
+    /**
+     * 응답 본문을 일정 길이 조각으로 나눠 전체 지연 시간에 걸쳐 흘려보내는 스트림
+     */
+    static Flowable<ChatCompletionChunk> stream(ChatCompletionRequest request, String content, long totalLatencyMillis) {
+        List<ChatCompletionChunk> chunks = new ArrayList<>();
+        for (int start = 0; start < content.length(); start += STREAM_CHUNK_CHARS) {
+            chunks.add(chunk(request, content.substring(start, Math.min(content.length(), start + STREAM_CHUNK_CHARS))));
+        }
+        if (chunks.isEmpty() || totalLatencyMillis <= 0) {
+            return Flowable.fromIterable(chunks);
+        }
+        long perChunkMillis = Math.max(1, totalLatencyMillis / chunks.size());
+        return Flowable.fromIterable(chunks)
+                .concatMap(chunk -> Flowable.just(chunk).delay(perChunkMillis, TimeUnit.MILLISECONDS));
+    }
+
+    static String promptText(ChatCompletionRequest request) {
+        StringBuilder text = new StringBuilder();
+        for (ChatMessage message : request.getMessages()) {
+            if (message.getContent() != null) {
+                text.append(message.getContent()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    static String content(ChatCompletionResult result) {
+        return result.getChoices().get(0).getMessage().getContent();
+    }
+
+    static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("대역 응답 지연 중 인터럽트 발생", e);
+        }
+    }
+
+    private static ChatCompletionChunk chunk(ChatCompletionRequest request, String delta) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setIndex(0);
+        choice.setMessage(new ChatMessage(ChatMessageRole.ASSISTANT.value(), delta));
+
+        ChatCompletionChunk chunk = new ChatCompletionChunk();
+        chunk.setObject("chat.completion.chunk");
+        chunk.setModel(request.getModel());
+        chunk.setChoices(List.of(choice));
+        return chunk;
+    }
+
+    private static long estimateTokens(String text) {
+        return (long) Math.ceil(text.length() * TOKENS_PER_CHAR);
+    }
+}
@@ -0,0 +1,116 @@
+package com.study.moya.ai_roadmap.client.standin;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.study.moya.ai_roadmap.client.ChatCompletionClient;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import io.reactivex.Flowable;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 네트워크 없이 프롬프트 형식에 맞는 응답을 만들어 낸다.
+ * <ul>
+ *     <li>로드맵 프롬프트("기간: N주"): RoadmapResponseParser 가 읽을 수 있는 weeklyPlans JSON</li>
+ *     <li>학습지 프롬프트("Day N: 키워드"): WorksheetResponseParser 가 읽을 수 있는 === DAY N === 본문</li>
+ * </ul>
+ * 같은 프롬프트에는 항상 같은 응답을 만든다.
+ */
+public class SyntheticChatCompletionClient implements ChatCompletionClient {
+
+    private static final Pattern DURATION_PATTERN = Pattern.compile("기간:\\s*(\\d+)\\s*주");
+    private static final Pattern SUBJECT_PATTERN = Pattern.compile("중분류:\\s*(.+)");
+    private static final Pattern WORKSHEET_DAY_PATTERN = Pattern.compile("(?m)^Day\\s+(\\d+):\\s*(.+)$");
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int DEFAULT_WEEKS = 4;
+
+    private static final String[] WEEKLY_TOPICS = {
+            "기초 개념", "핵심 기능", "아키텍처", "성능 최적화", "실전 응용", "트러블슈팅", "모니터링", "배포 전략"
+    };
+    private static final String[] DAILY_TOPICS = {
+            "환경설정", "기본기능", "심화학습", "실습과제", "프로젝트", "코드리뷰", "회고"
+    };
+
+    private final ObjectMapper objectMapper;
+    private final StandInLatency latency;
+
+    public SyntheticChatCompletionClient(ObjectMapper objectMapper, StandInLatency latency) {
+        this.objectMapper = objectMapper;
+        this.latency = latency;
+    }
+
+    @Override
+    public ChatCompletionResult createChatCompletion(ChatCompletionRequest request) {
+        StandInResponses.sleep(latency.sampleMillis());
+        return StandInResponses.result(request, generate(request));
+    }
+
+    @Override
+    public Flowable<ChatCompletionChunk> streamChatCompletion(ChatCompletionRequest request) {
+        return Flowable.defer(() -> StandInResponses.stream(request, generate(request), latency.sampleMillis()));
+    }
+
+    public String generate(ChatCompletionRequest request) {
+        String prompt = StandInResponses.promptText(request);
+        Random random = new Random(prompt.hashCode());
+
+        Matcher worksheetDays = WORKSHEET_DAY_PATTERN.matcher(prompt);
+        if (worksheetDays.find()) {
+            return worksheets(worksheetDays.reset(), random);
+        }
+
+        Matcher duration = DURATION_PATTERN.matcher(prompt);
+        if (duration.find()) {
+            Matcher subject = SUBJECT_PATTERN.matcher(prompt);
+            return roadmap(Integer.parseInt(duration.group(1)), subject.find() ? subject.group(1).trim() : "학습", random);
+        }
+        return "합성 응답입니다. 요청 형식을 알 수 없어 기본 문장을 반환합니다.";
+    }
+
+    private String roadmap(int weeks, String subject, Random random) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode weeklyPlans = root.putArray("weeklyPlans");
+        int totalWeeks = weeks > 0 ? weeks : DEFAULT_WEEKS;
+        for (int week = 1; week <= totalWeeks; week++) {
+            ObjectNode weeklyPlan = weeklyPlans.addObject();
+            weeklyPlan.put("week", week);
+            weeklyPlan.put("weeklyKeyword", subject + " " + WEEKLY_TOPICS[random.nextInt(WEEKLY_TOPICS.length)]);
+            ArrayNode dailyPlans = weeklyPlan.putArray("dailyPlans");
+            for (int day = 1; day <= DAYS_PER_WEEK; day++) {
+                ObjectNode dailyPlan = dailyPlans.addObject();
+                dailyPlan.put("day", day);
+                dailyPlan.put("dailyKeyword", subject + " " + DAILY_TOPICS[random.nextInt(DAILY_TOPICS.length)] + " " + week + "-" + day);
+            }
+        }
+        ArrayNode overallTips = root.putArray("overallTips");
+        overallTips.add("매일 정해진 시간에 꾸준히 학습하세요.");
+        overallTips.add("학습한 내용을 직접 실습해 보세요.");
+        overallTips.add("한 주가 끝나면 배운 내용을 정리하세요.");
+        root.put("curriculumEvaluation", subject + " 학습 목표에 맞춘 합성 커리큘럼입니다.");
+        root.put("hasRestrictedTopics", "없음");
+
+        try {
+            return objectMapper.writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("합성 로드맵 생성 실패", e);
+        }
+    }
+
+    private String worksheets(Matcher days, Random random) {
+        StringBuilder content = new StringBuilder();
+        while (days.find()) {
+            String keyword = days.group(2).trim();
+            content.append("=== DAY ").append(days.group(1)).append(" ===\n")
+                    .append("오늘은 ").append(keyword).append("에 대해 학습합니다. ")
+                    .append("먼저 핵심 개념을 정리하고, 예제를 따라 하며 동작 방식을 확인한 뒤, ")
+                    .append(1 + random.nextInt(3)).append("개의 연습 문제로 이해한 내용을 점검합니다. ")
+                    .append("마지막으로 오늘 배운 내용을 세 문장으로 요약해 보세요.\n\n");
+        }
+        return content.toString().trim();
+    }
+}
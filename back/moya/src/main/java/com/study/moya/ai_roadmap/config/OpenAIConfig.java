@@ -1,12 +1,25 @@
 package com.study.moya.ai_roadmap.config;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.client.ChatCompletionClient;
+import com.study.moya.ai_roadmap.client.OpenAiChatCompletionClient;
+import com.study.moya.ai_roadmap.client.standin.ChatCompletionRecordStore;
+import com.study.moya.ai_roadmap.client.standin.RecordingChatCompletionClient;
+import com.study.moya.ai_roadmap.client.standin.ReplayChatCompletionClient;
+import com.study.moya.ai_roadmap.client.standin.StandInLatency;
+import com.study.moya.ai_roadmap.client.standin.SyntheticChatCompletionClient;
 import com.theokanning.openai.service.OpenAiService;
+import java.nio.file.Path;
 import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
+@Slf4j
 @Configuration
 public class OpenAIConfig {
 
@@ -16,8 +29,48 @@ public class OpenAIConfig {
     @Value("${openai.api.models.category_classification.model}")
     private String searchModel;
 
+    // replay/synthetic 모드에서는 만들지 않으므로 API 키 없이도 기동 가능
+    @Lazy
     @Bean
     public OpenAiService openAiService(@Value("${openai.api.key}") String apiKey) {
         return new OpenAiService(apiKey, Duration.ofSeconds(300));
     }
-}
\ No newline at end of file
+
+    /**
+     * 채팅 호출 백엔드 선택 (openai.stand-in.mode)
+     * <ul>
+     *     <li>live: 실제 OpenAI 호출 (기본값)</li>
+     *     <li>record: 실제 호출 결과를 openai.stand-in.record-dir 에 기록</li>
+     *     <li>replay: 기록된 응답을 지연 분포에 맞춰 재생, 기록이 없으면 합성 응답 (replay-miss=fail 이면 실패)</li>
+     *     <li>synthetic: 프롬프트 형식에 맞는 응답을 합성</li>
+     * </ul>
+     */
+    @Bean
+    public ChatCompletionClient chatCompletionClient(
+            ObjectProvider<OpenAiService> openAiService,
+            ObjectMapper objectMapper,
+            @Value("${openai.stand-in.mode:live}") String mode,
+            @Value("${openai.stand-in.record-dir:build/llm-recordings}") String recordDirectory,
+            @Value("${openai.stand-in.replay-miss:synthetic}") String replayMiss,
+            @Value("${openai.stand-in.latency.distribution:lognormal}") String latencyDistribution,
+            @Value("${openai.stand-in.latency.min:PT0.2S}") Duration latencyMin,
+            @Value("${openai.stand-in.latency.median:PT3S}") Duration latencyMedian,
+            @Value("${openai.stand-in.latency.max:PT20S}") Duration latencyMax) {
+        Path recordDir = Path.of(recordDirectory);
+        StandInLatency latency = new StandInLatency(latencyDistribution, latencyMin, latencyMedian, latencyMax);
+
+        ChatCompletionClient client = switch (mode) {
+            case "live" -> new OpenAiChatCompletionClient(openAiService.getObject());
+            case "record" -> new RecordingChatCompletionClient(new OpenAiChatCompletionClient(openAiService.getObject()),
+                    new ChatCompletionRecordStore(recordDir, objectMapper));
+            case "replay" -> new ReplayChatCompletionClient(new ChatCompletionRecordStore(recordDir, objectMapper), latency,
+                    "fail".equals(replayMiss) ? null : new SyntheticChatCompletionClient(objectMapper, latency));
+            case "synthetic" -> new SyntheticChatCompletionClient(objectMapper, latency);
+            default -> throw new IllegalArgumentException("지원하지 않는 openai.stand-in.mode 입니다: " + mode);
+        };
+        if (!"live".equals(mode)) {
+            log.warn("OpenAI 대역 모드로 동작합니다: {} (기록 경로: {})", mode, recordDir.toAbsolutePath());
+        }
+        return client;
+    }
+}
@@ -0,0 +1,14 @@
+package com.study.moya.ai_roadmap.constants;
+
+public enum GenerationJobStatus {
+    PENDING,    // 대기 중 (재시도 대기 포함)
+    RUNNING,    // 처리 중 (리스 보유)
+    SUCCEEDED,  // 완료됨
+    ON_DEMAND,  // 학습지 앞쪽 일차만 생성 완료, 나머지는 일차를 열 때 생성 (worksheet.on-demand.enabled)
+    FAILED,     // 최대 재시도 초과로 실패
+    CANCELLED;  // 사용자 취소 또는 로드맵 삭제로 중단
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == ON_DEMAND || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,7 @@
+package com.study.moya.ai_roadmap.constants;
+
+public enum GenerationJobType {
+    ROADMAP,    // 로드맵 생성
+    WORKSHEET,  // 학습지 생성
+    QUIZ        // 퀴즈 생성 (학습지 생성 후)
+}
@@ -10,6 +10,7 @@ import com.study.moya.ai_roadmap.dto.request.UpdateCategoryRequest;
 import com.study.moya.ai_roadmap.dto.response.CategoryHierarchyResponse;
 import com.study.moya.ai_roadmap.dto.response.CategoryResponse;
 import com.study.moya.ai_roadmap.service.CategoryService;
+import com.study.moya.global.api.ConditionalResponses;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -31,6 +32,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -47,13 +49,15 @@ public class CategoryController {
     }
 
     @GetMapping("/main") // 대분류 카테고리 전체 조회
-    public ResponseEntity<List<CategoryResponse>> getMainCategories() {
-        return ResponseEntity.ok(categoryService.getMainCategories());
+    public ResponseEntity<List<CategoryResponse>> getMainCategories(WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, categoryService.getCategoryVersion(),
+                categoryService::getMainCategories);
     }
 
     @GetMapping("/{parentId}/sub")
-    public ResponseEntity<List<CategoryResponse>> getSubCategories(@PathVariable Long parentId) {
-        return ResponseEntity.ok(categoryService.getSubCategories(parentId));
+    public ResponseEntity<List<CategoryResponse>> getSubCategories(@PathVariable Long parentId, WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, categoryService.getCategoryVersion(),
+                () -> categoryService.getSubCategories(parentId));
     }
 
     @PutMapping("/{id}")
@@ -82,8 +86,9 @@ public class CategoryController {
             description = "최대 깊이 1의 대분류와 중분류로 구성된 카테고리 계층 구조를 객체배열로 반환합니다."
     )
     @GetMapping("/hierarchy") // 대분류, 중분류 전체
-    public ResponseEntity<List<CategoryHierarchyResponse>> getCategoryHierarchy() {
-        return ResponseEntity.ok(categoryService.getCategoryHierarchy());
+    public ResponseEntity<List<CategoryHierarchyResponse>> getCategoryHierarchy(WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, categoryService.getCategoryVersion(),
+                categoryService::getCategoryHierarchy);
     }
 
     @Operation(
@@ -91,7 +96,12 @@ public class CategoryController {
             description = "카테고리, 목표수준 목록을 불러옵니다."
     )
     @GetMapping("/roadmap-form-data")
-    public ResponseEntity<Map<String, Object>> getRoadmapFormData() {
+    public ResponseEntity<Map<String, Object>> getRoadmapFormData(WebRequest webRequest) {
+        // 학습 목표는 코드 상수라 카테고리 버전만으로 검증
+        return ConditionalResponses.ok(webRequest, categoryService.getCategoryVersion(), this::buildRoadmapFormData);
+    }
+
+    private Map<String, Object> buildRoadmapFormData() {
         Map<String, Object> formData = new HashMap<>();
 
         // 카테고리 계층 구조 가져오기
@@ -108,7 +118,7 @@ public class CategoryController {
         formData.put("categories", categories);
         formData.put("learningObjectives", objectives);
 
-        return ResponseEntity.ok(formData);
+        return formData;
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
@@ -117,8 +127,9 @@ public class CategoryController {
     }
 
     @GetMapping("/{parentId}/sub-sub") //최하위 카테고리 조회
-    public ResponseEntity<List<CategoryResponse>> getSubSubCategories(@PathVariable Long parentId) {
-        return ResponseEntity.ok(categoryService.getSubSubCategories(parentId));
+    public ResponseEntity<List<CategoryResponse>> getSubSubCategories(@PathVariable Long parentId, WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, categoryService.getCategoryVersion(),
+                () -> categoryService.getSubSubCategories(parentId));
     }
 
     // 서브 카테고리(2단계) 생성
@@ -139,11 +150,11 @@ public class CategoryController {
 
     // 특정 depth의 카테고리 조회
     @GetMapping("/depth/{depth}")
-    public ResponseEntity<List<CategoryResponse>> getCategoriesByDepth(@PathVariable int depth) {
+    public ResponseEntity<List<CategoryResponse>> getCategoriesByDepth(@PathVariable int depth, WebRequest webRequest) {
         if (depth < 0 || depth >= Category.MAX_DEPTH) {
             throw new IllegalArgumentException("Invalid depth");
         }
-        List<CategoryResponse> categories = categoryService.getCategoriesByDepth(depth);
-        return ResponseEntity.ok(categories);
+        return ConditionalResponses.ok(webRequest, categoryService.getCategoryVersion(),
+                () -> categoryService.getCategoriesByDepth(depth));
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.study.moya.ai_roadmap.controller;
+
+import com.study.moya.ai_roadmap.dto.response.GenerationJobResponse;
+import com.study.moya.ai_roadmap.service.GenerationJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Slf4j
+@RequestMapping("/api/generation-jobs")
+@RequiredArgsConstructor
+public class GenerationJobController {
+
+    private final GenerationJobService generationJobService;
+
+    @Operation(summary = "생성 작업 상태 조회", description = "로드맵/학습지 생성 작업의 상태, 시도 횟수, 결과 로드맵 ID를 조회합니다.")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<GenerationJobResponse> getJob(@PathVariable Long jobId, @AuthenticationPrincipal Long memberId) {
+        return ResponseEntity.ok(generationJobService.getJob(jobId, memberId));
+    }
+
+    @Operation(summary = "생성 작업 취소", description = "대기 중이거나 처리 중인 로드맵/학습지 생성 작업을 취소합니다. 저장된 학습지가 없으면 티켓을 환불합니다. 처리 중인 작업은 중단이 확인된 뒤 환불되며, 이미 종료된 작업은 409 를 반환합니다.")
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<GenerationJobResponse> cancelJob(@PathVariable Long jobId, @AuthenticationPrincipal Long memberId) {
+        return ResponseEntity.ok(generationJobService.cancel(jobId, memberId));
+    }
+}
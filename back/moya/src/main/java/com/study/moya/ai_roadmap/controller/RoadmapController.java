@@ -2,14 +2,23 @@ package com.study.moya.ai_roadmap.controller;
 
 import com.study.moya.ai_roadmap.dto.request.RoadmapRequest;
 import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
+import com.study.moya.ai_roadmap.dto.response.DailyQuizResponse;
+import com.study.moya.ai_roadmap.dto.response.DailyWorksheetResponse;
+import com.study.moya.ai_roadmap.dto.response.GenerationJobResponse;
 import com.study.moya.ai_roadmap.dto.response.RoadMapSimpleDto;
 import com.study.moya.ai_roadmap.dto.response.RoadMapSummaryDTO;
+import com.study.moya.ai_roadmap.dto.response.RoadmapOutlineResponse;
 import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
 import com.study.moya.ai_roadmap.dto.response.WorksheetStatusResponse;
+import com.study.moya.ai_roadmap.service.GenerationJobService;
+import com.study.moya.ai_roadmap.service.QuizService;
+import com.study.moya.ai_roadmap.service.RoadmapQueryService;
 import com.study.moya.ai_roadmap.service.RoadmapService;
+import com.study.moya.ai_roadmap.service.WorksheetOnDemandGenerator;
 import com.study.moya.ai_roadmap.service.WorksheetService;
 import com.study.moya.error.constants.AuthErrorCode;
 import com.study.moya.error.constants.CommonErrorCode;
+import com.study.moya.global.api.ConditionalResponses;
 import com.study.moya.swagger.annotation.SwaggerErrorDescription;
 import com.study.moya.swagger.annotation.SwaggerErrorDescriptions;
 import com.study.moya.swagger.annotation.SwaggerSuccessResponse;
@@ -19,13 +28,19 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -34,6 +49,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @Slf4j
@@ -43,6 +60,12 @@ public class RoadmapController {
 
     private final RoadmapService roadMapService;
     private final WorksheetService worksheetService;
+    private final GenerationJobService generationJobService;
+    private final RoadmapQueryService roadmapQueryService;
+    private final WorksheetOnDemandGenerator worksheetOnDemandGenerator;
+    private final QuizService quizService;
+
+    private static final long STREAM_TIMEOUT_MS = 300_000L; // OpenAI 클라이언트 타임아웃과 동일
 
     @PostMapping("/generatge2")
     public void generateRoadmap(@RequestBody @Valid RoadmapRequest roadmapRequest) {}
@@ -81,17 +104,76 @@ public class RoadmapController {
                 });
     }
 
+    @Operation(
+            summary = "주간 로드맵 스트리밍 생성",
+            description = "로드맵을 생성하면서 완성된 주차를 SSE(week 이벤트)로 바로 전송합니다. "
+                    + "모든 주차 전송 후 complete 이벤트로 로드맵 ID, 팁, 평가를 전송하고 실패 시 error 이벤트를 전송합니다. "
+                    + "요청이 몰려 생성을 시작하지 못하면 티켓을 사용하지 않고 error 이벤트로 바로 종료합니다."
+    )
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWeeklyRoadmap(
+            @Valid @RequestBody RoadmapRequest request, @AuthenticationPrincipal Long memberId
+    ) {
+        log.info("로드맵 스트리밍 생성 요청. 회원 ID: {}", memberId);
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        try {
+            roadMapService.streamWeeklyRoadmap(request, memberId, emitter);
+        } catch (TaskRejectedException e) {
+            // 실행기 포화로 거절되면 티켓을 쓰기 전이므로 오류 이벤트만 보내고 종료
+            log.warn("로드맵 스트리밍 생성 거절 (실행기 포화). 회원 ID: {}", memberId);
+            try {
+                emitter.send(SseEmitter.event().name("error").data(CommonErrorCode.SERVICE_UNAVAILABLE.getMessage()));
+            } catch (IOException ignored) {
+                // 연결이 끊긴 경우 보낼 곳이 없음
+            }
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    @Operation(
+            summary = "주간 로드맵 생성 작업 등록",
+            description = "로드맵 생성을 작업 큐에 등록하고 작업 ID를 바로 반환합니다. 진행 상태는 /api/generation-jobs/{jobId}로 조회합니다."
+    )
+    @PostMapping("/generate/jobs")
+    public ResponseEntity<GenerationJobResponse> enqueueWeeklyRoadmap(
+            @Valid @RequestBody RoadmapRequest request, @AuthenticationPrincipal Long memberId
+    ) {
+        log.info("로드맵 생성 작업 등록 요청. 회원 ID: {}", memberId);
+        return ResponseEntity.accepted().body(generationJobService.enqueueRoadmap(request, memberId));
+    }
+
+    @Operation(
+            summary = "학습지 생성 작업 등록",
+            description = "학습지 생성을 작업 큐에 등록합니다. 진행 상태는 /api/generation-jobs/{jobId}로 조회합니다."
+    )
     @PostMapping("/{roadmapId}/worksheets")
-    public ResponseEntity<Void> generateWorksheets(@PathVariable Long roadmapId, @Valid @RequestBody WorkSheetRequest request, 
-                                                  @AuthenticationPrincipal Long memberId) {
-        log.info("로드맵 ID: {}의 학습지 생성 시작, 회원 ID: {}", roadmapId, memberId);
-        worksheetService.generateAllWorksheets(roadmapId, request, memberId)
-                .thenRun(() -> log.info("로드맵 ID: {}의 학습지 생성 완료", roadmapId))
-                .exceptionally(ex -> {
-                    log.error("학습지 생성 중 오류 발생: {}", ex.getMessage());
-                    return null;
-                });
-        return ResponseEntity.accepted().build();
+    public ResponseEntity<GenerationJobResponse> generateWorksheets(@PathVariable Long roadmapId, @Valid @RequestBody WorkSheetRequest request,
+                                                                    @AuthenticationPrincipal Long memberId) {
+        log.info("로드맵 ID: {}의 학습지 생성 작업 등록, 회원 ID: {}", roadmapId, memberId);
+        return ResponseEntity.accepted().body(generationJobService.enqueueWorksheets(roadmapId, request, memberId));
+    }
+
+    @Operation(
+            summary = "학습지 생성 재개",
+            description = "직전 학습지 생성 작업에서 저장되지 않은 일차만 같은 요청으로 다시 생성합니다. 티켓을 차감하지 않으며, 환불된 작업은 재개할 수 없습니다(400). 직전 작업이 없으면 404, 진행 중이거나 남은 일차가 없으면 409 를 반환합니다."
+    )
+    @PostMapping("/{roadmapId}/worksheets/resume")
+    public ResponseEntity<GenerationJobResponse> resumeWorksheets(@PathVariable Long roadmapId,
+                                                                  @AuthenticationPrincipal Long memberId) {
+        log.info("로드맵 ID: {}의 학습지 생성 재개 요청, 회원 ID: {}", roadmapId, memberId);
+        return ResponseEntity.accepted().body(generationJobService.resumeWorksheets(roadmapId, memberId));
+    }
+
+    @Operation(
+            summary = "퀴즈 생성 작업 등록",
+            description = "학습지가 저장된 일차 가운데 퀴즈가 없는 일차의 퀴즈 생성을 작업 큐에 등록합니다. 학습지 생성이 끝난 로드맵만 가능하며 티켓을 차감하지 않습니다. 학습지 작업이 없으면 404, 학습지나 퀴즈 생성이 진행 중이면 409 를 반환합니다."
+    )
+    @PostMapping("/{roadmapId}/quizzes")
+    public ResponseEntity<GenerationJobResponse> generateQuizzes(@PathVariable Long roadmapId,
+                                                                 @AuthenticationPrincipal Long memberId) {
+        log.info("로드맵 ID: {}의 퀴즈 생성 작업 등록, 회원 ID: {}", roadmapId, memberId);
+        return ResponseEntity.accepted().body(generationJobService.enqueueQuizzes(roadmapId, memberId));
     }
 
     @GetMapping("/categories/{categoryId}/roadmaps")
@@ -121,10 +203,52 @@ public class RoadmapController {
     }
 
     @GetMapping("/myroadmaps/{roadMapId}")
-    public ResponseEntity<WeeklyRoadmapResponse> getRoadMap(@PathVariable Long roadMapId){
-        return ResponseEntity.ok(roadMapService.getRoadmapById(roadMapId));
+    public ResponseEntity<String> getRoadMap(@PathVariable Long roadMapId, WebRequest webRequest){
+        // 스냅샷에 저장된 직렬화 결과를 그대로 내려준다 (본문 스키마는 WeeklyRoadmapResponse)
+        return ConditionalResponses.ok(webRequest, roadmapQueryService.getRoadmapVersion(roadMapId),
+                MediaType.APPLICATION_JSON, () -> roadMapService.getRoadmapJson(roadMapId));
+    }
+
+    @Operation(summary = "로드맵 목차 조회", description = "주차/일차 키워드만 조회합니다. 학습지 본문은 일차별 조회 API로 따로 받습니다.")
+    @GetMapping("/myroadmaps/{roadMapId}/outline")
+    public ResponseEntity<RoadmapOutlineResponse> getRoadMapOutline(@PathVariable Long roadMapId, WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, roadmapQueryService.getRoadmapVersion(roadMapId),
+                () -> roadmapQueryService.getRoadmapOutline(roadMapId));
+    }
+
+    @Operation(summary = "일차별 학습지 조회",
+            description = "특정 주차/일차의 학습지 본문을 조회합니다. 요청 시 생성 모드에서는 비어 있는 일차를 열면 그 일차와 이어지는 몇 일차를 생성한 뒤 응답합니다")
+    @GetMapping("/myroadmaps/{roadMapId}/weeks/{week}/days/{day}/worksheet")
+    public ResponseEntity<DailyWorksheetResponse> getDailyWorksheet(@PathVariable Long roadMapId,
+                                                                    @PathVariable Integer week,
+                                                                    @PathVariable Integer day,
+                                                                    @AuthenticationPrincipal Long memberId,
+                                                                    WebRequest webRequest) {
+        // 생성되면 버전이 바뀌므로 조건부 응답 판단 전에 생성
+        worksheetOnDemandGenerator.ensureGenerated(roadMapId, week, day, memberId);
+        return ConditionalResponses.ok(webRequest, roadmapQueryService.getRoadmapVersion(roadMapId),
+                () -> roadmapQueryService.getDailyWorksheet(roadMapId, week, day));
+    }
+
+    @Operation(summary = "일차별 퀴즈 조회", description = "특정 주차/일차의 퀴즈를 조회합니다. 아직 생성되지 않았으면 빈 목록을 반환합니다")
+    @GetMapping("/myroadmaps/{roadMapId}/weeks/{week}/days/{day}/quizzes")
+    public ResponseEntity<DailyQuizResponse> getDailyQuizzes(@PathVariable Long roadMapId,
+                                                             @PathVariable Integer week,
+                                                             @PathVariable Integer day) {
+        return ResponseEntity.ok(quizService.getDailyQuizzes(roadMapId, week, day));
+    }
+
+    @Operation(summary = "학습지 페이지 조회", description = "주차/일차 순으로 학습지 본문을 페이지 단위로 조회합니다 (기본 7일)")
+    @GetMapping("/myroadmaps/{roadMapId}/worksheets")
+    public ResponseEntity<Page<DailyWorksheetResponse>> getWorksheets(@PathVariable Long roadMapId,
+                                                                      @PageableDefault(size = 7) Pageable pageable,
+                                                                      WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, roadmapQueryService.getRoadmapVersion(roadMapId),
+                () -> roadmapQueryService.getWorksheets(roadMapId, pageable));
     }
 
+    @Operation(summary = "학습지 생성 진행률 조회",
+            description = "생성 중에는 그룹이 저장될 때마다 STOMP /sub/roadmap/{roadmapId}/worksheets 로 진행 이벤트가 전송됩니다")
     @GetMapping("/{roadmapId}/worksheets/status")
     public ResponseEntity<WorksheetStatusResponse> getWorksheetStatus(@PathVariable Long roadmapId) {
         long progress = worksheetService.getWorksheetProgress(roadmapId);
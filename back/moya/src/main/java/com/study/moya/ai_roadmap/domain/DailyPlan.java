@@ -1,7 +1,9 @@
 package com.study.moya.ai_roadmap.domain;
 
 import com.study.moya.BaseEntity;
+import com.study.moya.ai_roadmap.util.WorksheetConverter;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -31,6 +33,7 @@ public class DailyPlan extends BaseEntity {
     @Column(nullable = false)
     private String keyword;
 
+    @Convert(converter = WorksheetConverter.class)
     @Column(columnDefinition = "TEXT")
     private String workSheet;
 
@@ -0,0 +1,201 @@
+package com.study.moya.ai_roadmap.domain;
+
+import com.study.moya.BaseEntity;
+import com.study.moya.ai_roadmap.constants.GenerationJobStatus;
+import com.study.moya.ai_roadmap.constants.GenerationJobType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * DB에 영속화되는 AI 생성 작업. 재배포/장애 시에도 리스 만료 후 다른 인스턴스가 이어서 처리한다.
+ */
+@Entity
+@Table(name = "generation_jobs", indexes = {
+        @Index(name = "idx_generation_jobs_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class GenerationJob extends BaseEntity {
+
+    private static final int ERROR_MAX_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private GenerationJobType jobType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private GenerationJobStatus status;
+
+    @Column(name = "member_id")
+    private Long memberId;
+
+    // 학습지 생성: 대상 로드맵, 로드맵 생성: 생성 완료된 로드맵
+    @Column(name = "roadmap_id")
+    private Long roadmapId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "ticket_usage_id")
+    private Long ticketUsageId;
+
+    private int attempts;
+
+    private int maxAttempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private String leaseOwner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(length = ERROR_MAX_LENGTH)
+    private String lastError;
+
+    // 학습지 생성 체크포인트: 첫 시도 때의 미생성 일차 수와 그룹 저장 시마다 누적되는 저장 일차 수
+    @Column(name = "total_units")
+    private Integer totalUnits;
+
+    @Column(name = "completed_units", nullable = false)
+    private int completedUnits;
+
+    @Column(name = "ticket_refunded", nullable = false)
+    private boolean ticketRefunded;
+
+    @Builder
+    private GenerationJob(GenerationJobType jobType, Long memberId, Long roadmapId, String payload,
+                          Long ticketUsageId, int maxAttempts) {
+        this.jobType = jobType;
+        this.status = GenerationJobStatus.PENDING;
+        this.memberId = memberId;
+        this.roadmapId = roadmapId;
+        this.payload = payload;
+        this.ticketUsageId = ticketUsageId;
+        this.maxAttempts = maxAttempts;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    public void succeed(Long roadmapId) {
+        this.status = GenerationJobStatus.SUCCEEDED;
+        if (roadmapId != null) {
+            this.roadmapId = roadmapId;
+        }
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+        this.lastError = null;
+    }
+
+    /**
+     * 학습지 앞쪽 일차만 생성하고 나머지 일차는 요청 시 생성으로 넘김
+     */
+    public void handOverToOnDemand() {
+        succeed(null);
+        this.status = GenerationJobStatus.ON_DEMAND;
+    }
+
+    /**
+     * 실행기 포화로 시작하지 못한 경우 시도 횟수를 되돌리고 바로 다시 대기 상태로
+     */
+    public void requeue() {
+        this.status = GenerationJobStatus.PENDING;
+        this.attempts = Math.max(0, attempts - 1);
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+    }
+
+    /**
+     * 실패 기록. 재시도 가능하면 지수 백오프 후 다시 대기 상태로, 아니면 최종 실패 처리
+     *
+     * @return 최종 실패 여부
+     */
+    public boolean fail(String error, Duration baseBackoff) {
+        this.lastError = error != null && error.length() > ERROR_MAX_LENGTH ? error.substring(0, ERROR_MAX_LENGTH) : error;
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+
+        if (attempts >= maxAttempts) {
+            this.status = GenerationJobStatus.FAILED;
+            return true;
+        }
+
+        this.status = GenerationJobStatus.PENDING;
+        this.nextAttemptAt = LocalDateTime.now().plus(baseBackoff.multipliedBy(1L << Math.max(0, attempts - 1)));
+        return false;
+    }
+
+    /**
+     * 취소 처리. 진행 중이면 처리 중인 인스턴스가 상태 변경을 감지해 남은 호출을 중단한다.
+     * 처리 중이던 작업은 리스 소유자를 남겨 두어, 그 워커가 중단(또는 결과 유지)을 확인한 뒤 티켓을 정산하게 한다.
+     */
+    public void cancel(String reason) {
+        boolean running = status == GenerationJobStatus.RUNNING;
+        this.status = GenerationJobStatus.CANCELLED;
+        this.lastError = reason;
+        if (!running) {
+            this.leaseOwner = null;
+            this.leaseExpiresAt = null;
+        }
+    }
+
+    /**
+     * 처리 중에 취소되어 티켓 정산을 기다리는지
+     */
+    public boolean awaitsCancellationSettlement() {
+        return status == GenerationJobStatus.CANCELLED && leaseOwner != null;
+    }
+
+    /**
+     * 해당 워커가 정산해야 하는 취소 작업인지
+     */
+    public boolean awaitsCancellationSettlement(String owner) {
+        return awaitsCancellationSettlement() && leaseOwner.equals(owner);
+    }
+
+    /**
+     * 취소 정산 완료. 취소 전에 생성이 끝나 결과를 유지하면 결과 로드맵을 기록한다. (상태는 취소로 유지)
+     */
+    public void settleCancellation(Long roadmapId) {
+        if (roadmapId != null) {
+            this.roadmapId = roadmapId;
+        }
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+    }
+
+    /**
+     * 해당 워커가 리스를 가진 처리 중 작업인지 (리스 만료 후 다른 워커가 다시 선점했거나 취소됐으면 false)
+     */
+    public boolean isLeasedBy(String owner) {
+        return status == GenerationJobStatus.RUNNING && owner != null && owner.equals(leaseOwner);
+    }
+
+    public void markTicketRefunded() {
+        this.ticketRefunded = true;
+    }
+
+    /**
+     * 저장된 결과가 하나라도 있는지 (최종 실패 시 환불 대신 재개로 이어갈지 판단)
+     */
+    public boolean hasProgress() {
+        return completedUnits > 0;
+    }
+}
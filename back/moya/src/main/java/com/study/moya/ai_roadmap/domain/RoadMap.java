@@ -146,6 +146,8 @@ public class RoadMap extends BaseEntity {
                 .filter(tip -> !tip.isEmpty())
                 .distinct()
                 .toList());
+        // 컬렉션만 바뀌면 로드맵 행이 갱신되지 않아 수정 시각(ETag)이 그대로 남으므로 직접 갱신
+        updateLastModifiedAt();
     }
 
     /**
@@ -166,6 +168,18 @@ public class RoadMap extends BaseEntity {
         }
     }
 
+    /**
+     * 스트리밍 생성 완료 시 응답 마지막에 오는 평가와 팁을 반영 (생성 시점과 동일하게 별도 검증 없음)
+     */
+    public void completeGeneration(String evaluation, List<String> overallTips) {
+        this.evaluation = evaluation;
+        this.overallTips.clear();
+        if (overallTips != null) {
+            this.overallTips.addAll(overallTips);
+        }
+        updateLastModifiedAt();
+    }
+
     /**
      * Etc 정보 업데이트
      */
@@ -0,0 +1,73 @@
+package com.study.moya.ai_roadmap.domain;
+
+import com.study.moya.BaseEntity;
+import com.study.moya.ai_roadmap.util.WorksheetConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 로드맵 간에 재사용하는 학습지. 모델이 생성한 학습지만 저장하며, 키는 WorksheetLibraryKey 참고.
+ */
+@Entity
+@Table(name = "worksheet_library", indexes = {
+        @Index(name = "uk_worksheet_library_content_key", columnList = "content_key", unique = true),
+        @Index(name = "idx_worksheet_library_last_used_at", columnList = "last_used_at")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class WorksheetLibraryEntry extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_key", nullable = false, length = 64)
+    private String contentKey;
+
+    // 아래 네 값은 조회용이 아니라 운영 중 확인을 위한 정규화 전 원본
+    @Column(nullable = false)
+    private String mainCategory;
+
+    private String subCategory;
+
+    @Column(nullable = false)
+    private String keyword;
+
+    private int goalLevel;
+
+    @Convert(converter = WorksheetConverter.class)
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String workSheet;
+
+    // 생성 당시 이 일차에 쓰인 완성 토큰 수 (재사용 시 절감량 집계용)
+    private int completionTokens;
+
+    private long hitCount;
+
+    @Column(name = "last_used_at", nullable = false)
+    private LocalDateTime lastUsedAt;
+
+    @Builder
+    private WorksheetLibraryEntry(String contentKey, String mainCategory, String subCategory, String keyword,
+                                  int goalLevel, String workSheet, int completionTokens) {
+        this.contentKey = contentKey;
+        this.mainCategory = mainCategory;
+        this.subCategory = subCategory;
+        this.keyword = keyword;
+        this.goalLevel = goalLevel;
+        this.workSheet = workSheet;
+        this.completionTokens = completionTokens;
+        this.lastUsedAt = LocalDateTime.now();
+    }
+}
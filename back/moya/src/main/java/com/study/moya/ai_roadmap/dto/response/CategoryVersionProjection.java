@@ -0,0 +1,11 @@
+package com.study.moya.ai_roadmap.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * 조건부 GET 용 카테고리 전체 버전 (최종 수정 시각과 카테고리 수)
+ */
+public interface CategoryVersionProjection {
+    LocalDateTime getLastModified();
+    Long getCategoryCount();
+}
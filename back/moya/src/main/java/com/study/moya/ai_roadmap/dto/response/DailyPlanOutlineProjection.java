@@ -0,0 +1,12 @@
+package com.study.moya.ai_roadmap.dto.response;
+
+/**
+ * 학습지(TEXT) 컬럼을 제외한 일별 계획 목차
+ */
+public interface DailyPlanOutlineProjection {
+    Long getDailyPlanId();
+    Integer getWeekNumber();
+    String getWeeklyKeyword();
+    Integer getDayNumber();
+    String getDailyKeyword();
+}
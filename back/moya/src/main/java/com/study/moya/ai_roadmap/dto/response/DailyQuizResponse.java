@@ -0,0 +1,42 @@
+package com.study.moya.ai_roadmap.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "일별 퀴즈")
+public class DailyQuizResponse {
+
+    @Schema(description = "일별 계획 ID", example = "1")
+    private Long dailyPlanId;
+
+    @Schema(description = "주차 번호", example = "1")
+    private int week;
+
+    @Schema(description = "일차 번호", example = "1")
+    private int day;
+
+    @Schema(description = "퀴즈 목록 (아직 생성되지 않았으면 빈 목록)")
+    private List<QuizItem> quizzes;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "퀴즈")
+    public static class QuizItem {
+
+        @Schema(description = "퀴즈 ID", example = "1")
+        private Long quizId;
+
+        @Schema(description = "문제", example = "자바에서 int 의 크기는 몇 바이트인가요?")
+        private String question;
+
+        @Schema(description = "정답", example = "4바이트")
+        private String answer;
+    }
+}
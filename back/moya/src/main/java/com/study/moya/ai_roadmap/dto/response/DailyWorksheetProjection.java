@@ -0,0 +1,9 @@
+package com.study.moya.ai_roadmap.dto.response;
+
+public interface DailyWorksheetProjection {
+    Long getDailyPlanId();
+    Integer getWeekNumber();
+    Integer getDayNumber();
+    String getKeyword();
+    String getWorkSheet();
+}
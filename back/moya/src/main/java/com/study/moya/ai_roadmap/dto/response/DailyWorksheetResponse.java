@@ -0,0 +1,36 @@
+package com.study.moya.ai_roadmap.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "일별 학습지")
+public class DailyWorksheetResponse {
+
+    @Schema(description = "일별 계획 ID", example = "1")
+    private Long dailyPlanId;
+
+    @Schema(description = "주차 번호", example = "1")
+    private int week;
+
+    @Schema(description = "일차 번호", example = "1")
+    private int day;
+
+    @Schema(description = "일별 키워드", example = "변수와 데이터 타입")
+    private String dailyKeyword;
+
+    @Schema(description = "학습지 내용 (아직 생성되지 않았으면 빈 문자열)")
+    private String worksheet;
+
+    public static DailyWorksheetResponse from(DailyWorksheetProjection projection) {
+        return new DailyWorksheetResponse(
+                projection.getDailyPlanId(),
+                projection.getWeekNumber(),
+                projection.getDayNumber(),
+                projection.getKeyword(),
+                projection.getWorkSheet() != null ? projection.getWorkSheet() : ""
+        );
+    }
+}
@@ -0,0 +1,64 @@
+package com.study.moya.ai_roadmap.dto.response;
+
+import com.study.moya.ai_roadmap.constants.GenerationJobStatus;
+import com.study.moya.ai_roadmap.constants.GenerationJobType;
+import com.study.moya.ai_roadmap.domain.GenerationJob;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "AI 생성 작업 상태")
+public class GenerationJobResponse {
+
+    @Schema(description = "작업 ID", example = "1")
+    private Long jobId;
+
+    @Schema(description = "작업 종류", example = "ROADMAP")
+    private GenerationJobType jobType;
+
+    @Schema(description = "작업 상태 (ON_DEMAND: 학습지 앞쪽 일차만 생성, 나머지는 일차를 열 때 생성)", example = "PENDING")
+    private GenerationJobStatus status;
+
+    @Schema(description = "로드맵 ID (학습지: 대상 로드맵, 로드맵: 생성 완료 후 채워짐)", example = "1")
+    private Long roadmapId;
+
+    @Schema(description = "시도 횟수", example = "1")
+    private int attempts;
+
+    @Schema(description = "다음 시도 예정 시각 (대기 중일 때)")
+    private LocalDateTime nextAttemptAt;
+
+    @Schema(description = "마지막 실패 사유")
+    private String lastError;
+
+    @Schema(description = "요청 시각")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "학습지/퀴즈: 생성 대상 일차 수 (첫 시도 기준)", example = "28")
+    private Integer totalUnits;
+
+    @Schema(description = "학습지/퀴즈: 저장 완료된 일차 수 (그룹 저장마다 갱신)", example = "14")
+    private int completedUnits;
+
+    @Schema(description = "티켓 환불 여부 (환불되지 않은 학습지 작업은 남은 일차를 재개할 수 있음)", example = "false")
+    private boolean ticketRefunded;
+
+    public static GenerationJobResponse from(GenerationJob job) {
+        return new GenerationJobResponse(
+                job.getId(),
+                job.getJobType(),
+                job.getStatus(),
+                job.getRoadmapId(),
+                job.getAttempts(),
+                job.getNextAttemptAt(),
+                job.getLastError(),
+                job.getCreatedAt(),
+                job.getTotalUnits(),
+                job.getCompletedUnits(),
+                job.isTicketRefunded()
+        );
+    }
+}
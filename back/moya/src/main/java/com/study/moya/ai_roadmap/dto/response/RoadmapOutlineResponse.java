@@ -0,0 +1,54 @@
+package com.study.moya.ai_roadmap.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "로드맵 목차 (학습지 본문 제외)")
+public class RoadmapOutlineResponse {
+
+    @Schema(description = "로드맵 ID", example = "1")
+    private Long roadmapId;
+
+    @Schema(description = "주차별 목차")
+    private List<WeekOutline> weeklyPlans;
+
+    @Schema(description = "전체 팁 목록", example = "[\"매일 꾸준히 학습하세요\", \"실습 위주로 진행하세요\"]")
+    private List<String> overallTips;
+
+    @Schema(description = "커리큘럼 평가", example = "이 커리큘럼은 초급자에게 적합하며, 실무 적용이 가능한 수준입니다.")
+    private String curriculumEvaluation;
+
+    @Getter
+    @AllArgsConstructor
+    @Schema(description = "주차별 목차")
+    public static class WeekOutline {
+
+        @Schema(description = "주차 번호", example = "1")
+        private int week;
+
+        @Schema(description = "주차별 키워드", example = "Java 기초 문법")
+        private String weeklyKeyword;
+
+        @Schema(description = "일별 목차")
+        private List<DayOutline> dailyPlans;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @Schema(description = "일별 목차")
+    public static class DayOutline {
+
+        @Schema(description = "일별 계획 ID (학습지 조회에 사용)", example = "1")
+        private Long dailyPlanId;
+
+        @Schema(description = "일차 번호", example = "1")
+        private int day;
+
+        @Schema(description = "일별 키워드", example = "변수와 데이터 타입")
+        private String dailyKeyword;
+    }
+}
@@ -0,0 +1,13 @@
+package com.study.moya.ai_roadmap.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * 조건부 GET 용 로드맵 버전 (로드맵/주차/일차의 최종 수정 시각과 일차 수)
+ */
+public interface RoadmapVersionProjection {
+    LocalDateTime getRoadmapModifiedAt();
+    LocalDateTime getWeeksModifiedAt();
+    LocalDateTime getDaysModifiedAt();
+    Long getDayCount();
+}
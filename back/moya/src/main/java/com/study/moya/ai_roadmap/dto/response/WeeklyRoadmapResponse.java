@@ -4,11 +4,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
 @AllArgsConstructor
+@NoArgsConstructor
 @Schema(description = "주간 로드맵 응답")
 public class WeeklyRoadmapResponse {
 
@@ -27,6 +29,7 @@ public class WeeklyRoadmapResponse {
     @Getter
     @Setter
     @AllArgsConstructor
+    @NoArgsConstructor
     @Schema(description = "주차별 계획")
     public static class WeeklyPlan {
 
@@ -43,6 +46,7 @@ public class WeeklyRoadmapResponse {
     @Getter
     @Setter
     @AllArgsConstructor
+    @NoArgsConstructor
     @Schema(description = "일별 계획")
     public static class DailyPlan {
 
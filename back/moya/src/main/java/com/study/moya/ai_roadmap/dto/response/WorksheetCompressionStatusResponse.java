@@ -0,0 +1,34 @@
+package com.study.moya.ai_roadmap.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "학습지 압축 이관 진행 상태")
+public class WorksheetCompressionStatusResponse {
+
+    @Schema(description = "진행 중 여부", example = "true")
+    private boolean running;
+
+    @Schema(description = "마지막으로 처리한 일별 계획 ID", example = "120000")
+    private long lastDailyPlanId;
+
+    @Schema(description = "읽은 행 수", example = "120000")
+    private long scannedRows;
+
+    @Schema(description = "압축해서 다시 쓴 행 수", example = "118500")
+    private long compressedRows;
+
+    @Schema(description = "압축 전 바이트 수 (다시 쓴 행 기준)", example = "139200000")
+    private long rawBytes;
+
+    @Schema(description = "압축 후 바이트 수 (다시 쓴 행 기준)", example = "84800000")
+    private long storedBytes;
+
+    @Schema(description = "절감한 바이트 수", example = "54400000")
+    public long getSavedBytes() {
+        return rawBytes - storedBytes;
+    }
+}
@@ -0,0 +1,33 @@
+package com.study.moya.ai_roadmap.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 학습지 그룹 하나가 저장될 때마다 /sub/roadmap/{roadmapId}/worksheets 로 보내는 진행 이벤트
+ */
+@Getter
+@AllArgsConstructor
+@Schema(description = "학습지 생성 진행 이벤트")
+public class WorksheetProgressEvent {
+
+    @Schema(description = "로드맵 ID", example = "1")
+    private Long roadmapId;
+
+    @Schema(description = "이번에 학습지가 준비된 일별 계획 ID (목차 API 의 dailyPlanId)")
+    private List<Long> readyDailyPlanIds;
+
+    @Schema(description = "학습지가 준비된 일차 수", example = "21")
+    private long ready;
+
+    @Schema(description = "전체 일차 수", example = "84")
+    private long total;
+
+    @Schema(description = "진행률(%)", example = "25")
+    private long progress;
+
+    @Schema(description = "완료 여부", example = "false")
+    private boolean completed;
+}
@@ -0,0 +1,38 @@
+package com.study.moya.ai_roadmap.exception;
+
+import com.study.moya.error.constants.ErrorCode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Getter
+@RequiredArgsConstructor
+public enum GenerationJobErrorCode implements ErrorCode {
+    @Schema(description = "이미 종료된 생성 작업")
+    JOB_ALREADY_FINISHED(HttpStatus.CONFLICT, "001", "이미 종료된 생성 작업입니다."),
+    @Schema(description = "퀴즈를 만들거나 재개할 학습지 생성 작업이 없음")
+    WORKSHEET_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "002", "학습지 생성 작업이 없습니다."),
+    @Schema(description = "학습지 생성이 아직 진행 중")
+    WORKSHEET_JOB_NOT_FINISHED(HttpStatus.CONFLICT, "003", "학습지 생성 작업이 아직 진행 중입니다."),
+    @Schema(description = "환불된 학습지 작업의 로드맵")
+    WORKSHEET_JOB_REFUNDED(HttpStatus.BAD_REQUEST, "004", "환불된 학습지 작업의 로드맵에는 퀴즈를 생성할 수 없습니다."),
+    @Schema(description = "이미 진행 중인 퀴즈 생성 작업이 있음")
+    QUIZ_JOB_IN_PROGRESS(HttpStatus.CONFLICT, "005", "이미 진행 중인 퀴즈 생성 작업이 있습니다."),
+    @Schema(description = "재개할 일차가 없음")
+    WORKSHEETS_ALREADY_COMPLETE(HttpStatus.CONFLICT, "006", "모든 일차의 학습지가 이미 생성되었습니다."),
+    @Schema(description = "생성 작업이 없거나 다른 회원의 작업")
+    JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "007", "생성 작업을 찾을 수 없습니다."),
+    @Schema(description = "작업을 등록할 로드맵이 없음")
+    ROADMAP_NOT_FOUND(HttpStatus.NOT_FOUND, "008", "해당 로드맵을 찾을 수 없습니다.");
+
+    private final HttpStatus status;
+    private final String code;
+    private final String message;
+    private static final String PREFIX = "GENERATION_JOB";
+
+    @Override
+    public String getFullCode() {
+        return PREFIX + "_" + code;
+    }
+}
@@ -0,0 +1,14 @@
+package com.study.moya.ai_roadmap.exception;
+
+import com.study.moya.error.exception.BaseException;
+
+public class GenerationJobException extends BaseException {
+
+    protected GenerationJobException(GenerationJobErrorCode errorCode) {
+        super(errorCode);
+    }
+
+    public static GenerationJobException of(GenerationJobErrorCode errorCode) {
+        return new GenerationJobException(errorCode);
+    }
+}
@@ -1,6 +1,7 @@
 package com.study.moya.ai_roadmap.repository;
 
 import com.study.moya.ai_roadmap.domain.Category;
+import com.study.moya.ai_roadmap.dto.response.CategoryVersionProjection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +27,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     // 이름으로 카테고리 ID 찾기 (Optional 반환)
     Optional<Category> findByName(String name);
-}
\ No newline at end of file
+
+    // 조건부 GET 검증용
+    @Query("SELECT MAX(c.modifiedAt) AS lastModified, COUNT(c) AS categoryCount FROM Category c")
+    CategoryVersionProjection findVersion();
+}
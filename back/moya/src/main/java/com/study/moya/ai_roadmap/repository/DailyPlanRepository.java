@@ -1,9 +1,14 @@
 package com.study.moya.ai_roadmap.repository;
 
 import com.study.moya.ai_roadmap.domain.DailyPlan;
+import com.study.moya.ai_roadmap.dto.response.DailyPlanOutlineProjection;
+import com.study.moya.ai_roadmap.dto.response.DailyWorksheetProjection;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -20,6 +25,34 @@ public interface DailyPlanRepository extends JpaRepository<DailyPlan, Long> {
             "ORDER BY w.weekNumber, d.dayNumber")
     List<DailyPlan> findAllByWeeklyPlan_RoadMap_IdOrderByDayNumber(@Param("roadmapId") Long roadmapId);
 
+    // 로드맵 목차 조회 (학습지 TEXT 컬럼은 읽지 않음)
+    @Query("SELECT d.id AS dailyPlanId, w.weekNumber AS weekNumber, w.keyword AS weeklyKeyword, " +
+            "d.dayNumber AS dayNumber, d.keyword AS dailyKeyword " +
+            "FROM DailyPlan d JOIN d.weeklyPlan w " +
+            "WHERE w.roadMap.id = :roadmapId " +
+            "ORDER BY w.weekNumber, d.dayNumber")
+    List<DailyPlanOutlineProjection> findOutlineByRoadmapId(@Param("roadmapId") Long roadmapId);
+
+    // 특정 일차의 학습지 조회
+    @Query("SELECT d.id AS dailyPlanId, w.weekNumber AS weekNumber, d.dayNumber AS dayNumber, " +
+            "d.keyword AS keyword, d.workSheet AS workSheet " +
+            "FROM DailyPlan d JOIN d.weeklyPlan w " +
+            "WHERE w.roadMap.id = :roadmapId AND w.weekNumber = :weekNumber AND d.dayNumber = :dayNumber")
+    Optional<DailyWorksheetProjection> findWorksheetByRoadmapIdAndWeekAndDay(
+            @Param("roadmapId") Long roadmapId,
+            @Param("weekNumber") Integer weekNumber,
+            @Param("dayNumber") Integer dayNumber
+    );
+
+    // 학습지 페이지 조회 (주차, 일차 순)
+    @Query(value = "SELECT d.id AS dailyPlanId, w.weekNumber AS weekNumber, d.dayNumber AS dayNumber, " +
+            "d.keyword AS keyword, d.workSheet AS workSheet " +
+            "FROM DailyPlan d JOIN d.weeklyPlan w " +
+            "WHERE w.roadMap.id = :roadmapId " +
+            "ORDER BY w.weekNumber, d.dayNumber",
+            countQuery = "SELECT COUNT(d) FROM DailyPlan d WHERE d.weeklyPlan.roadMap.id = :roadmapId")
+    Page<DailyWorksheetProjection> findWorksheetPageByRoadmapId(@Param("roadmapId") Long roadmapId, Pageable pageable);
+
     // 특정 주차의 모든 DailyPlan 조회
     @Query("SELECT d FROM DailyPlan d " +
             "WHERE d.weeklyPlan.id = :weeklyPlanId " +
@@ -33,6 +66,31 @@ public interface DailyPlanRepository extends JpaRepository<DailyPlan, Long> {
             "ORDER BY d.weeklyPlan.weekNumber, d.dayNumber")
     List<DailyPlan> findAllWithoutWorksheetByRoadmapId(@Param("roadmapId") Long roadmapId);
 
+    // 학습지는 있고 퀴즈가 아직 없는 DailyPlan 조회 (퀴즈 생성 대상)
+    @Query("SELECT d FROM DailyPlan d " +
+            "JOIN FETCH d.weeklyPlan w " +
+            "WHERE w.roadMap.id = :roadmapId " +
+            "AND d.workSheet IS NOT NULL AND d.workSheet <> '' " +
+            "AND NOT EXISTS (SELECT q.id FROM Quiz q WHERE q.dailyPlan = d) " +
+            "ORDER BY w.weekNumber, d.dayNumber")
+    List<DailyPlan> findAllWithoutQuizByRoadmapId(@Param("roadmapId") Long roadmapId);
+
+    // 지정한 주차/일차부터 워크시트가 아직 없는 DailyPlan 을 순서대로 조회 (요청 시 생성 대상)
+    @Query("SELECT d FROM DailyPlan d " +
+            "JOIN FETCH d.weeklyPlan w " +
+            "WHERE w.roadMap.id = :roadmapId " +
+            "AND (d.workSheet IS NULL OR d.workSheet = '') " +
+            "AND (w.weekNumber > :weekNumber OR (w.weekNumber = :weekNumber AND d.dayNumber >= :dayNumber)) " +
+            "ORDER BY w.weekNumber, d.dayNumber")
+    List<DailyPlan> findPendingFrom(@Param("roadmapId") Long roadmapId, @Param("weekNumber") Integer weekNumber,
+                                    @Param("dayNumber") Integer dayNumber, Pageable pageable);
+
+    // 넘겨받은 일차 가운데 워크시트가 아직 없는 DailyPlan ID 조회 (요청 시 생성 직전 재확인)
+    @Query("SELECT d.id FROM DailyPlan d " +
+            "WHERE d.id IN :ids " +
+            "AND (d.workSheet IS NULL OR d.workSheet = '')")
+    List<Long> findIdsWithoutWorksheet(@Param("ids") Collection<Long> ids);
+
     // 특정 기간의 DailyPlan 조회
     @Query("SELECT d FROM DailyPlan d " +
             "WHERE d.weeklyPlan.roadMap.id = :roadmapId " +
@@ -52,6 +110,12 @@ public interface DailyPlanRepository extends JpaRepository<DailyPlan, Long> {
             "AND (d.workSheet IS NULL OR d.workSheet = '')")
     long countPendingWorksheets(@Param("roadmapId") Long roadmapId);
 
+    // 학습지가 채워진 DailyPlan ID 조회 (진행률 카운터 시드용)
+    @Query("SELECT d.id FROM DailyPlan d " +
+            "WHERE d.weeklyPlan.roadMap.id = :roadmapId " +
+            "AND d.workSheet IS NOT NULL AND d.workSheet <> ''")
+    List<Long> findReadyWorksheetIds(@Param("roadmapId") Long roadmapId);
+
     // 특정 로드맵의 총 DailyPlan 수 조회
     @Query("SELECT COUNT(d) FROM DailyPlan d " +
             "WHERE d.weeklyPlan.roadMap.id = :roadmapId")
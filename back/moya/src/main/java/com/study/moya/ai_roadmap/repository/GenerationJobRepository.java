@@ -0,0 +1,105 @@
+package com.study.moya.ai_roadmap.repository;
+
+import com.study.moya.ai_roadmap.constants.GenerationJobStatus;
+import com.study.moya.ai_roadmap.constants.GenerationJobType;
+import com.study.moya.ai_roadmap.domain.GenerationJob;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface GenerationJobRepository extends JpaRepository<GenerationJob, Long> {
+
+    /**
+     * 처리 가능한 작업 ID 조회 (대기 중이면서 재시도 시각이 지났거나, 처리 중이지만 리스가 만료된 작업)
+     * SKIP LOCKED 로 다른 인스턴스가 잡고 있는 행은 건너뛴다.
+     */
+    @Query(value = "SELECT id FROM generation_jobs " +
+            "WHERE (status = 'PENDING' AND next_attempt_at <= :now) " +
+            "OR (status = 'RUNNING' AND lease_expires_at < :now) " +
+            "ORDER BY next_attempt_at " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> findClaimableIdsForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE GenerationJob j SET j.status = com.study.moya.ai_roadmap.constants.GenerationJobStatus.RUNNING, " +
+            "j.leaseOwner = :owner, j.leaseExpiresAt = :leaseExpiresAt, j.attempts = j.attempts + 1 " +
+            "WHERE j.id IN :ids")
+    int markRunning(@Param("ids") List<Long> ids, @Param("owner") String owner,
+                    @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    /**
+     * 상태 변경 전 행 잠금 조회. 선점(FOR UPDATE SKIP LOCKED)과 겹치지 않도록 해 리스 소유자 확인 후 바로 반영한다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM GenerationJob j WHERE j.id = :id")
+    Optional<GenerationJob> findByIdForUpdate(@Param("id") Long id);
+
+    Optional<GenerationJob> findByIdAndMemberId(Long id, Long memberId);
+
+    Optional<GenerationJob> findFirstByRoadmapIdAndMemberIdAndJobTypeOrderByIdDesc(Long roadmapId, Long memberId,
+                                                                                   GenerationJobType jobType);
+
+    List<GenerationJob> findAllByRoadmapIdAndStatusIn(Long roadmapId, Collection<GenerationJobStatus> statuses);
+
+    boolean existsByRoadmapIdAndJobTypeAndStatusIn(Long roadmapId, GenerationJobType jobType,
+                                                   Collection<GenerationJobStatus> statuses);
+
+    /**
+     * 이 인스턴스가 처리 중인 작업 가운데 다른 인스턴스에서 취소된 작업
+     */
+    @Query("SELECT j.id FROM GenerationJob j " +
+            "WHERE j.id IN :ids AND j.status = com.study.moya.ai_roadmap.constants.GenerationJobStatus.CANCELLED")
+    List<Long> findCancelledIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 처리 중에 취소됐지만 처리하던 워커가 정산하지 못하고 리스가 만료된 작업 (워커 종료 등)
+     */
+    @Query("SELECT j.id FROM GenerationJob j " +
+            "WHERE j.status = com.study.moya.ai_roadmap.constants.GenerationJobStatus.CANCELLED " +
+            "AND j.leaseOwner IS NOT NULL AND j.leaseExpiresAt < :now")
+    List<Long> findUnsettledCancelledIds(@Param("now") LocalDateTime now);
+
+    /**
+     * 첫 시도 때의 처리 대상 수 기록 (재시도에서는 유지)
+     */
+    @Modifying
+    @Query("UPDATE GenerationJob j SET j.totalUnits = :total WHERE j.id = :id AND j.totalUnits IS NULL")
+    int recordTotalUnits(@Param("id") Long id, @Param("total") int total);
+
+    /**
+     * 그룹 저장 체크포인트. 여러 그룹이 동시에 끝나도 누락되지 않도록 DB 에서 더하고,
+     * 진행 중인 작업이 다른 인스턴스에 다시 선점되지 않도록 리스를 연장한다. (리스를 가진 워커만)
+     */
+    @Modifying
+    @Query("UPDATE GenerationJob j SET j.completedUnits = j.completedUnits + :units, j.leaseExpiresAt = :leaseExpiresAt " +
+            "WHERE j.id = :id AND j.leaseOwner = :owner " +
+            "AND j.status = com.study.moya.ai_roadmap.constants.GenerationJobStatus.RUNNING")
+    int recordCheckpoint(@Param("id") Long id, @Param("owner") String owner, @Param("units") int units,
+                         @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    /**
+     * 처리 중인 작업의 리스 연장 (체크포인트가 없는 로드맵 작업이나 긴 그룹 호출 중에도 다시 선점되지 않도록)
+     * 처리 중에 취소되어 정산을 기다리는 작업도 워커가 끝낼 때까지 만료 정산되지 않도록 함께 연장한다.
+     */
+    @Modifying
+    @Query("UPDATE GenerationJob j SET j.leaseExpiresAt = :leaseExpiresAt " +
+            "WHERE j.id IN :ids AND j.leaseOwner = :owner " +
+            "AND j.status IN (com.study.moya.ai_roadmap.constants.GenerationJobStatus.RUNNING, " +
+            "com.study.moya.ai_roadmap.constants.GenerationJobStatus.CANCELLED)")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+                    @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    @Query("SELECT j.id FROM GenerationJob j " +
+            "WHERE j.id IN :ids AND j.leaseOwner = :owner " +
+            "AND j.status = com.study.moya.ai_roadmap.constants.GenerationJobStatus.RUNNING")
+    List<Long> findIdsLeasedBy(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+}
@@ -0,0 +1,27 @@
+package com.study.moya.ai_roadmap.repository;
+
+import com.study.moya.ai_roadmap.domain.Quiz;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuizRepository extends JpaRepository<Quiz, Long> {
+
+    @Query("SELECT q FROM Quiz q WHERE q.dailyPlan.id = :dailyPlanId ORDER BY q.id")
+    List<Quiz> findAllByDailyPlanId(@Param("dailyPlanId") Long dailyPlanId);
+
+    // 로드맵 삭제 시 일차보다 먼저 삭제 (quizzes.daily_plan_id 외래 키)
+    @Modifying
+    @Query("DELETE FROM Quiz q WHERE q.dailyPlan.id IN " +
+            "(SELECT d.id FROM DailyPlan d WHERE d.weeklyPlan.roadMap.id = :roadmapId)")
+    void deleteByRoadmapId(@Param("roadmapId") Long roadmapId);
+
+    // 학습지가 수정/삭제된 일차의 퀴즈 삭제 (다음 퀴즈 생성 때 새 학습지로 다시 생성)
+    @Modifying
+    @Query("DELETE FROM Quiz q WHERE q.dailyPlan.id = :dailyPlanId")
+    int deleteByDailyPlanId(@Param("dailyPlanId") Long dailyPlanId);
+}
@@ -4,8 +4,10 @@ import com.study.moya.admin.dto.roadmap.projection.AdminMemberSubscriptionProjec
 import com.study.moya.ai_roadmap.domain.RoadMap;
 import com.study.moya.ai_roadmap.dto.response.RoadMapSimpleDto;
 import java.util.List;
+import java.util.Optional;
 
 import com.study.moya.ai_roadmap.dto.response.RoadMapSummaryProjection;
+import com.study.moya.ai_roadmap.dto.response.RoadmapVersionProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -26,6 +28,9 @@ public interface RoadMapRepository extends JpaRepository<RoadMap, Long> {
             "LEFT JOIN FETCH r.etc2")
     List<RoadMap> findAllWithRelations();
 
+    @Query("SELECT r.goalLevel FROM RoadMap r WHERE r.id = :roadmapId")
+    Optional<Integer> findGoalLevelById(@Param("roadmapId") Long roadmapId);
+
     @Query(value = "SELECT " +
             "r.id as id, " +
             "CASE WHEN r.category_id IS NOT NULL THEN c.name ELSE e1.name END as mainCategory, " +
@@ -39,4 +44,12 @@ public interface RoadMapRepository extends JpaRepository<RoadMap, Long> {
             "ORDER BY r.created_at DESC",
             nativeQuery = true)
     List<AdminMemberSubscriptionProjection> findAdminRoadMapsByCategoryId(@Param("categoryId") Long categoryId);
-}
\ No newline at end of file
+
+    // 조건부 GET 검증용: 학습지 본문 없이 수정 시각과 일차 수만 집계
+    @Query("SELECT r.modifiedAt AS roadmapModifiedAt, " +
+            "(SELECT MAX(w.modifiedAt) FROM WeeklyPlan w WHERE w.roadMap.id = r.id) AS weeksModifiedAt, " +
+            "(SELECT MAX(d.modifiedAt) FROM DailyPlan d WHERE d.weeklyPlan.roadMap.id = r.id) AS daysModifiedAt, " +
+            "(SELECT COUNT(d) FROM DailyPlan d WHERE d.weeklyPlan.roadMap.id = r.id) AS dayCount " +
+            "FROM RoadMap r WHERE r.id = :roadmapId")
+    Optional<RoadmapVersionProjection> findVersionById(@Param("roadmapId") Long roadmapId);
+}
@@ -0,0 +1,43 @@
+package com.study.moya.ai_roadmap.repository;
+
+import com.study.moya.ai_roadmap.domain.WorksheetLibraryEntry;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface WorksheetLibraryRepository extends JpaRepository<WorksheetLibraryEntry, Long> {
+
+    // 신선도 기준 이후에 만들어진 항목만 조회
+    @Query("SELECT e FROM WorksheetLibraryEntry e WHERE e.contentKey IN :keys AND e.createdAt >= :freshSince")
+    List<WorksheetLibraryEntry> findFresh(@Param("keys") Collection<String> keys,
+                                          @Param("freshSince") LocalDateTime freshSince);
+
+    @Query("SELECT e.contentKey FROM WorksheetLibraryEntry e WHERE e.contentKey IN :keys AND e.createdAt >= :freshSince")
+    List<String> findFreshKeys(@Param("keys") Collection<String> keys, @Param("freshSince") LocalDateTime freshSince);
+
+    // 신선도가 지난 항목을 새로 생성한 학습지로 바꾸기 전에 삭제 (정리 작업 전까지 키를 막지 않도록)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM WorksheetLibraryEntry e WHERE e.contentKey IN :keys AND e.createdAt < :freshSince")
+    int deleteStale(@Param("keys") Collection<String> keys, @Param("freshSince") LocalDateTime freshSince);
+
+    // 조회 실패가 생성 흐름의 트랜잭션에 영향을 주지 않도록 단독 트랜잭션으로 실행
+    @Transactional
+    @Modifying
+    @Query("UPDATE WorksheetLibraryEntry e SET e.hitCount = e.hitCount + 1, e.lastUsedAt = :now WHERE e.id IN :ids")
+    int markUsed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM WorksheetLibraryEntry e WHERE e.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+
+    // 가장 오래 쓰이지 않은 항목부터 (용량 초과분 정리용)
+    @Query("SELECT e.id FROM WorksheetLibraryEntry e ORDER BY e.lastUsedAt")
+    List<Long> findLeastRecentlyUsedIds(Pageable pageable);
+}
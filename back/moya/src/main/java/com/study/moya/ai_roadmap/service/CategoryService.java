@@ -8,7 +8,9 @@ import com.study.moya.ai_roadmap.dto.request.CreateCategoryRequest;
 import com.study.moya.ai_roadmap.dto.request.UpdateCategoryRequest;
 import com.study.moya.ai_roadmap.dto.response.CategoryHierarchyResponse;
 import com.study.moya.ai_roadmap.dto.response.CategoryResponse;
+import com.study.moya.ai_roadmap.dto.response.CategoryVersionProjection;
 import com.study.moya.ai_roadmap.repository.CategoryRepository;
+import com.study.moya.global.api.ResourceVersion;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -51,6 +53,14 @@ public class CategoryService {
         return categoryRepository.save(category).getId();
     }
 
+    /**
+     * 카테고리 조회 응답 공통 검증자 (카테고리 하나라도 바뀌면 모든 조회 응답이 바뀐 것으로 본다)
+     */
+    public ResourceVersion getCategoryVersion() {
+        CategoryVersionProjection version = categoryRepository.findVersion();
+        return ResourceVersion.of("categories", version.getLastModified(), version.getCategoryCount());
+    }
+
     public List<CategoryResponse> getMainCategories() {
         return categoryRepository.findAllMainCategories().stream()
                 .map(CategoryResponse::from)
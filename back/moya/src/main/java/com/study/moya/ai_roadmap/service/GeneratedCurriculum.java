@@ -0,0 +1,11 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+
+/**
+ * 모델 호출로 만든 로드맵 응답과 그 과정에서 쓴 총 토큰 수 (한 번에 생성/분할 생성 공통)
+ *
+ * @param tokens 보완/재요청을 포함한 모든 호출의 총 토큰 사용량
+ */
+public record GeneratedCurriculum(WeeklyRoadmapResponse response, long tokens) {
+}
@@ -0,0 +1,139 @@
+package com.study.moya.ai_roadmap.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이 인스턴스에서 처리 중인 생성 작업의 취소 핸들.
+ * 작업을 처리하는 쪽이 핸들을 등록하고 취소 시 실행할 동작(대기 그룹 제거, 스레드 인터럽트)을 붙여 두면,
+ * 취소 API 나 다른 인스턴스의 취소를 감지한 워커가 cancel 로 한 번에 실행한다.
+ * 작업 없이 실행되는 요청 시 생성은 로드맵 단위로 등록하고, 로드맵 삭제 시 cancelRoadmap 으로 함께 중단한다.
+ */
+@Slf4j
+@Component
+public class GenerationJobCancellations {
+
+    private final ConcurrentHashMap<Long, Handle> running = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Handle>> roadmapGenerations = new ConcurrentHashMap<>();
+
+    public Handle register(Long jobId) {
+        Handle handle = new Handle(jobId, null);
+        running.put(jobId, handle);
+        return handle;
+    }
+
+    /**
+     * 작업 없이 실행되는 로드맵 단위 생성(요청 시 생성) 등록. 같은 로드맵에 여러 건이 동시에 등록될 수 있다.
+     */
+    public Handle registerRoadmap(Long roadmapId) {
+        Handle handle = new Handle(null, roadmapId);
+        roadmapGenerations.compute(roadmapId, (id, handles) -> {
+            Set<Handle> registered = handles != null ? handles : ConcurrentHashMap.newKeySet();
+            registered.add(handle);
+            return registered;
+        });
+        return handle;
+    }
+
+    /**
+     * 처리 종료. 이후에는 취소 동작이 실행되지 않는다.
+     */
+    public void unregister(Handle handle) {
+        if (handle.jobId != null) {
+            running.remove(handle.jobId, handle);
+        } else {
+            roadmapGenerations.computeIfPresent(handle.roadmapId, (id, handles) -> {
+                handles.remove(handle);
+                return handles.isEmpty() ? null : handles;
+            });
+        }
+        handle.close();
+    }
+
+    /**
+     * @return 이 인스턴스에서 처리 중이던 작업인지
+     */
+    public boolean cancel(Long jobId) {
+        Handle handle = running.get(jobId);
+        if (handle == null) {
+            return false;
+        }
+        handle.cancel();
+        return true;
+    }
+
+    /**
+     * 로드맵 단위로 등록된 생성을 모두 중단한다.
+     *
+     * @return 중단한 생성 수
+     */
+    public int cancelRoadmap(Long roadmapId) {
+        Set<Handle> handles = roadmapGenerations.remove(roadmapId);
+        if (handles == null) {
+            return 0;
+        }
+        handles.forEach(Handle::cancel);
+        return handles.size();
+    }
+
+    public Set<Long> runningJobIds() {
+        return Set.copyOf(running.keySet());
+    }
+
+    public static final class Handle {
+
+        private final Long jobId;
+        private final Long roadmapId;
+        private final List<Runnable> onCancel = new ArrayList<>();
+        private volatile boolean cancelled;
+        private boolean closed;
+
+        private Handle(Long jobId, Long roadmapId) {
+            this.jobId = jobId;
+            this.roadmapId = roadmapId;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * 취소 시 실행할 동작 등록. 이미 취소됐으면 바로 실행한다.
+         */
+        public synchronized void onCancel(Runnable action) {
+            if (closed) {
+                return;
+            }
+            if (cancelled) {
+                action.run();
+                return;
+            }
+            onCancel.add(action);
+        }
+
+        private synchronized void cancel() {
+            if (cancelled || closed) {
+                return;
+            }
+            cancelled = true;
+            log.info("생성 작업 취소 실행. 작업 ID: {}, 로드맵 ID: {}, 취소 동작: {}건", jobId, roadmapId, onCancel.size());
+            for (Runnable action : onCancel) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    log.warn("생성 작업 취소 동작 실패. 작업 ID: {}, 로드맵 ID: {} ({})", jobId, roadmapId, e.getMessage());
+                }
+            }
+            onCancel.clear();
+        }
+
+        private synchronized void close() {
+            closed = true;
+            onCancel.clear();
+        }
+    }
+}
@@ -0,0 +1,502 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.constants.GenerationJobStatus;
+import com.study.moya.ai_roadmap.constants.GenerationJobType;
+import com.study.moya.ai_roadmap.domain.GenerationJob;
+import com.study.moya.ai_roadmap.dto.request.RoadmapRequest;
+import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
+import com.study.moya.ai_roadmap.dto.response.GenerationJobResponse;
+import com.study.moya.ai_roadmap.exception.GenerationJobErrorCode;
+import com.study.moya.ai_roadmap.exception.GenerationJobException;
+import com.study.moya.ai_roadmap.repository.DailyPlanRepository;
+import com.study.moya.ai_roadmap.repository.GenerationJobRepository;
+import com.study.moya.ai_roadmap.repository.RoadMapRepository;
+import com.study.moya.token.domain.enums.TicketType;
+import com.study.moya.token.service.ticket.TicketFacadeService;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * AI 생성 작업 등록/상태 관리. 티켓은 등록 시점에 차감하고 최종 실패 시 환불한다.
+ * 학습지 작업은 일부 일차라도 저장됐으면 환불하지 않고, 남은 일차를 티켓 없이 재개할 수 있게 한다.
+ * 퀴즈 작업은 티켓 없이 학습지 작업이 끝난 뒤(quiz.auto-generate) 또는 요청 시 등록한다.
+ * 취소도 같은 기준으로 티켓을 처리하되, 로드맵 삭제로 인한 취소는 저장된 결과가 함께 지워지므로 항상 환불한다.
+ * 처리 중인 작업의 취소는 처리하던 워커가 중단을 확인한 뒤 정산하고, 취소 전에 생성이 끝나 결과를 유지하면 티켓을 사용 처리한다.
+ */
+@Slf4j
+@Service
+public class GenerationJobService {
+
+    private final GenerationJobRepository generationJobRepository;
+    private final RoadMapRepository roadMapRepository;
+    private final DailyPlanRepository dailyPlanRepository;
+    private final RoadmapService roadmapService;
+    private final TicketFacadeService ticketFacadeService;
+    private final GenerationJobCancellations cancellations;
+    private final ObjectMapper objectMapper;
+
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration leaseDuration;
+    private final boolean quizAutoGenerate;
+
+    public GenerationJobService(GenerationJobRepository generationJobRepository,
+                                RoadMapRepository roadMapRepository,
+                                DailyPlanRepository dailyPlanRepository,
+                                RoadmapService roadmapService,
+                                TicketFacadeService ticketFacadeService,
+                                GenerationJobCancellations cancellations,
+                                ObjectMapper objectMapper,
+                                @Value("${generation-job.max-attempts:3}") int maxAttempts,
+                                @Value("${generation-job.base-backoff:PT10S}") Duration baseBackoff,
+                                @Value("${generation-job.lease:PT10M}") Duration leaseDuration,
+                                @Value("${quiz.auto-generate:false}") boolean quizAutoGenerate) {
+        this.generationJobRepository = generationJobRepository;
+        this.roadMapRepository = roadMapRepository;
+        this.dailyPlanRepository = dailyPlanRepository;
+        this.roadmapService = roadmapService;
+        this.ticketFacadeService = ticketFacadeService;
+        this.cancellations = cancellations;
+        this.objectMapper = objectMapper;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.leaseDuration = leaseDuration;
+        this.quizAutoGenerate = quizAutoGenerate;
+    }
+
+    /**
+     * 로드맵 생성 작업 등록
+     */
+    public GenerationJobResponse enqueueRoadmap(RoadmapRequest request, Long memberId) {
+        Long usageId = roadmapService.useRoadmapTicket(memberId);
+        return enqueue(GenerationJobType.ROADMAP, memberId, null, request, usageId);
+    }
+
+    /**
+     * 학습지 생성 작업 등록
+     */
+    public GenerationJobResponse enqueueWorksheets(Long roadmapId, WorkSheetRequest request, Long memberId) {
+        if (!roadMapRepository.existsById(roadmapId)) {
+            log.info("학습지 생성 작업을 등록할 로드맵이 없습니다. 로드맵 ID: {}", roadmapId);
+            throw GenerationJobException.of(GenerationJobErrorCode.ROADMAP_NOT_FOUND);
+        }
+        Long usageId = useWorksheetTicket(memberId);
+        return enqueue(GenerationJobType.WORKSHEET, memberId, roadmapId, request, usageId);
+    }
+
+    /**
+     * 학습지 생성 재개. 직전 학습지 작업에서 저장되지 않은 일차만 같은 요청으로 다시 생성하며 티켓을 차감하지 않는다.
+     * 직전 작업이 환불된 경우(저장된 일차 없이 최종 실패)에는 새로 등록해야 한다.
+     */
+    public GenerationJobResponse resumeWorksheets(Long roadmapId, Long memberId) {
+        GenerationJob previous = generationJobRepository
+                .findFirstByRoadmapIdAndMemberIdAndJobTypeOrderByIdDesc(roadmapId, memberId, GenerationJobType.WORKSHEET)
+                .orElseThrow(() -> {
+                    log.info("재개할 학습지 생성 작업이 없습니다. 로드맵 ID: {}", roadmapId);
+                    return GenerationJobException.of(GenerationJobErrorCode.WORKSHEET_JOB_NOT_FOUND);
+                });
+        if (!previous.getStatus().isFinished()) {
+            log.info("이미 진행 중인 학습지 생성 작업이 있어 재개를 거절합니다. 작업 ID: {}", previous.getId());
+            throw GenerationJobException.of(GenerationJobErrorCode.WORKSHEET_JOB_NOT_FINISHED);
+        }
+        if (previous.isTicketRefunded()) {
+            log.info("환불된 학습지 생성 작업은 재개할 수 없습니다. 작업 ID: {}", previous.getId());
+            throw GenerationJobException.of(GenerationJobErrorCode.WORKSHEET_JOB_REFUNDED);
+        }
+        if (dailyPlanRepository.countPendingWorksheets(roadmapId) == 0) {
+            log.info("모든 일차의 학습지가 이미 생성되어 재개할 것이 없습니다. 로드맵 ID: {}", roadmapId);
+            throw GenerationJobException.of(GenerationJobErrorCode.WORKSHEETS_ALREADY_COMPLETE);
+        }
+
+        log.info("학습지 생성 재개. 이전 작업 ID: {}, 로드맵 ID: {}", previous.getId(), roadmapId);
+        return enqueue(GenerationJobType.WORKSHEET, memberId, roadmapId, readPayload(previous, WorkSheetRequest.class), null);
+    }
+
+    /**
+     * 퀴즈 생성 작업 등록. 학습지 티켓을 쓴(환불되지 않은) 학습지 작업이 끝난 로드맵만, 그 작업의 요청으로 생성한다.
+     */
+    public GenerationJobResponse enqueueQuizzes(Long roadmapId, Long memberId) {
+        GenerationJob worksheetJob = generationJobRepository
+                .findFirstByRoadmapIdAndMemberIdAndJobTypeOrderByIdDesc(roadmapId, memberId, GenerationJobType.WORKSHEET)
+                .orElseThrow(() -> {
+                    log.info("퀴즈를 만들 학습지 생성 작업이 없습니다. 로드맵 ID: {}", roadmapId);
+                    return GenerationJobException.of(GenerationJobErrorCode.WORKSHEET_JOB_NOT_FOUND);
+                });
+        if (!worksheetJob.getStatus().isFinished()) {
+            log.info("학습지 생성이 끝나지 않아 퀴즈 생성을 거절합니다. 작업 ID: {}", worksheetJob.getId());
+            throw GenerationJobException.of(GenerationJobErrorCode.WORKSHEET_JOB_NOT_FINISHED);
+        }
+        if (worksheetJob.isTicketRefunded()) {
+            log.info("환불된 학습지 작업이라 퀴즈 생성을 거절합니다. 작업 ID: {}", worksheetJob.getId());
+            throw GenerationJobException.of(GenerationJobErrorCode.WORKSHEET_JOB_REFUNDED);
+        }
+        if (hasActiveQuizJob(roadmapId)) {
+            log.info("이미 진행 중인 퀴즈 생성 작업이 있습니다. 로드맵 ID: {}", roadmapId);
+            throw GenerationJobException.of(GenerationJobErrorCode.QUIZ_JOB_IN_PROGRESS);
+        }
+        return enqueue(GenerationJobType.QUIZ, memberId, roadmapId, readPayload(worksheetJob, WorkSheetRequest.class), null);
+    }
+
+    private boolean hasActiveQuizJob(Long roadmapId) {
+        return generationJobRepository.existsByRoadmapIdAndJobTypeAndStatusIn(roadmapId, GenerationJobType.QUIZ,
+                Set.of(GenerationJobStatus.PENDING, GenerationJobStatus.RUNNING));
+    }
+
+    private GenerationJobResponse enqueue(GenerationJobType jobType, Long memberId, Long roadmapId,
+                                          Object request, Long usageId) {
+        try {
+            GenerationJob job = generationJobRepository.save(GenerationJob.builder()
+                    .jobType(jobType)
+                    .memberId(memberId)
+                    .roadmapId(roadmapId)
+                    .payload(objectMapper.writeValueAsString(request))
+                    .ticketUsageId(usageId)
+                    .maxAttempts(maxAttempts)
+                    .build());
+            log.info("생성 작업 등록. 작업 ID: {}, 종류: {}, 회원 ID: {}", job.getId(), jobType, memberId);
+            return GenerationJobResponse.from(job);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("생성 작업 등록 실패: {}", e.getMessage());
+            refundTicket(jobType, usageId);
+            throw new RuntimeException("생성 작업 등록 실패", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public GenerationJobResponse getJob(Long jobId, Long memberId) {
+        return GenerationJobResponse.from(findMemberJob(jobId, memberId));
+    }
+
+    private GenerationJob findMemberJob(Long jobId, Long memberId) {
+        return generationJobRepository.findByIdAndMemberId(jobId, memberId)
+                .orElseThrow(() -> {
+                    log.info("생성 작업을 찾을 수 없습니다. 작업 ID: {}, 회원 ID: {}", jobId, memberId);
+                    return GenerationJobException.of(GenerationJobErrorCode.JOB_NOT_FOUND);
+                });
+    }
+
+    /**
+     * 생성 작업 취소. 대기 중이면 실행되지 않고, 처리 중이면 대기 그룹을 버리고 진행 중인 호출을 끊는다.
+     */
+    @Transactional
+    public GenerationJobResponse cancel(Long jobId, Long memberId) {
+        GenerationJob job = findMemberJob(jobId, memberId);
+        if (job.getStatus().isFinished()) {
+            log.info("이미 종료된 생성 작업은 취소할 수 없습니다. 작업 ID: {}, 상태: {}", jobId, job.getStatus());
+            throw GenerationJobException.of(GenerationJobErrorCode.JOB_ALREADY_FINISHED);
+        }
+        cancel(job, "사용자 취소", false);
+        return GenerationJobResponse.from(job);
+    }
+
+    /**
+     * 로드맵 삭제 시 해당 로드맵의 진행 중인 학습지 작업과 이 인스턴스의 요청 시 생성을 모두 취소한다.
+     */
+    @Transactional
+    public void cancelForRoadmap(Long roadmapId) {
+        List<GenerationJob> jobs = generationJobRepository.findAllByRoadmapIdAndStatusIn(roadmapId,
+                Set.of(GenerationJobStatus.PENDING, GenerationJobStatus.RUNNING));
+        for (GenerationJob job : jobs) {
+            cancel(job, "로드맵 삭제", true);
+        }
+        afterCommit(() -> {
+            int stopped = cancellations.cancelRoadmap(roadmapId);
+            if (stopped > 0) {
+                log.info("로드맵 삭제로 요청 시 생성 {}건 중단. 로드맵 ID: {}", stopped, roadmapId);
+            }
+        });
+    }
+
+    private void cancel(GenerationJob job, String reason, boolean alwaysRefund) {
+        job.cancel(reason);
+        if (job.awaitsCancellationSettlement() && !alwaysRefund) {
+            // 처리 중인 호출이 취소 전에 끝나 결과가 남을 수 있으므로 워커가 중단을 확인한 뒤 정산
+            log.info("생성 작업 취소. 처리 중이라 중단 확인 후 티켓을 정산합니다. 작업 ID: {}, 사유: {}", job.getId(), reason);
+        } else {
+            log.info("생성 작업 취소. 작업 ID: {}, 사유: {}", job.getId(), reason);
+            settleAborted(job, alwaysRefund);
+        }
+
+        // 이 인스턴스에서 처리 중이면 커밋 후 바로 중단 (다른 인스턴스는 워커가 취소 상태를 감지해 중단)
+        Long jobId = job.getId();
+        afterCommit(() -> cancellations.cancel(jobId));
+    }
+
+    /**
+     * 중단된 취소 작업의 티켓 정산. 저장된 일차가 있으면 사용 처리하고(남은 일차는 재개로 이어서 생성), 없으면 환불
+     */
+    private void settleAborted(GenerationJob job, boolean alwaysRefund) {
+        if (!alwaysRefund && job.getJobType() == GenerationJobType.WORKSHEET && job.hasProgress()) {
+            completeTicket(job.getJobType(), job.getTicketUsageId());
+        } else if (job.getTicketUsageId() != null) {
+            refundTicket(job.getJobType(), job.getTicketUsageId());
+            job.markTicketRefunded();
+        }
+        job.settleCancellation(null);
+        log.info("취소된 생성 작업 티켓 정산. 작업 ID: {}, 저장된 일차: {}/{}, 환불: {}",
+                job.getId(), job.getCompletedUnits(), job.getTotalUnits(), job.isTicketRefunded());
+    }
+
+    /**
+     * 처리 중에 취소된 작업의 중단을 워커가 확인함
+     */
+    @Transactional
+    public void confirmCancelled(Long jobId, String owner) {
+        GenerationJob job = findJobForUpdate(jobId);
+        if (job.awaitsCancellationSettlement(owner)) {
+            settleAborted(job, false);
+        }
+    }
+
+    /**
+     * 처리 중에 취소됐지만 워커가 정산하지 못한 채 리스가 만료된 작업을 중단된 것으로 보고 정산한다.
+     *
+     * @return 정산한 작업 수
+     */
+    @Transactional
+    public int settleExpiredCancellations() {
+        int settled = 0;
+        for (Long jobId : generationJobRepository.findUnsettledCancelledIds(LocalDateTime.now())) {
+            GenerationJob job = findJobForUpdate(jobId);
+            if (job.awaitsCancellationSettlement()) {
+                log.warn("정산되지 않은 취소 작업의 리스가 만료되어 정산합니다. 작업 ID: {}, 워커: {}", jobId, job.getLeaseOwner());
+                settleAborted(job, false);
+                settled++;
+            }
+        }
+        return settled;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 처리 가능한 작업을 최대 limit 건 선점 (리스 부여 + 시도 횟수 증가)
+     */
+    @Transactional
+    public List<GenerationJob> claim(String owner, int limit) {
+        List<Long> ids = generationJobRepository.findClaimableIdsForUpdate(LocalDateTime.now(), limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        generationJobRepository.markRunning(ids, owner, LocalDateTime.now().plus(leaseDuration));
+        return generationJobRepository.findAllById(ids);
+    }
+
+    /**
+     * 처리 결과는 리스를 가진 워커만 반영한다. (리스 만료 후 다른 워커가 다시 선점한 작업을 이전 워커가 덮어쓰지 않도록)
+     *
+     * @param onDemandDays 학습지 작업이 요청 시 생성으로 넘긴 일차 수. 있으면 작업은 ON_DEMAND 로 끝나고,
+     *                     학습지가 모두 채워지지 않았으므로 퀴즈 자동 생성은 하지 않는다. (티켓은 나머지 일차까지 포함해 사용 처리)
+     */
+    @Transactional
+    public void markSucceeded(Long jobId, String owner, Long roadmapId, int onDemandDays) {
+        GenerationJob job = findJobForUpdate(jobId);
+        if (job.awaitsCancellationSettlement(owner)) {
+            // 취소가 생성을 끊기 전에 끝나 결과가 유지되므로 환불하지 않고 사용 처리 (상태는 취소로 유지)
+            job.settleCancellation(roadmapId);
+            completeTicket(job.getJobType(), job.getTicketUsageId());
+            log.info("취소된 생성 작업의 결과를 유지해 티켓을 사용 처리합니다. 작업 ID: {}, 로드맵 ID: {}", jobId, job.getRoadmapId());
+            return;
+        }
+        if (!holdsLease(job, owner)) {
+            return;
+        }
+        if (onDemandDays > 0) {
+            job.handOverToOnDemand();
+            completeTicket(job.getJobType(), job.getTicketUsageId());
+            log.info("학습지 생성 작업의 앞쪽 일차 완료, 나머지 {}일은 요청 시 생성. 작업 ID: {}, 로드맵 ID: {}",
+                    onDemandDays, jobId, job.getRoadmapId());
+            return;
+        }
+        job.succeed(roadmapId);
+        completeTicket(job.getJobType(), job.getTicketUsageId());
+        log.info("생성 작업 완료. 작업 ID: {}, 로드맵 ID: {}", jobId, job.getRoadmapId());
+        if (quizAutoGenerate && job.getJobType() == GenerationJobType.WORKSHEET) {
+            enqueueQuizzesAfter(job);
+        }
+    }
+
+    @Transactional
+    public void markFailed(Long jobId, String owner, String error) {
+        GenerationJob job = findJobForUpdate(jobId);
+        if (job.awaitsCancellationSettlement(owner)) {
+            settleAborted(job, false);
+            return;
+        }
+        if (!holdsLease(job, owner)) {
+            return;
+        }
+        boolean terminal = job.fail(error, baseBackoff);
+        if (terminal && job.getJobType() == GenerationJobType.WORKSHEET && job.hasProgress()) {
+            // 저장된 일차는 그대로 쓰이므로 티켓은 사용 처리하고, 남은 일차는 재개로 이어서 생성
+            log.error("학습지 생성 작업 부분 실패, 재개 가능. 작업 ID: {}, 저장된 일차: {}/{}, 사유: {}",
+                    jobId, job.getCompletedUnits(), job.getTotalUnits(), error);
+            completeTicket(job.getJobType(), job.getTicketUsageId());
+        } else if (terminal) {
+            log.error("생성 작업 최종 실패. 작업 ID: {}, 시도 횟수: {}, 사유: {}", jobId, job.getAttempts(), error);
+            if (job.getTicketUsageId() != null) {
+                refundTicket(job.getJobType(), job.getTicketUsageId());
+                job.markTicketRefunded();
+            }
+        } else {
+            log.warn("생성 작업 실패, {}에 재시도 예정. 작업 ID: {}, 시도 횟수: {}, 사유: {}",
+                    job.getNextAttemptAt(), jobId, job.getAttempts(), error);
+        }
+    }
+
+    /**
+     * 학습지 작업 완료 후 같은 요청으로 퀴즈 작업 등록 (실패해도 학습지 작업 완료는 유지)
+     */
+    private void enqueueQuizzesAfter(GenerationJob worksheetJob) {
+        try {
+            if (!hasActiveQuizJob(worksheetJob.getRoadmapId())) {
+                enqueue(GenerationJobType.QUIZ, worksheetJob.getMemberId(), worksheetJob.getRoadmapId(),
+                        readPayload(worksheetJob, WorkSheetRequest.class), null);
+            }
+        } catch (RuntimeException e) {
+            log.warn("퀴즈 생성 작업 등록 실패. 학습지 작업 ID: {} ({})", worksheetJob.getId(), e.getMessage());
+        }
+    }
+
+    @Transactional
+    public void recordTotalUnits(Long jobId, int total) {
+        generationJobRepository.recordTotalUnits(jobId, total);
+    }
+
+    @Transactional
+    public void recordCheckpoint(Long jobId, String owner, int savedUnits) {
+        generationJobRepository.recordCheckpoint(jobId, owner, savedUnits, LocalDateTime.now().plus(leaseDuration));
+    }
+
+    @Transactional
+    public void markRequeued(Long jobId, String owner) {
+        GenerationJob job = findJobForUpdate(jobId);
+        if (job.awaitsCancellationSettlement(owner)) {
+            settleAborted(job, false); // 시작하지 못한 채 취소됨
+            return;
+        }
+        if (!holdsLease(job, owner)) {
+            return;
+        }
+        job.requeue();
+        log.warn("실행기 포화로 생성 작업 재대기. 작업 ID: {}", jobId);
+    }
+
+    /**
+     * 이 워커가 처리 중인 작업의 리스 연장
+     *
+     * @return 리스를 잃은 작업 ID (취소됐거나 리스 만료 후 다른 워커가 다시 선점한 작업)
+     */
+    @Transactional
+    public Set<Long> renewLeases(String owner, Set<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return Set.of();
+        }
+        generationJobRepository.renewLeases(jobIds, owner, LocalDateTime.now().plus(leaseDuration));
+        Set<Long> lost = new HashSet<>(jobIds);
+        generationJobRepository.findIdsLeasedBy(jobIds, owner).forEach(lost::remove);
+        return lost;
+    }
+
+    /**
+     * 처리 중인 작업 가운데 취소된 작업 ID
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findCancelled(Set<Long> jobIds) {
+        return jobIds.isEmpty() ? List.of() : generationJobRepository.findCancelledIds(jobIds);
+    }
+
+    public <T> T readPayload(GenerationJob job, Class<T> type) {
+        try {
+            return objectMapper.readValue(job.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("작업 요청 본문을 읽을 수 없습니다. 작업 ID: " + job.getId(), e);
+        }
+    }
+
+    private GenerationJob findJobForUpdate(Long jobId) {
+        return generationJobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("생성 작업을 찾을 수 없습니다. ID: " + jobId));
+    }
+
+    private boolean holdsLease(GenerationJob job, String owner) {
+        if (job.isLeasedBy(owner)) {
+            return true;
+        }
+        if (job.getStatus() == GenerationJobStatus.CANCELLED) {
+            log.info("취소된 생성 작업의 처리가 끝났습니다. 작업 ID: {}", job.getId());
+        } else {
+            log.warn("리스를 잃은 생성 작업의 처리 결과는 반영하지 않습니다. 작업 ID: {}, 워커: {}, 현재 상태: {}, 리스 소유자: {}",
+                    job.getId(), owner, job.getStatus(), job.getLeaseOwner());
+        }
+        return false;
+    }
+
+    private Long useWorksheetTicket(Long memberId) {
+        try {
+            if (!ticketFacadeService.hasTicket(memberId, TicketType.WORKSHEET_TICKET)) {
+                throw new RuntimeException("워크시트 티켓이 부족합니다");
+            }
+            Long usageId = ticketFacadeService.useTicket(memberId, TicketType.WORKSHEET_TICKET).getId();
+            log.info("워크시트 티켓 사용 완료. 사용 ID: {}", usageId);
+            return usageId;
+        } catch (Exception e) {
+            log.error("티켓 확인/사용 실패: {}", e.getMessage());
+            throw new RuntimeException("워크시트 티켓이 부족합니다", e);
+        }
+    }
+
+    private void completeTicket(GenerationJobType jobType, Long usageId) {
+        if (usageId == null) {
+            return; // 재개 작업은 티켓을 차감하지 않음
+        }
+        if (jobType == GenerationJobType.ROADMAP) {
+            roadmapService.completeRoadmapTicket(usageId);
+            return;
+        }
+        try {
+            ticketFacadeService.markTicketUsageAsCompleted(usageId);
+        } catch (Exception e) {
+            log.error("티켓 사용 완료 처리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void refundTicket(GenerationJobType jobType, Long usageId) {
+        if (usageId == null) {
+            return;
+        }
+        if (jobType == GenerationJobType.ROADMAP) {
+            roadmapService.refundRoadmapTicket(usageId);
+            return;
+        }
+        try {
+            ticketFacadeService.markTicketUsageAsFailed(usageId);
+            log.info("티켓 환불 처리 완료: {}", usageId);
+        } catch (Exception e) {
+            log.error("티켓 환불 처리 실패: {}", e.getMessage());
+        }
+    }
+}
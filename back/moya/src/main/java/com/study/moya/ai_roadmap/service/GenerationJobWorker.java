@@ -0,0 +1,259 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.domain.GenerationJob;
+import com.study.moya.ai_roadmap.dto.request.RoadmapRequest;
+import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * generation_jobs 테이블을 주기적으로 폴링해 처리 가능한 작업을 선점하고 실행한다.
+ * 동시 처리 수는 인스턴스당 generation-job.concurrency 로 제한된다.
+ * 처리 중인 작업이 (다른 인스턴스에서라도) 취소되면 감지해 대기 그룹을 버리고 진행 중인 호출을 끊는다.
+ */
+@Slf4j
+@Component
+public class GenerationJobWorker {
+
+    private final GenerationJobService generationJobService;
+    private final RoadmapService roadmapService;
+    private final WorksheetService worksheetService;
+    private final QuizService quizService;
+    private final WorksheetFairScheduler fairScheduler;
+    private final GenerationJobCancellations cancellations;
+    private final RoadmapGenerationCoalescer generationCoalescer;
+    private final ThreadPoolTaskExecutor roadmapExecutor;
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final Semaphore permits;
+    private final String workerId;
+
+    public GenerationJobWorker(GenerationJobService generationJobService,
+                               RoadmapService roadmapService,
+                               WorksheetService worksheetService,
+                               QuizService quizService,
+                               WorksheetFairScheduler fairScheduler,
+                               GenerationJobCancellations cancellations,
+                               RoadmapGenerationCoalescer generationCoalescer,
+                               @Qualifier("roadmapExecutor") ThreadPoolTaskExecutor roadmapExecutor,
+                               @Qualifier("taskExecutor") ThreadPoolTaskExecutor taskExecutor,
+                               @Value("${generation-job.concurrency:3}") int concurrency) {
+        this.generationJobService = generationJobService;
+        this.roadmapService = roadmapService;
+        this.worksheetService = worksheetService;
+        this.quizService = quizService;
+        this.fairScheduler = fairScheduler;
+        this.cancellations = cancellations;
+        this.generationCoalescer = generationCoalescer;
+        this.roadmapExecutor = roadmapExecutor;
+        this.taskExecutor = taskExecutor;
+        this.permits = new Semaphore(concurrency);
+        this.workerId = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Scheduled(fixedDelayString = "${generation-job.poll-interval-ms:1000}")
+    public void poll() {
+        int available = permits.availablePermits();
+        if (available == 0) {
+            return;
+        }
+
+        List<GenerationJob> jobs;
+        try {
+            jobs = generationJobService.claim(workerId, available);
+        } catch (Exception e) {
+            log.error("생성 작업 선점 실패: {}", e.getMessage());
+            return;
+        }
+
+        for (GenerationJob job : jobs) {
+            permits.acquireUninterruptibly();
+            try {
+                executorFor(job).execute(() -> {
+                    try {
+                        process(job);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // 실행기 포화 시 시도 횟수를 소모하지 않고 다시 대기 상태로
+                permits.release();
+                generationJobService.markRequeued(job.getId(), workerId);
+            }
+        }
+    }
+
+    /**
+     * 처리 중인 작업 가운데 취소된 작업을 찾아 중단한다. (취소 요청이 다른 인스턴스로 들어온 경우)
+     */
+    @Scheduled(fixedDelayString = "${generation-job.cancel-check-interval-ms:2000}")
+    public void detectCancelled() {
+        Set<Long> runningJobIds = cancellations.runningJobIds();
+        if (runningJobIds.isEmpty()) {
+            return;
+        }
+        try {
+            generationJobService.findCancelled(runningJobIds).forEach(cancellations::cancel);
+        } catch (Exception e) {
+            log.warn("취소된 생성 작업 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 처리 중인 작업의 리스를 연장한다. 리스를 잃은 작업(리스 만료 후 다른 인스턴스가 선점)은 중복 호출을 막기 위해 중단한다.
+     */
+    @Scheduled(fixedDelayString = "${generation-job.lease-renew-interval-ms:60000}")
+    public void renewLeases() {
+        Set<Long> runningJobIds = cancellations.runningJobIds();
+        if (runningJobIds.isEmpty()) {
+            return;
+        }
+        try {
+            for (Long jobId : generationJobService.renewLeases(workerId, runningJobIds)) {
+                log.warn("리스를 잃은 생성 작업 처리 중단. 작업 ID: {}", jobId);
+                cancellations.cancel(jobId);
+            }
+        } catch (Exception e) {
+            log.warn("생성 작업 리스 연장 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 처리 중에 취소됐지만 처리하던 워커가 종료되어 정산되지 않은 작업을 리스 만료 후 정산한다.
+     */
+    @Scheduled(fixedDelayString = "${generation-job.cancel-settle-interval-ms:60000}")
+    public void settleAbandonedCancellations() {
+        try {
+            int settled = generationJobService.settleExpiredCancellations();
+            if (settled > 0) {
+                log.info("정산되지 않은 취소 작업 {}건 정산", settled);
+            }
+        } catch (Exception e) {
+            log.warn("취소 작업 정산 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 로드맵 생성은 로드맵 전용 실행기에서, 학습지/퀴즈 작업은 그룹 완료를 기다리기만 하므로 공용 실행기에서 실행
+     * (실제 생성 호출은 WorksheetFairScheduler 가 worksheetExecutor 로 분배)
+     */
+    private ThreadPoolTaskExecutor executorFor(GenerationJob job) {
+        return switch (job.getJobType()) {
+            case ROADMAP -> roadmapExecutor;
+            case WORKSHEET, QUIZ -> taskExecutor;
+        };
+    }
+
+    private void process(GenerationJob job) {
+        log.info("생성 작업 처리 시작. 작업 ID: {}, 종류: {}, 시도: {}/{}",
+                job.getId(), job.getJobType(), job.getAttempts(), job.getMaxAttempts());
+        GenerationJobCancellations.Handle handle = cancellations.register(job.getId());
+        int onDemandDays = 0;
+        try {
+            Long roadmapId = switch (job.getJobType()) {
+                case ROADMAP -> {
+                    // 로드맵은 처리 스레드에서 직접 호출하므로 인터럽트로 제한기 대기/HTTP 호출/세그먼트 대기를 끊는다
+                    // 단, 같은 요청을 기다리는 다른 요청이 있는 생성을 이끄는 중이면 끊지 않고 결과를 유지한다
+                    Thread worker = Thread.currentThread();
+                    handle.onCancel(() -> {
+                        if (generationCoalescer.leadsSharedGeneration(worker)) {
+                            log.info("다른 요청이 기다리는 로드맵 생성이라 중단하지 않습니다. 작업 ID: {}", job.getId());
+                        } else {
+                            worker.interrupt();
+                        }
+                    });
+                    yield roadmapService.generateForMember(
+                            generationJobService.readPayload(job, RoadmapRequest.class),
+                            job.getMemberId(), job.getTicketUsageId()).roadMapId();
+                }
+                case WORKSHEET -> {
+                    WorksheetFairScheduler.Flow flow = WorksheetFairScheduler.Flow.job(job.getMemberId(), job.getId());
+                    handle.onCancel(() -> fairScheduler.cancel(flow));
+                    onDemandDays = worksheetService.generatePendingWorksheets(job.getRoadmapId(),
+                            generationJobService.readPayload(job, WorkSheetRequest.class),
+                            flow, checkpointFor(job, handle));
+                    yield job.getRoadmapId();
+                }
+                case QUIZ -> {
+                    WorksheetFairScheduler.Flow flow = WorksheetFairScheduler.Flow.backgroundJob(job.getMemberId(), job.getId());
+                    handle.onCancel(() -> fairScheduler.cancel(flow));
+                    quizService.generatePendingQuizzes(job.getRoadmapId(),
+                            generationJobService.readPayload(job, WorkSheetRequest.class),
+                            flow, checkpointFor(job, handle));
+                    yield job.getRoadmapId();
+                }
+            };
+            generationJobService.markSucceeded(job.getId(), workerId, roadmapId, onDemandDays);
+        } catch (Exception e) {
+            if (handle.isCancelled()) {
+                // 취소된 작업은 중단을 확인해 티켓을 정산하고, 리스를 잃은 작업은 새로 선점한 워커가 처리
+                log.info("생성 작업 취소로 처리 중단. 작업 ID: {} ({})", job.getId(), e.getMessage());
+                confirmCancelled(job);
+                return;
+            }
+            log.error("생성 작업 처리 중 예외 발생. 작업 ID: {}", job.getId(), e);
+            generationJobService.markFailed(job.getId(), workerId, e.getMessage());
+        } finally {
+            cancellations.unregister(handle);
+            // 취소로 받은 인터럽트가 풀 스레드에 남지 않도록 정리
+            Thread.interrupted();
+        }
+    }
+
+    private void confirmCancelled(GenerationJob job) {
+        try {
+            generationJobService.confirmCancelled(job.getId(), workerId);
+        } catch (Exception e) {
+            // 정산하지 못하면 리스 만료 후 settleAbandonedCancellations 가 처리
+            log.warn("취소된 생성 작업 정산 실패. 작업 ID: {} ({})", job.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 그룹이 저장될 때마다 작업에 진행 상황을 기록하고 리스를 연장한다. (학습지/퀴즈 공용)
+     * 기록에 실패해도 학습지는 이미 저장됐으므로 생성은 계속 진행한다.
+     */
+    private WorksheetCheckpoint checkpointFor(GenerationJob job, GenerationJobCancellations.Handle handle) {
+        return new WorksheetCheckpoint() {
+            @Override
+            public void started(int pendingDays) {
+                try {
+                    generationJobService.recordTotalUnits(job.getId(), pendingDays);
+                } catch (Exception e) {
+                    log.warn("생성 작업 처리 대상 수 기록 실패. 작업 ID: {} ({})", job.getId(), e.getMessage());
+                }
+            }
+
+            @Override
+            public void groupSaved(int savedDays) {
+                try {
+                    generationJobService.recordCheckpoint(job.getId(), workerId, savedDays);
+                } catch (Exception e) {
+                    log.warn("생성 작업 체크포인트 기록 실패. 작업 ID: {} ({})", job.getId(), e.getMessage());
+                }
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return handle.isCancelled();
+            }
+        };
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.util.QuizResponseParser.ParsedQuiz;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 생성된 퀴즈를 JDBC 배치 INSERT 로 저장.
+ * 같은 일차를 두 작업이 동시에 만들었거나 재시도로 다시 만든 경우에도 중복되지 않도록 해당 일차의 기존 퀴즈를 지우고 넣는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuizBulkWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * @param quizzesByDailyPlan 일차 ID -> 퀴즈 목록
+     * @return 저장한 퀴즈 수
+     */
+    @Transactional
+    public int replace(Map<Long, List<ParsedQuiz>> quizzesByDailyPlan) {
+        if (quizzesByDailyPlan.isEmpty()) {
+            return 0;
+        }
+        namedParameterJdbcTemplate.update("DELETE FROM quizzes WHERE daily_plan_id IN (:ids)",
+                new MapSqlParameterSource("ids", quizzesByDailyPlan.keySet()));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        quizzesByDailyPlan.forEach((dailyPlanId, quizzes) -> {
+            for (ParsedQuiz quiz : quizzes) {
+                rows.add(new Object[]{quiz.question(), quiz.answer(), dailyPlanId, now, now});
+            }
+        });
+
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO quizzes (question, answer, daily_plan_id, created_at, modified_at) VALUES (?, ?, ?, ?, ?)",
+                    rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        log.debug("퀴즈 배치 저장 완료. 일차 수: {}, 퀴즈 수: {}", quizzesByDailyPlan.size(), rows.size());
+        return rows.size();
+    }
+}
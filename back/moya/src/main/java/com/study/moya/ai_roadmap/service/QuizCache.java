@@ -0,0 +1,125 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.dto.response.DailyQuizResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 일차별 퀴즈 응답을 Redis 해시(quiz:{roadmapId} -> "{주차}:{일차}")에 보관한다.
+ * 퀴즈는 생성 후 바뀌지 않으므로 저장 시 해당 일차만 지우고, 로드맵 삭제 시 해시를 통째로 지운다.
+ * 아직 생성되지 않은(빈) 응답은 저장하지 않는다. Redis 장애 시에는 DB 에서 조회한다.
+ */
+@Slf4j
+@Component
+public class QuizCache {
+
+    private static final String KEY_PREFIX = "quiz:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public QuizCache(StringRedisTemplate redisTemplate,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     @Value("${quiz.cache.enabled:true}") boolean enabled,
+                     @Value("${quiz.cache.ttl:PT24H}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.hitCounter = Counter.builder("quiz.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("quiz.cache.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    public DailyQuizResponse get(Long roadmapId, Integer week, Integer day, Supplier<DailyQuizResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String field = field(week, day);
+        try {
+            Object cached = redisTemplate.opsForHash().get(KEY_PREFIX + roadmapId, field);
+            if (cached != null) {
+                hitCounter.increment();
+                return objectMapper.readValue((String) cached, DailyQuizResponse.class);
+            }
+        } catch (Exception e) {
+            log.warn("퀴즈 캐시 조회 실패, DB 에서 조회합니다. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+        }
+        missCounter.increment();
+
+        DailyQuizResponse response = loader.get();
+        if (!response.getQuizzes().isEmpty()) {
+            save(roadmapId, field, response);
+        }
+        return response;
+    }
+
+    /**
+     * 퀴즈를 저장한 일차 삭제. 트랜잭션 안이면 커밋 직후에 한 번 더 지워, 커밋 전에 빈 값으로 다시 채워진 경우도 제거한다.
+     *
+     * @param weekDays "{주차}:{일차}" 목록 ({@link #field} 참고)
+     */
+    public void evictDays(Long roadmapId, Collection<String> weekDays) {
+        if (!enabled || weekDays.isEmpty()) {
+            return;
+        }
+        deleteFields(roadmapId, weekDays);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteFields(roadmapId, weekDays);
+                }
+            });
+        }
+    }
+
+    public void evictRoadmap(Long roadmapId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.delete(KEY_PREFIX + roadmapId);
+        } catch (Exception e) {
+            log.warn("퀴즈 캐시 삭제 실패. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+        }
+    }
+
+    public static String field(Integer week, Integer day) {
+        return week + ":" + day;
+    }
+
+    private void save(Long roadmapId, String field, DailyQuizResponse response) {
+        try {
+            redisTemplate.opsForHash().put(KEY_PREFIX + roadmapId, field, objectMapper.writeValueAsString(response));
+            redisTemplate.expire(KEY_PREFIX + roadmapId, ttl);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("퀴즈 응답 직렬화 실패. 로드맵 ID: " + roadmapId, e);
+        } catch (Exception e) {
+            log.warn("퀴즈 캐시 저장 실패. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+        }
+    }
+
+    private void deleteFields(Long roadmapId, Collection<String> weekDays) {
+        try {
+            redisTemplate.opsForHash().delete(KEY_PREFIX + roadmapId, weekDays.toArray());
+        } catch (Exception e) {
+            log.warn("퀴즈 캐시 삭제 실패. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.domain.DailyPlan;
+import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 여러 일차의 퀴즈를 한 번에 요청하는 프롬프트.
+ * 일차 번호는 주차마다 반복되므로 호출 안에서만 쓰는 항목 번호(ITEM 1..n)로 구분한다.
+ * 학습지 본문은 앞부분만 넣어 호출당 프롬프트 토큰을 제한한다.
+ */
+@Slf4j
+@Service
+public class QuizPromptService {
+
+    private static final String SYSTEM_PROMPT = """
+        %s
+        주어진 각 항목의 학습 키워드와 학습 가이드를 바탕으로 복습용 퀴즈를 항목마다 %d문항씩 만들어주세요.
+
+        응답은 반드시 아래 형식을 따라주세요. 마크다운이나 번호 매기기를 사용하지 마세요.
+
+        %s
+
+        특별 지시사항:
+        - 각 항목은 반드시 === ITEM {번호} === 형식으로 구분해주세요
+        - 문제는 Q: 로, 정답은 A: 로 시작하는 한 줄로 작성해주세요
+        - 정답은 한두 문장 이내로 간결하게 작성해주세요
+        - 학습 가이드에 없는 내용은 묻지 마세요
+        """;
+
+    private final int quizzesPerDay;
+    private final int worksheetExcerptChars;
+
+    public QuizPromptService(@Value("${quiz.per-day:3}") int quizzesPerDay,
+                             @Value("${quiz.worksheet-excerpt-chars:800}") int worksheetExcerptChars) {
+        this.quizzesPerDay = Math.max(1, quizzesPerDay);
+        this.worksheetExcerptChars = Math.max(0, worksheetExcerptChars);
+    }
+
+    public int quizzesPerDay() {
+        return quizzesPerDay;
+    }
+
+    /**
+     * @param dailyPlans 항목 번호는 목록 순서 (1부터)
+     */
+    public String createPrompt(List<DailyPlan> dailyPlans, WorkSheetRequest request) {
+        String firstLine;
+        if (request.subCategory() == null || request.subCategory().isEmpty()) {
+            firstLine = String.format("당신은 %s 관련 교육 전문가입니다.", request.mainCategory());
+        } else {
+            firstLine = String.format("당신은 %s 관련 %s 교육 전문가입니다.", request.subCategory(), request.mainCategory());
+        }
+
+        StringBuilder itemFormat = new StringBuilder();
+        for (int i = 1; i <= dailyPlans.size(); i++) {
+            itemFormat.append(String.format("=== ITEM %d ===\nQ: [문제]\nA: [정답]\n\n", i));
+        }
+
+        StringBuilder promptBuilder = new StringBuilder();
+        promptBuilder.append(String.format(SYSTEM_PROMPT, firstLine, quizzesPerDay, itemFormat.toString().trim()))
+                .append("\n\n");
+        promptBuilder.append("다음 항목들에 대한 퀴즈를 만들어주세요:\n\n");
+        for (int i = 0; i < dailyPlans.size(); i++) {
+            DailyPlan plan = dailyPlans.get(i);
+            promptBuilder.append(String.format("ITEM %d: %s\n", i + 1, plan.getKeyword()));
+            promptBuilder.append(excerpt(plan.getWorkSheet())).append("\n\n");
+        }
+        return promptBuilder.toString();
+    }
+
+    private String excerpt(String worksheet) {
+        if (worksheet == null) {
+            return "";
+        }
+        return worksheet.length() > worksheetExcerptChars ? worksheet.substring(0, worksheetExcerptChars) : worksheet;
+    }
+}
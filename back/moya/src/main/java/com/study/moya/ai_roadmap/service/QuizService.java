@@ -0,0 +1,196 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.client.ChatCompletionGateway;
+import com.study.moya.ai_roadmap.client.OpenAiRateLimiter;
+import com.study.moya.ai_roadmap.domain.DailyPlan;
+import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
+import com.study.moya.ai_roadmap.dto.response.DailyQuizResponse;
+import com.study.moya.ai_roadmap.repository.DailyPlanRepository;
+import com.study.moya.ai_roadmap.repository.QuizRepository;
+import com.study.moya.ai_roadmap.util.QuizResponseParser;
+import com.study.moya.ai_roadmap.util.QuizResponseParser.ParsedQuiz;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.completion.chat.ChatMessageRole;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 학습지가 준비된 일차의 퀴즈 생성/조회.
+ * 여러 일차를 한 번의 호출로 만들고 JDBC 배치로 저장한다. 호출은 공정 대기열에 가장 낮은 가중치로 넣고,
+ * 묶음마다 제한기 여유가 min-headroom 이상일 때만 보내 로드맵/학습지 생성에 쓸 예산을 남겨 둔다.
+ */
+@Slf4j
+@Service
+public class QuizService {
+
+    private static final long HEADROOM_POLL_MS = 1000;
+
+    private final DailyPlanRepository dailyPlanRepository;
+    private final QuizRepository quizRepository;
+    private final QuizPromptService promptService;
+    private final QuizResponseParser responseParser;
+    private final QuizBulkWriter quizBulkWriter;
+    private final QuizCache quizCache;
+    private final ChatCompletionGateway chatCompletionGateway;
+    private final OpenAiRateLimiter rateLimiter;
+    private final WorksheetFairScheduler fairScheduler;
+
+    private final String quizModel;
+    private final int daysPerCall;
+    private final int tokensPerQuiz;
+    private final int inFlight;
+    private final double minHeadroom;
+    private final Duration headroomWait;
+
+    public QuizService(DailyPlanRepository dailyPlanRepository,
+                       QuizRepository quizRepository,
+                       QuizPromptService promptService,
+                       QuizResponseParser responseParser,
+                       QuizBulkWriter quizBulkWriter,
+                       QuizCache quizCache,
+                       ChatCompletionGateway chatCompletionGateway,
+                       OpenAiRateLimiter rateLimiter,
+                       WorksheetFairScheduler fairScheduler,
+                       @Value("${openai.api.models.quiz_generation.model:${openai.api.models.worksheet_generation.model}}") String quizModel,
+                       @Value("${quiz.days-per-call:10}") int daysPerCall,
+                       @Value("${quiz.tokens-per-quiz:120}") int tokensPerQuiz,
+                       @Value("${quiz.in-flight:2}") int inFlight,
+                       @Value("${quiz.min-headroom:0.3}") double minHeadroom,
+                       @Value("${quiz.headroom-wait:PT2M}") Duration headroomWait) {
+        this.dailyPlanRepository = dailyPlanRepository;
+        this.quizRepository = quizRepository;
+        this.promptService = promptService;
+        this.responseParser = responseParser;
+        this.quizBulkWriter = quizBulkWriter;
+        this.quizCache = quizCache;
+        this.chatCompletionGateway = chatCompletionGateway;
+        this.rateLimiter = rateLimiter;
+        this.fairScheduler = fairScheduler;
+        this.quizModel = quizModel;
+        this.daysPerCall = Math.max(1, daysPerCall);
+        this.tokensPerQuiz = Math.max(1, tokensPerQuiz);
+        this.inFlight = Math.max(1, inFlight);
+        this.minHeadroom = minHeadroom;
+        this.headroomWait = headroomWait;
+    }
+
+    /**
+     * 작업 큐에서 호출하는 동기 퀴즈 생성. 퀴즈가 없는 일차만 생성하므로 재시도 시 저장된 일차는 다시 만들지 않는다.
+     * 제한기 여유가 headroom-wait 동안 생기지 않으면 예외를 던져 작업이 백오프 후 재시도되도록 한다.
+     */
+    public void generatePendingQuizzes(Long roadmapId, WorkSheetRequest request, WorksheetFairScheduler.Flow flow,
+                                       WorksheetCheckpoint checkpoint) {
+        List<DailyPlan> pendingPlans = dailyPlanRepository.findAllWithoutQuizByRoadmapId(roadmapId);
+        checkpoint.started(pendingPlans.size());
+        if (pendingPlans.isEmpty()) {
+            log.info("로드맵 ID: {}에 퀴즈를 만들 일차가 없습니다", roadmapId);
+            return;
+        }
+        log.info("로드맵 ID: {}의 퀴즈 {}일차 생성 시작", roadmapId, pendingPlans.size());
+
+        List<List<DailyPlan>> groups = new ArrayList<>();
+        for (int from = 0; from < pendingPlans.size(); from += daysPerCall) {
+            groups.add(pendingPlans.subList(from, Math.min(from + daysPerCall, pendingPlans.size())));
+        }
+
+        // in-flight 개 그룹씩, 보내기 전에 제한기 여유를 확인 (기다리는 동안 공정 대기열 자리를 차지하지 않도록 작업 스레드에서 대기)
+        for (int from = 0; from < groups.size(); from += inFlight) {
+            throwIfCancelled(checkpoint);
+            awaitHeadroom(roadmapId, checkpoint);
+            List<List<DailyPlan>> wave = groups.subList(from, Math.min(from + inFlight, groups.size()));
+            try {
+                fairScheduler.submit(flow, wave, group -> generateForGroup(roadmapId, group, request, checkpoint), inFlight).join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        log.info("로드맵 ID: {}의 퀴즈 생성 완료", roadmapId);
+    }
+
+    @Transactional(readOnly = true)
+    public DailyQuizResponse getDailyQuizzes(Long roadmapId, Integer weekNumber, Integer dayNumber) {
+        return quizCache.get(roadmapId, weekNumber, dayNumber, () -> {
+            DailyPlan plan = dailyPlanRepository.findByRoadmapIdAndWeekAndDay(roadmapId, weekNumber, dayNumber)
+                    .orElseThrow(() -> new EntityNotFoundException(
+                            String.format("로드맵 %d의 %d주차 %d일차 계획을 찾을 수 없습니다", roadmapId, weekNumber, dayNumber)));
+            List<DailyQuizResponse.QuizItem> quizzes = quizRepository.findAllByDailyPlanId(plan.getId()).stream()
+                    .map(quiz -> new DailyQuizResponse.QuizItem(quiz.getId(), quiz.getQuestion(), quiz.getAnswer()))
+                    .toList();
+            return new DailyQuizResponse(plan.getId(), weekNumber, dayNumber, quizzes);
+        });
+    }
+
+    private void generateForGroup(Long roadmapId, List<DailyPlan> group, WorkSheetRequest request,
+                                  WorksheetCheckpoint checkpoint) {
+        throwIfCancelled(checkpoint);
+        log.info("퀴즈 생성 API 호출 시작 - {}주차 {}일차 ~ {}주차 {}일차 ({}일)",
+                group.getFirst().getWeeklyPlan().getWeekNumber(), group.getFirst().getDayNumber(),
+                group.getLast().getWeeklyPlan().getWeekNumber(), group.getLast().getDayNumber(), group.size());
+
+        ChatCompletionResult result = chatCompletionGateway.createChatCompletion(ChatCompletionRequest.builder()
+                .model(quizModel)
+                .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), promptService.createPrompt(group, request))))
+                .temperature(0.5)
+                .maxTokens(group.size() * promptService.quizzesPerDay() * tokensPerQuiz)
+                .build());
+        Map<Integer, List<ParsedQuiz>> items = responseParser.parseResponse(result.getChoices().getFirst().getMessage().getContent());
+        if (items.isEmpty()) {
+            throw new IllegalStateException("파싱된 퀴즈가 없습니다.");
+        }
+
+        // 항목 번호는 프롬프트에 넣은 일차 순서 (범위를 벗어난 번호는 무시)
+        Map<Long, List<ParsedQuiz>> quizzesByDailyPlan = new LinkedHashMap<>();
+        List<String> weekDays = new ArrayList<>();
+        items.forEach((item, quizzes) -> {
+            if (item >= 1 && item <= group.size()) {
+                DailyPlan plan = group.get(item - 1);
+                quizzesByDailyPlan.put(plan.getId(), quizzes);
+                weekDays.add(QuizCache.field(plan.getWeeklyPlan().getWeekNumber(), plan.getDayNumber()));
+            }
+        });
+        throwIfCancelled(checkpoint); // 응답을 받는 사이 취소됐으면 저장하지 않음
+
+        int saved = quizBulkWriter.replace(quizzesByDailyPlan);
+        quizCache.evictDays(roadmapId, weekDays);
+        checkpoint.groupSaved(quizzesByDailyPlan.size());
+        if (quizzesByDailyPlan.size() < group.size()) {
+            log.warn("퀴즈가 빠진 일차가 있습니다. 로드맵 ID: {}, {}/{}일 (재시도 시 다시 생성)",
+                    roadmapId, quizzesByDailyPlan.size(), group.size());
+        }
+        log.info("퀴즈 저장 완료 - 로드맵 ID: {}, {}일차, {}문항", roadmapId, quizzesByDailyPlan.size(), saved);
+    }
+
+    private void awaitHeadroom(Long roadmapId, WorksheetCheckpoint checkpoint) {
+        long deadline = System.nanoTime() + headroomWait.toNanos();
+        while (rateLimiter.tokenHeadroom() < minHeadroom) {
+            throwIfCancelled(checkpoint);
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("제한기 여유가 없어 퀴즈 생성을 미룹니다. 로드맵 ID: " + roadmapId);
+            }
+            try {
+                Thread.sleep(HEADROOM_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("퀴즈 생성 대기 중 인터럽트 발생");
+            }
+        }
+    }
+
+    private void throwIfCancelled(WorksheetCheckpoint checkpoint) {
+        if (checkpoint.isCancelled()) {
+            throw new CancellationException("퀴즈 생성 작업이 취소되었습니다");
+        }
+    }
+}
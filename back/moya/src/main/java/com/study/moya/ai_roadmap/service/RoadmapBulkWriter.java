@@ -0,0 +1,153 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.domain.Category;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 생성된 커리큘럼을 다중 행 INSERT로 한 번에 저장 (사용자/관리자 공용)
+ * 행마다 INSERT 하던 JPA 저장 대신 테이블별로 청크 단위 INSERT 한 번씩만 실행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoadmapBulkWriter {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Transactional
+    public Long saveCurriculum(int goalLevel, String topic, int duration, String learningObjective,
+                               WeeklyRoadmapResponse response, Category category,
+                               String etc1Name, String etc2Name) {
+        log.info("커리큘럼 벌크 저장 시작");
+        validate(response);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // 1. Etc / Roadmap INSERT (생성된 키 확보)
+        Long etc1Id = insertEtc(etc1Name, RoadmapService.MAIN_CATEGORY, now);
+        Long etc2Id = insertEtc(etc2Name, RoadmapService.SUB_CATEGORY, now);
+
+        MapSqlParameterSource roadmapParams = new MapSqlParameterSource()
+                .addValue("topic", topic)
+                .addValue("goalLevel", goalLevel)
+                .addValue("duration", duration)
+                .addValue("evaluation", response.getCurriculumEvaluation())
+                .addValue("learningObjective", learningObjective)
+                .addValue("categoryId", category != null ? category.getId() : null)
+                .addValue("etc1Id", etc1Id)
+                .addValue("etc2Id", etc2Id)
+                .addValue("now", now);
+        Long roadmapId = insertAndReturnKey("""
+                INSERT INTO roadmaps (topic, goal_level, duration, evaluation, learning_objective,
+                                      category_id, etc1_id, etc2_id, created_at, modified_at)
+                VALUES (:topic, :goalLevel, :duration, :evaluation, :learningObjective,
+                        :categoryId, :etc1Id, :etc2Id, :now, :now)
+                """, roadmapParams);
+
+        // 2. Tips 다중 행 INSERT
+        List<String> tips = response.getOverallTips() != null ? response.getOverallTips() : List.of();
+        insertRows("INSERT INTO roadmap_tips (roadmap_id, tip) VALUES ", "(?, ?)",
+                tips.stream().map(tip -> new Object[]{roadmapId, tip}).toList());
+
+        // 3. WeeklyPlans 다중 행 INSERT
+        List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlans = response.getWeeklyPlans();
+        insertRows("INSERT INTO weekly_plans (roadmap_id, week_number, keyword, created_at, modified_at) VALUES ",
+                "(?, ?, ?, ?, ?)",
+                weeklyPlans.stream()
+                        .map(wp -> new Object[]{roadmapId, wp.getWeek(), wp.getWeeklyKeyword(), now, now})
+                        .toList());
+
+        // 4. 생성된 주차 ID 조회 (INSERT 순서 = ID 오름차순이므로 주차 번호가 중복되어도 순서대로 매칭)
+        List<Long> weeklyPlanIds = jdbcTemplate.queryForList(
+                "SELECT id FROM weekly_plans WHERE roadmap_id = ? ORDER BY id", Long.class, roadmapId);
+        if (weeklyPlanIds.size() != weeklyPlans.size()) {
+            throw new IllegalStateException("저장된 주차 수가 요청과 다릅니다. 로드맵 ID: " + roadmapId);
+        }
+
+        // 5. DailyPlans 다중 행 INSERT
+        List<Object[]> dailyRows = new ArrayList<>();
+        for (int i = 0; i < weeklyPlans.size(); i++) {
+            Long weeklyPlanId = weeklyPlanIds.get(i);
+            for (WeeklyRoadmapResponse.DailyPlan dp : weeklyPlans.get(i).getDailyPlans()) {
+                dailyRows.add(new Object[]{weeklyPlanId, dp.getDay(), dp.getDailyKeyword(), now, now});
+            }
+        }
+        insertRows("INSERT INTO daily_plans (weekly_plan_id, day_number, keyword, created_at, modified_at) VALUES ",
+                "(?, ?, ?, ?, ?)", dailyRows);
+
+        log.info("커리큘럼 벌크 저장 완료. ID: {}, 주차 수: {}, 일차 수: {}", roadmapId, weeklyPlans.size(), dailyRows.size());
+        return roadmapId;
+    }
+
+    /**
+     * 엔티티 빌더와 동일한 검증 (JDBC 경로는 엔티티를 거치지 않으므로 직접 확인)
+     */
+    private void validate(WeeklyRoadmapResponse response) {
+        for (WeeklyRoadmapResponse.WeeklyPlan weeklyPlan : response.getWeeklyPlans()) {
+            if (weeklyPlan.getWeek() < 1) {
+                throw new IllegalArgumentException("주차는 1 이상이어야 합니다.");
+            }
+            for (WeeklyRoadmapResponse.DailyPlan dailyPlan : weeklyPlan.getDailyPlans()) {
+                if (dailyPlan.getDay() < 1 || dailyPlan.getDay() > 7) {
+                    throw new IllegalArgumentException("일자는 1-7 사이여야 합니다.");
+                }
+            }
+        }
+    }
+
+    private Long insertEtc(String name, Long etcType, Timestamp now) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+
+        return insertAndReturnKey("""
+                INSERT INTO etc (name, etc_type, created_at, modified_at)
+                VALUES (:name, :etcType, :now, :now)
+                """, new MapSqlParameterSource()
+                .addValue("name", name)
+                .addValue("etcType", etcType)
+                .addValue("now", now));
+    }
+
+    private Long insertAndReturnKey(String sql, MapSqlParameterSource params) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        namedParameterJdbcTemplate.update(sql, params, keyHolder, new String[]{"id"});
+        return keyHolder.getKey().longValue();
+    }
+
+    /**
+     * VALUES (...), (...) 형태로 CHUNK_SIZE 행씩 묶어 INSERT
+     */
+    private void insertRows(String insertPrefix, String rowPlaceholder, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()));
+
+            StringBuilder sql = new StringBuilder(insertPrefix);
+            List<Object> args = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(rowPlaceholder);
+                Collections.addAll(args, chunk.get(i));
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.repository.RoadMapRepository;
+import com.study.moya.ai_roadmap.util.RoadmapGenerationKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * 정규화된 로드맵 요청 → 이미 생성된 로드맵 ID 캐시.
+ * 적중 시 OpenAI 호출 없이 기존 로드맵을 구독 처리한다.
+ * 모든 인스턴스가 같은 항목을 보도록 Redis 에 보관한다. (roadmap:generation:key:{키 해시} -> 로드맵 ID, TTL 로 제거)
+ * 로드맵 삭제 시 지울 항목을 찾기 위해 roadmap:generation:roadmap:{로드맵 ID} 집합에 키 해시를 함께 기록한다.
+ * Redis 장애 시에는 미적중으로 처리해 새로 생성한다.
+ */
+@Slf4j
+@Service
+public class RoadmapGenerationCache {
+
+    private static final String KEY_PREFIX = "roadmap:generation:";
+    private static final String ENTRY_PREFIX = KEY_PREFIX + "key:";
+    private static final String INDEX_PREFIX = KEY_PREFIX + "roadmap:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RoadMapRepository roadMapRepository;
+    private final boolean enabled;
+    private final Duration ttl;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public RoadmapGenerationCache(StringRedisTemplate redisTemplate,
+                                  RoadMapRepository roadMapRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${roadmap.generation-cache.enabled:true}") boolean enabled,
+                                  @Value("${roadmap.generation-cache.ttl:PT24H}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.roadMapRepository = roadMapRepository;
+        this.enabled = enabled;
+        this.ttl = ttl;
+
+        this.hitCounter = Counter.builder("roadmap.generation.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("roadmap.generation.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("roadmap.generation.cache.hit_ratio", this, RoadmapGenerationCache::hitRatio)
+                .description("로드맵 생성 캐시 적중률")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 로드맵 ID 조회 (삭제된 로드맵이면 제거 후 미적중 처리)
+     */
+    public Optional<Long> find(RoadmapGenerationKey key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Long roadmapId = null;
+        try {
+            String cached = redisTemplate.opsForValue().get(ENTRY_PREFIX + key.hash());
+            roadmapId = cached != null ? Long.valueOf(cached) : null;
+        } catch (Exception e) {
+            log.warn("로드맵 생성 캐시 조회 실패, 새로 생성합니다. 키: {} ({})", key, e.getMessage());
+        }
+
+        if (roadmapId == null || !roadMapRepository.existsById(roadmapId)) {
+            if (roadmapId != null) {
+                evictRoadmap(roadmapId);
+            }
+            missCounter.increment();
+            return Optional.empty();
+        }
+
+        hitCounter.increment();
+        log.info("로드맵 생성 캐시 적중. 로드맵 ID: {}, 키: {}", roadmapId, key);
+        return Optional.of(roadmapId);
+    }
+
+    public void put(RoadmapGenerationKey key, Long roadmapId) {
+        if (!enabled || roadmapId == null) {
+            return;
+        }
+        String hash = key.hash();
+        String indexKey = INDEX_PREFIX + roadmapId;
+        try {
+            redisTemplate.opsForValue().set(ENTRY_PREFIX + hash, roadmapId.toString(), ttl);
+            redisTemplate.opsForSet().add(indexKey, hash);
+            redisTemplate.expire(indexKey, ttl);
+        } catch (Exception e) {
+            log.warn("로드맵 생성 캐시 저장 실패. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+        }
+    }
+
+    /**
+     * 로드맵 삭제 시 해당 로드맵을 가리키는 캐시 항목 제거 (그 사이 다른 로드맵으로 바뀐 항목은 남긴다)
+     */
+    public void evictRoadmap(Long roadmapId) {
+        if (!enabled || roadmapId == null) {
+            return;
+        }
+        String indexKey = INDEX_PREFIX + roadmapId;
+        try {
+            Set<String> hashes = redisTemplate.opsForSet().members(indexKey);
+            if (hashes != null && !hashes.isEmpty()) {
+                List<String> entryKeys = hashes.stream().map(hash -> ENTRY_PREFIX + hash).toList();
+                List<String> values = redisTemplate.opsForValue().multiGet(entryKeys);
+                List<String> stale = new ArrayList<>();
+                for (int i = 0; i < entryKeys.size(); i++) {
+                    if (values != null && roadmapId.toString().equals(values.get(i))) {
+                        stale.add(entryKeys.get(i));
+                    }
+                }
+                if (!stale.isEmpty()) {
+                    redisTemplate.delete(stale);
+                }
+            }
+            redisTemplate.delete(indexKey);
+        } catch (Exception e) {
+            log.warn("로드맵 생성 캐시 삭제 실패. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+        }
+    }
+
+    /**
+     * 전체 캐시 비우기 (관리자용). 모든 인스턴스가 공유하는 항목을 지운다.
+     */
+    public int purge() {
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(500).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+        int entries = (int) keys.stream().filter(key -> key.startsWith(ENTRY_PREFIX)).count();
+        if (!keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+        log.info("로드맵 생성 캐시 전체 삭제. 삭제된 항목 수: {}", entries);
+        return entries;
+    }
+
+    public double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+}
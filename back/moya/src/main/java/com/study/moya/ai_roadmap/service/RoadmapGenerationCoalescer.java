@@ -0,0 +1,114 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import com.study.moya.ai_roadmap.util.RoadmapGenerationKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 동일한 키의 로드맵 생성이 동시에 들어오면 OpenAI 호출은 한 번만 수행하고
+ * 나머지 요청은 같은 결과를 기다리도록 묶는다. (티켓/구독 처리는 호출자별로 수행)
+ * 기다리는 요청이 있는 생성은 이끄는 쪽이 취소되어도 끊지 않도록 {@link #leadsSharedGeneration} 으로 알려 주고,
+ * 이끄는 쪽이 취소로 중단되면 기다리던 요청은 직접 다시 생성한다.
+ */
+@Slf4j
+@Component
+public class RoadmapGenerationCoalescer {
+
+    private final ConcurrentHashMap<RoadmapGenerationKey, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCounter;
+    private final Counter coalescedCounter;
+
+    public RoadmapGenerationCoalescer(MeterRegistry meterRegistry) {
+        this.leaderCounter = Counter.builder("roadmap.generation.coalesce.requests")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("roadmap.generation.coalesce.requests")
+                .tag("role", "follower")
+                .register(meterRegistry);
+        Gauge.builder("roadmap.generation.coalesce.in_flight", inFlight, ConcurrentHashMap::size)
+                .description("진행 중인 로드맵 생성 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 같은 키로 진행 중인 생성이 있으면 그 결과를 기다리고, 없으면 현재 스레드에서 직접 생성한다.
+     */
+    public GeneratedRoadmap execute(RoadmapGenerationKey key, Supplier<GeneratedRoadmap> generator) {
+        while (true) {
+            InFlight created = new InFlight(Thread.currentThread());
+            InFlight existing = inFlight.putIfAbsent(key, created);
+            if (existing == null) {
+                return lead(key, created, generator);
+            }
+
+            coalescedCounter.increment();
+            log.info("진행 중인 동일 로드맵 생성 결과 대기. 키: {}", key);
+            existing.followers.incrementAndGet();
+            try {
+                return existing.result.get();
+            } catch (CancellationException e) {
+                // 이끄는 쪽이 취소로 중단됨. 같은 키로 다시 시도해 직접 생성하거나 새로 시작된 생성을 기다린다
+                log.info("기다리던 로드맵 생성이 취소되어 다시 시도합니다. 키: {}", key);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                // 기다리던 작업이 취소됨. 진행 중인 생성은 다른 요청을 위해 계속한다
+                Thread.currentThread().interrupt();
+                throw new CancellationException("로드맵 생성 대기가 취소되었습니다");
+            } finally {
+                existing.followers.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 해당 스레드가 다른 요청이 기다리는 생성을 이끌고 있는지.
+     * 이끄는 쪽의 작업이 취소돼도 true 면 인터럽트하지 않고 끝까지 생성해 기다리는 요청에 결과를 넘긴다.
+     */
+    public boolean leadsSharedGeneration(Thread thread) {
+        return inFlight.values().stream()
+                .anyMatch(generation -> generation.leader == thread && generation.followers.get() > 0);
+    }
+
+    private GeneratedRoadmap lead(RoadmapGenerationKey key, InFlight created, Supplier<GeneratedRoadmap> generator) {
+        leaderCounter.increment();
+        try {
+            GeneratedRoadmap generated = generator.get();
+            created.result.complete(generated);
+            return generated;
+        } catch (RuntimeException e) {
+            if (e instanceof CancellationException || Thread.currentThread().isInterrupted()) {
+                // 취소는 이끄는 요청에만 해당하므로 기다리던 요청이 같은 오류로 실패하지 않게 한다
+                created.result.cancel(false);
+            } else {
+                created.result.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private static final class InFlight {
+        private final CompletableFuture<GeneratedRoadmap> result = new CompletableFuture<>();
+        private final Thread leader;
+        private final AtomicInteger followers = new AtomicInteger();
+
+        private InFlight(Thread leader) {
+            this.leader = leader;
+        }
+    }
+
+    public record GeneratedRoadmap(Long roadMapId, WeeklyRoadmapResponse response) {
+    }
+}
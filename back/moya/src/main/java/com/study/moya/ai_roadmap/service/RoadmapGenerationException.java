@@ -0,0 +1,18 @@
+package com.study.moya.ai_roadmap.service;
+
+/**
+ * 로드맵 생성 실패. 실패 전까지 이미 쓴 토큰 수를 함께 전달해 실제 사용량으로 기록할 수 있게 한다.
+ */
+public class RoadmapGenerationException extends RuntimeException {
+
+    private final long spentTokens;
+
+    public RoadmapGenerationException(String message, Throwable cause, long spentTokens) {
+        super(message, cause);
+        this.spentTokens = spentTokens;
+    }
+
+    public long getSpentTokens() {
+        return spentTokens;
+    }
+}
@@ -3,6 +3,8 @@ package com.study.moya.ai_roadmap.service;
 import com.study.moya.ai_roadmap.dto.request.RoadmapRequest;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -40,6 +42,54 @@ public class RoadmapPromptService {
         );
     }
 
+    /**
+     * 잘린 응답에서 빠진 주차만 다시 요청하는 프롬프트 (응답 형식은 원래 요청과 같게).
+     * 빠진 주차가 없으면 팁/평가만 요청한다.
+     */
+    public String createMissingWeeksPrompt(RoadmapRequest request, List<Integer> missingWeeks) {
+        if (missingWeeks.isEmpty()) {
+            return createPrompt(request)
+                    + "\n\n주차별 계획은 이미 작성되었습니다. 응답 형식은 그대로 유지하되 weeklyPlans 는 빈 배열([])로 두고, "
+                    + "overallTips, curriculumEvaluation, hasRestrictedTopics 만 전체 기간을 기준으로 작성해주세요.";
+        }
+        return createPrompt(request) + String.format(
+                "\n\n다른 주차는 이미 작성되었습니다. 응답 형식은 그대로 유지하되 weeklyPlans 에는 %s주차만 포함하고, "
+                        + "curriculumEvaluation 과 hasRestrictedTopics 는 전체 기간을 기준으로 작성해주세요.",
+                missingWeeks.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * 분할 생성 1단계: 주차별 키워드만 담은 개요 (일별 키워드는 세그먼트에서 채움)
+     */
+    public String createOutlinePrompt(RoadmapRequest request) {
+        return createPrompt(request) + String.format(
+                "\n\n이번에는 전체 %s주의 주차별 키워드만 정해주세요. 응답 형식은 그대로 유지하되 각 주차의 dailyPlans 는 빈 배열([])로 두고, "
+                        + "overallTips 와 curriculumEvaluation 은 전체 기간을 기준으로 작성해주세요.",
+                request.getDuration());
+    }
+
+    /**
+     * 분할 생성 2단계: 개요의 주차별 키워드를 그대로 쓰면서 지정한 주차의 일별 키워드만 요청.
+     * includeSummary 가 아니면 팁/평가는 개요에서 받으므로 weeklyPlans 만 요청한다.
+     */
+    public String createWeekRangePrompt(RoadmapRequest request, List<Integer> weeks, Map<Integer, String> weeklyKeywords,
+                                        boolean includeSummary) {
+        StringBuilder prompt = new StringBuilder(createPrompt(request));
+        if (!weeklyKeywords.isEmpty()) {
+            prompt.append("\n\n전체 주차별 키워드:\n");
+            weeklyKeywords.forEach((week, keyword) -> prompt.append(week).append("주차: ").append(keyword).append('\n'));
+        }
+        prompt.append(String.format(
+                "\n응답 형식은 그대로 유지하되 weeklyPlans 에는 %s주차만 포함하고, 정해진 주차별 키워드가 있으면 그대로 사용해 일별 키워드를 작성해주세요.",
+                weeks.stream().map(String::valueOf).collect(Collectors.joining(", "))));
+        if (includeSummary) {
+            prompt.append(" overallTips, curriculumEvaluation, hasRestrictedTopics 는 전체 기간을 기준으로 작성해주세요.");
+        } else {
+            prompt.append(" overallTips, curriculumEvaluation, hasRestrictedTopics 는 생략하고 weeklyPlans 만 작성해주세요.");
+        }
+        return prompt.toString();
+    }
+
     public List<ChatMessage> buildMessages(String systemPrompt, String userPrompt) {
         return List.of(
                 new ChatMessage("system", systemPrompt),
@@ -0,0 +1,164 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.domain.DailyPlan;
+import com.study.moya.ai_roadmap.domain.RoadMap;
+import com.study.moya.ai_roadmap.domain.WeeklyPlan;
+import com.study.moya.ai_roadmap.dto.response.DailyPlanOutlineProjection;
+import com.study.moya.ai_roadmap.dto.response.DailyWorksheetResponse;
+import com.study.moya.ai_roadmap.dto.response.RoadmapOutlineResponse;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import com.study.moya.ai_roadmap.repository.DailyPlanRepository;
+import com.study.moya.ai_roadmap.repository.RoadMapRepository;
+import com.study.moya.global.api.ResourceVersion;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 로드맵 조회 전용 서비스 (비동기 생성 스레드에서도 트랜잭션 프록시를 거치도록 분리)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoadmapQueryService {
+
+    private final RoadMapRepository roadMapRepository;
+    private final DailyPlanRepository dailyPlanRepository;
+
+    @Transactional(readOnly = true)
+    public WeeklyRoadmapResponse getRoadmapById(Long roadmapId) {
+        // 1. 로드맵 정보 조회
+        RoadMap roadMap = roadMapRepository.findById(roadmapId)
+                .orElseThrow(() -> new EntityNotFoundException("해당 로드맵을 찾을 수 없습니다: " + roadmapId));
+
+        // 2. 로드맵에 속한 모든 일별 계획 조회 (주차, 일자 순으로 정렬됨)
+        List<DailyPlan> allDailyPlans = dailyPlanRepository.findAllByWeeklyPlan_RoadMap_IdOrderByDayNumber(roadmapId);
+
+        // 3. 주차별로 일별 계획을 그룹화
+        Map<Integer, List<DailyPlan>> weeklyGroupedPlans = new HashMap<>();
+        for (DailyPlan dailyPlan : allDailyPlans) {
+            Integer weekNumber = dailyPlan.getWeeklyPlan().getWeekNumber();
+            weeklyGroupedPlans.computeIfAbsent(weekNumber, k -> new ArrayList<>())
+                    .add(dailyPlan);
+        }
+
+        // 4. 응답 DTO 구성
+        List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlansDto = new ArrayList<>();
+
+        // 주차 번호 오름차순으로 정렬
+        List<Integer> sortedWeekNumbers = weeklyGroupedPlans.keySet().stream()
+                .sorted()
+                .collect(Collectors.toList());
+
+        for (Integer weekNumber : sortedWeekNumbers) {
+            List<DailyPlan> weekDailyPlans = weeklyGroupedPlans.get(weekNumber);
+
+            // 각 주차의 첫 번째 DailyPlan에서 WeeklyPlan 정보 가져오기
+            WeeklyPlan weeklyPlan = weekDailyPlans.get(0).getWeeklyPlan();
+
+            // 일별 계획 DTO 변환
+            List<WeeklyRoadmapResponse.DailyPlan> dailyPlansDto = weekDailyPlans.stream()
+                    .map(plan -> new WeeklyRoadmapResponse.DailyPlan(
+                            plan.getDayNumber(),
+                            plan.getKeyword(),
+                            getWorksheet(plan)
+                    ))
+                    .collect(Collectors.toList());
+
+            // 주차 계획 DTO 생성
+            WeeklyRoadmapResponse.WeeklyPlan weeklyPlanDto = new WeeklyRoadmapResponse.WeeklyPlan(
+                    weekNumber,
+                    weeklyPlan.getKeyword(),
+                    dailyPlansDto
+            );
+
+            weeklyPlansDto.add(weeklyPlanDto);
+        }
+
+        // 5. 최종 응답 생성
+        return new WeeklyRoadmapResponse(
+                weeklyPlansDto,
+                new ArrayList<>(roadMap.getOverallTips()), // 트랜잭션 밖(비동기 스레드)에서도 읽을 수 있도록 복사
+                roadMap.getEvaluation(),
+                "없음" // 금지된 주제 여부는 별도 필드가 없어 기본값으로 설정
+        );
+    }
+
+    /**
+     * 로드맵 목차 (주차/일차 키워드만, 학습지 본문은 조회하지 않음)
+     */
+    @Transactional(readOnly = true)
+    public RoadmapOutlineResponse getRoadmapOutline(Long roadmapId) {
+        RoadMap roadMap = roadMapRepository.findById(roadmapId)
+                .orElseThrow(() -> new EntityNotFoundException("해당 로드맵을 찾을 수 없습니다: " + roadmapId));
+
+        // 주차, 일차 순으로 정렬되어 오므로 순서를 유지한 채 주차별로 묶기
+        Map<Integer, RoadmapOutlineResponse.WeekOutline> weeks = new LinkedHashMap<>();
+        for (DailyPlanOutlineProjection day : dailyPlanRepository.findOutlineByRoadmapId(roadmapId)) {
+            weeks.computeIfAbsent(day.getWeekNumber(), week ->
+                            new RoadmapOutlineResponse.WeekOutline(week, day.getWeeklyKeyword(), new ArrayList<>()))
+                    .getDailyPlans()
+                    .add(new RoadmapOutlineResponse.DayOutline(day.getDailyPlanId(), day.getDayNumber(), day.getDailyKeyword()));
+        }
+
+        return new RoadmapOutlineResponse(
+                roadmapId,
+                new ArrayList<>(weeks.values()),
+                new ArrayList<>(roadMap.getOverallTips()),
+                roadMap.getEvaluation()
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public DailyWorksheetResponse getDailyWorksheet(Long roadmapId, Integer weekNumber, Integer dayNumber) {
+        return dailyPlanRepository.findWorksheetByRoadmapIdAndWeekAndDay(roadmapId, weekNumber, dayNumber)
+                .map(DailyWorksheetResponse::from)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format("로드맵 %d의 %d주차 %d일차 계획을 찾을 수 없습니다", roadmapId, weekNumber, dayNumber)));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<DailyWorksheetResponse> getWorksheets(Long roadmapId, Pageable pageable) {
+        if (!roadMapRepository.existsById(roadmapId)) {
+            throw new EntityNotFoundException("해당 로드맵을 찾을 수 없습니다: " + roadmapId);
+        }
+        return dailyPlanRepository.findWorksheetPageByRoadmapId(roadmapId, pageable)
+                .map(DailyWorksheetResponse::from);
+    }
+
+    /**
+     * 조건부 GET 검증자. 로드맵/주차/일차 중 가장 최근 수정 시각과 일차 수로 만들며 학습지 본문은 읽지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getRoadmapVersion(Long roadmapId) {
+        return roadMapRepository.findVersionById(roadmapId)
+                .map(version -> ResourceVersion.of(
+                        "roadmap-" + roadmapId,
+                        Stream.of(version.getRoadmapModifiedAt(), version.getWeeksModifiedAt(), version.getDaysModifiedAt())
+                                .filter(Objects::nonNull)
+                                .max(Comparator.naturalOrder())
+                                .orElse(null),
+                        version.getDayCount()))
+                .orElseThrow(() -> new EntityNotFoundException("해당 로드맵을 찾을 수 없습니다: " + roadmapId));
+    }
+
+    private String getWorksheet(DailyPlan plan) {
+        if (plan.getWorkSheet() == null) {
+            return "";
+        }
+        return plan.getWorkSheet();
+    }
+}
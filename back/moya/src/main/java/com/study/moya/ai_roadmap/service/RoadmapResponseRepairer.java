@@ -0,0 +1,133 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.client.ChatCompletionGateway;
+import com.study.moya.ai_roadmap.dto.request.RoadmapRequest;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import com.study.moya.ai_roadmap.util.DecodedRoadmap;
+import com.study.moya.ai_roadmap.util.RoadmapResponseParser;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 한 번의 호출로 받은 로드맵 응답이 잘렸거나 주차/평가 필드가 빠졌으면 빠진 부분만 다시 요청해 채운다.
+ * 보완 횟수는 파싱된 보완 응답만 세고, 파싱하지 못한 응답은 별도 한도 안에서 다시 요청한다.
+ */
+@Slf4j
+@Component
+public class RoadmapResponseRepairer {
+
+    private static final int MAX_REPAIR_ROUNDS = 2;  // 누락 부분을 채우는 보완 최대 횟수
+    private static final int MAX_UNPARSABLE_SUPPLEMENTS = 2;  // 파싱하지 못한 보완 응답 허용 수
+
+    private final ChatCompletionGateway chatCompletionGateway;
+    private final RoadmapPromptService promptService;
+    private final RoadmapResponseParser responseParser;
+    private final MeterRegistry meterRegistry;
+    private final String roadmapModel;
+
+    public RoadmapResponseRepairer(ChatCompletionGateway chatCompletionGateway,
+                                   RoadmapPromptService promptService,
+                                   RoadmapResponseParser responseParser,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${openai.api.models.roadmap_generation.model}") String roadmapModel) {
+        this.chatCompletionGateway = chatCompletionGateway;
+        this.promptService = promptService;
+        this.responseParser = responseParser;
+        this.meterRegistry = meterRegistry;
+        this.roadmapModel = roadmapModel;
+    }
+
+    /**
+     * 살릴 주차가 하나도 없거나 보완 한도 안에 채우지 못하면 전체 실패로 처리한다.
+     */
+    public RepairedRoadmap repair(RoadmapRequest request, String systemPrompt, DecodedRoadmap decoded) {
+        WeeklyRoadmapResponse response = decoded.response();
+        if (response.getWeeklyPlans() == null || response.getWeeklyPlans().isEmpty()) {
+            throw new IllegalStateException("로드맵 응답에서 복구할 주차가 없습니다");
+        }
+        List<Integer> missingWeeks = new ArrayList<>(decoded.missingWeeks());
+        if (!decoded.isComplete()) {
+            meterRegistry.counter("roadmap.response.truncated").increment();
+            log.warn("로드맵 응답 불완전 (잘림: {}), 누락 주차: {}, 평가 누락: {}",
+                    decoded.truncated(), missingWeeks, isSummaryMissing(response));
+        }
+
+        long extraTokens = 0;
+        int rounds = 0;
+        int unparsable = 0;
+        while (!missingWeeks.isEmpty() || isSummaryMissing(response)) {
+            if (rounds >= MAX_REPAIR_ROUNDS || unparsable >= MAX_UNPARSABLE_SUPPLEMENTS) {
+                throw new IllegalStateException("로드맵 응답 보완 실패. 누락 주차: " + missingWeeks
+                        + ", 평가 누락: " + isSummaryMissing(response));
+            }
+            ChatCompletionResult result = chatCompletionGateway.createChatCompletion(ChatCompletionRequest.builder()
+                    .model(roadmapModel)
+                    .messages(promptService.buildMessages(systemPrompt,
+                            promptService.createMissingWeeksPrompt(request, missingWeeks)))
+                    .temperature(0.8)
+                    .maxTokens(2000)
+                    .build());
+            Usage usage = result.getUsage();
+            if (usage != null) {
+                extraTokens += usage.getTotalTokens();
+            }
+
+            DecodedRoadmap supplement;
+            try {
+                supplement = responseParser.decode(result.getChoices().get(0).getMessage().getContent(), 0);
+            } catch (RuntimeException e) {
+                unparsable++;
+                log.warn("로드맵 보완 응답 파싱 실패 ({}번째): {}", unparsable, e.getMessage());
+                continue;
+            }
+            rounds++;
+            int before = missingWeeks.size();
+            merge(response, supplement.response(), missingWeeks);
+            meterRegistry.counter("roadmap.response.repaired.weeks").increment(before - missingWeeks.size());
+            log.info("로드맵 응답 보완 {}회차 완료. 남은 누락 주차: {}", rounds, missingWeeks);
+        }
+
+        response.getWeeklyPlans().sort(Comparator.comparingInt(WeeklyRoadmapResponse.WeeklyPlan::getWeek));
+        return new RepairedRoadmap(response, extraTokens);
+    }
+
+    /**
+     * 보완 응답에서 아직 빠진 주차만 가져오고, 원래 응답에 없던 팁/평가도 채운다
+     */
+    private void merge(WeeklyRoadmapResponse target, WeeklyRoadmapResponse supplement, List<Integer> missingWeeks) {
+        if (supplement.getWeeklyPlans() != null) {
+            for (WeeklyRoadmapResponse.WeeklyPlan weeklyPlan : supplement.getWeeklyPlans()) {
+                if (missingWeeks.remove(Integer.valueOf(weeklyPlan.getWeek()))) {
+                    target.getWeeklyPlans().add(weeklyPlan);
+                }
+            }
+        }
+        if (target.getOverallTips() == null) {
+            target.setOverallTips(supplement.getOverallTips());
+        }
+        if (target.getCurriculumEvaluation() == null) {
+            target.setCurriculumEvaluation(supplement.getCurriculumEvaluation());
+        }
+        if (target.getHasRestrictedTopics() == null) {
+            target.setHasRestrictedTopics(supplement.getHasRestrictedTopics());
+        }
+    }
+
+    private static boolean isSummaryMissing(WeeklyRoadmapResponse response) {
+        return response.getCurriculumEvaluation() == null || response.getHasRestrictedTopics() == null;
+    }
+
+    /**
+     * @param extraTokens 보완 호출(파싱 실패 포함)에 쓴 토큰 수
+     */
+    public record RepairedRoadmap(WeeklyRoadmapResponse response, long extraTokens) {
+    }
+}
@@ -0,0 +1,316 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.client.ChatCompletionGateway;
+import com.study.moya.ai_roadmap.dto.request.RoadmapRequest;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import com.study.moya.ai_roadmap.util.DecodedRoadmap;
+import com.study.moya.ai_roadmap.util.RoadmapResponseParser;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 장기 로드맵 분할 생성.
+ * 한 번의 호출로 전체 주차를 받으면 응답이 길어져 느리고 maxTokens 에서 잘리기 쉬우므로,
+ * 먼저 주차별 키워드만 담은 개요를 받은 뒤 주차 구간(세그먼트)별 일별 키워드를 병렬로 받아 하나의 응답으로 합친다.
+ * 전체 소요 시간은 개요 1회 + 가장 느린 세그먼트 1회 수준이 된다.
+ * 팁/평가는 개요에서만 받고, 세그먼트는 주차 계획만 받아 출력 토큰을 줄인다.
+ */
+@Slf4j
+@Component
+public class RoadmapSegmentedGenerator {
+
+    private static final int MAX_SEGMENT_ATTEMPTS = 2;  // 세그먼트별 최초 호출 + 누락 주차 재요청
+
+    private final ChatCompletionGateway chatCompletionGateway;
+    private final RoadmapPromptService promptService;
+    private final RoadmapResponseParser responseParser;
+    private final Executor segmentExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final String roadmapModel;
+    private final boolean enabled;
+    private final int minWeeks;
+    private final int weeksPerSegment;
+
+    public RoadmapSegmentedGenerator(ChatCompletionGateway chatCompletionGateway,
+                                     RoadmapPromptService promptService,
+                                     RoadmapResponseParser responseParser,
+                                     @Qualifier("roadmapSegmentExecutor") Executor segmentExecutor,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${openai.api.models.roadmap_generation.model}") String roadmapModel,
+                                     @Value("${roadmap.segmented.enabled:true}") boolean enabled,
+                                     @Value("${roadmap.segmented.min-weeks:8}") int minWeeks,
+                                     @Value("${roadmap.segmented.weeks-per-segment:4}") int weeksPerSegment) {
+        this.chatCompletionGateway = chatCompletionGateway;
+        this.promptService = promptService;
+        this.responseParser = responseParser;
+        this.segmentExecutor = segmentExecutor;
+        this.meterRegistry = meterRegistry;
+        this.roadmapModel = roadmapModel;
+        this.enabled = enabled;
+        this.minWeeks = minWeeks;
+        this.weeksPerSegment = Math.max(1, weeksPerSegment);
+    }
+
+    /**
+     * 분할 생성 대상인지 (기간이 min-weeks 이상)
+     */
+    public boolean supports(RoadmapRequest request) {
+        return enabled && request.getDuration() != null && request.getDuration() >= minWeeks;
+    }
+
+    /**
+     * 세그먼트가 끝내 실패하면 그때까지 쓴 토큰 수를 담은 {@link RoadmapGenerationException} 을 던진다.
+     */
+    public GeneratedCurriculum generate(RoadmapRequest request, String systemPrompt) {
+        int totalWeeks = request.getDuration();
+        long startedAt = System.nanoTime();
+
+        // 1. 개요: 주차별 키워드와 전체 팁/평가
+        Completion outline = generateOutline(request, systemPrompt, totalWeeks);
+        Map<Integer, String> weeklyKeywords = weeklyKeywords(outline.response());
+        // 개요에 팁/평가가 없을 때만 첫 세그먼트가 함께 작성하고, 나머지 세그먼트는 주차 계획만 받는다
+        boolean summaryMissing = isSummaryMissing(outline.response());
+        log.info("로드맵 개요 생성 완료. 주차 키워드 {}/{}개", weeklyKeywords.size(), totalWeeks);
+
+        // 2. 세그먼트: 주차 구간별 일별 키워드를 병렬 생성
+        List<FutureTask<Completion>> segments = new ArrayList<>();
+        for (int from = 1; from <= totalWeeks; from += weeksPerSegment) {
+            List<Integer> weeks = new ArrayList<>();
+            for (int week = from; week < from + weeksPerSegment && week <= totalWeeks; week++) {
+                weeks.add(week);
+            }
+            boolean includeSummary = summaryMissing && from == 1;
+            // 취소 시 실행 중인 세그먼트 스레드까지 인터럽트할 수 있도록 FutureTask 로 제출
+            FutureTask<Completion> segment = new FutureTask<>(
+                    () -> generateSegment(request, systemPrompt, weeks, weeklyKeywords, includeSummary));
+            segments.add(segment);
+            segmentExecutor.execute(segment);
+        }
+
+        List<Completion> completed = new ArrayList<>(segments.size());
+        try {
+            for (FutureTask<Completion> segment : segments) {
+                completed.add(segment.get());
+            }
+        } catch (ExecutionException e) {
+            segments.forEach(segment -> segment.cancel(true));
+            long spentTokens = outline.tokens() + spentTokens(segments);
+            log.warn("로드맵 분할 생성 실패. 실패 전까지 사용한 토큰: {}", spentTokens);
+            throw new RoadmapGenerationException("로드맵 분할 생성 실패: " + e.getCause().getMessage(), e.getCause(), spentTokens);
+        } catch (InterruptedException e) {
+            // 생성 작업 취소: 진행 중인 세그먼트 호출도 끊는다
+            segments.forEach(segment -> segment.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CancellationException("로드맵 분할 생성이 취소되었습니다");
+        }
+
+        // 3. 병합
+        WeeklyRoadmapResponse response = merge(outline.response(), completed, weeklyKeywords);
+        long totalTokens = outline.tokens() + completed.stream().mapToLong(Completion::tokens).sum();
+
+        timer("total").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        log.info("로드맵 분할 생성 완료. 기간: {}주, 세그먼트: {}개, 총 토큰: {}", totalWeeks, segments.size(), totalTokens);
+        return new GeneratedCurriculum(response, totalTokens);
+    }
+
+    /**
+     * 이미 끝난 세그먼트가 쓴 토큰 합계 (실패한 세그먼트는 실패 전까지 쓴 토큰, 취소된 세그먼트는 알 수 없어 제외)
+     */
+    private long spentTokens(List<FutureTask<Completion>> segments) {
+        long tokens = 0;
+        for (FutureTask<Completion> segment : segments) {
+            if (!segment.isDone() || segment.isCancelled()) {
+                continue;
+            }
+            try {
+                tokens += segment.get().tokens();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RoadmapGenerationException failed) {
+                    tokens += failed.getSpentTokens();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 개요가 실패해도 세그먼트가 주차 키워드를, 첫 세그먼트가 팁/평가를 채우므로 빈 개요로 계속 진행한다
+     */
+    private Completion generateOutline(RoadmapRequest request, String systemPrompt, int totalWeeks) {
+        long startedAt = System.nanoTime();
+        try {
+            ChatCompletionResult result = complete(systemPrompt, promptService.createOutlinePrompt(request));
+            DecodedRoadmap decoded = responseParser.decode(content(result), totalWeeks);
+            if (!decoded.missingWeeks().isEmpty()) {
+                log.warn("로드맵 개요 불완전 (잘림: {}), 키워드 없는 주차: {}", decoded.truncated(), decoded.missingWeeks());
+            }
+            return new Completion(decoded.response(), tokens(result));
+        } catch (RuntimeException e) {
+            log.warn("로드맵 개요 생성 실패, 개요 없이 세그먼트를 생성합니다: {}", e.getMessage());
+            return new Completion(new WeeklyRoadmapResponse(), 0);
+        } finally {
+            timer("outline").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Completion generateSegment(RoadmapRequest request, String systemPrompt, List<Integer> weeks,
+                                       Map<Integer, String> weeklyKeywords, boolean includeSummary) {
+        long startedAt = System.nanoTime();
+        Map<Integer, WeeklyRoadmapResponse.WeeklyPlan> collected = new HashMap<>();
+        List<Integer> missingWeeks = new ArrayList<>(weeks);
+        WeeklyRoadmapResponse extras = new WeeklyRoadmapResponse();
+        long tokens = 0;
+
+        try {
+            for (int attempt = 1; attempt <= MAX_SEGMENT_ATTEMPTS && !missingWeeks.isEmpty(); attempt++) {
+                ChatCompletionResult result = complete(systemPrompt,
+                        promptService.createWeekRangePrompt(request, missingWeeks, weeklyKeywords, includeSummary));
+                tokens += tokens(result);
+
+                DecodedRoadmap decoded;
+                try {
+                    decoded = responseParser.decode(content(result), 0);
+                } catch (RuntimeException e) {
+                    log.warn("세그먼트 응답 파싱 실패 ({}주차, {}회차): {}", missingWeeks, attempt, e.getMessage());
+                    continue;
+                }
+                List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlans = renumberIfShifted(decoded.response(), missingWeeks);
+                for (WeeklyRoadmapResponse.WeeklyPlan weeklyPlan : weeklyPlans) {
+                    if (missingWeeks.remove(Integer.valueOf(weeklyPlan.getWeek()))) {
+                        collected.put(weeklyPlan.getWeek(), weeklyPlan);
+                    }
+                }
+                fillSummary(extras, decoded.response());
+            }
+        } catch (RuntimeException e) {
+            throw new RoadmapGenerationException("로드맵 세그먼트 호출 실패. 주차: " + weeks, e, tokens);
+        } finally {
+            timer("segment").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+
+        if (!missingWeeks.isEmpty()) {
+            throw new RoadmapGenerationException("로드맵 세그먼트 생성 실패. 누락 주차: " + missingWeeks, null, tokens);
+        }
+        extras.setWeeklyPlans(weeks.stream().map(collected::get).toList());
+        return new Completion(extras, tokens);
+    }
+
+    /**
+     * 모델이 요청한 주차 번호 대신 1주차부터 다시 매기는 경우가 있어, 요청 주차가 하나도 없고 개수가 같으면 순서대로 맞춘다
+     */
+    private List<WeeklyRoadmapResponse.WeeklyPlan> renumberIfShifted(WeeklyRoadmapResponse response, List<Integer> weeks) {
+        List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlans = response.getWeeklyPlans();
+        if (weeklyPlans == null) {
+            return List.of();
+        }
+        boolean anyRequested = weeklyPlans.stream().anyMatch(weeklyPlan -> weeks.contains(weeklyPlan.getWeek()));
+        if (anyRequested || weeklyPlans.size() != weeks.size()) {
+            return weeklyPlans;
+        }
+        log.warn("세그먼트 응답의 주차 번호가 요청({})과 달라 순서대로 다시 매깁니다", weeks);
+        for (int i = 0; i < weeklyPlans.size(); i++) {
+            weeklyPlans.get(i).setWeek(weeks.get(i));
+        }
+        return weeklyPlans;
+    }
+
+    /**
+     * 주차 키워드는 개요를 우선해 세그먼트 사이의 흐름을 맞추고, 팁/평가는 개요 → 앞 세그먼트 순으로 채운다
+     */
+    private WeeklyRoadmapResponse merge(WeeklyRoadmapResponse outline, List<Completion> segments,
+                                       Map<Integer, String> weeklyKeywords) {
+        WeeklyRoadmapResponse merged = new WeeklyRoadmapResponse(new ArrayList<>(), outline.getOverallTips(),
+                outline.getCurriculumEvaluation(), outline.getHasRestrictedTopics());
+        for (Completion segment : segments) {
+            for (WeeklyRoadmapResponse.WeeklyPlan weeklyPlan : segment.response().getWeeklyPlans()) {
+                String outlineKeyword = weeklyKeywords.get(weeklyPlan.getWeek());
+                if (outlineKeyword != null) {
+                    weeklyPlan.setWeeklyKeyword(outlineKeyword);
+                }
+                merged.getWeeklyPlans().add(weeklyPlan);
+            }
+            fillSummary(merged, segment.response());
+        }
+        return merged;
+    }
+
+    private void fillSummary(WeeklyRoadmapResponse target, WeeklyRoadmapResponse source) {
+        if (target.getOverallTips() == null) {
+            target.setOverallTips(source.getOverallTips());
+        }
+        if (target.getCurriculumEvaluation() == null) {
+            target.setCurriculumEvaluation(source.getCurriculumEvaluation());
+        }
+        if (target.getHasRestrictedTopics() == null) {
+            target.setHasRestrictedTopics(source.getHasRestrictedTopics());
+        }
+    }
+
+    private static boolean isSummaryMissing(WeeklyRoadmapResponse response) {
+        return response.getOverallTips() == null || response.getCurriculumEvaluation() == null
+                || response.getHasRestrictedTopics() == null;
+    }
+
+    private Map<Integer, String> weeklyKeywords(WeeklyRoadmapResponse outline) {
+        Map<Integer, String> keywords = new LinkedHashMap<>();
+        if (outline.getWeeklyPlans() != null) {
+            for (WeeklyRoadmapResponse.WeeklyPlan weeklyPlan : outline.getWeeklyPlans()) {
+                if (weeklyPlan.getWeeklyKeyword() != null && !weeklyPlan.getWeeklyKeyword().isBlank()) {
+                    keywords.put(weeklyPlan.getWeek(), weeklyPlan.getWeeklyKeyword());
+                }
+            }
+        }
+        return keywords;
+    }
+
+    private ChatCompletionResult complete(String systemPrompt, String prompt) {
+        ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
+                .model(roadmapModel)
+                .messages(promptService.buildMessages(systemPrompt, prompt))
+                .temperature(0.8)
+                .maxTokens(2000)
+                .build();
+        return chatCompletionGateway.createChatCompletion(completionRequest);
+    }
+
+    private String content(ChatCompletionResult result) {
+        return result.getChoices().get(0).getMessage().getContent();
+    }
+
+    private long tokens(ChatCompletionResult result) {
+        Usage usage = result.getUsage();
+        return usage != null ? usage.getTotalTokens() : 0;
+    }
+
+    private Timer timer(String phase) {
+        return Timer.builder("roadmap.generation.segmented")
+                .description("장기 로드맵 분할 생성 단계별 소요 시간")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record Completion(WeeklyRoadmapResponse response, long tokens) {
+    }
+}
@@ -1,45 +1,46 @@
 package com.study.moya.ai_roadmap.service;
 
-import com.study.moya.ai_roadmap.constants.LearningObjective;
+import com.study.moya.ai_roadmap.client.ChatCompletionGateway;
 import com.study.moya.ai_roadmap.domain.*;
 import com.study.moya.ai_roadmap.dto.request.RoadmapRequest;
+import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
 import com.study.moya.ai_roadmap.dto.response.RoadMapSimpleDto;
 import com.study.moya.ai_roadmap.dto.response.RoadMapSummaryDTO;
 import com.study.moya.ai_roadmap.dto.response.RoadMapSummaryProjection;
 import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
 import com.study.moya.ai_roadmap.repository.*;
+import com.study.moya.ai_roadmap.service.RoadmapGenerationCoalescer.GeneratedRoadmap;
+import com.study.moya.ai_roadmap.service.RoadmapResponseRepairer.RepairedRoadmap;
+import com.study.moya.ai_roadmap.util.RoadmapGenerationKey;
 import com.study.moya.ai_roadmap.util.RoadmapResponseParser;
 import com.study.moya.member.domain.Member;
 import com.study.moya.member.repository.MemberRepository;
 import com.study.moya.token.domain.enums.TicketType;
 import com.study.moya.token.dto.ticket.reponse.TicketUsageResponse;
-import com.study.moya.token.dto.usage.AiUsageResponse;
-import com.study.moya.token.dto.usage.UseTokenRequest;
 import com.study.moya.token.service.TokenFacadeService;
 import com.study.moya.token.service.ticket.TicketFacadeService;
 import com.theokanning.openai.Usage;
+import com.study.moya.ai_roadmap.util.WeeklyPlanStreamParser;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatCompletionResult;
-import com.theokanning.openai.service.OpenAiService;
-import java.sql.Types;
-import java.time.LocalDateTime;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
-import org.springframework.jdbc.object.BatchSqlUpdate;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @Service
@@ -49,7 +50,7 @@ public class RoadmapService {
     @Value("${openai.api.models.roadmap_generation.model}")
     private String roadmapModel;
 
-    private final OpenAiService openAiService;
+    private final ChatCompletionGateway chatCompletionGateway;
     private final RoadmapPromptService promptService;
     private final RoadmapResponseParser responseParser;
 
@@ -63,203 +64,361 @@ public class RoadmapService {
     private final EtcRepository etcRepository;
 
     private final TicketFacadeService ticketFacadeService;
+    private final RoadmapStreamWriter roadmapStreamWriter;
+    private final RoadmapBulkWriter roadmapBulkWriter;
+    private final RoadmapQueryService roadmapQueryService;
+    private final RoadmapSnapshotStore snapshotStore;
+    private final RoadmapGenerationCache generationCache;
+    private final RoadmapGenerationCoalescer generationCoalescer;
+    private final RoadmapSegmentedGenerator segmentedGenerator;
+    private final RoadmapResponseRepairer responseRepairer;
+    private final WorksheetService worksheetService;
+    private final MeterRegistry meterRegistry;
 
-    private final JdbcTemplate jdbcTemplate;
-    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
-    private static final Long ROADMAP_SERVICE_ID = 1L;
     // etc 타입 상수 정의
     public static final Long MAIN_CATEGORY = 1L;    // 대분류(etc1)
     public static final Long SUB_CATEGORY = 2L;     // 중분류(etc2)
 
-    @Async("taskExecutor")
+    @Async("roadmapExecutor")
     public CompletableFuture<WeeklyRoadmapResponse> generateWeeklyRoadmapAsync(RoadmapRequest request, Long memberId) {
-        return CompletableFuture.supplyAsync(() -> {
-            log.info("로드맵 생성 시작");
-            Long usageId = null;
+        // @Async 로 이미 roadmapExecutor 스레드에서 실행되므로 공용 ForkJoinPool 로 다시 넘기지 않고 직접 처리
+        log.info("로드맵 생성 시작");
+
+        // 1. 로드맵 티켓 확인 및 사용 (없으면 바로 예외)
+        Long usageId;
+        try {
+            usageId = useRoadmapTicket(memberId);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-            String systemPrompt = promptService.createSystemPrompt(request);
-            log.info("===================시스템 프롬프트=================== \n" + systemPrompt);
+        try {
+            GeneratedRoadmap generated = generateForMember(request, memberId, usageId);
+            completeRoadmapTicket(usageId);
 
-            String prompt = promptService.createPrompt(request);
-            log.info("생성된 Prompt:\n{}", prompt);
+            return CompletableFuture.completedFuture(generated.response());
+        } catch (Exception e) {
+            log.error("OpenAI API 호출 중 예외 발생:", e);
+            // 10. API 호출 실패 시 토큰 환불 처리
+            refundRoadmapTicket(usageId);
 
-            // 1. 로드맵 티켓 확인 및 사용 (없으면 바로 예외) 잠깐 추가
-            try {
-                if (!ticketFacadeService.hasTicket(memberId, TicketType.ROADMAP_TICKET)) {
-                    throw new RuntimeException("로드맵 티켓이 부족합니다");
-                }
+            return CompletableFuture.failedFuture(new RuntimeException("OpenAI API 호출 실패", e));
+        }
+    }
+
+    /**
+     * 캐시 → 진행 중인 동일 생성 → 신규 생성 순으로 로드맵을 확보하고 회원을 구독 처리 (티켓 처리는 호출자 담당)
+     * 캐시 적중도 신규 생성과 같이 티켓 1장을 사용한다. (스트리밍 경로도 동일)
+     */
+    public GeneratedRoadmap generateForMember(RoadmapRequest request, Long memberId, Long usageId) {
+        RoadmapGenerationKey generationKey = RoadmapGenerationKey.from(request);
 
-                TicketUsageResponse ticketResponse = ticketFacadeService.useTicket(memberId, TicketType.ROADMAP_TICKET);
-                usageId = ticketResponse.getId();
-                log.info("로드맵 티켓 사용 완료. 사용 ID: {}", usageId);
+        GeneratedRoadmap generated = generationCache.find(generationKey)
+                .map(roadMapId -> new GeneratedRoadmap(roadMapId, getRoadmapById(roadMapId)))
+                // 같은 요청이 동시에 진행 중이면 그 결과를 공유하고, 구독/티켓 처리는 요청별로 수행
+                .orElseGet(() -> generationCoalescer.execute(generationKey,
+                        () -> generateRoadmap(request, generationKey, usageId)));
 
-            } catch (Exception e) {
-                log.error("티켓 확인/사용 실패: {}", e.getMessage());
-                throw new RuntimeException("티켓이 부족합니다", e);
-            }
+        if (memberId != null) {
+            subscribeToRoadMap(memberId, generated.roadMapId());
+        }
+        return generated;
+    }
 
-            //여기까지=============================================
-
-
-            UseTokenRequest tokenRequest = UseTokenRequest.builder()
-                    .aiServiceId(ROADMAP_SERVICE_ID)
-                    .requestData(prompt)
-                    .build();
-
-//            try {
-//                AiUsageResponse usageResponse = tokenFacadeService.useTokenForAiService(memberId, tokenRequest);
-//                usageId = usageResponse.getId();
-//                log.info("토큰 차감 완료. 사용 ID: {}", usageId);
-//            } catch (Exception e) {
-//                log.error("토큰 차감 실패: {}", e.getMessage());
-//                throw new RuntimeException("토큰 차감 실패", e);
-//            }
-
-            ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
-                    .model(roadmapModel)
-                    .messages(promptService.buildMessages(systemPrompt, prompt))
-                    .temperature(0.8)
-                    .maxTokens(2000)
-                    .build();
-
-            log.info("OpenAI API 요청 준비 완료: {}", completionRequest);
-
-            try {
-                log.info("OpenAI API 호출 시작...");
-                ChatCompletionResult chatCompletion = openAiService.createChatCompletion(completionRequest);
-
-                String apiResponse = chatCompletion.getChoices().get(0).getMessage().getContent();
-                log.info("OpenAI API 응답 수신 완료:\n{}", apiResponse);
-
-                // 6. 토큰 사용량 로깅
-                Usage usage = chatCompletion.getUsage();
-                logTokenUsage(usage);
-
-                // 7. 실제 사용량 기록 (선택 사항)
-                if (usage != null && usageId != null) {
-                    try {
-                        tokenFacadeService.updateActualTokenUsage(usageId, usage.getTotalTokens());
-                    } catch (Exception e) {
-                        log.error("실제 사용량 업데이트 실패: {}", e.getMessage());
-                        // 실제 사용량 업데이트 실패는 로드맵 생성 자체에 영향을 주지 않음
-                    }
-                }
+    /**
+     * OpenAI 호출 후 로드맵 저장 (구독은 호출자가 처리)
+     */
+    private GeneratedRoadmap generateRoadmap(RoadmapRequest request, RoadmapGenerationKey generationKey, Long usageId) {
+        String systemPrompt = promptService.createSystemPrompt(request);
+        log.info("===================시스템 프롬프트=================== \n" + systemPrompt);
+
+        // 장기 로드맵은 개요 + 주차 구간 병렬 생성, 그 외는 한 번에 생성
+        GeneratedCurriculum generated;
+        try {
+            generated = segmentedGenerator.supports(request)
+                    ? segmentedGenerator.generate(request, systemPrompt)
+                    : generateInOneCall(request, systemPrompt);
+        } catch (RoadmapGenerationException e) {
+            // 실패해도 이미 호출한 분량은 실제 사용량으로 남긴다
+            recordActualTokens(usageId, e.getSpentTokens());
+            throw e;
+        }
+        WeeklyRoadmapResponse response = generated.response();
 
-                // 응답 파싱
-                WeeklyRoadmapResponse response = responseParser.parseResponse(apiResponse);
+        // 7. 실제 사용량 기록 (선택 사항, 보완/분할 호출 포함)
+        recordActualTokens(usageId, generated.tokens());
 
-                Category category = null;
-                if (request.getMainCategory() != null && !request.getMainCategory().trim().isEmpty()) {
-                    // 카테고리가 있는 경우만 찾기
-                    category = categoryRepository.findByName(request.getMainCategory())
-                            .orElseThrow(() -> new IllegalArgumentException("카테고리를 찾을 수 없습니다: " + request.getMainCategory()));
-                }
+        // 파싱된 응답을 엔티티로 저장
+        Long roadMapId = saveCurriculum(Integer.parseInt(request.getCurrentLevel()) + 1, request.getSubCategory(),
+                request.getDuration(), request.getLearningObjective(), response,
+                findCategory(request), null, request.getEtc1(), request.getEtc2());
+        generationCache.put(generationKey, roadMapId);
+        worksheetService.prefetchFirstDays(roadMapId, worksheetRequest(request));
 
-                // 파싱된 응답을 엔티티로 저장
-                saveCurriculum(Integer.parseInt(request.getCurrentLevel()) + 1, request.getSubCategory(),
-                        request.getDuration(), request.getLearningObjective(), response,
-                        category, memberId, request.getEtc1(), request.getEtc2());
+        return new GeneratedRoadmap(roadMapId, response);
+    }
 
-                //잠깐 추가!
-                try {
-                    ticketFacadeService.markTicketUsageAsCompleted(usageId);
-                    log.info("티켓 사용 완료 처리: {}", usageId);
-                } catch (Exception e) {
-                    log.error("티켓 사용 완료 처리 실패: {}", e.getMessage());
-                    // 상태 업데이트 실패는 로드맵 생성 자체에 영향을 주지 않음
+    /**
+     * 전체 주차를 한 번의 호출로 생성 (잘린 응답은 빠진 주차만 보완)
+     */
+    private GeneratedCurriculum generateInOneCall(RoadmapRequest request, String systemPrompt) {
+        String prompt = promptService.createPrompt(request);
+        log.info("생성된 Prompt:\n{}", prompt);
+
+        ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
+                .model(roadmapModel)
+                .messages(promptService.buildMessages(systemPrompt, prompt))
+                .temperature(0.8)
+                .maxTokens(2000)
+                .build();
+
+        log.info("OpenAI API 요청 준비 완료: {}", completionRequest);
+
+        log.info("OpenAI API 호출 시작...");
+        ChatCompletionResult chatCompletion = chatCompletionGateway.createChatCompletion(completionRequest);
+
+        String apiResponse = chatCompletion.getChoices().get(0).getMessage().getContent();
+        log.info("OpenAI API 응답 수신 완료:\n{}", apiResponse);
+
+        // 6. 토큰 사용량 로깅
+        Usage usage = chatCompletion.getUsage();
+        logTokenUsage(usage);
+
+        // 응답 파싱 (잘린 응답은 완성된 주차를 살리고 빠진 주차만 다시 생성)
+        RepairedRoadmap repaired = responseRepairer.repair(request, systemPrompt,
+                responseParser.decode(apiResponse, request.getDuration() != null ? request.getDuration() : 0));
+
+        long tokens = (usage != null ? usage.getTotalTokens() : 0) + repaired.extraTokens();
+        return new GeneratedCurriculum(repaired.response(), tokens);
+    }
+
+    /**
+     * 스트리밍 로드맵 생성: 주차가 완성될 때마다 저장 후 SSE로 전송
+     * 응답이 잘렸거나 평가가 빠졌으면 이미 보낸 주차는 유지하고 빠진 부분만 보완해 이어서 저장/전송한다.
+     */
+    @Async("roadmapExecutor")
+    public void streamWeeklyRoadmap(RoadmapRequest request, Long memberId, SseEmitter emitter) {
+        log.info("로드맵 스트리밍 생성 시작");
+        long startedAt = System.nanoTime();
+
+        Long usageId;
+        try {
+            usageId = useRoadmapTicket(memberId);
+        } catch (RuntimeException e) {
+            sendEvent(emitter, "error", e.getMessage());
+            emitter.complete();
+            return;
+        }
+
+        Optional<Long> cachedRoadMapId = generationCache.find(RoadmapGenerationKey.from(request));
+        if (cachedRoadMapId.isPresent()) {
+            streamCachedRoadmap(cachedRoadMapId.get(), memberId, usageId, emitter);
+            return;
+        }
+
+        String systemPrompt = promptService.createSystemPrompt(request);
+        ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
+                .model(roadmapModel)
+                .messages(promptService.buildMessages(systemPrompt, promptService.createPrompt(request)))
+                .temperature(0.8)
+                .maxTokens(2000)
+                .stream(true)
+                .build();
+
+        WeeklyPlanStreamParser streamParser = responseParser.newStreamParser();
+        AtomicBoolean firstWeekSent = new AtomicBoolean(false);
+        Set<Integer> streamedWeeks = new HashSet<>();
+        Long roadMapId = null;
+
+        try {
+            roadMapId = roadmapStreamWriter.createRoadMap(Integer.parseInt(request.getCurrentLevel()) + 1,
+                    request.getSubCategory(), request.getDuration(), request.getLearningObjective(),
+                    findCategory(request), request.getEtc1(), request.getEtc2());
+            Long savedRoadMapId = roadMapId;
+
+            chatCompletionGateway.streamChatCompletion(completionRequest)
+                    .blockingForEach(chunk -> {
+                        for (WeeklyRoadmapResponse.WeeklyPlan weeklyPlan : streamParser.feed(extractDelta(chunk))) {
+                            roadmapStreamWriter.appendWeek(savedRoadMapId, weeklyPlan);
+                            streamedWeeks.add(weeklyPlan.getWeek());
+                            if (firstWeekSent.compareAndSet(false, true)) {
+                                long elapsed = System.nanoTime() - startedAt;
+                                firstWeekTimer().record(elapsed, TimeUnit.NANOSECONDS);
+                                log.info("첫 주차 전송까지 {}ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+                            }
+                            sendEvent(emitter, "week", weeklyPlan);
+                        }
+                    });
+
+            // 잘린 응답도 이미 저장/전송한 주차는 살리고, 빠진 주차와 평가만 다시 요청해 이어서 저장/전송
+            RepairedRoadmap repaired = responseRepairer.repair(request, systemPrompt,
+                    responseParser.decode(streamParser.getContent(), request.getDuration() != null ? request.getDuration() : 0));
+            WeeklyRoadmapResponse response = repaired.response();
+            for (WeeklyRoadmapResponse.WeeklyPlan weeklyPlan : response.getWeeklyPlans()) {
+                if (!streamedWeeks.contains(weeklyPlan.getWeek())) {
+                    roadmapStreamWriter.appendWeek(roadMapId, weeklyPlan);
+                    sendEvent(emitter, "week", weeklyPlan);
                 }
-                //잠깐 추가!
+            }
+            roadmapStreamWriter.complete(roadMapId, response);
+            generationCache.put(RoadmapGenerationKey.from(request), roadMapId);
+            worksheetService.prefetchFirstDays(roadMapId, worksheetRequest(request));
 
-                // 9. AI 사용 내역 완료 처리
+            if (memberId != null) {
+                subscribeToRoadMap(memberId, roadMapId);
+            }
+            completeRoadmapTicket(usageId);
+
+            Timer.builder("roadmap.generation.stream.total")
+                    .description("스트리밍 로드맵 생성 전체 소요 시간")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+            sendEvent(emitter, "complete", Map.of(
+                    "roadmapId", roadMapId,
+                    // 보완으로 채운 응답은 팁이 비어 있을 수 있음
+                    "overallTips", Objects.requireNonNullElse(response.getOverallTips(), List.of()),
+                    "curriculumEvaluation", response.getCurriculumEvaluation()));
+            emitter.complete();
+            log.info("로드맵 스트리밍 생성 완료. ID: {}", roadMapId);
+        } catch (Exception e) {
+            log.error("로드맵 스트리밍 생성 중 예외 발생:", e);
+            if (roadMapId != null) {
                 try {
-                    tokenFacadeService.markAiUsageAsCompleted(usageId);
-                    log.info("AI 사용 내역 완료 처리: {}", usageId);
-                } catch (Exception e) {
-                    log.error("AI 사용 내역 완료 처리 실패: {}", e.getMessage());
-                    // 상태 업데이트 실패는 로드맵 생성 자체에 영향을 주지 않음
+                    roadmapStreamWriter.discard(roadMapId);
+                } catch (Exception ex) {
+                    log.error("부분 저장된 로드맵 삭제 실패: {}", ex.getMessage());
                 }
+            }
+            refundRoadmapTicket(usageId);
+            sendEvent(emitter, "error", "로드맵 생성 실패");
+            emitter.complete();
+        }
+    }
 
+    /**
+     * 같은 요청으로 이미 생성된 로드맵이 있으면 OpenAI 호출 없이 구독만 처리 (티켓은 비동기/작업 경로와 같이 차감)
+     */
+    private void streamCachedRoadmap(Long roadMapId, Long memberId, Long usageId, SseEmitter emitter) {
+        try {
+            if (memberId != null) {
+                subscribeToRoadMap(memberId, roadMapId);
+            }
+            WeeklyRoadmapResponse response = getRoadmapById(roadMapId);
+            completeRoadmapTicket(usageId);
+            response.getWeeklyPlans().forEach(weeklyPlan -> sendEvent(emitter, "week", weeklyPlan));
+            sendEvent(emitter, "complete", Map.of(
+                    "roadmapId", roadMapId,
+                    "overallTips", response.getOverallTips(),
+                    "curriculumEvaluation", response.getCurriculumEvaluation()));
+        } catch (RuntimeException e) {
+            log.error("캐시된 로드맵 구독 중 예외 발생:", e);
+            refundRoadmapTicket(usageId);
+            sendEvent(emitter, "error", "캐시된 로드맵 구독 실패");
+        }
+        emitter.complete();
+    }
 
-                return response;
-            } catch (Exception e) {
-                log.error("OpenAI API 호출 중 예외 발생:", e);
-                // 10. API 호출 실패 시 토큰 환불 처리
-                if (usageId != null) {
-                    try {
-                        tokenFacadeService.markAiUsageAsFailed(usageId);
-                        log.info("토큰 환불 처리 완료: {}", usageId);
-                        //잠깐 추가
-                        ticketFacadeService.markTicketUsageAsFailed(usageId);
-                        log.info("티켓 환불 처리 완료: {}", usageId);
-                        //잠깐 추가
-                    } catch (Exception ex) {
-                        log.error("토큰 환불 처리 실패: {}", ex.getMessage());
-                        //잠깐 추가2
-                        log.error("티켓 환불 처리 실패: {}", ex.getMessage());
-                        //잠깐 추가2
-                    }
-                }
+    private Timer firstWeekTimer() {
+        return Timer.builder("roadmap.generation.stream.first_week")
+                .description("스트리밍 로드맵 생성 요청부터 첫 주차 전송까지의 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
-                throw new RuntimeException("OpenAI API 호출 실패", e);
+    private String extractDelta(ChatCompletionChunk chunk) {
+        if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) {
+            return "";
+        }
+        ChatMessage delta = chunk.getChoices().get(0).getMessage();
+        return delta != null && delta.getContent() != null ? delta.getContent() : "";
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (Exception e) {
+            // 클라이언트가 연결을 끊어도 생성/저장은 계속 진행
+            log.warn("SSE 이벤트 전송 실패 ({}): {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * 학습지 미리 생성용 요청 (사용자가 나중에 보낼 분류와 같도록 로드맵 요청의 분류를 그대로 사용)
+     */
+    private WorkSheetRequest worksheetRequest(RoadmapRequest request) {
+        return new WorkSheetRequest(request.getEffectiveMainCategory(), request.getEffectiveSubCategory());
+    }
+
+    private Category findCategory(RoadmapRequest request) {
+        if (request.getMainCategory() == null || request.getMainCategory().trim().isEmpty()) {
+            return null;
+        }
+        // 카테고리가 있는 경우만 찾기
+        return categoryRepository.findByName(request.getMainCategory())
+                .orElseThrow(() -> new IllegalArgumentException("카테고리를 찾을 수 없습니다: " + request.getMainCategory()));
+    }
+
+    public Long useRoadmapTicket(Long memberId) {
+        try {
+            if (!ticketFacadeService.hasTicket(memberId, TicketType.ROADMAP_TICKET)) {
+                throw new RuntimeException("로드맵 티켓이 부족합니다");
             }
-        });
+
+            TicketUsageResponse ticketResponse = ticketFacadeService.useTicket(memberId, TicketType.ROADMAP_TICKET);
+            log.info("로드맵 티켓 사용 완료. 사용 ID: {}", ticketResponse.getId());
+            return ticketResponse.getId();
+        } catch (Exception e) {
+            log.error("티켓 확인/사용 실패: {}", e.getMessage());
+            throw new RuntimeException("티켓이 부족합니다", e);
+        }
+    }
+
+    public void completeRoadmapTicket(Long usageId) {
+        try {
+            ticketFacadeService.markTicketUsageAsCompleted(usageId);
+            log.info("티켓 사용 완료 처리: {}", usageId);
+        } catch (Exception e) {
+            log.error("티켓 사용 완료 처리 실패: {}", e.getMessage());
+            // 상태 업데이트 실패는 로드맵 생성 자체에 영향을 주지 않음
+        }
+
+        // AI 사용 내역 완료 처리
+        try {
+            tokenFacadeService.markAiUsageAsCompleted(usageId);
+            log.info("AI 사용 내역 완료 처리: {}", usageId);
+        } catch (Exception e) {
+            log.error("AI 사용 내역 완료 처리 실패: {}", e.getMessage());
+            // 상태 업데이트 실패는 로드맵 생성 자체에 영향을 주지 않음
+        }
+    }
+
+    public void refundRoadmapTicket(Long usageId) {
+        if (usageId == null) {
+            return;
+        }
+        try {
+            tokenFacadeService.markAiUsageAsFailed(usageId);
+            log.info("토큰 환불 처리 완료: {}", usageId);
+            ticketFacadeService.markTicketUsageAsFailed(usageId);
+            log.info("티켓 환불 처리 완료: {}", usageId);
+        } catch (Exception ex) {
+            log.error("토큰 환불 처리 실패: {}", ex.getMessage());
+            log.error("티켓 환불 처리 실패: {}", ex.getMessage());
+        }
     }
 
     public Long saveCurriculum(int goalLevel, String topic, int duration, String learningObjective,
                                WeeklyRoadmapResponse response, Category category,
                                Long memberId, String etc1Name, String etc2Name) {
-        log.info("커리큘럼 저장 시작");
-
-        Etc etc1 = createEtc(etc1Name, MAIN_CATEGORY);
-        Etc etc2 = createEtc(etc2Name, SUB_CATEGORY);
-
-
-        // RoadMap 생성
-        RoadMap roadMap = RoadMap.builder()
-                .duration(duration)
-                .goalLevel(goalLevel)
-                .topic(topic)
-                .evaluation(response.getCurriculumEvaluation())
-                .overallTips(response.getOverallTips())
-                .learningObjective(learningObjective)
-                .category(category)
-                .etc1(etc1)
-                .etc2(etc2)
-                .build();
-
-        // 먼저 RoadMap을 저장하여 ID를 확보
-        RoadMap savedRoadMap = roadMapRepository.save(roadMap);
-
-        // WeeklyPlan 생성 및 저장
-        for (WeeklyRoadmapResponse.WeeklyPlan weeklyPlanDto : response.getWeeklyPlans()) {
-            WeeklyPlan weeklyPlan = WeeklyPlan.builder()
-                    .weekNumber(weeklyPlanDto.getWeek())
-                    .keyword(weeklyPlanDto.getWeeklyKeyword())
-                    .roadMap(savedRoadMap)  // 저장된 RoadMap 참조
-                    .build();
-
-            // WeeklyPlan 저장
-            WeeklyPlan savedWeeklyPlan = weeklyPlanRepository.save(weeklyPlan);
-
-            // DailyPlan 생성 및 저장
-            for (WeeklyRoadmapResponse.DailyPlan dailyPlanDto : weeklyPlanDto.getDailyPlans()) {
-                DailyPlan dailyPlan = DailyPlan.builder()
-                        .dayNumber(dailyPlanDto.getDay())
-                        .keyword(dailyPlanDto.getDailyKeyword())
-                        .weeklyPlan(savedWeeklyPlan)  // 저장된 WeeklyPlan 참조
-                        .build();
-
-                dailyPlanRepository.save(dailyPlan);
-            }
-        }
+        Long roadMapId = roadmapBulkWriter.saveCurriculum(goalLevel, topic, duration, learningObjective,
+                response, category, etc1Name, etc2Name);
 
         if (memberId != null){
-            subscribeToRoadMap(memberId, savedRoadMap.getId());
+            subscribeToRoadMap(memberId, roadMapId);
         }
 
-        log.info("커리큘럼 저장 완료. ID: {}", savedRoadMap.getId());
-
-        return savedRoadMap.getId();
+        return roadMapId;
     }
 
     /**
@@ -331,166 +490,29 @@ public class RoadmapService {
         return roadMapSummaries;
     }
 
-    @Transactional(readOnly = true)
     public WeeklyRoadmapResponse getRoadmapById(Long roadmapId) {
-        // 1. 로드맵 정보 조회
-        RoadMap roadMap = roadMapRepository.findById(roadmapId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 로드맵을 찾을 수 없습니다: " + roadmapId));
-
-        // 2. 로드맵에 속한 모든 일별 계획 조회 (주차, 일자 순으로 정렬됨)
-        List<DailyPlan> allDailyPlans = dailyPlanRepository.findAllByWeeklyPlan_RoadMap_IdOrderByDayNumber(roadmapId);
-        log.info("========================데일리 플랜 내용: {}", allDailyPlans.get(1).toString());
-
-        // 3. 주차별로 일별 계획을 그룹화
-        Map<Integer, List<DailyPlan>> weeklyGroupedPlans = new HashMap<>();
-        for (DailyPlan dailyPlan : allDailyPlans) {
-            Integer weekNumber = dailyPlan.getWeeklyPlan().getWeekNumber();
-            weeklyGroupedPlans.computeIfAbsent(weekNumber, k -> new ArrayList<>())
-                    .add(dailyPlan);
-        }
-
-        // 4. 응답 DTO 구성
-        List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlansDto = new ArrayList<>();
-
-        // 주차 번호 오름차순으로 정렬
-        List<Integer> sortedWeekNumbers = weeklyGroupedPlans.keySet().stream()
-                .sorted()
-                .collect(Collectors.toList());
-
-        for (Integer weekNumber : sortedWeekNumbers) {
-            List<DailyPlan> weekDailyPlans = weeklyGroupedPlans.get(weekNumber);
-
-            // 각 주차의 첫 번째 DailyPlan에서 WeeklyPlan 정보 가져오기
-            WeeklyPlan weeklyPlan = weekDailyPlans.get(0).getWeeklyPlan();
-
-            // 일별 계획 DTO 변환
-            List<WeeklyRoadmapResponse.DailyPlan> dailyPlansDto = weekDailyPlans.stream()
-                    .map(plan -> new WeeklyRoadmapResponse.DailyPlan(
-                            plan.getDayNumber(),
-                            plan.getKeyword(),
-                            getWorksheet(plan)
-                    ))
-                    .collect(Collectors.toList());
-
-            // 주차 계획 DTO 생성
-            WeeklyRoadmapResponse.WeeklyPlan weeklyPlanDto = new WeeklyRoadmapResponse.WeeklyPlan(
-                    weekNumber,
-                    weeklyPlan.getKeyword(),
-                    dailyPlansDto
-            );
-
-            weeklyPlansDto.add(weeklyPlanDto);
-        }
-
-        // 5. 최종 응답 생성
-        return new WeeklyRoadmapResponse(
-                weeklyPlansDto,
-                roadMap.getOverallTips(),
-                roadMap.getEvaluation(),
-                "없음" // 금지된 주제 여부는 별도 필드가 없어 기본값으로 설정
-        );
+        return snapshotStore.getResponse(roadmapId, () -> roadmapQueryService.getRoadmapById(roadmapId));
     }
 
-    private String getWorksheet(DailyPlan plan) {
-        if (plan.getWorkSheet() == null) {
-            return "";
-        }
-        return plan.getWorkSheet();
+    /**
+     * 상세 조회 응답을 직렬화된 JSON 그대로 반환 (스냅샷이 있으면 DB 조회와 직렬화 생략)
+     */
+    public String getRoadmapJson(Long roadmapId) {
+        return snapshotStore.getJson(roadmapId, () -> roadmapQueryService.getRoadmapById(roadmapId));
     }
 
-    private Etc createEtc(String name, Long etcType){
-        if (name == null || name.trim().isEmpty()) {
-            return null;
+    private void recordActualTokens(Long usageId, long tokens) {
+        if (tokens <= 0 || usageId == null) {
+            return;
+        }
+        try {
+            tokenFacadeService.updateActualTokenUsage(usageId, tokens);
+        } catch (Exception e) {
+            log.error("실제 사용량 업데이트 실패: {}", e.getMessage());
+            // 실제 사용량 업데이트 실패는 로드맵 생성 자체에 영향을 주지 않음
         }
-
-        Etc etc = Etc.builder()
-                .name(name)
-                .etcType(etcType)
-                .build();
-
-        return etcRepository.save(etc);
     }
 
-    //    @Transactional
-//    public Long saveCurriculum(int goalLevel, String topic, int duration, WeeklyRoadmapResponse response) {
-//        log.info("커리큘럼 벌크 저장 시작");
-//
-//        // 1. Roadmap 벌크 INSERT
-//        String roadmapBulkInsert = """
-//            INSERT INTO roadmaps (duration, goal_level, topic, evaluation, created_at, modified_at)
-//            VALUES (:duration, :goalLevel, :topic, :evaluation, :now, :now)
-//            """;
-//
-//        MapSqlParameterSource roadmapParams = new MapSqlParameterSource()
-//                .addValue("duration", duration)
-//                .addValue("goalLevel", goalLevel)
-//                .addValue("topic", topic)
-//                .addValue("evaluation", response.getCurriculumEvaluation())
-//                .addValue("now", LocalDateTime.now());
-//
-//        KeyHolder keyHolder = new GeneratedKeyHolder();
-//        namedParameterJdbcTemplate.update(roadmapBulkInsert, roadmapParams, keyHolder);
-//        Long roadmapId = keyHolder.getKey().longValue();
-//
-//        // 2. Tips 벌크 INSERT - 위치 기반 파라미터 사용
-//        String tipsBulkInsert = """
-//            INSERT INTO roadmap_tips (roadmap_id, tip)
-//            VALUES (?, ?)
-//            """;
-//
-//        jdbcTemplate.batchUpdate(tipsBulkInsert,
-//                response.getOverallTips().stream()
-//                        .map(tip -> new Object[]{roadmapId, tip})
-//                        .collect(Collectors.toList()));
-//
-//        // 3. WeeklyPlans 벌크 INSERT
-//        String weeklyPlansBulkInsert = """
-//            INSERT INTO weekly_plans (roadmap_id, week_number, keyword, created_at, modified_at)
-//            VALUES (:roadmapId, :weekNumber, :keyword, :now, :now)
-//            """;
-//
-//        List<Map<String, Object>> weeklyBatchParams = response.getWeeklyPlans().stream()
-//                .map(wp -> {
-//                    Map<String, Object> params = new HashMap<>();
-//                    params.put("roadmapId", roadmapId);
-//                    params.put("weekNumber", wp.getWeek());
-//                    params.put("keyword", wp.getWeeklyKeyword());
-//                    params.put("now", LocalDateTime.now());
-//                    return params;
-//                })
-//                .collect(Collectors.toList());
-//
-//        namedParameterJdbcTemplate.batchUpdate(weeklyPlansBulkInsert,
-//                weeklyBatchParams.toArray(new Map[0]));
-//
-//        // 4. DailyPlans 벌크 INSERT
-//        String dailyPlansBulkInsert = """
-//            INSERT INTO daily_plans (weekly_plan_id, day_number, keyword, created_at, modified_at)
-//            SELECT wp.id, :dayNumber, :keyword, :now, :now
-//            FROM weekly_plans wp
-//            WHERE wp.roadmap_id = :roadmapId AND wp.week_number = :weekNumber
-//            """;
-//
-//        List<Map<String, Object>> dailyBatchParams = response.getWeeklyPlans().stream()
-//                .flatMap(wp -> wp.getDailyPlans().stream()
-//                        .map(dp -> {
-//                            Map<String, Object> params = new HashMap<>();
-//                            params.put("roadmapId", roadmapId);
-//                            params.put("weekNumber", wp.getWeek());
-//                            params.put("dayNumber", dp.getDay());
-//                            params.put("keyword", dp.getDailyKeyword());
-//                            params.put("now", LocalDateTime.now());
-//                            return params;
-//                        }))
-//                .collect(Collectors.toList());
-//
-//        namedParameterJdbcTemplate.batchUpdate(dailyPlansBulkInsert,
-//                dailyBatchParams.toArray(new Map[0]));
-//
-//        log.info("커리큘럼 벌크 저장 완료. ID: {}", roadmapId);
-//        return roadmapId;
-//    }
-//
     private void logTokenUsage(Usage usage) {
         if (usage != null) {
             log.info("OpenAI 토큰 사용량 - Prompt Tokens: {}, Completion Tokens: {}, Total Tokens: {}",
@@ -0,0 +1,132 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 로드맵 상세 응답(JSON 직렬화 결과)을 Redis 에 보관하는 조회 전용 스냅샷.
+ * 로드맵/주차/일차/학습지가 바뀌면 evict 로 지우고 다음 조회 때 다시 만든다.
+ * Redis 장애 시에는 스냅샷 없이 DB 에서 조회하도록 예외를 삼킨다.
+ */
+@Slf4j
+@Component
+public class RoadmapSnapshotStore {
+
+    private static final String KEY_PREFIX = "roadmap:snapshot:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public RoadmapSnapshotStore(StringRedisTemplate redisTemplate,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${roadmap.snapshot.enabled:true}") boolean enabled,
+                                @Value("${roadmap.snapshot.ttl:PT24H}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.hitCounter = Counter.builder("roadmap.snapshot.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("roadmap.snapshot.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * 직렬화된 응답을 그대로 반환 (없으면 loader 로 만들고 저장)
+     */
+    public String getJson(Long roadmapId, Supplier<WeeklyRoadmapResponse> loader) {
+        return find(roadmapId).orElseGet(() -> load(roadmapId, loader).json());
+    }
+
+    public WeeklyRoadmapResponse getResponse(Long roadmapId, Supplier<WeeklyRoadmapResponse> loader) {
+        Optional<String> json = find(roadmapId);
+        if (json.isPresent()) {
+            try {
+                return objectMapper.readValue(json.get(), WeeklyRoadmapResponse.class);
+            } catch (JsonProcessingException e) {
+                log.warn("로드맵 스냅샷을 읽을 수 없어 다시 만듭니다. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+            }
+        }
+        return load(roadmapId, loader).response();
+    }
+
+    private Snapshot load(Long roadmapId, Supplier<WeeklyRoadmapResponse> loader) {
+        WeeklyRoadmapResponse response = loader.get();
+        try {
+            String json = objectMapper.writeValueAsString(response);
+            save(roadmapId, json);
+            return new Snapshot(response, json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("로드맵 응답 직렬화 실패. 로드맵 ID: " + roadmapId, e);
+        }
+    }
+
+    private Optional<String> find(Long roadmapId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + roadmapId);
+            (json != null ? hitCounter : missCounter).increment();
+            return Optional.ofNullable(json);
+        } catch (Exception e) {
+            log.warn("로드맵 스냅샷 조회 실패, DB 에서 조회합니다. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void save(Long roadmapId, String json) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + roadmapId, json, ttl);
+        } catch (Exception e) {
+            log.warn("로드맵 스냅샷 저장 실패. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+        }
+    }
+
+    /**
+     * 스냅샷 삭제. 트랜잭션 안이면 커밋 직후에 한 번 더 지워, 커밋 전에 옛 데이터로 다시 만들어진 스냅샷도 제거한다.
+     */
+    public void evict(Long roadmapId) {
+        if (!enabled || roadmapId == null) {
+            return;
+        }
+        delete(roadmapId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete(roadmapId);
+                }
+            });
+        }
+    }
+
+    private void delete(Long roadmapId) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + roadmapId);
+        } catch (Exception e) {
+            log.warn("로드맵 스냅샷 삭제 실패. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+        }
+    }
+
+    private record Snapshot(WeeklyRoadmapResponse response, String json) {
+    }
+}
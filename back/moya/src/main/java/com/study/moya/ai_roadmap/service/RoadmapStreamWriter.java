@@ -0,0 +1,116 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.domain.Category;
+import com.study.moya.ai_roadmap.domain.DailyPlan;
+import com.study.moya.ai_roadmap.domain.Etc;
+import com.study.moya.ai_roadmap.domain.RoadMap;
+import com.study.moya.ai_roadmap.domain.WeeklyPlan;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import com.study.moya.ai_roadmap.repository.DailyPlanRepository;
+import com.study.moya.ai_roadmap.repository.EtcRepository;
+import com.study.moya.ai_roadmap.repository.RoadMapRepository;
+import com.study.moya.ai_roadmap.repository.WeeklyPlanRepository;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 스트리밍 로드맵 생성 시 주차가 도착할 때마다 바로 저장하기 위한 단계별 저장 로직
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoadmapStreamWriter {
+
+    private final RoadMapRepository roadMapRepository;
+    private final WeeklyPlanRepository weeklyPlanRepository;
+    private final DailyPlanRepository dailyPlanRepository;
+    private final EtcRepository etcRepository;
+    private final RoadmapSnapshotStore snapshotStore;
+
+    /**
+     * 주차 없이 로드맵 본체만 먼저 저장 (평가/팁은 스트림 종료 후 채움)
+     */
+    @Transactional
+    public Long createRoadMap(int goalLevel, String topic, int duration, String learningObjective,
+                              Category category, String etc1Name, String etc2Name) {
+        RoadMap roadMap = RoadMap.builder()
+                .duration(duration)
+                .goalLevel(goalLevel)
+                .topic(topic)
+                .learningObjective(learningObjective)
+                .category(category)
+                .etc1(createEtc(etc1Name, RoadmapService.MAIN_CATEGORY))
+                .etc2(createEtc(etc2Name, RoadmapService.SUB_CATEGORY))
+                .build();
+
+        Long roadMapId = roadMapRepository.save(roadMap).getId();
+        log.info("스트리밍 로드맵 본체 저장 완료. ID: {}", roadMapId);
+        return roadMapId;
+    }
+
+    /**
+     * 완성된 주차 하나와 그 일별 계획 저장
+     */
+    @Transactional
+    public void appendWeek(Long roadMapId, WeeklyRoadmapResponse.WeeklyPlan weeklyPlanDto) {
+        WeeklyPlan savedWeeklyPlan = weeklyPlanRepository.save(WeeklyPlan.builder()
+                .weekNumber(weeklyPlanDto.getWeek())
+                .keyword(weeklyPlanDto.getWeeklyKeyword())
+                .roadMap(roadMapRepository.getReferenceById(roadMapId))
+                .build());
+
+        for (WeeklyRoadmapResponse.DailyPlan dailyPlanDto : weeklyPlanDto.getDailyPlans()) {
+            dailyPlanRepository.save(DailyPlan.builder()
+                    .dayNumber(dailyPlanDto.getDay())
+                    .keyword(dailyPlanDto.getDailyKeyword())
+                    .weeklyPlan(savedWeeklyPlan)
+                    .build());
+        }
+        log.info("스트리밍 로드맵 {}주차 저장 완료. 로드맵 ID: {}", weeklyPlanDto.getWeek(), roadMapId);
+    }
+
+    /**
+     * 스트림 종료 후 평가와 팁 반영
+     */
+    @Transactional
+    public void complete(Long roadMapId, WeeklyRoadmapResponse response) {
+        RoadMap roadMap = roadMapRepository.findById(roadMapId)
+                .orElseThrow(() -> new EntityNotFoundException("로드맵을 찾을 수 없습니다. ID: " + roadMapId));
+        roadMap.completeGeneration(response.getCurriculumEvaluation(), response.getOverallTips());
+        // 생성 도중 조회로 만들어진 부분 스냅샷 제거
+        snapshotStore.evict(roadMapId);
+    }
+
+    /**
+     * 생성 도중 실패한 경우 부분 저장된 로드맵 제거 (본체와 함께 만든 분류(Etc)도 삭제)
+     */
+    @Transactional
+    public void discard(Long roadMapId) {
+        log.warn("스트리밍 생성 실패로 부분 저장된 로드맵 삭제. ID: {}", roadMapId);
+        dailyPlanRepository.deleteByWeeklyPlanRoadMapId(roadMapId);
+        weeklyPlanRepository.deleteByRoadMapId(roadMapId);
+        roadMapRepository.findById(roadMapId).ifPresent(roadMap -> {
+            List<Etc> etcs = Stream.of(roadMap.getEtc1(), roadMap.getEtc2()).filter(Objects::nonNull).toList();
+            roadMapRepository.delete(roadMap);
+            etcRepository.deleteAll(etcs);
+        });
+        snapshotStore.evict(roadMapId);
+    }
+
+    private Etc createEtc(String name, Long etcType) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+
+        return etcRepository.save(Etc.builder()
+                .name(name)
+                .etcType(etcType)
+                .build());
+    }
+}
@@ -0,0 +1,69 @@
+package com.study.moya.ai_roadmap.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 학습지 생성 작업 하나의 배치 계획
+ *
+ * @param groupSize        한 번의 호출로 생성할 일차 수
+ * @param maxTokens        호출당 완료 토큰 상한
+ * @param inFlight         작업 하나가 동시에 진행할 그룹 수
+ * @param groups           전체 그룹(호출) 수
+ * @param estimatedSeconds 예상 소요 시간
+ */
+public record WorksheetBatchPlan(int groupSize, int maxTokens, int inFlight, int groups, double estimatedSeconds) {
+
+    /**
+     * 주차별 일차 목록을 그룹 크기로 나눈다 (한 그룹 안에서 일차 번호가 겹치면 응답 파싱이 섞이므로 주차를 넘지 않는다)
+     */
+    public <T> List<List<T>> split(Collection<List<T>> weeks) {
+        List<List<T>> result = new ArrayList<>();
+        for (List<T> week : weeks) {
+            for (int i = 0; i < week.size(); i += groupSize) {
+                result.add(week.subList(i, Math.min(i + groupSize, week.size())));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 그룹을 한꺼번에 띄우지 않고 inFlight 개의 작업자가 대기열에서 하나씩 꺼내 처리한다.
+     * 실패한 그룹이 있어도 나머지는 끝까지 처리하고, 마지막에 실패 그룹 수와 첫 원인을 담아 예외로 완료한다.
+     */
+    public <T> CompletableFuture<Void> run(List<List<T>> groupsToRun, Consumer<List<T>> task, Executor executor) {
+        Queue<List<T>> pending = new ConcurrentLinkedQueue<>(groupsToRun);
+        AtomicInteger failed = new AtomicInteger();
+        AtomicReference<RuntimeException> firstFailure = new AtomicReference<>();
+
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(inFlight, groupsToRun.size())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = CompletableFuture.runAsync(() -> {
+                List<T> group;
+                while ((group = pending.poll()) != null) {
+                    try {
+                        task.accept(group);
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        firstFailure.compareAndSet(null, e);
+                    }
+                }
+            }, executor);
+        }
+
+        return CompletableFuture.allOf(workers).thenRun(() -> {
+            if (failed.get() > 0) {
+                throw new IllegalStateException(
+                        String.format("학습지 생성 실패 그룹 %d/%d", failed.get(), groupsToRun.size()), firstFailure.get());
+            }
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.client.OpenAiRateLimiter;
+import java.time.Duration;
+import java.util.Collection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 학습지 생성 그룹 크기와 작업별 동시 호출 수를 정한다.
+ * 응답 시간은 생성 토큰 수에 비례하므로 그룹이 작을수록 병렬로 빨리 끝나지만, 호출마다 프롬프트 고정 비용이 붙어
+ * 토큰 예산(TPM)이 빠듯하면 큰 그룹이 유리하다. 후보 그룹 크기마다 두 제약 중 느린 쪽으로 소요 시간을 추정해 가장 빠른 계획을 고른다.
+ * 동시 호출 수는 현재 제한기에 남은 토큰으로 한 번에 예약할 수 있는 호출 수를 넘지 않게 해 429 없이 대기열에서 기다리게 한다.
+ * 후보 그룹 크기의 상한은 min(7, max-completion-tokens / completion-tokens-per-day) 이며,
+ * 기본값(6144 / 700)이면 여유분을 더해도 한 주차(7일)를 한 번에 생성할 수 있다.
+ */
+@Slf4j
+@Component
+public class WorksheetBatchPlanner {
+
+    private static final int MAX_GROUP_SIZE = 7; // 한 주차를 넘지 않는다
+    private static final double COMPLETION_SLACK = 1.25; // 일차별 분량 편차 여유
+    private static final double TIE_MARGIN = 0.05; // 이만큼 빠르지 않으면 토큰을 덜 쓰는 큰 그룹 유지
+
+    private final OpenAiRateLimiter rateLimiter;
+    private final int promptOverheadTokens;
+    private final int promptTokensPerDay;
+    private final int completionTokensPerDay;
+    private final int maxCompletionTokens;
+    private final double outputTokensPerSecond;
+    private final double baseLatencySeconds;
+    private final int maxInFlight;
+
+    public WorksheetBatchPlanner(OpenAiRateLimiter rateLimiter,
+                                 @Value("${worksheet.batch.prompt-overhead-tokens:450}") int promptOverheadTokens,
+                                 @Value("${worksheet.batch.prompt-tokens-per-day:30}") int promptTokensPerDay,
+                                 @Value("${worksheet.batch.completion-tokens-per-day:700}") int completionTokensPerDay,
+                                 @Value("${worksheet.batch.max-completion-tokens:6144}") int maxCompletionTokens,
+                                 @Value("${worksheet.batch.output-tokens-per-second:60}") double outputTokensPerSecond,
+                                 @Value("${worksheet.batch.base-latency:PT1S}") Duration baseLatency,
+                                 @Value("${worksheet.batch.max-in-flight:6}") int maxInFlight) {
+        this.rateLimiter = rateLimiter;
+        this.promptOverheadTokens = promptOverheadTokens;
+        this.promptTokensPerDay = promptTokensPerDay;
+        this.completionTokensPerDay = completionTokensPerDay;
+        this.maxCompletionTokens = maxCompletionTokens;
+        this.outputTokensPerSecond = outputTokensPerSecond;
+        this.baseLatencySeconds = baseLatency.toMillis() / 1000.0;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * @param daysPerWeek 주차별 생성할 일차 수
+     */
+    public WorksheetBatchPlan plan(Collection<Integer> daysPerWeek) {
+        double tokensPerMinute = rateLimiter.tokensPerMinute();
+        double headroomTokens = rateLimiter.tokenHeadroom() * tokensPerMinute;
+        int largest = Math.max(1, Math.min(MAX_GROUP_SIZE, maxCompletionTokens / completionTokensPerDay));
+
+        // 큰 그룹부터 보고, 작은 그룹은 확실히 빠를 때만 선택
+        WorksheetBatchPlan best = null;
+        for (int size = largest; size >= 1; size--) {
+            WorksheetBatchPlan candidate = evaluate(size, daysPerWeek, headroomTokens, tokensPerMinute / 60);
+            if (best == null || candidate.estimatedSeconds() < best.estimatedSeconds() * (1 - TIE_MARGIN)) {
+                best = candidate;
+            }
+        }
+
+        log.info("학습지 배치 계획 - 그룹 크기: {}, 그룹 수: {}, 동시 호출: {}, 호출당 최대 토큰: {}, 예상 {}초 (토큰 여유율 {}%)",
+                best.groupSize(), best.groups(), best.inFlight(), best.maxTokens(),
+                Math.round(best.estimatedSeconds()), Math.round(rateLimiter.tokenHeadroom() * 100));
+        return best;
+    }
+
+    private WorksheetBatchPlan evaluate(int size, Collection<Integer> daysPerWeek, double headroomTokens,
+                                        double tokensPerSecond) {
+        int groups = 0;
+        for (int days : daysPerWeek) {
+            groups += (days + size - 1) / size;
+        }
+        int maxTokens = (int) Math.min(maxCompletionTokens, Math.ceil(size * completionTokensPerDay * COMPLETION_SLACK));
+        long promptTokens = promptOverheadTokens + (long) size * promptTokensPerDay;
+
+        // 제한기는 프롬프트 + maxTokens 를 예약하므로 지금 남은 예산으로 동시에 예약 가능한 만큼만 띄운다
+        int affordable = (int) (headroomTokens / (promptTokens + maxTokens));
+        int inFlight = Math.max(1, Math.min(Math.min(groups, maxInFlight), affordable));
+
+        double callSeconds = baseLatencySeconds + size * completionTokensPerDay / outputTokensPerSecond;
+        double concurrencyBound = Math.ceil((double) groups / inFlight) * callSeconds;
+        double totalTokens = (double) groups * (promptTokens + (long) size * completionTokensPerDay);
+        double tokenBound = Math.max(0, totalTokens - headroomTokens) / tokensPerSecond;
+
+        return new WorksheetBatchPlan(size, maxTokens, inFlight, groups, Math.max(concurrencyBound, tokenBound));
+    }
+}
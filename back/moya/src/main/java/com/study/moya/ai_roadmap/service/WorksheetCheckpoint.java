@@ -0,0 +1,29 @@
+package com.study.moya.ai_roadmap.service;
+
+/**
+ * 학습지 생성 체크포인트. 그룹이 저장될 때마다 호출되어 작업의 진행 상황을 영속화한다.
+ * 저장된 학습지 자체가 재시도/재개의 기준이고, 여기서는 작업 단위의 진행 기록만 남긴다.
+ */
+public interface WorksheetCheckpoint {
+
+    WorksheetCheckpoint NONE = new WorksheetCheckpoint() {
+        @Override
+        public void started(int pendingDays) {
+        }
+
+        @Override
+        public void groupSaved(int savedDays) {
+        }
+    };
+
+    void started(int pendingDays);
+
+    void groupSaved(int savedDays);
+
+    /**
+     * 작업이 취소됐는지. 취소되면 남은 호출과 저장을 건너뛴다.
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
@@ -0,0 +1,150 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.dto.response.WorksheetCompressionStatusResponse;
+import com.study.moya.ai_roadmap.util.WorksheetCodec;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 압축 도입 전에 저장된 학습지를 id 순으로 청크 단위로 읽어 압축본으로 다시 쓰는 백그라운드 이관
+ * 본문 내용은 같으므로 modified_at 은 건드리지 않고(조건부 GET 의 ETag 유지),
+ * 읽은 뒤 다른 요청이 학습지를 바꿨다면 UPDATE 조건(work_sheet = 원문)에 걸려 덮어쓰지 않는다.
+ */
+@Slf4j
+@Service
+public class WorksheetCompressionMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolTaskExecutor adminBatchExecutor;
+    private final boolean enabled;
+    private final Duration pause;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong lastDailyPlanId = new AtomicLong();
+    private final AtomicLong scannedRows = new AtomicLong();
+    private final AtomicLong compressedRows = new AtomicLong();
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    public WorksheetCompressionMigration(JdbcTemplate jdbcTemplate,
+                                         @Qualifier("adminBatchExecutor") ThreadPoolTaskExecutor adminBatchExecutor,
+                                         @Value("${worksheet.compression.enabled:true}") boolean enabled,
+                                         @Value("${worksheet.compression.migration.pause:PT0.1S}") Duration pause) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.adminBatchExecutor = adminBatchExecutor;
+        this.enabled = enabled;
+        this.pause = pause;
+    }
+
+    /**
+     * 이관 시작. 이미 진행 중이면 false
+     */
+    public boolean start(int chunkSize) {
+        if (!enabled) {
+            throw new IllegalStateException("학습지 압축이 비활성화되어 있어 이관을 시작할 수 없습니다");
+        }
+        if (chunkSize < 1 || chunkSize > 5000) {
+            throw new IllegalArgumentException("청크 크기는 1-5000 사이여야 합니다");
+        }
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        lastDailyPlanId.set(0);
+        scannedRows.set(0);
+        compressedRows.set(0);
+        rawBytes.set(0);
+        storedBytes.set(0);
+
+        try {
+            adminBatchExecutor.execute(() -> migrate(chunkSize));
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    public WorksheetCompressionStatusResponse getStatus() {
+        return new WorksheetCompressionStatusResponse(running.get(), lastDailyPlanId.get(), scannedRows.get(),
+                compressedRows.get(), rawBytes.get(), storedBytes.get());
+    }
+
+    private void migrate(int chunkSize) {
+        log.info("학습지 압축 이관 시작 - 청크 크기: {}", chunkSize);
+        try {
+            List<WorksheetRow> rows;
+            do {
+                rows = findUncompressed(lastDailyPlanId.get(), chunkSize);
+                recompress(rows);
+                if (!rows.isEmpty()) {
+                    lastDailyPlanId.set(rows.getLast().id());
+                    Thread.sleep(pause.toMillis()); // 서비스 트래픽과 DB 를 나눠 쓰도록 청크 사이에 쉰다
+                }
+            } while (rows.size() == chunkSize);
+
+            log.info("학습지 압축 이관 완료 - {}행 중 {}행 압축, {} -> {} bytes",
+                    scannedRows.get(), compressedRows.get(), rawBytes.get(), storedBytes.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("학습지 압축 이관 중단 - 마지막 처리 ID: {}", lastDailyPlanId.get());
+        } catch (Exception e) {
+            log.error("학습지 압축 이관 실패 - 마지막 처리 ID: {}", lastDailyPlanId.get(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<WorksheetRow> findUncompressed(long afterId, int chunkSize) {
+        return jdbcTemplate.query("""
+                        SELECT id, work_sheet FROM daily_plans
+                        WHERE id > ? AND work_sheet IS NOT NULL AND work_sheet NOT LIKE ?
+                        ORDER BY id
+                        LIMIT ?
+                        """,
+                (rs, rowNum) -> new WorksheetRow(rs.getLong("id"), rs.getString("work_sheet")),
+                afterId, WorksheetCodec.MARKER + "%", chunkSize);
+    }
+
+    private void recompress(List<WorksheetRow> rows) {
+        scannedRows.addAndGet(rows.size());
+
+        List<Object[]> updates = new ArrayList<>();
+        List<long[]> sizes = new ArrayList<>();
+        for (WorksheetRow row : rows) {
+            String encoded = WorksheetCodec.encode(row.workSheet());
+            if (encoded.equals(row.workSheet())) {
+                continue; // 짧거나 압축해도 줄지 않는 본문
+            }
+            updates.add(new Object[]{encoded, row.id(), row.workSheet()});
+            sizes.add(new long[]{row.workSheet().getBytes(StandardCharsets.UTF_8).length, encoded.length()});
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        int[] results = jdbcTemplate.batchUpdate(
+                "UPDATE daily_plans SET work_sheet = ? WHERE id = ? AND work_sheet = ?", updates);
+        for (int i = 0; i < results.length; i++) {
+            // 드라이버가 배치 결과 수를 알려주지 않으면 SUCCESS_NO_INFO 로 온다
+            if (results[i] > 0 || results[i] == Statement.SUCCESS_NO_INFO) {
+                compressedRows.incrementAndGet();
+                rawBytes.addAndGet(sizes.get(i)[0]);
+                storedBytes.addAndGet(sizes.get(i)[1]);
+            }
+        }
+    }
+
+    private record WorksheetRow(long id, String workSheet) {
+    }
+}
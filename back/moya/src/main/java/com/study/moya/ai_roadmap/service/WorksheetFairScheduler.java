@@ -0,0 +1,330 @@
+package com.study.moya.ai_roadmap.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 학습지 그룹 호출의 가중 공정 대기열 (start-time fair queueing).
+ * 회원+작업 단위의 흐름(Flow)마다 대기열을 두고, 각 흐름의 맨 앞 그룹에 가상 시작/종료 시각을 매겨 종료 시각이 가장 이른 그룹부터 실행한다.
+ * 큰 작업이 그룹을 한꺼번에 넣어도 나중에 온 작업은 현재 가상 시각부터 줄을 서므로 바로 사이사이에 끼어든다.
+ * 가중치는 요청 시 생성(interactive) > 그룹 수가 적은 작업(small) > 큰 작업(large) > 퀴즈 같은 후속 작업(background) 순이며,
+ * 한 회원이 작업을 여러 개 돌리면 그 회원의 흐름끼리 가중치를 나눠 갖는다.
+ * 가상 시각은 그룹을 꺼낼 때 그 시점의 회원별 흐름 수로 매기므로, 흐름이 새로 생기거나 끝나면 다음 그룹부터 바로 반영된다.
+ * 대기 시간은 worksheet.fair.queue.wait{class} 로 본다.
+ * 흐름을 취소하면 대기 중인 그룹은 버리고 실행 중인 그룹의 스레드를 인터럽트해 진행 중인 호출을 끊는다.
+ */
+@Slf4j
+@Component
+public class WorksheetFairScheduler {
+
+    private static final double INTERACTIVE_WEIGHT = 8;
+    private static final double SMALL_WEIGHT = 4;
+    private static final double LARGE_WEIGHT = 1;
+    private static final double BACKGROUND_WEIGHT = 0.5;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, FlowState> flows = new LinkedHashMap<>();
+    private final Map<JobClass, Timer> waitTimers = new HashMap<>();
+    private double virtualTime;
+    private int running;
+    private int queued;
+
+    private final Executor worksheetExecutor;
+    private final int concurrency;
+    private final int smallJobGroups;
+
+    public WorksheetFairScheduler(@Qualifier("worksheetExecutor") Executor worksheetExecutor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${executor.worksheet.concurrency:12}") int concurrency,
+                                  @Value("${worksheet.fair.small-job-groups:4}") int smallJobGroups) {
+        this.worksheetExecutor = worksheetExecutor;
+        this.concurrency = Math.max(1, concurrency);
+        this.smallJobGroups = smallJobGroups;
+        for (JobClass jobClass : JobClass.values()) {
+            waitTimers.put(jobClass, Timer.builder("worksheet.fair.queue.wait")
+                    .description("학습지 그룹이 공정 대기열에서 실행되기까지 기다린 시간")
+                    .tag("class", jobClass.tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        Gauge.builder("worksheet.fair.queued", this, WorksheetFairScheduler::queuedGroups)
+                .description("공정 대기열에서 기다리는 학습지 그룹 수")
+                .register(meterRegistry);
+        Gauge.builder("worksheet.fair.flows", this, WorksheetFairScheduler::activeFlows)
+                .description("공정 대기열의 활성 흐름(회원+작업) 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 그룹들을 흐름의 대기열에 넣는다. 흐름당 동시 실행은 maxInFlight 를 넘지 않는다.
+     * 실패한 그룹이 있어도 나머지는 끝까지 처리하고, 마지막에 실패 그룹 수와 첫 원인을 담아 예외로 완료한다.
+     */
+    public <T> CompletableFuture<Void> submit(Flow flow, List<List<T>> groups, Consumer<List<T>> task, int maxInFlight) {
+        if (groups.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(groups.size());
+        AtomicInteger failed = new AtomicInteger();
+        AtomicReference<RuntimeException> firstFailure = new AtomicReference<>();
+
+        lock.lock();
+        try {
+            FlowState state = flows.get(flow.key());
+            if (state == null) {
+                JobClass jobClass = flow.interactive() ? JobClass.INTERACTIVE
+                        : flow.background() ? JobClass.BACKGROUND
+                        : groups.size() <= smallJobGroups ? JobClass.SMALL : JobClass.LARGE;
+                state = new FlowState(flow.key(), flow.memberId(), jobClass);
+                state.lastFinish = virtualTime;
+                flows.put(flow.key(), state);
+            } else if (state.cancelled) {
+                return CompletableFuture.failedFuture(new CancellationException("취소된 학습지 생성 흐름: " + flow.key()));
+            }
+            state.results.add(result);
+            state.maxInFlight = Math.max(1, maxInFlight);
+            for (List<T> group : groups) {
+                state.pending.add(new Slot(System.nanoTime(), () -> {
+                    try {
+                        task.accept(group);
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        firstFailure.compareAndSet(null, e);
+                    }
+                    if (remaining.decrementAndGet() == 0) {
+                        if (failed.get() > 0) {
+                            result.completeExceptionally(new IllegalStateException(
+                                    String.format("학습지 생성 실패 그룹 %d/%d", failed.get(), groups.size()), firstFailure.get()));
+                        } else {
+                            result.complete(null);
+                        }
+                    }
+                }));
+                queued++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        dispatch();
+        return result;
+    }
+
+    /**
+     * 빈 자리만큼 종료 시각이 가장 이른 그룹을 꺼내 실행기에 넘긴다 (CallerRunsPolicy 로 직접 실행될 수 있어 락 밖에서 제출)
+     */
+    private void dispatch() {
+        List<Runnable> launches = new ArrayList<>();
+        lock.lock();
+        try {
+            while (running < concurrency) {
+                // 회원의 가중치는 지금 살아 있는 그 회원의 흐름끼리 나눈다 (취소되어 정리만 남은 흐름은 제외)
+                Map<Long, Integer> memberFlows = new HashMap<>();
+                for (FlowState state : flows.values()) {
+                    if (!state.cancelled) {
+                        memberFlows.merge(state.memberId, 1, Integer::sum);
+                    }
+                }
+                FlowState next = null;
+                double nextStart = 0;
+                double nextFinish = 0;
+                for (FlowState state : flows.values()) {
+                    if (state.pending.isEmpty() || state.running >= state.maxInFlight || state.cancelled) {
+                        continue;
+                    }
+                    double start = Math.max(virtualTime, state.lastFinish);
+                    double finish = start + memberFlows.get(state.memberId) / state.jobClass.weight;
+                    if (next == null || finish < nextFinish) {
+                        next = state;
+                        nextStart = start;
+                        nextFinish = finish;
+                    }
+                }
+                if (next == null) {
+                    break;
+                }
+                Slot slot = next.pending.poll();
+                virtualTime = Math.max(virtualTime, nextStart);
+                next.lastFinish = nextFinish;
+                running++;
+                queued--;
+                next.running++;
+                FlowState owner = next;
+                launches.add(() -> execute(owner, slot));
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Runnable launch : launches) {
+            try {
+                worksheetExecutor.execute(launch);
+            } catch (RuntimeException e) {
+                // 실행기가 종료 중이면 그 자리에서 실행해 결과 future 가 끝나지 않는 일이 없게 한다
+                log.warn("학습지 실행기 제출 실패, 현재 스레드에서 실행합니다: {}", e.getMessage());
+                launch.run();
+            }
+        }
+    }
+
+    /**
+     * 흐름 취소. 대기 중인 그룹을 버리고, 실행 중인 그룹의 스레드를 인터럽트하고, 결과 future 를 취소 예외로 완료한다.
+     */
+    public void cancel(Flow flow) {
+        List<CompletableFuture<Void>> results;
+        int dropped;
+        int interrupted;
+        lock.lock();
+        try {
+            FlowState state = flows.get(flow.key());
+            if (state == null || state.cancelled) {
+                return;
+            }
+            state.cancelled = true;
+            dropped = state.pending.size();
+            queued -= dropped;
+            state.pending.clear();
+            interrupted = state.threads.size();
+            state.threads.forEach(Thread::interrupt);
+            results = List.copyOf(state.results);
+            if (state.running == 0) {
+                flows.remove(state.key, state);
+            }
+        } finally {
+            lock.unlock();
+        }
+        log.info("학습지 생성 흐름 취소. 흐름: {}, 버린 그룹: {}, 중단한 그룹: {}", flow.key(), dropped, interrupted);
+        CancellationException cancelled = new CancellationException("학습지 생성 취소: " + flow.key());
+        results.forEach(result -> result.completeExceptionally(cancelled));
+        dispatch();
+    }
+
+    private void execute(FlowState state, Slot slot) {
+        waitTimers.get(state.jobClass).record(System.nanoTime() - slot.enqueuedAt, TimeUnit.NANOSECONDS);
+        Thread current = Thread.currentThread();
+        try {
+            lock.lock();
+            try {
+                if (state.cancelled) {
+                    return; // 실행기로 넘어간 뒤 취소된 그룹
+                }
+                state.threads.add(current);
+            } finally {
+                lock.unlock();
+            }
+            slot.body.run();
+        } finally {
+            lock.lock();
+            try {
+                state.threads.remove(current);
+                running--;
+                state.running--;
+                if ((state.pending.isEmpty() || state.cancelled) && state.running == 0) {
+                    flows.remove(state.key, state);
+                }
+            } finally {
+                lock.unlock();
+            }
+            // 취소로 받은 인터럽트가 풀 스레드에 남아 다음 그룹에 번지지 않도록 정리
+            Thread.interrupted();
+            dispatch();
+        }
+    }
+
+    private double queuedGroups() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double activeFlows() {
+        lock.lock();
+        try {
+            return flows.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 공정 대기열의 흐름 단위
+     *
+     * @param key         흐름 식별자 (같은 키로 들어온 그룹은 한 대기열에서 순서대로 실행)
+     * @param memberId    회원 ID (요청자가 없으면 0)
+     * @param interactive 사용자가 화면에서 기다리는 요청인지
+     * @param background  사용자가 기다리지 않는 후속 작업인지 (가장 낮은 가중치)
+     */
+    public record Flow(String key, Long memberId, boolean interactive, boolean background) {
+
+        public static Flow job(Long memberId, Long jobId) {
+            return new Flow("job:" + jobId, memberId != null ? memberId : 0L, false, false);
+        }
+
+        public static Flow backgroundJob(Long memberId, Long jobId) {
+            return new Flow("job:" + jobId, memberId != null ? memberId : 0L, false, true);
+        }
+
+        public static Flow onDemand(Long memberId, Long roadmapId) {
+            return new Flow("on-demand:" + memberId + ":" + roadmapId, memberId != null ? memberId : 0L, true, false);
+        }
+    }
+
+    private enum JobClass {
+        INTERACTIVE("interactive", INTERACTIVE_WEIGHT),
+        SMALL("small", SMALL_WEIGHT),
+        LARGE("large", LARGE_WEIGHT),
+        BACKGROUND("background", BACKGROUND_WEIGHT);
+
+        private final String tag;
+        private final double weight;
+
+        JobClass(String tag, double weight) {
+            this.tag = tag;
+            this.weight = weight;
+        }
+    }
+
+    private static final class FlowState {
+        private final String key;
+        private final Long memberId;
+        private final JobClass jobClass;
+        private final ArrayDeque<Slot> pending = new ArrayDeque<>();
+        private final Set<Thread> threads = new HashSet<>();
+        private final List<CompletableFuture<Void>> results = new ArrayList<>();
+        private double lastFinish;
+        private boolean cancelled;
+        private int running;
+        private int maxInFlight = 1;
+
+        private FlowState(String key, Long memberId, JobClass jobClass) {
+            this.key = key;
+            this.memberId = memberId;
+            this.jobClass = jobClass;
+        }
+    }
+
+    private record Slot(long enqueuedAt, Runnable body) {
+    }
+}
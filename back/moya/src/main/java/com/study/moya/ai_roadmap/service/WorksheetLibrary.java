@@ -0,0 +1,178 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.domain.DailyPlan;
+import com.study.moya.ai_roadmap.domain.WorksheetLibraryEntry;
+import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
+import com.study.moya.ai_roadmap.repository.WorksheetLibraryRepository;
+import com.study.moya.ai_roadmap.util.WorksheetLibraryKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 로드맵 간 학습지 재사용 라이브러리.
+ * 같은 분류/키워드/목표 수준의 학습지가 신선도 기간 안에 있으면 모델 호출 없이 그대로 쓰고, 없는 일차만 생성한다.
+ * 적중률은 worksheet.library.requests{result=hit|miss}, 절감 토큰은 worksheet.library.tokens.saved 로 본다.
+ * 라이브러리 조회/저장 실패는 생성 자체를 막지 않도록 로그만 남긴다.
+ */
+@Slf4j
+@Component
+public class WorksheetLibrary {
+
+    private final WorksheetLibraryRepository libraryRepository;
+    private final boolean enabled;
+    private final Duration freshness;
+    private final int maxEntries;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter tokensSaved;
+
+    public WorksheetLibrary(WorksheetLibraryRepository libraryRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${worksheet.library.enabled:true}") boolean enabled,
+                            @Value("${worksheet.library.freshness:P30D}") Duration freshness,
+                            @Value("${worksheet.library.max-entries:50000}") int maxEntries) {
+        this.libraryRepository = libraryRepository;
+        this.enabled = enabled;
+        this.freshness = freshness;
+        this.maxEntries = maxEntries;
+        this.hitCounter = Counter.builder("worksheet.library.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("worksheet.library.requests").tag("result", "miss").register(meterRegistry);
+        this.tokensSaved = Counter.builder("worksheet.library.tokens.saved").baseUnit("tokens").register(meterRegistry);
+    }
+
+    /**
+     * 라이브러리에 있는 일차의 학습지 조회
+     *
+     * @return 일차 ID -> 학습지
+     */
+    public Map<Long, String> lookup(List<DailyPlan> plans, WorkSheetRequest request, int goalLevel) {
+        if (!enabled || plans.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            Map<Long, String> keysByPlanId = keysByPlanId(plans, request, goalLevel);
+            Map<String, WorksheetLibraryEntry> entries = new HashMap<>();
+            for (WorksheetLibraryEntry entry : libraryRepository.findFresh(
+                    new HashSet<>(keysByPlanId.values()), LocalDateTime.now().minus(freshness))) {
+                entries.put(entry.getContentKey(), entry);
+            }
+
+            Map<Long, String> worksheets = new HashMap<>();
+            Set<Long> usedEntryIds = new HashSet<>();
+            long saved = 0;
+            for (Map.Entry<Long, String> planKey : keysByPlanId.entrySet()) {
+                WorksheetLibraryEntry entry = entries.get(planKey.getValue());
+                if (entry != null) {
+                    worksheets.put(planKey.getKey(), entry.getWorkSheet());
+                    usedEntryIds.add(entry.getId());
+                    saved += entry.getCompletionTokens();
+                }
+            }
+            if (!usedEntryIds.isEmpty()) {
+                libraryRepository.markUsed(usedEntryIds, LocalDateTime.now());
+            }
+
+            hitCounter.increment(worksheets.size());
+            missCounter.increment(plans.size() - worksheets.size());
+            tokensSaved.increment(saved);
+            return worksheets;
+        } catch (Exception e) {
+            log.warn("학습지 라이브러리 조회 실패, 전체 일차를 생성합니다. ({})", e.getMessage());
+            missCounter.increment(plans.size());
+            return Map.of();
+        }
+    }
+
+    /**
+     * 모델이 생성한 학습지 저장. 신선한 항목이 있는 키는 건너뛰고, 신선도가 지난 항목은 새 학습지로 교체한다.
+     * 다른 작업과 동시에 넣다 충돌해도 무시한다.
+     */
+    public void store(List<DailyPlan> plans, Map<Integer, String> dayWorksheets, WorkSheetRequest request,
+                      int goalLevel, int completionTokensPerDay) {
+        if (!enabled || plans.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, String> keysByPlanId = keysByPlanId(plans, request, goalLevel);
+            LocalDateTime freshSince = LocalDateTime.now().minus(freshness);
+            Set<String> fresh = new HashSet<>(libraryRepository.findFreshKeys(new HashSet<>(keysByPlanId.values()), freshSince));
+
+            Map<String, WorksheetLibraryEntry> entries = new LinkedHashMap<>();
+            for (DailyPlan plan : plans) {
+                String worksheet = dayWorksheets.get(plan.getDayNumber());
+                String key = keysByPlanId.get(plan.getId());
+                if (worksheet == null || fresh.contains(key) || entries.containsKey(key)) {
+                    continue;
+                }
+                entries.put(key, WorksheetLibraryEntry.builder()
+                        .contentKey(key)
+                        .mainCategory(request.mainCategory())
+                        .subCategory(request.subCategory())
+                        .keyword(plan.getKeyword())
+                        .goalLevel(goalLevel)
+                        .workSheet(worksheet)
+                        .completionTokens(completionTokensPerDay)
+                        .build());
+            }
+            if (entries.isEmpty()) {
+                return;
+            }
+
+            int replaced = libraryRepository.deleteStale(entries.keySet(), freshSince);
+            if (replaced > 0) {
+                log.debug("학습지 라이브러리의 오래된 항목 {}건을 새 학습지로 교체", replaced);
+            }
+            for (WorksheetLibraryEntry entry : entries.values()) {
+                try {
+                    libraryRepository.save(entry);
+                } catch (DataIntegrityViolationException e) {
+                    log.debug("학습지 라이브러리에 이미 등록된 키워드: {}", entry.getKeyword());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("학습지 라이브러리 저장 실패 ({})", e.getMessage());
+        }
+    }
+
+    /**
+     * 신선도 기간이 지난 항목을 지우고, 최대 개수를 넘으면 가장 오래 쓰이지 않은 항목부터 정리
+     */
+    @Scheduled(cron = "${worksheet.library.cleanup-cron:0 30 4 * * *}")
+    @Transactional
+    public void evict() {
+        if (!enabled) {
+            return;
+        }
+        int expired = libraryRepository.deleteCreatedBefore(LocalDateTime.now().minus(freshness));
+        long overflow = libraryRepository.count() - maxEntries;
+        if (overflow > 0) {
+            List<Long> ids = libraryRepository.findLeastRecentlyUsedIds(PageRequest.of(0, (int) overflow));
+            libraryRepository.deleteAllByIdInBatch(ids);
+        }
+        log.info("학습지 라이브러리 정리 완료. 만료: {}건, 용량 초과: {}건", expired, Math.max(0, overflow));
+    }
+
+    private Map<Long, String> keysByPlanId(List<DailyPlan> plans, WorkSheetRequest request, int goalLevel) {
+        Map<Long, String> keys = new LinkedHashMap<>();
+        for (DailyPlan plan : plans) {
+            keys.put(plan.getId(), WorksheetLibraryKey.of(
+                    request.mainCategory(), request.subCategory(), plan.getKeyword(), goalLevel));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,184 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.constants.GenerationJobType;
+import com.study.moya.ai_roadmap.domain.DailyPlan;
+import com.study.moya.ai_roadmap.domain.GenerationJob;
+import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
+import com.study.moya.ai_roadmap.repository.DailyPlanRepository;
+import com.study.moya.ai_roadmap.repository.GenerationJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청 시 학습지 생성 (worksheet.on-demand.enabled).
+ * 학습지 생성 작업은 앞쪽 일차만 만들고 ON_DEMAND 로 끝나며, 학습지가 비어 있는 일차를 열면 그 일차와 뒤이은 look-ahead 일차를 생성한다.
+ * 같은 일차를 동시에 열면 진행 중인 생성 하나를 함께 기다린다. 학습지 티켓을 쓴(환불되지 않은) 회원만 생성할 수 있다.
+ * 생성은 로드맵 단위로 GenerationJobCancellations 에 등록해 로드맵을 삭제하면 대기 중인 그룹과 진행 중인 호출을 함께 끊는다.
+ */
+@Slf4j
+@Component
+public class WorksheetOnDemandGenerator {
+
+    private final ConcurrentHashMap<Long, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    private final WorksheetService worksheetService;
+    private final DailyPlanRepository dailyPlanRepository;
+    private final GenerationJobRepository generationJobRepository;
+    private final GenerationJobCancellations cancellations;
+    private final WorksheetFairScheduler fairScheduler;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int lookAhead;
+    private final Duration waitTimeout;
+    private final Counter leaderCounter;
+    private final Counter coalescedCounter;
+
+    public WorksheetOnDemandGenerator(WorksheetService worksheetService,
+                                      DailyPlanRepository dailyPlanRepository,
+                                      GenerationJobRepository generationJobRepository,
+                                      GenerationJobCancellations cancellations,
+                                      WorksheetFairScheduler fairScheduler,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${worksheet.on-demand.enabled:false}") boolean enabled,
+                                      @Value("${worksheet.on-demand.look-ahead:3}") int lookAhead,
+                                      @Value("${worksheet.on-demand.wait-timeout:PT60S}") Duration waitTimeout) {
+        this.worksheetService = worksheetService;
+        this.dailyPlanRepository = dailyPlanRepository;
+        this.generationJobRepository = generationJobRepository;
+        this.cancellations = cancellations;
+        this.fairScheduler = fairScheduler;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.lookAhead = Math.max(0, lookAhead);
+        this.waitTimeout = waitTimeout;
+        this.leaderCounter = Counter.builder("worksheet.on_demand.days").tag("role", "leader").register(meterRegistry);
+        this.coalescedCounter = Counter.builder("worksheet.on_demand.days").tag("role", "follower").register(meterRegistry);
+        Gauge.builder("worksheet.on_demand.in_flight", inFlight, ConcurrentHashMap::size)
+                .description("요청 시 생성 중인 일차 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청한 일차의 학습지가 비어 있으면 생성하고 wait-timeout 까지 기다린다.
+     * 시간 안에 끝나지 않거나 생성할 수 없으면 그대로 반환해 기존처럼 빈 학습지를 조회하게 한다.
+     */
+    public void ensureGenerated(Long roadmapId, Integer week, Integer day, Long memberId) {
+        if (!enabled || memberId == null) {
+            return;
+        }
+        List<DailyPlan> window = dailyPlanRepository.findPendingFrom(roadmapId, week, day, PageRequest.of(0, 1 + lookAhead));
+        if (window.isEmpty() || !isDay(window.getFirst(), week, day)) {
+            return; // 요청한 일차는 이미 생성됨
+        }
+        Optional<WorkSheetRequest> request = entitledRequest(roadmapId, memberId);
+        if (request.isEmpty()) {
+            return;
+        }
+
+        // 아직 아무도 생성하지 않는 일차만 맡고, 같은 그룹 안에서 일차 번호가 겹치지 않도록 주차별로 나눠 생성
+        Long requestedId = window.getFirst().getId();
+        CompletableFuture<Void> requested = null;
+        Map<Long, CompletableFuture<Void>> owned = new HashMap<>();
+        Map<Long, List<DailyPlan>> ownedByWeek = new LinkedHashMap<>();
+        for (DailyPlan plan : window) {
+            CompletableFuture<Void> created = new CompletableFuture<>();
+            CompletableFuture<Void> existing = inFlight.putIfAbsent(plan.getId(), created);
+            if (existing == null) {
+                owned.put(plan.getId(), created);
+                ownedByWeek.computeIfAbsent(plan.getWeeklyPlan().getId(), k -> new ArrayList<>()).add(plan);
+            }
+            if (plan.getId().equals(requestedId)) {
+                requested = existing != null ? existing : created;
+            }
+        }
+        leaderCounter.increment(owned.size());
+        coalescedCounter.increment(window.size() - owned.size());
+
+        for (List<DailyPlan> plans : ownedByWeek.values()) {
+            submit(roadmapId, plans, request.get(), memberId, owned);
+        }
+        await(roadmapId, week, day, requested);
+    }
+
+    private void submit(Long roadmapId, List<DailyPlan> plans, WorkSheetRequest request, Long memberId,
+                        Map<Long, CompletableFuture<Void>> owned) {
+        log.info("로드맵 ID: {}의 학습지 요청 시 생성 - {}주차 {} ~ {}일차", roadmapId,
+                plans.getFirst().getWeeklyPlan().getWeekNumber(), plans.getFirst().getDayNumber(), plans.getLast().getDayNumber());
+        WorksheetFairScheduler.Flow flow = WorksheetFairScheduler.Flow.onDemand(memberId, roadmapId);
+        GenerationJobCancellations.Handle handle = cancellations.registerRoadmap(roadmapId);
+        handle.onCancel(() -> fairScheduler.cancel(flow));
+        CompletableFuture<Void> generation;
+        try {
+            generation = worksheetService.generateDays(roadmapId, plans, request, flow);
+        } catch (RuntimeException e) {
+            generation = CompletableFuture.failedFuture(e);
+        }
+        generation.whenComplete((result, e) -> {
+            cancellations.unregister(handle);
+            for (DailyPlan plan : plans) {
+                CompletableFuture<Void> future = owned.get(plan.getId());
+                inFlight.remove(plan.getId(), future);
+                if (e == null) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    private void await(Long roadmapId, Integer week, Integer day, CompletableFuture<Void> requested) {
+        try {
+            requested.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("로드맵 ID: {}의 {}주차 {}일차 학습지 생성 대기 시간 초과, 생성은 계속 진행합니다", roadmapId, week, day);
+        } catch (ExecutionException e) {
+            log.warn("로드맵 ID: {}의 {}주차 {}일차 학습지 요청 시 생성 실패: {}", roadmapId, week, day, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 학습지 티켓을 쓴 작업의 요청 본문. 작업이 아직 진행 중이면 앞쪽 일차를 그 작업이 만들고 있으므로 생성하지 않는다.
+     */
+    private Optional<WorkSheetRequest> entitledRequest(Long roadmapId, Long memberId) {
+        Optional<GenerationJob> job = generationJobRepository
+                .findFirstByRoadmapIdAndMemberIdAndJobTypeOrderByIdDesc(roadmapId, memberId, GenerationJobType.WORKSHEET)
+                .filter(latest -> latest.getStatus().isFinished() && !latest.isTicketRefunded());
+        if (job.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(job.get().getPayload(), WorkSheetRequest.class));
+        } catch (JsonProcessingException e) {
+            log.warn("학습지 작업 요청 본문을 읽을 수 없어 요청 시 생성을 건너뜁니다. 작업 ID: {}", job.get().getId());
+            return Optional.empty();
+        }
+    }
+
+    private boolean isDay(DailyPlan plan, Integer week, Integer day) {
+        return plan.getWeeklyPlan().getWeekNumber().equals(week) && plan.getDayNumber().equals(day);
+    }
+}
@@ -0,0 +1,138 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.util.WorksheetCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로드맵 저장 직후 미리 생성한 학습지를 사용자가 학습지 생성을 요청할 때까지 Redis 에 보관한다.
+ * 일차 ID 별로 저장하고, claim 으로 한 번만 가져간다. 가져가지 않은 결과는 ttl 이 지나면 사라진다.
+ * 같은 인스턴스에서 미리 생성이 진행 중이면 claim 이 join-timeout 까지 기다렸다가 결과를 가져간다.
+ * 조회와 삭제를 Lua 스크립트 하나로 처리해 동시에 claim 해도 한 요청만 결과를 가져간다.
+ */
+@Slf4j
+@Component
+public class WorksheetPrefetchStore {
+
+    private static final String KEY_PREFIX = "worksheet:prefetch:";
+
+    /**
+     * HGETALL + DEL 을 원자적으로 실행 (필드, 값이 번갈아 담긴 목록을 돌려줌)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "local entries = redis.call('HGETALL', KEYS[1]) "
+                    + "if #entries > 0 then redis.call('DEL', KEYS[1]) end "
+                    + "return entries",
+            List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration joinTimeout;
+    private final Map<Long, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final Counter storedCounter;
+    private final Counter claimedCounter;
+
+    public WorksheetPrefetchStore(StringRedisTemplate redisTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${worksheet.prefetch.enabled:false}") boolean enabled,
+                                  @Value("${worksheet.prefetch.ttl:PT6H}") Duration ttl,
+                                  @Value("${worksheet.prefetch.join-timeout:PT15S}") Duration joinTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.joinTimeout = joinTimeout;
+        this.storedCounter = Counter.builder("worksheet.prefetch.days").tag("result", "stored").register(meterRegistry);
+        this.claimedCounter = Counter.builder("worksheet.prefetch.days").tag("result", "claimed").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 진행 중인 미리 생성 작업 등록 (끝나면 자동으로 빠짐)
+     */
+    public void track(Long roadmapId, CompletableFuture<?> task) {
+        inFlight.put(roadmapId, task);
+        task.whenComplete((result, e) -> inFlight.remove(roadmapId, task));
+    }
+
+    /**
+     * @param worksheets 일차 ID -> 학습지
+     */
+    public void save(Long roadmapId, Map<Long, String> worksheets) {
+        if (!enabled || worksheets.isEmpty()) {
+            return;
+        }
+        Map<String, String> encoded = new HashMap<>();
+        worksheets.forEach((dailyPlanId, worksheet) -> encoded.put(String.valueOf(dailyPlanId), WorksheetCodec.encode(worksheet)));
+        try {
+            redisTemplate.opsForHash().putAll(KEY_PREFIX + roadmapId, encoded);
+            redisTemplate.expire(KEY_PREFIX + roadmapId, ttl);
+            storedCounter.increment(encoded.size());
+        } catch (Exception e) {
+            log.warn("미리 생성한 학습지 저장 실패. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+        }
+    }
+
+    /**
+     * 미리 생성한 학습지를 가져가고 저장소에서 지운다. 없거나 Redis 장애면 빈 맵
+     *
+     * @return 일차 ID -> 학습지
+     */
+    public Map<Long, String> claim(Long roadmapId) {
+        if (!enabled) {
+            return Map.of();
+        }
+        awaitInFlight(roadmapId);
+        try {
+            List<?> entries = redisTemplate.execute(CLAIM_SCRIPT, List.of(KEY_PREFIX + roadmapId));
+            if (entries == null || entries.isEmpty()) {
+                return Map.of();
+            }
+
+            Map<Long, String> worksheets = new HashMap<>();
+            for (int i = 0; i + 1 < entries.size(); i += 2) {
+                worksheets.put(Long.valueOf((String) entries.get(i)), WorksheetCodec.decode((String) entries.get(i + 1)));
+            }
+            claimedCounter.increment(worksheets.size());
+            return worksheets;
+        } catch (Exception e) {
+            log.warn("미리 생성한 학습지 조회 실패, 전체 일차를 생성합니다. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private void awaitInFlight(Long roadmapId) {
+        CompletableFuture<?> task = inFlight.get(roadmapId);
+        if (task == null) {
+            return;
+        }
+        log.info("로드맵 ID: {}의 학습지 미리 생성이 끝나기를 기다립니다", roadmapId);
+        try {
+            task.get(joinTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.info("로드맵 ID: {}의 학습지 미리 생성 대기 시간 초과, 기다리지 않고 진행합니다", roadmapId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // 미리 생성 실패는 해당 작업에서 이미 기록했다
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.study.moya.ai_roadmap.service;
+
+import com.study.moya.ai_roadmap.domain.DailyPlan;
+import com.study.moya.ai_roadmap.dto.response.WorksheetProgressEvent;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 학습지 생성 진행률을 Redis 에 보관하고, 그룹이 저장될 때마다 STOMP 로 알린다.
+ * 전체 일차 수는 문자열 키(total)에, 준비된 일차는 DailyPlan ID 집합(ready)에 둔다.
+ * 준비 여부를 개수가 아닌 ID 집합으로 세므로, DB 에서 채워 넣는 시점과 그룹 완료 알림이 겹쳐도 같은 일차가 두 번 세어지지 않는다.
+ * 상태 조회 API 는 total 이 있으면 이 값을 쓰고, 없을 때만 DB 에서 계산해 채워 넣는다.
+ * 학습지를 직접 수정/삭제하는 경로에서는 evict 로 지워 다음 조회 때 DB 기준으로 다시 만든다.
+ */
+@Slf4j
+@Component
+public class WorksheetProgressTracker {
+
+    private static final String KEY_PREFIX = "roadmap:worksheet-progress:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Duration ttl;
+
+    public WorksheetProgressTracker(StringRedisTemplate redisTemplate,
+                                    SimpMessagingTemplate messagingTemplate,
+                                    @Value("${roadmap.worksheet-progress.ttl:PT24H}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.ttl = ttl;
+    }
+
+    public static String destination(Long roadmapId) {
+        return "/sub/roadmap/" + roadmapId + "/worksheets";
+    }
+
+    /**
+     * DB 에서 읽은 전체 일차 수와 학습지가 있는 일차 ID 로 진행 상태를 채운다.
+     * 이미 있는 집합에 합쳐 넣기만 하므로 생성 작업이 진행 중이어도 그 사이 완료된 그룹을 잃거나 중복해 세지 않는다.
+     */
+    public void seed(Long roadmapId, long total, Collection<Long> readyDailyPlanIds) {
+        try {
+            // 준비 집합을 먼저 채우고 total 을 마지막에 써서, total 이 보이면 집합도 채워진 상태가 되게 한다
+            addReady(roadmapId, readyDailyPlanIds);
+            redisTemplate.opsForValue().set(totalKey(roadmapId), String.valueOf(total), ttl);
+        } catch (Exception e) {
+            log.warn("학습지 진행률 저장 실패. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+        }
+    }
+
+    /**
+     * 그룹 저장 완료. 준비된 일차를 집합에 넣고 구독자에게 보낸다.
+     */
+    public void onGroupCompleted(Long roadmapId, List<DailyPlan> readyPlans) {
+        if (readyPlans.isEmpty()) {
+            return;
+        }
+        List<Long> dailyPlanIds = readyPlans.stream().map(DailyPlan::getId).toList();
+        long ready;
+        long total;
+        try {
+            addReady(roadmapId, dailyPlanIds);
+            String storedTotal = redisTemplate.opsForValue().get(totalKey(roadmapId));
+            if (storedTotal == null) {
+                // 작업 도중 evict 된 경우: 다음 상태 조회가 DB 기준으로 채울 때 지금 넣은 ID 와 합쳐진다
+                return;
+            }
+            total = Long.parseLong(storedTotal);
+            ready = sizeOrZero(redisTemplate.opsForSet().size(readyKey(roadmapId)));
+        } catch (Exception e) {
+            log.warn("학습지 진행률 갱신 실패. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+            return;
+        }
+
+        ready = Math.min(ready, total);
+        try {
+            messagingTemplate.convertAndSend(destination(roadmapId),
+                    new WorksheetProgressEvent(roadmapId, dailyPlanIds, ready, total, percent(ready, total), ready >= total));
+        } catch (Exception e) {
+            log.warn("학습지 진행 이벤트 전송 실패. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+        }
+    }
+
+    /**
+     * @return 진행률(%), 카운터가 없으면 empty
+     */
+    public Optional<Long> findProgress(Long roadmapId) {
+        try {
+            String storedTotal = redisTemplate.opsForValue().get(totalKey(roadmapId));
+            if (storedTotal == null) {
+                return Optional.empty();
+            }
+            long total = Long.parseLong(storedTotal);
+            long ready = sizeOrZero(redisTemplate.opsForSet().size(readyKey(roadmapId)));
+            return Optional.of(percent(Math.min(ready, total), total));
+        } catch (Exception e) {
+            log.warn("학습지 진행률 조회 실패, DB 에서 계산합니다. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 카운터 삭제. 트랜잭션 안이면 커밋 직후에 한 번 더 지워, 커밋 전에 옛 데이터로 다시 채워진 카운터도 제거한다.
+     */
+    public void evict(Long roadmapId) {
+        if (roadmapId == null) {
+            return;
+        }
+        delete(roadmapId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete(roadmapId);
+                }
+            });
+        }
+    }
+
+    private void delete(Long roadmapId) {
+        try {
+            redisTemplate.delete(List.of(totalKey(roadmapId), readyKey(roadmapId)));
+        } catch (Exception e) {
+            log.warn("학습지 진행률 삭제 실패. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
+        }
+    }
+
+    private void addReady(Long roadmapId, Collection<Long> dailyPlanIds) {
+        if (dailyPlanIds.isEmpty()) {
+            return;
+        }
+        String key = readyKey(roadmapId);
+        redisTemplate.opsForSet().add(key, dailyPlanIds.stream().map(String::valueOf).toArray(String[]::new));
+        redisTemplate.expire(key, ttl);
+    }
+
+    private static String totalKey(Long roadmapId) {
+        return KEY_PREFIX + roadmapId + ":total";
+    }
+
+    private static String readyKey(Long roadmapId) {
+        return KEY_PREFIX + roadmapId + ":ready";
+    }
+
+    private static long sizeOrZero(Long size) {
+        return size != null ? size : 0;
+    }
+
+    private static long percent(long ready, long total) {
+        return total == 0 ? 0 : ready * 100 / total;
+    }
+}
@@ -1,32 +1,37 @@
 package com.study.moya.ai_roadmap.service;
 
+import com.study.moya.ai_roadmap.client.ChatCompletionGateway;
+import com.study.moya.ai_roadmap.client.ChatCompletionRetrier;
+import com.study.moya.ai_roadmap.client.OpenAiRateLimiter;
 import com.study.moya.ai_roadmap.domain.DailyPlan;
 import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
 import com.study.moya.ai_roadmap.repository.DailyPlanRepository;
+import com.study.moya.ai_roadmap.repository.RoadMapRepository;
 import com.study.moya.ai_roadmap.util.WorksheetResponseParser;
-import com.study.moya.token.domain.enums.TicketType;
-import com.study.moya.token.dto.ticket.reponse.TicketUsageResponse;
-import com.study.moya.token.service.ticket.TicketFacadeService;
 import com.theokanning.openai.Usage;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatCompletionResult;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.completion.chat.ChatMessageRole;
-import com.theokanning.openai.service.OpenAiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @Service
@@ -36,144 +41,247 @@ public class WorksheetService {
     @Value("${openai.api.models.worksheet_generation.model}")
     private String worksheetModel;
 
-    private static final int MAX_RETRIES = 3;  // 최대 재시도 횟수
-    private static final long DELAY_MS = 1000;  // 재시도 간 대기 시간 (1초)
-
-    private final OpenAiService openAiService;
+    private final ChatCompletionGateway chatCompletionGateway;
+    private final ChatCompletionRetrier chatCompletionRetrier;
     private final WorksheetPromptService promptService;
     private final WorksheetResponseParser worksheetResponseParser;
     private final DailyPlanRepository dailyPlanRepository;
-    private final TicketFacadeService ticketFacadeService;
-    @Qualifier("taskExecutor")
-    private final ThreadPoolTaskExecutor taskExecutor;
-
-    @Async("taskExecutor")
-    @Transactional
-    public CompletableFuture<Void> generateAllWorksheets(Long roadmapId, WorkSheetRequest request, Long memberId) {
-        log.info("로드맵 ID: {}의 전체 학습지 생성 시작, 회원 ID: {}", roadmapId, memberId);
-        log.info("현재 스레드: {}, 활성 스레드 수: {}, 풀 크기: {}",
-                Thread.currentThread().getName(), taskExecutor.getActiveCount(), taskExecutor.getPoolSize());
-
-        // 학습지 티켓 확인 및 사용
-        Long usageId = null;
-        try {
-            if (!ticketFacadeService.hasTicket(memberId, TicketType.WORKSHEET_TICKET)) {
-                throw new RuntimeException("워크시트 티켓이 부족합니다");
-            }
-
-            TicketUsageResponse ticketResponse = ticketFacadeService.useTicket(memberId, TicketType.WORKSHEET_TICKET);
-            usageId = ticketResponse.getId();
-            log.info("워크시트 티켓 사용 완료. 사용 ID: {}", usageId);
+    private final RoadmapSnapshotStore snapshotStore;
+    private final WorksheetBatchPlanner batchPlanner;
+    private final WorksheetProgressTracker progressTracker;
+    private final WorksheetLibrary worksheetLibrary;
+    private final RoadMapRepository roadMapRepository;
+    private final WorksheetPrefetchStore prefetchStore;
+    private final OpenAiRateLimiter rateLimiter;
+    private final WorksheetFairScheduler fairScheduler;
+    @Qualifier("worksheetPrefetchExecutor")
+    private final ThreadPoolTaskExecutor worksheetPrefetchExecutor;
+
+    @Value("${worksheet.prefetch.days:3}")
+    private int prefetchDays;
+
+    @Value("${worksheet.prefetch.min-headroom:0.5}")
+    private double prefetchMinHeadroom;
+
+    @Value("${worksheet.on-demand.enabled:false}")
+    private boolean onDemandEnabled;
+
+    @Value("${worksheet.on-demand.initial-days:7}")
+    private int onDemandInitialDays;
+
+    /**
+     * 작업 큐에서 호출하는 동기 학습지 생성. 아직 학습지가 없는 일차만 생성하므로 재시도 시 완료된 일차는 다시 만들지 않는다.
+     * 한 그룹이라도 실패하면 예외를 던져 작업이 백오프 후 재시도되도록 한다. (티켓 처리는 호출자 담당)
+     * 그룹이 저장될 때마다 checkpoint 에 알려, 재시작 후 이어서 처리하거나 최종 실패 시 재개 여부를 판단할 수 있게 한다.
+     *
+     * @return 요청 시 생성 모드에서 이번에 만들지 않고 일차를 열 때 생성하도록 남긴 일차 수 (그 외에는 0)
+     */
+    public int generatePendingWorksheets(Long roadmapId, WorkSheetRequest request, WorksheetFairScheduler.Flow flow,
+                                          WorksheetCheckpoint checkpoint) {
+        List<DailyPlan> pendingPlans = dailyPlanRepository.findAllWithoutWorksheetByRoadmapId(roadmapId);
+        log.info("로드맵 ID: {}의 미생성 학습지 {}건 생성 시작", roadmapId, pendingPlans.size());
+        progressTracker.seed(roadmapId, dailyPlanRepository.countTotalDailyPlans(roadmapId),
+                dailyPlanRepository.findReadyWorksheetIds(roadmapId));
+        int onDemandDays = 0;
+        if (onDemandEnabled && pendingPlans.size() > onDemandInitialDays) {
+            // 요청 시 생성 모드: 앞쪽 일차만 만들고 나머지는 일차를 열 때 WorksheetOnDemandGenerator 가 생성
+            onDemandDays = pendingPlans.size() - onDemandInitialDays;
+            pendingPlans = pendingPlans.subList(0, onDemandInitialDays);
+            log.info("요청 시 생성 모드, 로드맵 ID: {}의 앞쪽 {}건만 생성하고 {}건은 요청 시 생성", roadmapId, pendingPlans.size(), onDemandDays);
+        }
+        checkpoint.started(pendingPlans.size());
+
+        int goalLevel = roadMapRepository.findGoalLevelById(roadmapId).orElse(0);
+        List<DailyPlan> missingPlans = fillFromStored(roadmapId, pendingPlans, request, goalLevel, checkpoint,
+                prefetchStore.claim(roadmapId));
+        if (missingPlans.isEmpty()) {
+            log.info("로드맵 ID: {}의 미생성 학습지를 모두 미리 생성분/라이브러리에서 채웠습니다", roadmapId);
+            return onDemandDays;
+        }
 
-        } catch (Exception e) {
-            log.error("티켓 확인/사용 실패: {}", e.getMessage());
-            CompletableFuture<Void> failedFuture = new CompletableFuture<>();
-            failedFuture.completeExceptionally(new RuntimeException("워크시트 티켓이 부족합니다", e));
-            return failedFuture;
+        // 같은 그룹 안에서 일차 번호가 겹치지 않도록 주차별로 나눈 뒤 그룹화
+        Map<Long, List<DailyPlan>> plansByWeek = new LinkedHashMap<>();
+        for (DailyPlan plan : missingPlans) {
+            plansByWeek.computeIfAbsent(plan.getWeeklyPlan().getId(), k -> new ArrayList<>()).add(plan);
         }
 
+        // 그룹 크기와 동시 호출 수는 토큰 예산과 제한기 여유에 맞춰 결정하고, 그룹은 다른 작업과 공정 대기열에서 번갈아 실행
+        WorksheetBatchPlan batchPlan = batchPlanner.plan(plansByWeek.values().stream().map(List::size).toList());
+        throwIfCancelled(checkpoint);
         try {
-            List<DailyPlan> allDailyPlans = dailyPlanRepository.findAllByWeeklyPlan_RoadMap_IdOrderByDayNumber(roadmapId);
-            List<List<DailyPlan>> groupedPlans = splitIntoGroups(allDailyPlans, 3);
-
-            List<CompletableFuture<Void>> futures = new ArrayList<>();
-
-            for (List<DailyPlan> planGroup : groupedPlans) {
-                CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                    log.info("그룹 처리 시작 - 스레드: {}, 일차: {} ~ {}",
-                            Thread.currentThread().getName(),
-                            planGroup.getFirst().getDayNumber(),
-                            planGroup.getLast().getDayNumber());
-
-                    try {
-                        generateWorksheetForGroup(planGroup, request);
-                    } catch (Exception e) {
-                        log.error("그룹 학습지 생성 중 오류: {}일차 그룹, 오류: {}",
-                                planGroup.getFirst().getDayNumber(), e.getMessage(), e);
-                    }
+            fairScheduler.submit(flow, batchPlan.split(plansByWeek.values()),
+                    group -> generateWorksheetForGroup(roadmapId, group, request, goalLevel, batchPlan.maxTokens(), checkpoint),
+                    batchPlan.inFlight()).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        log.info("로드맵 ID: {}의 미생성 학습지 생성 완료", roadmapId);
+        return onDemandDays;
+    }
 
-                    log.info("그룹 처리 완료 - 스레드: {}", Thread.currentThread().getName());
-                }, taskExecutor); // 중요: 동일한 taskExecutor 사용
+    /**
+     * 미리 생성해 둔 일차와 라이브러리에 있는 일차를 먼저 채우고 모델로 생성해야 하는 일차만 반환
+     */
+    private List<DailyPlan> fillFromStored(Long roadmapId, List<DailyPlan> pendingPlans, WorkSheetRequest request,
+                                           int goalLevel, WorksheetCheckpoint checkpoint, Map<Long, String> prefetched) {
+        Map<Long, String> storedWorksheets = new HashMap<>(prefetched);
+        List<DailyPlan> notPrefetched = pendingPlans.stream()
+                .filter(plan -> !storedWorksheets.containsKey(plan.getId()))
+                .toList();
+        storedWorksheets.putAll(worksheetLibrary.lookup(notPrefetched, request, goalLevel));
+        if (storedWorksheets.isEmpty()) {
+            return pendingPlans;
+        }
 
-                futures.add(future);
+        List<DailyPlan> filledPlans = new ArrayList<>();
+        List<DailyPlan> missingPlans = new ArrayList<>();
+        for (DailyPlan plan : pendingPlans) {
+            String worksheet = storedWorksheets.get(plan.getId());
+            if (worksheet != null) {
+                plan.updateWorkSheet(worksheet);
+                filledPlans.add(plan);
+            } else {
+                missingPlans.add(plan);
             }
+        }
+        dailyPlanRepository.saveAll(filledPlans);
+        snapshotStore.evict(roadmapId);
+        checkpoint.groupSaved(filledPlans.size());
+        progressTracker.onGroupCompleted(roadmapId, filledPlans);
+        log.info("로드맵 ID: {}의 학습지 {}건을 미리 생성분/라이브러리에서 재사용, 생성 대상 {}건", roadmapId, filledPlans.size(), missingPlans.size());
+        return missingPlans;
+    }
 
-            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-        } catch (Exception e) {
-            log.error("학습지 생성 준비 중 오류: {}", e.getMessage(), e);
-            CompletableFuture<Void> failedFuture = new CompletableFuture<>();
-            failedFuture.completeExceptionally(e);
-            return failedFuture;
+    /**
+     * 요청 시 생성: 넘겨받은 일차만 생성한다. (같은 주차의 일차만 넘길 것, 라이브러리에 있으면 모델을 호출하지 않음)
+     * 일차를 조회한 뒤 다른 요청이나 작업이 먼저 채웠을 수 있으므로 아직 비어 있는 일차만 다시 골라 생성한다.
+     * 그룹은 공정 대기열에 우선순위 높은 흐름으로 넣고, 모두 저장되면 완료되는 future 를 반환한다.
+     */
+    public CompletableFuture<Void> generateDays(Long roadmapId, List<DailyPlan> plans, WorkSheetRequest request,
+                                                WorksheetFairScheduler.Flow flow) {
+        Set<Long> stillEmpty = new HashSet<>(dailyPlanRepository.findIdsWithoutWorksheet(
+                plans.stream().map(DailyPlan::getId).toList()));
+        List<DailyPlan> pendingPlans = plans.stream().filter(plan -> stillEmpty.contains(plan.getId())).toList();
+        if (pendingPlans.size() < plans.size()) {
+            log.info("로드맵 ID: {}의 요청 시 생성 대상 {}건 중 {}건은 이미 채워져 건너뜁니다",
+                    roadmapId, plans.size(), plans.size() - pendingPlans.size());
+        }
+        if (pendingPlans.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int goalLevel = roadMapRepository.findGoalLevelById(roadmapId).orElse(0);
+        List<DailyPlan> missingPlans = fillFromStored(roadmapId, pendingPlans, request, goalLevel, WorksheetCheckpoint.NONE, Map.of());
+        if (missingPlans.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        WorksheetBatchPlan batchPlan = batchPlanner.plan(List.of(missingPlans.size()));
+        return fairScheduler.submit(flow,
+                batchPlan.split(List.of(missingPlans)),
+                group -> generateWorksheetForGroup(roadmapId, group, request, goalLevel, batchPlan.maxTokens(), WorksheetCheckpoint.NONE),
+                batchPlan.inFlight());
+    }
+
+    /**
+     * 로드맵 저장 직후 첫 주 앞쪽 일차의 학습지를 낮은 우선순위로 미리 생성해 둔다. (티켓 없이 실행, 실패해도 무시)
+     * 사용자가 학습지 생성을 요청하면 generatePendingWorksheets 가 결과를 가져가 해당 일차는 다시 만들지 않는다.
+     */
+    public void prefetchFirstDays(Long roadmapId, WorkSheetRequest request) {
+        if (!prefetchStore.isEnabled() || prefetchDays <= 0) {
+            return;
+        }
+        try {
+            prefetchStore.track(roadmapId, CompletableFuture.runAsync(
+                    () -> prefetch(roadmapId, request), worksheetPrefetchExecutor));
+        } catch (RejectedExecutionException e) {
+            log.debug("학습지 미리 생성 대기열이 가득 차 건너뜁니다. 로드맵 ID: {}", roadmapId);
         }
     }
 
-    private List<List<DailyPlan>> splitIntoGroups(List<DailyPlan> allPlans, int groupSize) {
-        List<List<DailyPlan>> groups = new ArrayList<>();
-        for (int i = 0; i < allPlans.size(); i += groupSize) {
-            int end = Math.min(i + groupSize, allPlans.size());
-            groups.add(allPlans.subList(i, end));
+    private void prefetch(Long roadmapId, WorkSheetRequest request) {
+        // 사용자 요청이 쓸 예산을 남겨 두도록 제한기 여유가 있을 때만 호출
+        if (rateLimiter.tokenHeadroom() < prefetchMinHeadroom) {
+            log.debug("제한기 여유 부족으로 학습지 미리 생성을 건너뜁니다. 로드맵 ID: {}", roadmapId);
+            return;
+        }
+        try {
+            List<DailyPlan> pendingPlans = dailyPlanRepository.findAllWithoutWorksheetByRoadmapId(roadmapId);
+            if (pendingPlans.isEmpty()) {
+                return;
+            }
+            Long firstWeekId = pendingPlans.getFirst().getWeeklyPlan().getId();
+            WorksheetBatchPlan batchPlan = batchPlanner.plan(List.of(Math.min(prefetchDays, pendingPlans.size())));
+            List<DailyPlan> plans = pendingPlans.stream()
+                    .filter(plan -> plan.getWeeklyPlan().getId().equals(firstWeekId))
+                    .limit(Math.min(prefetchDays, batchPlan.groupSize()))
+                    .toList();
+
+            ChatCompletionResult chatCompletion = chatCompletionGateway.createChatCompletion(
+                    createCompletionRequest(promptService.createPrompt(plans, request), batchPlan.maxTokens()));
+            Map<Integer, String> dayWorksheets = worksheetResponseParser.parseResponse(
+                    chatCompletion.getChoices().getFirst().getMessage().getContent());
+            logTokenUsage(chatCompletion.getUsage());
+
+            Map<Long, String> worksheets = new HashMap<>();
+            for (DailyPlan plan : plans) {
+                String worksheet = dayWorksheets.get(plan.getDayNumber());
+                if (worksheet != null) {
+                    worksheets.put(plan.getId(), worksheet);
+                }
+            }
+            prefetchStore.save(roadmapId, worksheets);
+            log.info("로드맵 ID: {}의 학습지 {}건 미리 생성 완료", roadmapId, worksheets.size());
+        } catch (Exception e) {
+            log.warn("학습지 미리 생성 실패, 요청 시 생성합니다. 로드맵 ID: {} ({})", roadmapId, e.getMessage());
         }
-        return groups;
     }
 
-    private void generateWorksheetForGroup(List<DailyPlan> planGroup, WorkSheetRequest request) {
+    private void generateWorksheetForGroup(Long roadmapId, List<DailyPlan> planGroup, WorkSheetRequest request, int goalLevel,
+                                           int maxTokens, WorksheetCheckpoint checkpoint) {
         String initialPrompt = promptService.createPrompt(planGroup, request);
-        Map<Integer, String> dayWorksheets = retryChatCompletion(initialPrompt, planGroup);
+        GeneratedGroup generated = retryChatCompletion(initialPrompt, planGroup, maxTokens, checkpoint);
+        Map<Integer, String> dayWorksheets = generated.dayWorksheets();
+        throwIfCancelled(checkpoint); // 응답을 받는 사이 취소됐으면 저장하지 않음 (로드맵 삭제 후 쓰기 방지)
 
         updateDailyPlansWithWorksheet(planGroup, dayWorksheets);
+        snapshotStore.evict(roadmapId);
+        List<DailyPlan> savedPlans = planGroup.stream()
+                .filter(plan -> dayWorksheets.containsKey(plan.getDayNumber()))
+                .toList();
+        checkpoint.groupSaved(savedPlans.size());
+        progressTracker.onGroupCompleted(roadmapId, savedPlans);
+        worksheetLibrary.store(savedPlans, dayWorksheets, request, goalLevel,
+                generated.completionTokens() / Math.max(1, dayWorksheets.size()));
         log.info("학습지 생성 완료 - {} ~ {}일차", planGroup.getFirst().getDayNumber(), planGroup.getLast().getDayNumber());
     }
 
-    private Map<Integer, String> retryChatCompletion(String prompt, List<DailyPlan> planGroup) {
-        AtomicInteger retryCount = new AtomicInteger(0);
-
-        while (retryCount.get() < MAX_RETRIES) {
-            try {
-                ChatCompletionResult chatCompletion = createChatCompletion(prompt, planGroup, retryCount.get() + 1);
-                String worksheetContent = chatCompletion.getChoices().getFirst().getMessage().getContent();
-                Map<Integer, String> dayWorksheets = worksheetResponseParser.parseResponse(worksheetContent);
-
-                if (!dayWorksheets.isEmpty()) {
-                    log.info("=======================토큰 생성 {}일 ~ {}일 ====================================", planGroup.getFirst().getDayNumber(), planGroup.getLast().getDayNumber());
-                    logTokenUsage(chatCompletion.getUsage());
-                    return dayWorksheets;
-                }
+    private GeneratedGroup retryChatCompletion(String prompt, List<DailyPlan> planGroup, int maxTokens,
+                                               WorksheetCheckpoint checkpoint) {
+        String target = "학습지 " + planGroup.getFirst().getDayNumber() + " ~ " + planGroup.getLast().getDayNumber() + "일차";
+        return chatCompletionRetrier.execute(createCompletionRequest(prompt, maxTokens), chatCompletion -> {
+            Map<Integer, String> dayWorksheets = worksheetResponseParser.parseResponse(
+                    chatCompletion.getChoices().getFirst().getMessage().getContent());
+            if (dayWorksheets.isEmpty()) {
                 throw new IllegalStateException("파싱된 학습 가이드가 없습니다.");
-
-            } catch (Exception e) {
-                int attempts = retryCount.incrementAndGet();
-                if (attempts >= MAX_RETRIES) {
-                    log.error("최대 재시도 횟수({}) 초과, 학습지 생성 실패 - {} ~ {}일차: {}",
-                            MAX_RETRIES, planGroup.getFirst().getDayNumber(), planGroup.getLast().getDayNumber(), e.getMessage());
-                    throw new RuntimeException("학습지 생성 실패: 최대 재시도 초과", e);
-                }
-                log.warn("학습지 생성 실패, 재시도 {}회 시도 - {} ~ {}일차: {}",
-                        attempts, planGroup.getFirst().getDayNumber(), planGroup.getLast().getDayNumber(), e.getMessage());
-                try {
-                    Thread.sleep(DELAY_MS * attempts); // 지수 백오프
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("재시도 대기 중 인터럽트 발생", ie);
-                }
             }
-        }
-        throw new RuntimeException("학습지 생성 실패: 알 수 없는 오류");
+            Usage usage = chatCompletion.getUsage();
+            logTokenUsage(usage);
+            return new GeneratedGroup(dayWorksheets, usage != null ? (int) usage.getCompletionTokens() : 0);
+        }, checkpoint::isCancelled, target);
     }
 
-    private ChatCompletionResult createChatCompletion(String prompt, List<DailyPlan> planGroup, int attempt) {
-
-        log.info("학습지 생성 API 호출 시작 - {} ~ {}일차, 시도 횟수: {}",
-                planGroup.getFirst().getDayNumber(), planGroup.getLast().getDayNumber(), attempt);
-
+    private void throwIfCancelled(WorksheetCheckpoint checkpoint) {
+        if (checkpoint.isCancelled()) {
+            throw new CancellationException("학습지 생성 작업이 취소되었습니다");
+        }
+    }
 
-        ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
+    private ChatCompletionRequest createCompletionRequest(String prompt, int maxTokens) {
+        return ChatCompletionRequest.builder()
                 .model(worksheetModel)
                 .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), prompt)))
                 .temperature(0.7)
-                .maxTokens(2500)
+                .maxTokens(maxTokens)
                 .build();
-
-        return openAiService.createChatCompletion(completionRequest);
     }
 
     protected void updateDailyPlansWithWorksheet(List<DailyPlan> plans, Map<Integer, String> dayWorksheets) {
@@ -200,10 +308,19 @@ public class WorksheetService {
         }
     }
 
+    private record GeneratedGroup(Map<Integer, String> dayWorksheets, int completionTokens) {
+    }
+
+    /**
+     * 진행률(%). 생성 중 갱신되는 카운터를 먼저 보고, 없을 때만 DB 에서 세어 카운터를 채운다.
+     */
     @Transactional(readOnly = true)
     public long getWorksheetProgress(Long roadmapId) {
-        long totalPlans = dailyPlanRepository.countTotalDailyPlans(roadmapId);
-        long pendingPlans = dailyPlanRepository.countPendingWorksheets(roadmapId);
-        return ((totalPlans - pendingPlans) * 100) / totalPlans;
+        return progressTracker.findProgress(roadmapId).orElseGet(() -> {
+            long totalPlans = dailyPlanRepository.countTotalDailyPlans(roadmapId);
+            List<Long> readyPlanIds = dailyPlanRepository.findReadyWorksheetIds(roadmapId);
+            progressTracker.seed(roadmapId, totalPlans, readyPlanIds);
+            return totalPlans == 0 ? 0 : Math.min(readyPlanIds.size(), totalPlans) * 100 / totalPlans;
+        });
     }
 }
\ No newline at end of file
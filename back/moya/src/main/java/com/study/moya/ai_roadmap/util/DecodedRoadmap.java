@@ -0,0 +1,19 @@
+package com.study.moya.ai_roadmap.util;
+
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import java.util.List;
+
+/**
+ * 잘린 응답까지 허용하는 로드맵 디코딩 결과
+ *
+ * @param response     닫힌 주차만 담은 응답 (잘린 경우 팁/평가가 비어 있을 수 있음)
+ * @param truncated    응답 도중 JSON 이 끊겼는지 여부
+ * @param missingWeeks 기대 주차 중 응답에 없는 주차 번호 (오름차순)
+ */
+public record DecodedRoadmap(WeeklyRoadmapResponse response, boolean truncated, List<Integer> missingWeeks) {
+
+    public boolean isComplete() {
+        return !truncated && missingWeeks.isEmpty()
+                && response.getCurriculumEvaluation() != null && response.getHasRestrictedTopics() != null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.study.moya.ai_roadmap.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * 퀴즈 생성 응답 파싱. 응답은 === ITEM {번호} === 로 일차를 구분하고, 그 아래에 Q: / A: 줄이 번갈아 온다.
+ * 여러 줄에 걸친 문제/정답은 이어 붙이고, 짝이 맞지 않는 문항은 버린다.
+ */
+@Slf4j
+@Service
+public class QuizResponseParser {
+
+    public static final int MAX_LENGTH = 500;  // quizzes.question / answer 컬럼 길이
+
+    private static final Pattern ITEM_HEADER = Pattern.compile("^=+\\s*ITEM\\s*(\\d+)\\s*=+$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FIELD = Pattern.compile("^([QA])\\s*[:：]\\s*(.*)$", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * @return 항목 번호 -> 퀴즈 목록 (문항이 하나도 없는 항목은 포함하지 않음)
+     */
+    public Map<Integer, List<ParsedQuiz>> parseResponse(String apiResponse) {
+        Map<Integer, List<ParsedQuiz>> items = new LinkedHashMap<>();
+        if (apiResponse == null) {
+            return items;
+        }
+
+        Integer item = null;
+        StringBuilder question = null;
+        StringBuilder answer = null;
+        for (String rawLine : apiResponse.split("\\R")) {
+            String line = rawLine.strip();
+            if (line.isEmpty() || line.startsWith("```")) {
+                continue;
+            }
+
+            Matcher header = ITEM_HEADER.matcher(line);
+            if (header.matches()) {
+                add(items, item, question, answer);
+                item = Integer.valueOf(header.group(1));
+                question = null;
+                answer = null;
+                continue;
+            }
+            if (item == null) {
+                continue;
+            }
+
+            Matcher field = FIELD.matcher(line);
+            if (field.matches()) {
+                if (field.group(1).equalsIgnoreCase("Q")) {
+                    add(items, item, question, answer);
+                    question = new StringBuilder(field.group(2));
+                    answer = null;
+                } else if (question != null && answer == null) {
+                    answer = new StringBuilder(field.group(2));
+                }
+            } else if (answer != null) {
+                answer.append(' ').append(line);
+            } else if (question != null) {
+                question.append(' ').append(line);
+            }
+        }
+        add(items, item, question, answer);
+
+        if (items.isEmpty()) {
+            log.warn("퀴즈 응답에서 문항을 찾지 못했습니다: {}", apiResponse);
+        }
+        return items;
+    }
+
+    private void add(Map<Integer, List<ParsedQuiz>> items, Integer item, StringBuilder question, StringBuilder answer) {
+        if (item == null || question == null || answer == null) {
+            return;
+        }
+        String q = truncate(question.toString().strip());
+        String a = truncate(answer.toString().strip());
+        if (q.isEmpty() || a.isEmpty()) {
+            return;
+        }
+        items.computeIfAbsent(item, k -> new ArrayList<>()).add(new ParsedQuiz(q, a));
+    }
+
+    private String truncate(String value) {
+        return value.length() > MAX_LENGTH ? value.substring(0, MAX_LENGTH) : value;
+    }
+
+    public record ParsedQuiz(String question, String answer) {
+    }
+}
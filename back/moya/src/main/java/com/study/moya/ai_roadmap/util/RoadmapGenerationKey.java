@@ -0,0 +1,56 @@
+package com.study.moya.ai_roadmap.util;
+
+import com.study.moya.ai_roadmap.dto.request.RoadmapRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * 사실상 같은 로드맵을 만드는 요청을 하나로 묶기 위한 정규화된 생성 키.
+ * 공백/대소문자 차이만 있는 요청은 같은 키가 된다.
+ */
+public record RoadmapGenerationKey(
+        String mainCategory,
+        String subCategory,
+        String etc1,
+        String etc2,
+        String currentLevel,
+        int duration,
+        String learningObjective
+) {
+
+    public static RoadmapGenerationKey from(RoadmapRequest request) {
+        return new RoadmapGenerationKey(
+                normalize(request.getMainCategory()),
+                normalize(request.getSubCategory()),
+                normalize(request.getEtc1()),
+                normalize(request.getEtc2()),
+                normalize(request.getCurrentLevel()),
+                request.getDuration() != null ? request.getDuration() : 0,
+                normalize(request.getLearningObjective())
+        );
+    }
+
+    /**
+     * 인스턴스 간에 공유하는 캐시 키로 쓰는 SHA-256 해시
+     */
+    public String hash() {
+        String source = String.join("\n",
+                mainCategory, subCategory, etc1, etc2, currentLevel, Integer.toString(duration), learningObjective);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다", e);
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,11 +1,15 @@
 package com.study.moya.ai_roadmap.util;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -19,50 +23,224 @@ public class RoadmapResponseParser {
         this.objectMapper = objectMapper;
     }
 
+    /**
+     * 전체 응답 파싱. 응답이 잘렸거나 필수 필드가 없으면 실패한다.
+     */
     public WeeklyRoadmapResponse parseResponse(String apiResponse) {
+        DecodedRoadmap decoded;
         try {
-            JsonNode rootNode = objectMapper.readTree(apiResponse);
-
-            List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlans = parseWeeklyPlans(rootNode.get("weeklyPlans"));
-            List<String> overallTips = objectMapper.convertValue(
-                    rootNode.get("overallTips"),
-                    new TypeReference<>() {}
-            );
-            String curriculumEvaluation = rootNode.get("curriculumEvaluation").asText();
-            String hasRestrictedTopics = rootNode.get("hasRestrictedTopics").asText();
-
-            return new WeeklyRoadmapResponse(weeklyPlans, overallTips, curriculumEvaluation, hasRestrictedTopics);
+            decoded = decode(apiResponse, 0);
         } catch (Exception e) {
             log.error("Error parsing API response: {}", apiResponse, e);
             throw new RuntimeException("Failed to parse API response", e);
         }
+        WeeklyRoadmapResponse response = decoded.response();
+        if (decoded.truncated() || response.getWeeklyPlans() == null
+                || response.getCurriculumEvaluation() == null || response.getHasRestrictedTopics() == null) {
+            log.error("Error parsing API response (잘림 또는 필수 필드 누락): {}", apiResponse);
+            throw new RuntimeException("Failed to parse API response");
+        }
+        return response;
     }
 
-    private List<WeeklyRoadmapResponse.WeeklyPlan> parseWeeklyPlans(JsonNode weeklyPlansNode) {
-        List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlans = new ArrayList<>();
+    /**
+     * JsonParser 로 트리 없이 바로 응답 객체를 만든다. 응답이 중간에 끊기면 그때까지 닫힌 주차만 남기고,
+     * expectedWeeks(기간) 중 빠진 주차를 함께 알려 그 주차만 다시 생성할 수 있게 하고, 기간을 넘는 주차는 버린다.
+     * JSON 이 아예 시작되지 않는 등 복구할 것이 없으면 예외를 던진다.
+     */
+    public DecodedRoadmap decode(String apiResponse, int expectedWeeks) {
+        List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlans = null;
+        List<String> overallTips = null;
+        String curriculumEvaluation = null;
+        String hasRestrictedTopics = null;
+        boolean truncated = false;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(apiResponse)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("로드맵 응답이 JSON 객체가 아닙니다");
+            }
+            try {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "weeklyPlans" -> {
+                            weeklyPlans = new ArrayList<>();
+                            readWeeklyPlans(parser, weeklyPlans);
+                        }
+                        case "overallTips" -> overallTips = readStrings(parser);
+                        case "curriculumEvaluation" -> curriculumEvaluation = asText(parser);
+                        case "hasRestrictedTopics" -> hasRestrictedTopics = asText(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // 완성된 주차는 이미 목록에 들어가 있고, 끊긴 주차는 들어가지 않는다
+                truncated = true;
+                log.warn("로드맵 응답이 중간에 끊겼습니다. 복구한 주차: {} ({})",
+                        weeklyPlans == null ? 0 : weeklyPlans.size(), e.getOriginalMessage());
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("로드맵 응답을 읽을 수 없습니다", e);
+        }
 
-        for (JsonNode weeklyPlanNode : weeklyPlansNode) {
-            int week = weeklyPlanNode.get("week").asInt();
-            String weeklyKeyword = weeklyPlanNode.get("weeklyKeyword").asText();
-            List<WeeklyRoadmapResponse.DailyPlan> dailyPlans = parseDailyPlans(weeklyPlanNode.get("dailyPlans"));
+        if (weeklyPlans != null && expectedWeeks > 0) {
+            weeklyPlans = withinDuration(weeklyPlans, expectedWeeks);
+        }
+        WeeklyRoadmapResponse response = new WeeklyRoadmapResponse(
+                weeklyPlans, overallTips, curriculumEvaluation, hasRestrictedTopics);
+        return new DecodedRoadmap(response, truncated, missingWeeks(weeklyPlans, expectedWeeks));
+    }
+
+    /**
+     * 스트리밍 응답에서 완성된 주차를 하나씩 꺼내기 위한 파서 (요청마다 새로 생성)
+     */
+    public WeeklyPlanStreamParser newStreamParser() {
+        return new WeeklyPlanStreamParser(this);
+    }
 
-            weeklyPlans.add(new WeeklyRoadmapResponse.WeeklyPlan(week, weeklyKeyword, dailyPlans));
+    /**
+     * weeklyPlans 배열의 원소 하나(JSON 객체)를 파싱
+     */
+    public WeeklyRoadmapResponse.WeeklyPlan parseWeeklyPlan(String weeklyPlanJson) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(weeklyPlanJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("주차 계획이 JSON 객체가 아닙니다");
+            }
+            return readWeeklyPlan(parser);
+        } catch (Exception e) {
+            log.error("Error parsing weekly plan: {}", weeklyPlanJson, e);
+            throw new RuntimeException("Failed to parse weekly plan", e);
         }
+    }
 
-        return weeklyPlans;
+    private void readWeeklyPlans(JsonParser parser, List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlans) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                weeklyPlans.add(readWeeklyPlan(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
     }
 
-    private List<WeeklyRoadmapResponse.DailyPlan> parseDailyPlans(JsonNode dailyPlansNode) {
+    private WeeklyRoadmapResponse.WeeklyPlan readWeeklyPlan(JsonParser parser) throws IOException {
+        int week = 0;
+        String weeklyKeyword = null;
         List<WeeklyRoadmapResponse.DailyPlan> dailyPlans = new ArrayList<>();
 
-        for (JsonNode dailyPlanNode : dailyPlansNode) {
-            int day = dailyPlanNode.get("day").asInt();
-            String dailyKeyword = dailyPlanNode.get("dailyKeyword").asText();
-            String worksheet = dailyPlanNode.has("worksheet") ?
-                    dailyPlanNode.get("worksheet").asText("") : "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "week" -> week = asInt(parser);
+                case "weeklyKeyword" -> weeklyKeyword = asText(parser);
+                case "dailyPlans" -> readDailyPlans(parser, dailyPlans);
+                default -> parser.skipChildren();
+            }
+        }
+        return new WeeklyRoadmapResponse.WeeklyPlan(week, weeklyKeyword, dailyPlans);
+    }
+
+    private void readDailyPlans(JsonParser parser, List<WeeklyRoadmapResponse.DailyPlan> dailyPlans) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            int day = 0;
+            String dailyKeyword = null;
+            String worksheet = "";
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "day" -> day = asInt(parser);
+                    case "dailyKeyword" -> dailyKeyword = asText(parser);
+                    case "worksheet" -> worksheet = parser.currentToken() == JsonToken.VALUE_NULL ? "" : asText(parser);
+                    default -> parser.skipChildren();
+                }
+            }
             dailyPlans.add(new WeeklyRoadmapResponse.DailyPlan(day, dailyKeyword, worksheet));
         }
+    }
+
+    private List<String> readStrings(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(parser.currentToken() == JsonToken.VALUE_NULL ? null : asText(parser));
+        }
+        return values;
+    }
+
+    /**
+     * JsonNode.asText 와 같은 규칙 (스칼라는 문자열로, null 은 "null", 객체/배열은 "")
+     */
+    private static String asText(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return "null";
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return "";
+    }
+
+    private static int asInt(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return 0;
+        }
+        return parser.getValueAsInt();
+    }
 
-        return dailyPlans;
+    /**
+     * 기간을 벗어나거나 중복된 주차는 버린다 (같은 주차는 먼저 나온 것을 사용)
+     */
+    private static List<WeeklyRoadmapResponse.WeeklyPlan> withinDuration(List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlans,
+                                                                         int expectedWeeks) {
+        Set<Integer> seenWeeks = new HashSet<>();
+        List<WeeklyRoadmapResponse.WeeklyPlan> kept = new ArrayList<>(weeklyPlans.size());
+        for (WeeklyRoadmapResponse.WeeklyPlan weeklyPlan : weeklyPlans) {
+            int week = weeklyPlan.getWeek();
+            if (week >= 1 && week <= expectedWeeks && seenWeeks.add(week)) {
+                kept.add(weeklyPlan);
+            }
+        }
+        if (kept.size() < weeklyPlans.size()) {
+            log.warn("기간({}주)을 벗어나거나 중복된 주차 {}개를 버렸습니다", expectedWeeks, weeklyPlans.size() - kept.size());
+        }
+        return kept;
+    }
+
+    private static List<Integer> missingWeeks(List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlans, int expectedWeeks) {
+        Set<Integer> decodedWeeks = new HashSet<>();
+        if (weeklyPlans != null) {
+            weeklyPlans.forEach(weeklyPlan -> decodedWeeks.add(weeklyPlan.getWeek()));
+        }
+        List<Integer> missing = new ArrayList<>();
+        for (int week = 1; week <= expectedWeeks; week++) {
+            if (!decodedWeeks.contains(week)) {
+                missing.add(week);
+            }
+        }
+        return missing;
     }
-}
\ No newline at end of file
+}
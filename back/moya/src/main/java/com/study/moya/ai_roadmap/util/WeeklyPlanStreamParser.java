@@ -0,0 +1,106 @@
+package com.study.moya.ai_roadmap.util;
+
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OpenAI 스트리밍 응답을 조각 단위로 받아 weeklyPlans 배열의 원소가 닫히는 즉시 주차 계획으로 변환한다.
+ * 문자열 내부의 괄호는 무시하도록 따옴표/이스케이프 상태를 함께 추적한다.
+ * 상태를 가지므로 요청마다 {@link RoadmapResponseParser#newStreamParser()}로 새로 만들어 사용한다.
+ */
+public class WeeklyPlanStreamParser {
+
+    private static final String WEEKLY_PLANS_KEY = "\"weeklyPlans\"";
+
+    private final RoadmapResponseParser responseParser;
+    private final StringBuilder buffer = new StringBuilder();
+
+    private int scanIndex = 0;
+    private int depth = 0;
+    private int objectStart = -1;
+    private boolean inArray = false;
+    private boolean arrayClosed = false;
+    private boolean inString = false;
+    private boolean escaped = false;
+
+    WeeklyPlanStreamParser(RoadmapResponseParser responseParser) {
+        this.responseParser = responseParser;
+    }
+
+    /**
+     * 새 조각을 추가하고, 이번 조각으로 완성된 주차 계획 목록을 반환
+     */
+    public List<WeeklyRoadmapResponse.WeeklyPlan> feed(String chunk) {
+        List<WeeklyRoadmapResponse.WeeklyPlan> completed = new ArrayList<>();
+        if (chunk == null || chunk.isEmpty()) {
+            return completed;
+        }
+        buffer.append(chunk);
+
+        if (!inArray && !arrayClosed && !locateWeeklyPlansArray()) {
+            return completed;
+        }
+
+        while (inArray && scanIndex < buffer.length()) {
+            char c = buffer.charAt(scanIndex);
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                if (depth == 0 && c == '{') {
+                    objectStart = scanIndex;
+                }
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (depth == 0) {
+                    // weeklyPlans 배열 종료
+                    inArray = false;
+                    arrayClosed = true;
+                } else {
+                    depth--;
+                    if (depth == 0 && c == '}' && objectStart >= 0) {
+                        completed.add(responseParser.parseWeeklyPlan(buffer.substring(objectStart, scanIndex + 1)));
+                        objectStart = -1;
+                    }
+                }
+            }
+            scanIndex++;
+        }
+
+        return completed;
+    }
+
+    /**
+     * 스트림 종료 후 전체 응답을 기존 파서로 파싱 (팁, 평가 등 나머지 필드 포함)
+     */
+    public WeeklyRoadmapResponse finish() {
+        return responseParser.parseResponse(buffer.toString());
+    }
+
+    public String getContent() {
+        return buffer.toString();
+    }
+
+    private boolean locateWeeklyPlansArray() {
+        int keyIndex = buffer.indexOf(WEEKLY_PLANS_KEY);
+        if (keyIndex < 0) {
+            return false;
+        }
+        int arrayStart = buffer.indexOf("[", keyIndex + WEEKLY_PLANS_KEY.length());
+        if (arrayStart < 0) {
+            return false;
+        }
+        inArray = true;
+        scanIndex = arrayStart + 1;
+        return true;
+    }
+}
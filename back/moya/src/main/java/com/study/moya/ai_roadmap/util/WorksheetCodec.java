@@ -0,0 +1,116 @@
+package com.study.moya.ai_roadmap.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 학습지 본문 압축 코덱
+ * "Z1:" + Base64(raw deflate) 형식으로 저장하며, 마커가 없는 값은 압축 전 원문으로 그대로 읽는다.
+ * 컬럼이 문자열(TEXT)이라 바이너리를 그대로 넣을 수 없어 Base64 로 감싸고,
+ * 한글 UTF-8(글자당 3바이트) 본문은 이 비용을 감안해도 절반 가까이 줄어든다.
+ */
+public final class WorksheetCodec {
+
+    public static final String MARKER = "Z1:";
+
+    // 짧은 본문은 Base64 비용 때문에 오히려 커지므로 원문으로 둔다
+    private static final int MIN_LENGTH = 64;
+
+    /**
+     * 미리 채워 두는 압축 사전. 학습지 프롬프트가 요구하는 문장 구성에서 자주 나오는 표현을 모았다.
+     * Z1 로 저장된 행을 읽으려면 같은 사전이 필요하므로 절대 수정하지 말고, 바꿔야 하면 새 마커(Z2)를 추가한다.
+     */
+    private static final byte[] DICTIONARY = String.join(" ",
+            "학습 가이드", "학습 목표", "학습 내용", "핵심 개념", "기본 개념", "개념을 이해하고", "이해하는 것이 중요합니다.",
+            "중요합니다.", "필요합니다.", "있습니다.", "됩니다.", "합니다.", "해야 합니다.", "할 수 있습니다.",
+            "수 있습니다.", "것이 좋습니다.", "도움이 됩니다.", "주의해야 합니다.", "주의사항", "주의할 점은",
+            "실무에서", "실제 프로젝트에서", "실제 활용 방법", "활용할 수 있습니다.", "활용 사례", "실습 예제",
+            "예제를 통해", "예를 들어", "직접 구현해 보면서", "코드를 작성하", "작성해 보세요.", "연습해 보세요.",
+            "따라서", "또한", "특히", "그리고", "하지만", "이를 통해", "이러한", "이 과정에서", "다음과 같이",
+            "데이터베이스", "애플리케이션", "서버", "클라이언트", "프레임워크", "라이브러리", "설정", "성능",
+            "테스트", "배포", "보안", "구조", "방법", "사용", "기능", "처리", "관리", "설계", "구현", "개발",
+            "오늘은", "이번 일차에서는", "학습합니다.", "알아봅니다.", "살펴봅니다.", "익힙니다.",
+            "을 이해하고", "를 이해하고", "에 대해", "에 대한", "을 통해", "를 통해", "하는 방법을", "하는 것이",
+            "의 중요성", "중요성은", "핵심 학습 내용은", "학습 시 주의사항으로는")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private WorksheetCodec() {
+    }
+
+    public static boolean isEncoded(String value) {
+        return value != null && value.startsWith(MARKER);
+    }
+
+    /**
+     * 압축해서 더 작아질 때만 인코딩한다. 원문이 우연히 마커로 시작하면 원문으로 오해하지 않도록 항상 인코딩한다.
+     */
+    public static String encode(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        boolean ambiguous = isEncoded(text);
+        if (text.length() < MIN_LENGTH && !ambiguous) {
+            return text;
+        }
+
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        String encoded = MARKER + Base64.getEncoder().encodeToString(deflate(raw));
+        // 인코딩 결과는 ASCII 라 문자 수가 곧 바이트 수
+        if (!ambiguous && encoded.length() >= raw.length) {
+            return text;
+        }
+        return encoded;
+    }
+
+    public static String decode(String stored) {
+        if (!isEncoded(stored)) {
+            return stored;
+        }
+        byte[] compressed = Base64.getDecoder().decode(stored.substring(MARKER.length()));
+        return new String(inflate(compressed), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(DICTIONARY);
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("압축된 학습지 데이터가 손상되었습니다");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 학습지 데이터를 해제할 수 없습니다", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.study.moya.ai_roadmap.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.nio.charset.StandardCharsets;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * DailyPlan.workSheet 압축 저장 (worksheet.compression.enabled=false 면 새로 쓰는 값만 원문으로 저장하고, 압축된 행은 계속 읽는다)
+ * 원문/저장 바이트 수를 누적해 절감량(worksheet.codec.bytes{type=raw} - {type=stored})을 볼 수 있게 한다.
+ */
+@Component
+@Converter
+public class WorksheetConverter implements AttributeConverter<String, String> {
+
+    private final boolean enabled;
+    private final Timer encodeTimer;
+    private final Timer decodeTimer;
+    private final Counter rawBytes;
+    private final Counter storedBytes;
+
+    public WorksheetConverter(MeterRegistry meterRegistry,
+                              @Value("${worksheet.compression.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.encodeTimer = Timer.builder("worksheet.codec").tag("op", "encode").register(meterRegistry);
+        this.decodeTimer = Timer.builder("worksheet.codec").tag("op", "decode").register(meterRegistry);
+        this.rawBytes = Counter.builder("worksheet.codec.bytes").tag("type", "raw").baseUnit("bytes").register(meterRegistry);
+        this.storedBytes = Counter.builder("worksheet.codec.bytes").tag("type", "stored").baseUnit("bytes").register(meterRegistry);
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        if (attribute == null || attribute.isEmpty()) {
+            return attribute;
+        }
+        // 비활성화 상태에서도 마커로 시작하는 원문은 압축 값으로 오해받지 않도록 인코딩한다
+        if (!enabled && !WorksheetCodec.isEncoded(attribute)) {
+            return attribute;
+        }
+        String stored = encodeTimer.record(() -> WorksheetCodec.encode(attribute));
+        rawBytes.increment(attribute.getBytes(StandardCharsets.UTF_8).length);
+        storedBytes.increment(stored.getBytes(StandardCharsets.UTF_8).length);
+        return stored;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        if (!WorksheetCodec.isEncoded(dbData)) {
+            return dbData;
+        }
+        return decodeTimer.record(() -> WorksheetCodec.decode(dbData));
+    }
+}
@@ -0,0 +1,43 @@
+package com.study.moya.ai_roadmap.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 학습지 라이브러리 키. (대분류, 중분류, 키워드, 목표 수준)을 정규화한 뒤 SHA-256 으로 해싱한다.
+ * 같은 내용을 가리키는 표기 차이(전각/반각, 대소문자, 공백, 문장부호)는 같은 키가 되도록 한다.
+ */
+public final class WorksheetLibraryKey {
+
+    // 문자/숫자/공백과 기술 용어에 쓰이는 +, # 만 남긴다 (C++, C#)
+    private static final Pattern SYMBOLS = Pattern.compile("[^\\p{L}\\p{N}\\s+#]");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private WorksheetLibraryKey() {
+    }
+
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        normalized = SYMBOLS.matcher(normalized).replaceAll(" ");
+        return SPACES.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    public static String of(String mainCategory, String subCategory, String keyword, int goalLevel) {
+        String source = String.join("\n",
+                normalize(mainCategory), normalize(subCategory), normalize(keyword), Integer.toString(goalLevel));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다", e);
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.study.moya.ai_roadmap.util;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 학습지 응답을 한 번만 훑으며 정리와 일차 분리를 함께 처리하는 스캐너.
+ * 스트리밍 조각을 그대로 넣을 수 있고, 다음 "=== DAY" 구분자가 나타나는 즉시 앞 일차를 완성해 반환한다.
+ * <p>
+ * 결과는 기존 정규식 파서와 같도록 각 단계를 그 의미 그대로 옮겼다.
+ * <ol>
+ *     <li>같은 줄 안의 ``` ... ``` 제거 (줄을 넘는 코드 블록은 그대로)</li>
+ *     <li>"#+ " 제거 (위치 무관)</li>
+ *     <li>응답 맨 앞의 "- " / "* " 와 그 뒤 맨 앞의 "1. " 제거</li>
+ *     <li>"\n 공백* \n" 을 "\n" 하나로</li>
+ *     <li>앞뒤 공백 제거</li>
+ *     <li>"=== DAY n ===" 기준으로 일차 분리, 50자 이하 일차는 버림</li>
+ * </ol>
+ * 각 단계는 판단에 필요한 글자만 잠시 들고 있다가 다음 단계로 넘기므로 중간 결과 전체를 복사하지 않는다.
+ * 상태를 가지므로 요청마다 {@link WorksheetResponseParser#newStreamParser()}로 새로 만들어 사용한다.
+ */
+@Slf4j
+public class WorksheetStreamParser {
+
+    private static final int MIN_CONTENT_LENGTH = 50;
+    private static final int NO_MATCH = -1;
+    private static final int NEED_MORE = -2;
+
+    private enum Prefix { BULLET, NUMBER, PASS }
+
+    // 1단계: 코드 블록
+    private int pendingTicks = 0;
+    private StringBuilder fence = null;
+
+    // 2단계: 헤더 기호
+    private int pendingHashes = 0;
+
+    // 3단계: 맨 앞 불릿/번호
+    private Prefix prefix = Prefix.BULLET;
+    private final StringBuilder prefixBuffer = new StringBuilder();
+
+    // 4단계: 빈 줄
+    private StringBuilder blankRun = null;
+
+    // 5단계: 앞뒤 공백
+    private boolean leadingTrimmed = false;
+    private final StringBuilder trailingSpaces = new StringBuilder();
+
+    // 6단계: 일차 분리 (정리된 본문은 여기에 한 번만 쌓인다)
+    private final StringBuilder text = new StringBuilder();
+    private final Map<Integer, String> dayWorksheets = new HashMap<>();
+    private Map<Integer, String> completed = new LinkedHashMap<>();
+    private int scanIndex = 0;
+    private int contentStart = -1;
+    private int currentDay = 0;
+    private int digitStart = 0;
+    private int digitEnd = 0;
+    private boolean finished = false;
+
+    WorksheetStreamParser() {
+    }
+
+    /**
+     * 새 조각을 추가하고, 이번 조각으로 완성된 일차 학습지를 반환 (일차 -> 본문)
+     */
+    public Map<Integer, String> feed(String chunk) {
+        if (finished) {
+            throw new IllegalStateException("이미 종료된 파서입니다");
+        }
+        completed = new LinkedHashMap<>();
+        if (chunk == null || chunk.isEmpty()) {
+            return completed;
+        }
+        for (int i = 0; i < chunk.length(); i++) {
+            fence(chunk.charAt(i));
+        }
+        splitDays();
+        return completed;
+    }
+
+    /**
+     * 스트림 종료. 남은 글자를 모두 흘려보내고 마지막 일차까지 포함한 전체 결과를 반환
+     */
+    public Map<Integer, String> finish() {
+        if (!finished) {
+            flushFence();
+            flushHashes();
+            flushPrefix();
+            flushBlankRun();
+            finished = true;
+            completed = new LinkedHashMap<>();
+            splitDays();
+            if (contentStart >= 0) {
+                completeDay(contentStart, contentEnd());
+                contentStart = -1;
+            }
+        }
+        if (dayWorksheets.isEmpty()) {
+            throw new IllegalStateException("파싱된 학습 가이드가 없습니다. 원본 응답: " + text);
+        }
+        return dayWorksheets;
+    }
+
+    /**
+     * 정리된 본문 (지금까지 들어온 부분)
+     */
+    public String getContent() {
+        return text.toString();
+    }
+
+    // ---- 1단계: 같은 줄 안의 ``` ... ``` 제거 ----
+
+    private void fence(char c) {
+        if (fence != null) {
+            if (isLineTerminator(c)) {
+                // 같은 줄에서 닫히지 않으면 여는 기호부터 그대로 남는다
+                flushFence();
+                hash(c);
+                return;
+            }
+            fence.append(c);
+            int length = fence.length();
+            if (length >= 6 && fence.charAt(length - 1) == '`' && fence.charAt(length - 2) == '`'
+                    && fence.charAt(length - 3) == '`') {
+                fence = null;
+            }
+            return;
+        }
+
+        if (c == '`') {
+            if (pendingTicks == 2) {
+                pendingTicks = 0;
+                fence = new StringBuilder("```");
+            } else {
+                pendingTicks++;
+            }
+            return;
+        }
+        flushTicks();
+        hash(c);
+    }
+
+    private void flushTicks() {
+        for (; pendingTicks > 0; pendingTicks--) {
+            hash('`');
+        }
+    }
+
+    private void flushFence() {
+        if (fence != null) {
+            StringBuilder unclosed = fence;
+            fence = null;
+            for (int i = 0; i < unclosed.length(); i++) {
+                hash(unclosed.charAt(i));
+            }
+        }
+        flushTicks();
+    }
+
+    // ---- 2단계: "#+ " 제거 ----
+
+    private void hash(char c) {
+        if (c == '#') {
+            pendingHashes++;
+            return;
+        }
+        if (c == ' ' && pendingHashes > 0) {
+            pendingHashes = 0;
+            return;
+        }
+        flushHashes();
+        prefix(c);
+    }
+
+    private void flushHashes() {
+        for (; pendingHashes > 0; pendingHashes--) {
+            prefix('#');
+        }
+    }
+
+    // ---- 3단계: 응답 맨 앞의 불릿과 번호 제거 ----
+
+    private void prefix(char c) {
+        switch (prefix) {
+            case PASS -> collapse(c);
+            case BULLET -> bullet(c);
+            case NUMBER -> number(c);
+        }
+    }
+
+    private void bullet(char c) {
+        if (prefixBuffer.isEmpty()) {
+            if (c == '-' || c == '*') {
+                prefixBuffer.append(c);
+            } else {
+                prefix = Prefix.NUMBER;
+                number(c);
+            }
+            return;
+        }
+        prefix = Prefix.NUMBER;
+        if (c == ' ') {
+            prefixBuffer.setLength(0);
+            return;
+        }
+        char bullet = prefixBuffer.charAt(0);
+        prefixBuffer.setLength(0);
+        number(bullet);
+        prefix(c);
+    }
+
+    private void number(char c) {
+        int length = prefixBuffer.length();
+        boolean accepted;
+        if (length == 0 || isDigit(prefixBuffer.charAt(length - 1))) {
+            accepted = isDigit(c) || (length > 0 && c == '.');
+        } else {
+            // 숫자 뒤 '.' 다음에는 공백이 와야 한다
+            if (c == ' ') {
+                prefixBuffer.setLength(0);
+                prefix = Prefix.PASS;
+                return;
+            }
+            accepted = false;
+        }
+        if (accepted) {
+            prefixBuffer.append(c);
+            return;
+        }
+        prefix = Prefix.PASS;
+        flushPrefixBuffer();
+        collapse(c);
+    }
+
+    private void flushPrefix() {
+        if (prefix == Prefix.BULLET && !prefixBuffer.isEmpty()) {
+            char bullet = prefixBuffer.charAt(0);
+            prefixBuffer.setLength(0);
+            prefix = Prefix.NUMBER;
+            number(bullet);
+        }
+        prefix = Prefix.PASS;
+        flushPrefixBuffer();
+    }
+
+    private void flushPrefixBuffer() {
+        for (int i = 0; i < prefixBuffer.length(); i++) {
+            collapse(prefixBuffer.charAt(i));
+        }
+        prefixBuffer.setLength(0);
+    }
+
+    // ---- 4단계: "\n\s*\n" -> "\n" ----
+
+    private void collapse(char c) {
+        if (blankRun != null) {
+            if (isSpace(c)) {
+                blankRun.append(c);
+                return;
+            }
+            flushBlankRun();
+        }
+        if (c == '\n') {
+            blankRun = new StringBuilder().append(c);
+            return;
+        }
+        trim(c);
+    }
+
+    private void flushBlankRun() {
+        if (blankRun == null) {
+            return;
+        }
+        StringBuilder run = blankRun;
+        blankRun = null;
+        // 공백 구간의 마지막 줄바꿈까지를 줄바꿈 하나로 바꾸고, 그 뒤 공백은 남긴다
+        int lastNewline = run.lastIndexOf("\n");
+        int from = 0;
+        if (lastNewline > 0) {
+            trim('\n');
+            from = lastNewline + 1;
+        }
+        for (int i = from; i < run.length(); i++) {
+            trim(run.charAt(i));
+        }
+    }
+
+    // ---- 5단계: 앞뒤 공백 제거 (String.trim 과 같은 기준) ----
+
+    private void trim(char c) {
+        if (c <= ' ') {
+            if (leadingTrimmed) {
+                trailingSpaces.append(c);
+            }
+            return;
+        }
+        leadingTrimmed = true;
+        if (!trailingSpaces.isEmpty()) {
+            text.append(trailingSpaces);
+            trailingSpaces.setLength(0);
+        }
+        text.append(c);
+    }
+
+    // ---- 6단계: 일차 분리 ----
+
+    private void splitDays() {
+        int length = text.length();
+        while (scanIndex < length) {
+            if (contentStart < 0) {
+                int headerEnd = text.charAt(scanIndex) == '=' ? matchHeader(scanIndex) : NO_MATCH;
+                if (headerEnd == NEED_MORE) {
+                    return;
+                }
+                if (headerEnd == NO_MATCH) {
+                    scanIndex++;
+                    continue;
+                }
+                currentDay = Integer.parseInt(text, digitStart, digitEnd, 10);
+                contentStart = headerEnd;
+                scanIndex = headerEnd;
+            } else {
+                int boundaryEnd = text.charAt(scanIndex) == '=' ? matchBoundary(scanIndex) : NO_MATCH;
+                if (boundaryEnd == NEED_MORE) {
+                    return;
+                }
+                if (boundaryEnd == NO_MATCH) {
+                    scanIndex++;
+                    continue;
+                }
+                // 다음 탐색은 구분자 위치부터 (기존 정규식의 전방 탐색과 동일)
+                completeDay(contentStart, scanIndex);
+                contentStart = -1;
+            }
+        }
+    }
+
+    /**
+     * "===\s*DAY\s*(\d+)\s*===\s*" 일치 시 끝 위치
+     */
+    private int matchHeader(int start) {
+        int position = matchBoundary(start);
+        if (position < 0) {
+            return position;
+        }
+        position = skipSpaces(position);
+        if (position == text.length()) {
+            return finished ? NO_MATCH : NEED_MORE;
+        }
+        if (!isDigit(text.charAt(position))) {
+            return NO_MATCH;
+        }
+        digitStart = position;
+        while (position < text.length() && isDigit(text.charAt(position))) {
+            position++;
+        }
+        digitEnd = position;
+        position = skipSpaces(position);
+        position = matchLiteral(position, "===");
+        if (position < 0) {
+            return position;
+        }
+        position = skipSpaces(position);
+        if (position == text.length() && !finished) {
+            return NEED_MORE;
+        }
+        return position;
+    }
+
+    /**
+     * "===\s*DAY" 일치 시 끝 위치
+     */
+    private int matchBoundary(int start) {
+        int position = matchLiteral(start, "===");
+        if (position < 0) {
+            return position;
+        }
+        return matchLiteral(skipSpaces(position), "DAY");
+    }
+
+    private int matchLiteral(int position, String literal) {
+        for (int i = 0; i < literal.length(); i++, position++) {
+            if (position >= text.length()) {
+                return finished ? NO_MATCH : NEED_MORE;
+            }
+            if (text.charAt(position) != literal.charAt(i)) {
+                return NO_MATCH;
+            }
+        }
+        return position;
+    }
+
+    private int skipSpaces(int position) {
+        while (position < text.length() && isSpace(text.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * 마지막 일차의 끝. 기존 정규식의 $ 처럼 맨 끝의 줄 구분자 하나는 제외한다.
+     */
+    private int contentEnd() {
+        int end = text.length();
+        if (end > contentStart && isLineTerminator(text.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private void completeDay(int start, int end) {
+        String content = text.substring(start, end).trim();
+        if (content.length() > MIN_CONTENT_LENGTH) {
+            dayWorksheets.put(currentDay, content);
+            completed.put(currentDay, content);
+            log.debug("Day {} 학습 가이드 파싱 완료 (길이: {})", currentDay, content.length());
+        } else {
+            log.warn("Day {} 학습 가이드 내용이 너무 짧습니다: {}", currentDay, content);
+        }
+    }
+
+    // 정규식 \s (UNICODE_CHARACTER_CLASS 없이)
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // 정규식 \d (UNICODE_CHARACTER_CLASS 없이)
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // 정규식 . 이 건너지 못하는 줄 구분자
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
@@ -12,6 +12,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import javax.naming.AuthenticationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.BindException;
@@ -160,6 +161,19 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(baseException, details));
     }
 
+    /**
+     * 실행기 포화로 비동기 작업 제출이 거절된 경우 (재시도 가능한 503)
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    protected ResponseEntity<ApiResponse<Void>> handleTaskRejectedException(
+            TaskRejectedException e, HttpServletRequest request) {
+        BaseException baseException = BaseException.of(CommonErrorCode.SERVICE_UNAVAILABLE);
+
+        log.warn(ERROR_LOG_FORMAT, baseException.getStatus(), request.getRequestURI(), e.getMessage());
+        return ResponseEntity.status(baseException.getStatus())
+                .body(ApiResponse.error(baseException));
+    }
+
     /**
      * 예상하지 못한 예외 처리
      */
@@ -0,0 +1,47 @@
+package com.study.moya.global.api;
+
+import java.util.function.Supplier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * 조건부 GET 응답 생성
+ * 가벼운 버전 조회로 만든 {@link ResourceVersion} 이 요청의 If-None-Match / If-Modified-Since 와 맞으면
+ * 본문을 만들지 않고 바로 304 를 반환한다.
+ */
+public final class ConditionalResponses {
+
+    // no-store 면 브라우저가 응답을 저장하지 않아 재검증 요청 자체가 오지 않으므로 저장은 허용하고 매번 재검증시킨다
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    private ConditionalResponses() {
+    }
+
+    public static <T> ResponseEntity<T> ok(WebRequest request, ResourceVersion version, Supplier<T> body) {
+        return ok(request, version, null, body);
+    }
+
+    public static <T> ResponseEntity<T> ok(WebRequest request, ResourceVersion version, MediaType contentType,
+                                           Supplier<T> body) {
+        if (request.checkNotModified(version.etag(), version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(version.etag())
+                    .cacheControl(REVALIDATE)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(version.etag())
+                .cacheControl(REVALIDATE);
+        if (version.lastModified() >= 0) {
+            builder.lastModified(version.lastModified());
+        }
+        if (contentType != null) {
+            builder.contentType(contentType);
+        }
+        return builder.body(body.get());
+    }
+}
@@ -0,0 +1,19 @@
+package com.study.moya.global.api;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 조건부 GET 검증자 (ETag, Last-Modified)
+ * 응답이 여러 행을 모아 만들어지고 엔티티에 @Version 이 없으므로, 최종 수정 시각과 행 수로 약한(W/) ETag 를 만든다.
+ * 행 수를 함께 넣어 수정 시각이 바뀌지 않는 삭제도 반영한다.
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    public static ResourceVersion of(String name, LocalDateTime lastModified, long count) {
+        long millis = lastModified == null
+                ? -1
+                : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new ResourceVersion(String.format("W/\"%s-%x-%x\"", name, Math.max(millis, 0), count), millis);
+    }
+}
@@ -1,14 +1,28 @@
 package com.study.moya.global.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 public class AsyncConfig {
 
+    private final MeterRegistry meterRegistry;
+
     @Bean("taskExecutor")
     public ThreadPoolTaskExecutor taskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -16,7 +30,124 @@ public class AsyncConfig {
         executor.setMaxPoolSize(20);    // 최대 스레드 수: 코어 수의 2배
         executor.setQueueCapacity(100); // 큐 용량: 작업이 많을 경우 대기열에 쌓임
         executor.setThreadNamePrefix("AsyncThread-");
+        executor.setTaskDecorator(queueWaitRecorder("taskExecutor"));
+        executor.setRejectedExecutionHandler(countingRejections("taskExecutor", new ThreadPoolExecutor.AbortPolicy()));
+        executor.initialize();
+        bindMetrics(executor, "taskExecutor");
+        return executor;
+    }
+
+    /**
+     * 로드맵 생성 전용. 넘치면 즉시 거절한다. 티켓은 작업 안에서 사용하므로 거절된 요청은 티켓을 쓰지 않고,
+     * @Async 호출의 거절(TaskRejectedException)은 503 으로, 작업 큐 경로는 다시 대기 상태로 돌려 처리한다.
+     */
+    @Bean("roadmapExecutor")
+    public ThreadPoolTaskExecutor roadmapExecutor(
+            @Value("${executor.roadmap.concurrency:10}") int concurrency,
+            @Value("${executor.roadmap.queue-capacity:50}") int queueCapacity) {
+        return virtualThreadExecutor("roadmapExecutor", "Roadmap-", concurrency, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 학습지 그룹 생성 전용. 넘치면 제출한 스레드가 직접 실행해 자연스럽게 속도를 늦춘다.
+     */
+    @Bean("worksheetExecutor")
+    public ThreadPoolTaskExecutor worksheetExecutor(
+            @Value("${executor.worksheet.concurrency:12}") int concurrency,
+            @Value("${executor.worksheet.queue-capacity:200}") int queueCapacity) {
+        return virtualThreadExecutor("worksheetExecutor", "Worksheet-", concurrency, queueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 장기 로드맵 분할 생성의 세그먼트 호출 전용. roadmapExecutor 작업이 여기에 제출하고 기다리므로 같은 풀을 쓰면 교착될 수 있어 분리하고,
+     * 넘치면 제출한 스레드가 직접 실행한다.
+     */
+    @Bean("roadmapSegmentExecutor")
+    public ThreadPoolTaskExecutor roadmapSegmentExecutor(
+            @Value("${executor.roadmap-segment.concurrency:24}") int concurrency,
+            @Value("${executor.roadmap-segment.queue-capacity:100}") int queueCapacity) {
+        return virtualThreadExecutor("roadmapSegmentExecutor", "RoadmapSegment-", concurrency, queueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 로드맵 저장 직후 학습지 미리 생성 전용. 사용자 요청보다 뒤로 밀리도록 동시 실행 수를 작게 두고, 넘치면 거절해 건너뛴다.
+     */
+    @Bean("worksheetPrefetchExecutor")
+    public ThreadPoolTaskExecutor worksheetPrefetchExecutor(
+            @Value("${executor.worksheet-prefetch.concurrency:2}") int concurrency,
+            @Value("${executor.worksheet-prefetch.queue-capacity:20}") int queueCapacity) {
+        return virtualThreadExecutor("worksheetPrefetchExecutor", "WorksheetPrefetch-", concurrency, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 관리자 일괄 생성 전용. 사용자 요청과 자원을 나눠 쓰지 않도록 분리
+     */
+    @Bean("adminBatchExecutor")
+    public ThreadPoolTaskExecutor adminBatchExecutor(
+            @Value("${executor.admin-batch.concurrency:4}") int concurrency,
+            @Value("${executor.admin-batch.queue-capacity:200}") int queueCapacity) {
+        return virtualThreadExecutor("adminBatchExecutor", "AdminBatch-", concurrency, queueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * OpenAI 블로킹 I/O 용 가상 스레드 실행기. 동시 실행 수와 대기열은 고정 크기로 제한한다.
+     */
+    private ThreadPoolTaskExecutor virtualThreadExecutor(String name, String threadNamePrefix, int concurrency,
+                                                         int queueCapacity, RejectedExecutionHandler rejectionPolicy) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadFactory(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        executor.setTaskDecorator(queueWaitRecorder(name));
+        executor.setRejectedExecutionHandler(countingRejections(name, rejectionPolicy));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
         executor.initialize();
+        bindMetrics(executor, name);
         return executor;
     }
+
+    /**
+     * 대기열 길이, 활성 스레드 수, 완료 작업 수 등 (executor.* 메트릭)
+     */
+    private void bindMetrics(ThreadPoolTaskExecutor executor, String name) {
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), name, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * 제출 시점부터 실제 실행 시작까지의 대기 시간 기록
+     */
+    private TaskDecorator queueWaitRecorder(String name) {
+        Timer waitTimer = Timer.builder("executor.queue.wait")
+                .description("작업 제출부터 실행 시작까지 대기 시간")
+                .tag("name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        return runnable -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                runnable.run();
+            };
+        };
+    }
+
+    private RejectedExecutionHandler countingRejections(String name, RejectedExecutionHandler delegate) {
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("대기열 초과로 거절(또는 호출 스레드 실행)된 작업 수")
+                .tag("name", name)
+                .register(meterRegistry);
+
+        return (runnable, executor) -> {
+            rejected.increment();
+            delegate.rejectedExecution(runnable, executor);
+        };
+    }
 }
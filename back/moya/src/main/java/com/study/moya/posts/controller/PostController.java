@@ -1,6 +1,7 @@
 package com.study.moya.posts.controller;
 
 import com.study.moya.global.api.ApiResponse;
+import com.study.moya.global.api.ConditionalResponses;
 import com.study.moya.posts.dto.like.LikeResponse;
 import com.study.moya.posts.dto.post.*;
 import com.study.moya.posts.service.PostService;
@@ -12,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -96,9 +98,9 @@ public class PostController {
     }
 
     @GetMapping("/popular")
-    public ResponseEntity<ApiResponse<List<PopularListResponse>>> getPopularPosts() {
+    public ResponseEntity<ApiResponse<List<PopularListResponse>>> getPopularPosts(WebRequest webRequest) {
         log.info("인기 게시글 조회");
-        List<PopularListResponse> popularPosts = postService.getPopularPosts();
-        return ResponseEntity.ok(ApiResponse.of(popularPosts));
+        return ConditionalResponses.ok(webRequest, postService.getPopularPostsVersion(),
+                () -> ApiResponse.of(postService.getPopularPosts()));
     }
 }
\ No newline at end of file
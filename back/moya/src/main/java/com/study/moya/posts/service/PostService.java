@@ -3,6 +3,7 @@ package com.study.moya.posts.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.study.moya.global.api.ApiResponse;
+import com.study.moya.global.api.ResourceVersion;
 import com.study.moya.member.domain.Member;
 import com.study.moya.posts.domain.Comment;
 import com.study.moya.posts.domain.Like;
@@ -322,6 +323,17 @@ public class PostService {
         return new ArrayList<>(cachedPopularPosts);
     }
 
+    /**
+     * 인기 게시글 응답 검증자. 캐시를 새로 고친 시각으로 만들어 캐시가 유효한 동안은 DB 조회 없이 304 를 판단한다.
+     */
+    public ResourceVersion getPopularPostsVersion() {
+        if (isCacheExpired()) {
+            log.info("캐시가 만료되어 새로고침 실행");
+            refreshPopularPosts();
+        }
+        return ResourceVersion.of("popular-posts", lastUpdated, cachedPopularPosts.size());
+    }
+
     /**
      * 캐시 만료 여부 확인
      */
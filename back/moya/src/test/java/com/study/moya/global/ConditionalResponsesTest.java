@@ -0,0 +1,56 @@
+package com.study.moya.global;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.study.moya.global.api.ConditionalResponses;
+import com.study.moya.global.api.ResourceVersion;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class ConditionalResponsesTest {
+
+    private final ResourceVersion version = ResourceVersion.of("roadmap-1", LocalDateTime.of(2025, 3, 1, 12, 0), 84);
+
+    @Test
+    @DisplayName("ETag 가 일치하면 본문을 만들지 않고 304 를 반환한다")
+    void notModifiedSkipsBody() {
+        AtomicInteger loads = new AtomicInteger();
+        ResponseEntity<String> first = ConditionalResponses.ok(webRequest(null), version,
+                () -> "body-" + loads.incrementAndGet());
+
+        ResponseEntity<String> second = ConditionalResponses.ok(webRequest(first.getHeaders().getETag()), version,
+                () -> "body-" + loads.incrementAndGet());
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getHeaders().getETag()).startsWith("W/\"roadmap-1-");
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("행 수가 바뀌면 수정 시각이 같아도 다른 ETag 가 된다")
+    void countChangesEtag() {
+        ResourceVersion afterDelete = ResourceVersion.of("roadmap-1", LocalDateTime.of(2025, 3, 1, 12, 0), 83);
+
+        ResponseEntity<String> response = ConditionalResponses.ok(webRequest(version.etag()), afterDelete, () -> "body");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("body");
+    }
+
+    private ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/roadmap/myroadmaps/1");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,224 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.study.moya.ai_roadmap.client.ChatCompletionClient;
+import com.study.moya.ai_roadmap.client.ChatCompletionGateway;
+import com.study.moya.ai_roadmap.client.OpenAiRateLimiter;
+import com.study.moya.ai_roadmap.client.OpenAiUnavailableException;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.Flowable;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ChatCompletionGatewayTest {
+
+    private static final String PRIMARY = "gpt-4o-mini";
+    private static final String FALLBACK = "gpt-4o";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChatCompletionGateway gateway;
+
+    @AfterEach
+    void tearDown() {
+        if (gateway != null) {
+            gateway.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("장애로 실패하면 대체 모델로 다시 보내고, 모델 외의 요청 파라미터는 그대로 유지한다")
+    void fallsBackWithSameParameters() {
+        StubClient client = new StubClient(request -> {
+            if (PRIMARY.equals(request.getModel())) {
+                throw new RuntimeException("connection reset");
+            }
+            return result("대체 응답");
+        });
+        gateway = gateway(client, FALLBACK, false);
+        ChatCompletionRequest request = request();
+
+        ChatCompletionResult result = gateway.createChatCompletion(request);
+
+        assertThat(result.getChoices().get(0).getMessage().getContent()).isEqualTo("대체 응답");
+        assertThat(client.requests).extracting(ChatCompletionRequest::getModel).containsExactly(PRIMARY, FALLBACK);
+        ChatCompletionRequest fallback = client.requests.get(1);
+        assertThat(fallback).usingRecursiveComparison().ignoringFields("model").isEqualTo(request);
+        assertThat(request.getModel()).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    @DisplayName("서킷이 열리면 원래 모델은 호출하지 않고 바로 대체 모델로 보낸다")
+    void skipsPrimaryWhileCircuitOpen() {
+        StubClient client = new StubClient(request -> {
+            if (PRIMARY.equals(request.getModel())) {
+                throw new RuntimeException("read timed out");
+            }
+            return result("대체 응답");
+        });
+        gateway = gateway(client, FALLBACK, false);
+
+        gateway.createChatCompletion(request());
+        gateway.createChatCompletion(request());
+        client.requests.clear();
+        gateway.createChatCompletion(request());
+
+        assertThat(client.requests).extracting(ChatCompletionRequest::getModel).containsExactly(FALLBACK);
+    }
+
+    @Test
+    @DisplayName("대체 모델이 없으면 열린 서킷은 호출 없이 즉시 실패한다")
+    void failsFastWithoutFallback() {
+        StubClient client = new StubClient(request -> {
+            throw new RuntimeException("read timed out");
+        });
+        gateway = gateway(client, "", false);
+
+        assertThatThrownBy(() -> gateway.createChatCompletion(request())).hasMessage("read timed out");
+        assertThatThrownBy(() -> gateway.createChatCompletion(request())).hasMessage("read timed out");
+        client.requests.clear();
+
+        assertThatThrownBy(() -> gateway.createChatCompletion(request())).isInstanceOf(OpenAiUnavailableException.class);
+        assertThat(client.requests).isEmpty();
+    }
+
+    @Test
+    @DisplayName("인터럽트로 끊긴 I/O 오류는 서킷 장애로 집계하지 않는다")
+    void interruptedIoIsNotCountedAsFailure() {
+        StubClient client = new StubClient(request -> {
+            throw new RuntimeException(new InterruptedIOException("interrupted"));
+        });
+        gateway = gateway(client, "", false);
+
+        assertThatThrownBy(() -> gateway.createChatCompletion(request())).hasCauseInstanceOf(InterruptedIOException.class);
+        assertThatThrownBy(() -> gateway.createChatCompletion(request())).hasCauseInstanceOf(InterruptedIOException.class);
+        client.handler = request -> result("응답");
+
+        assertThat(gateway.createChatCompletion(request()).getChoices()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("취소로 인터럽트된 스레드의 오류는 종류와 관계없이 서킷 장애로 집계하지 않는다")
+    void errorWhileInterruptedIsNotCountedAsFailure() {
+        StubClient client = new StubClient(request -> {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Canceled");
+        });
+        gateway = gateway(client, "", false);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> gateway.createChatCompletion(request())).hasMessage("Canceled");
+            assertThat(Thread.interrupted()).isTrue();
+        }
+        client.handler = request -> result("응답");
+
+        assertThat(gateway.createChatCompletion(request()).getChoices()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("소켓 타임아웃은 장애로 집계해 서킷을 연다")
+    void socketTimeoutIsCountedAsFailure() {
+        StubClient client = new StubClient(request -> {
+            throw new RuntimeException(new SocketTimeoutException("timeout"));
+        });
+        gateway = gateway(client, "", false);
+
+        assertThatThrownBy(() -> gateway.createChatCompletion(request())).hasCauseInstanceOf(SocketTimeoutException.class);
+        assertThatThrownBy(() -> gateway.createChatCompletion(request())).hasCauseInstanceOf(SocketTimeoutException.class);
+
+        assertThatThrownBy(() -> gateway.createChatCompletion(request())).isInstanceOf(OpenAiUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("응답이 지연되면 헤지 요청의 응답을 사용하고 늦은 요청은 인터럽트로 중단한다")
+    void hedgesSlowCallAndInterruptsLoser() throws InterruptedException {
+        CountDownLatch slowCallInterrupted = new CountDownLatch(1);
+        StubClient client = new StubClient(request -> null);
+        client.handler = request -> {
+            if (client.requests.size() == 1) {
+                try {
+                    Thread.sleep(Duration.ofSeconds(30));
+                } catch (InterruptedException e) {
+                    slowCallInterrupted.countDown();
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("중단됨", e);
+                }
+            }
+            return result("헤지 응답");
+        };
+        gateway = gateway(client, "", true);
+
+        ChatCompletionResult result = gateway.createChatCompletion(request());
+
+        assertThat(result.getChoices().get(0).getMessage().getContent()).isEqualTo("헤지 응답");
+        assertThat(client.requests).hasSize(2);
+        assertThat(slowCallInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("openai.chat.hedge").tag("result", "won").counter().count()).isEqualTo(1);
+    }
+
+    private ChatCompletionGateway gateway(ChatCompletionClient client, String fallbackModel, boolean hedging) {
+        OpenAiRateLimiter rateLimiter = new OpenAiRateLimiter(meterRegistry, 10_000, 10_000_000, 1.0);
+        return new ChatCompletionGateway(client, rateLimiter, meterRegistry, fallbackModel,
+                2, 2, 0.5, Duration.ofMinutes(1), hedging, Duration.ofMillis(50), 0);
+    }
+
+    private static ChatCompletionRequest request() {
+        return ChatCompletionRequest.builder()
+                .model(PRIMARY)
+                .messages(List.of(new ChatMessage("system", "학습 로드맵 생성기"), new ChatMessage("user", "기간: 2주")))
+                .temperature(0.3)
+                .topP(0.9)
+                .maxTokens(1200)
+                .stop(List.of("=== END ==="))
+                .presencePenalty(0.1)
+                .frequencyPenalty(0.2)
+                .logitBias(Map.of("50256", -100))
+                .user("member-7")
+                .build();
+    }
+
+    private static ChatCompletionResult result(String content) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(new ChatMessage("assistant", content));
+        ChatCompletionResult result = new ChatCompletionResult();
+        result.setChoices(List.of(choice));
+        return result;
+    }
+
+    private static class StubClient implements ChatCompletionClient {
+
+        private final List<ChatCompletionRequest> requests = new CopyOnWriteArrayList<>();
+        private volatile Function<ChatCompletionRequest, ChatCompletionResult> handler;
+
+        StubClient(Function<ChatCompletionRequest, ChatCompletionResult> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public ChatCompletionResult createChatCompletion(ChatCompletionRequest request) {
+            requests.add(request);
+            return handler.apply(request);
+        }
+
+        @Override
+        public Flowable<ChatCompletionChunk> streamChatCompletion(ChatCompletionRequest request) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.study.moya.ai_roadmap.client.ChatCompletionGateway;
+import com.study.moya.ai_roadmap.client.ChatCompletionRetrier;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ChatCompletionRetrierTest {
+
+    private static final ChatCompletionRequest REQUEST = ChatCompletionRequest.builder()
+            .model("gpt-4o-mini")
+            .messages(List.of(new ChatMessage("user", "1일차 학습지")))
+            .build();
+    private static final Function<ChatCompletionResult, String> PARSER = result -> {
+        String content = result.getChoices().getFirst().getMessage().getContent();
+        if (content.isBlank()) {
+            throw new IllegalStateException("파싱된 학습 가이드가 없습니다.");
+        }
+        return content;
+    };
+
+    private final ChatCompletionGateway gateway = mock(ChatCompletionGateway.class);
+    private final ChatCompletionRetrier retrier = new ChatCompletionRetrier(gateway, 3);
+
+    @Test
+    @DisplayName("쓸 수 없는 응답은 다시 호출하고, 최대 시도 횟수를 넘기면 실패한다")
+    void retriesUnusableResponses() {
+        when(gateway.createChatCompletion(REQUEST)).thenReturn(result(""), result("학습지"));
+        assertThat(retrier.execute(REQUEST, PARSER, () -> false, "학습지 1 ~ 1일차")).isEqualTo("학습지");
+
+        when(gateway.createChatCompletion(REQUEST)).thenReturn(result(""));
+        assertThatThrownBy(() -> retrier.execute(REQUEST, PARSER, () -> false, "학습지 1 ~ 1일차"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("최대 시도 횟수 초과");
+        verify(gateway, times(5)).createChatCompletion(REQUEST);
+    }
+
+    @Test
+    @DisplayName("429 가 아닌 호출 오류는 게이트웨이가 이미 대체 모델까지 시도했으므로 다시 호출하지 않는다")
+    void failsFastOnCallError() {
+        when(gateway.createChatCompletion(REQUEST)).thenThrow(new RuntimeException("read timed out"));
+
+        assertThatThrownBy(() -> retrier.execute(REQUEST, PARSER, () -> false, "학습지 1 ~ 1일차"))
+                .hasMessage("read timed out");
+        verify(gateway, times(1)).createChatCompletion(REQUEST);
+    }
+
+    @Test
+    @DisplayName("취소된 작업은 호출하지 않는다")
+    void stopsWhenCancelled() {
+        assertThatThrownBy(() -> retrier.execute(REQUEST, PARSER, () -> true, "학습지 1 ~ 1일차"))
+                .isInstanceOf(CancellationException.class);
+        verify(gateway, never()).createChatCompletion(any());
+    }
+
+    private static ChatCompletionResult result(String content) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(new ChatMessage("assistant", content));
+        ChatCompletionResult result = new ChatCompletionResult();
+        result.setChoices(List.of(choice));
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.client.standin.ChatCompletionRecordStore;
+import com.study.moya.ai_roadmap.client.standin.RecordingChatCompletionClient;
+import com.study.moya.ai_roadmap.client.standin.ReplayChatCompletionClient;
+import com.study.moya.ai_roadmap.client.standin.StandInLatency;
+import com.study.moya.ai_roadmap.client.standin.SyntheticChatCompletionClient;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import com.study.moya.ai_roadmap.util.RoadmapResponseParser;
+import com.study.moya.ai_roadmap.util.WorksheetResponseParser;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ChatCompletionStandInTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StandInLatency noLatency = new StandInLatency("none", Duration.ZERO, Duration.ZERO, Duration.ZERO);
+    private final SyntheticChatCompletionClient synthetic = new SyntheticChatCompletionClient(objectMapper, noLatency);
+
+    @Test
+    @DisplayName("합성 로드맵 응답은 요청한 주차 수만큼 7일씩 파싱된다")
+    void syntheticRoadmapIsParsable() {
+        ChatCompletionRequest request = request("대분류: 개발\n중분류: Spring\n현재 수준: 1\n기간: 12주\n학습 목표: 취업");
+
+        WeeklyRoadmapResponse response = new RoadmapResponseParser(objectMapper)
+                .parseResponse(synthetic.createChatCompletion(request).getChoices().get(0).getMessage().getContent());
+
+        assertThat(response.getWeeklyPlans()).hasSize(12);
+        assertThat(response.getWeeklyPlans()).allSatisfy(week -> assertThat(week.getDailyPlans()).hasSize(7));
+    }
+
+    @Test
+    @DisplayName("합성 학습지 응답은 프롬프트의 모든 일차로 파싱되고 스트림을 이어 붙여도 같은 내용이다")
+    void syntheticWorksheetIsParsable() {
+        ChatCompletionRequest request = request("다음 키워드들에 대한 학습 가이드를 작성해주세요:\nDay 1: 변수\nDay 2: 반복문\nDay 3: 함수\n");
+
+        String content = synthetic.createChatCompletion(request).getChoices().get(0).getMessage().getContent();
+        Map<Integer, String> worksheets = new WorksheetResponseParser().parseResponse(content);
+        String streamed = String.join("", synthetic.streamChatCompletion(request)
+                .map(chunk -> chunk.getChoices().get(0).getMessage().getContent())
+                .toList()
+                .blockingGet());
+
+        assertThat(worksheets).containsOnlyKeys(1, 2, 3);
+        assertThat(streamed).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("기록한 응답은 같은 요청으로 재생된다")
+    void replaysRecordedResponse(@TempDir Path recordDir) {
+        ChatCompletionRecordStore store = new ChatCompletionRecordStore(recordDir, objectMapper);
+        ChatCompletionRequest request = request("대분류: 개발\n중분류: JPA\n기간: 2주");
+
+        ChatCompletionResult recorded = new RecordingChatCompletionClient(synthetic, store).createChatCompletion(request);
+        ChatCompletionResult replayed = new ReplayChatCompletionClient(store, noLatency, null).createChatCompletion(request);
+
+        assertThat(replayed.getChoices().get(0).getMessage().getContent())
+                .isEqualTo(recorded.getChoices().get(0).getMessage().getContent());
+        assertThat(replayed.getUsage().getTotalTokens()).isEqualTo(recorded.getUsage().getTotalTokens());
+    }
+
+    private ChatCompletionRequest request(String prompt) {
+        return ChatCompletionRequest.builder()
+                .model("gpt-4o-mini")
+                .messages(List.of(new ChatMessage("user", prompt)))
+                .temperature(0.7)
+                .maxTokens(2500)
+                .build();
+    }
+}
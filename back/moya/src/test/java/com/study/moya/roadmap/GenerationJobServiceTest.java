@@ -0,0 +1,397 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.constants.GenerationJobStatus;
+import com.study.moya.ai_roadmap.constants.GenerationJobType;
+import com.study.moya.ai_roadmap.domain.GenerationJob;
+import com.study.moya.ai_roadmap.exception.GenerationJobException;
+import com.study.moya.ai_roadmap.repository.DailyPlanRepository;
+import com.study.moya.ai_roadmap.repository.GenerationJobRepository;
+import com.study.moya.ai_roadmap.repository.RoadMapRepository;
+import com.study.moya.ai_roadmap.service.GenerationJobCancellations;
+import com.study.moya.ai_roadmap.service.GenerationJobService;
+import com.study.moya.ai_roadmap.service.RoadmapService;
+import com.study.moya.token.service.ticket.TicketFacadeService;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class GenerationJobServiceTest {
+
+    private static final Long JOB_ID = 1L;
+    private static final Long USAGE_ID = 100L;
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Mock
+    private GenerationJobRepository generationJobRepository;
+
+    @Mock
+    private RoadMapRepository roadMapRepository;
+
+    @Mock
+    private DailyPlanRepository dailyPlanRepository;
+
+    @Mock
+    private RoadmapService roadmapService;
+
+    @Mock
+    private TicketFacadeService ticketFacadeService;
+
+    private GenerationJobCancellations cancellations;
+
+    private GenerationJobService generationJobService;
+
+    @BeforeEach
+    void setUp() {
+        cancellations = new GenerationJobCancellations();
+        generationJobService = new GenerationJobService(generationJobRepository, roadMapRepository, dailyPlanRepository,
+                roadmapService, ticketFacadeService, cancellations, new ObjectMapper(),
+                3, Duration.ofSeconds(10), LEASE, false);
+    }
+
+    @Test
+    @DisplayName("선점한 작업은 워커 이름과 리스 만료 시각을 기록한다")
+    void claimLeasesJobsToOwner() {
+        GenerationJob job = runningJob(GenerationJobType.WORKSHEET, "worker-a");
+        when(generationJobRepository.findClaimableIdsForUpdate(any(LocalDateTime.class), eq(2))).thenReturn(List.of(JOB_ID));
+        when(generationJobRepository.findAllById(List.of(JOB_ID))).thenReturn(List.of(job));
+
+        LocalDateTime before = LocalDateTime.now();
+        List<GenerationJob> claimed = generationJobService.claim("worker-a", 2);
+
+        ArgumentCaptor<LocalDateTime> leaseExpiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(generationJobRepository).markRunning(eq(List.of(JOB_ID)), eq("worker-a"), leaseExpiresAt.capture());
+        assertThat(claimed).containsExactly(job);
+        assertThat(leaseExpiresAt.getValue()).isBetween(before.plus(LEASE), LocalDateTime.now().plus(LEASE));
+    }
+
+    @Test
+    @DisplayName("처리 가능한 작업이 없으면 리스를 부여하지 않는다")
+    void claimWithoutCandidates() {
+        when(generationJobRepository.findClaimableIdsForUpdate(any(LocalDateTime.class), eq(3))).thenReturn(List.of());
+
+        assertThat(generationJobService.claim("worker-a", 3)).isEmpty();
+        verify(generationJobRepository, never()).markRunning(any(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("리스를 가진 워커의 완료 처리는 반영되고 티켓을 사용 처리한다")
+    void ownerMarksSucceeded() {
+        GenerationJob job = runningJob(GenerationJobType.WORKSHEET, "worker-a");
+        when(generationJobRepository.findByIdForUpdate(JOB_ID)).thenReturn(Optional.of(job));
+
+        generationJobService.markSucceeded(JOB_ID, "worker-a", null, 0);
+
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.SUCCEEDED);
+        assertThat(job.getLeaseOwner()).isNull();
+        verify(ticketFacadeService).markTicketUsageAsCompleted(USAGE_ID);
+    }
+
+    @Test
+    @DisplayName("요청 시 생성으로 일차를 넘긴 학습지 작업은 ON_DEMAND 로 끝나고 퀴즈를 자동 등록하지 않는다")
+    void onDemandHandOverSkipsQuizTrigger() {
+        GenerationJobService autoQuizService = new GenerationJobService(generationJobRepository, roadMapRepository,
+                dailyPlanRepository, roadmapService, ticketFacadeService, cancellations, new ObjectMapper(),
+                3, Duration.ofSeconds(10), LEASE, true);
+        GenerationJob job = runningJob(GenerationJobType.WORKSHEET, "worker-a");
+        when(generationJobRepository.findByIdForUpdate(JOB_ID)).thenReturn(Optional.of(job));
+
+        autoQuizService.markSucceeded(JOB_ID, "worker-a", 3L, 21);
+
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.ON_DEMAND);
+        assertThat(job.getStatus().isFinished()).isTrue();
+        assertThat(job.getLeaseOwner()).isNull();
+        verify(ticketFacadeService).markTicketUsageAsCompleted(USAGE_ID);
+        verify(generationJobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("리스 만료 후 다른 워커가 다시 선점한 작업은 이전 워커가 완료/실패 처리하지 못한다")
+    void staleOwnerCannotOverwriteReclaimedJob() {
+        GenerationJob job = runningJob(GenerationJobType.WORKSHEET, "worker-b");
+        when(generationJobRepository.findByIdForUpdate(JOB_ID)).thenReturn(Optional.of(job));
+
+        generationJobService.markSucceeded(JOB_ID, "worker-a", null, 0);
+        generationJobService.markFailed(JOB_ID, "worker-a", "타임아웃");
+        generationJobService.markRequeued(JOB_ID, "worker-a");
+
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.RUNNING);
+        assertThat(job.getLeaseOwner()).isEqualTo("worker-b");
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getLastError()).isNull();
+        verifyNoInteractions(ticketFacadeService);
+    }
+
+    @Test
+    @DisplayName("리스를 가진 워커의 실패는 재시도 대기로 돌리고 마지막 시도면 환불한다")
+    void ownerMarksFailed() {
+        GenerationJob job = runningJob(GenerationJobType.WORKSHEET, "worker-a");
+        when(generationJobRepository.findByIdForUpdate(JOB_ID)).thenReturn(Optional.of(job));
+
+        generationJobService.markFailed(JOB_ID, "worker-a", "타임아웃");
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.PENDING);
+        assertThat(job.getNextAttemptAt()).isAfter(LocalDateTime.now());
+
+        ReflectionTestUtils.setField(job, "status", GenerationJobStatus.RUNNING);
+        ReflectionTestUtils.setField(job, "leaseOwner", "worker-a");
+        ReflectionTestUtils.setField(job, "attempts", 3);
+        generationJobService.markFailed(JOB_ID, "worker-a", "타임아웃");
+
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.FAILED);
+        assertThat(job.isTicketRefunded()).isTrue();
+        verify(ticketFacadeService).markTicketUsageAsFailed(USAGE_ID);
+    }
+
+    @Test
+    @DisplayName("리스 연장 후 더 이상 리스를 갖지 않은 작업을 돌려준다")
+    void renewLeasesReportsLostJobs() {
+        Set<Long> running = Set.of(JOB_ID, 2L);
+        when(generationJobRepository.findIdsLeasedBy(running, "worker-a")).thenReturn(List.of(JOB_ID));
+
+        Set<Long> lost = generationJobService.renewLeases("worker-a", running);
+
+        verify(generationJobRepository).renewLeases(eq(running), eq("worker-a"), any(LocalDateTime.class));
+        assertThat(lost).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("대기 중인 작업을 취소하면 바로 환불한다")
+    void cancelPendingRefundsImmediately() {
+        GenerationJob job = runningJob(GenerationJobType.WORKSHEET, null);
+        ReflectionTestUtils.setField(job, "status", GenerationJobStatus.PENDING);
+        ReflectionTestUtils.setField(job, "leaseExpiresAt", null);
+        when(generationJobRepository.findByIdAndMemberId(JOB_ID, 7L)).thenReturn(Optional.of(job));
+
+        generationJobService.cancel(JOB_ID, 7L);
+
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.CANCELLED);
+        assertThat(job.isTicketRefunded()).isTrue();
+        verify(ticketFacadeService).markTicketUsageAsFailed(USAGE_ID);
+    }
+
+    @Test
+    @DisplayName("처리 중인 작업의 취소는 워커가 중단을 확인한 뒤 환불한다")
+    void cancelRunningRefundsAfterAbortConfirmed() {
+        GenerationJob job = runningJob(GenerationJobType.WORKSHEET, "worker-a");
+        when(generationJobRepository.findByIdAndMemberId(JOB_ID, 7L)).thenReturn(Optional.of(job));
+        when(generationJobRepository.findByIdForUpdate(JOB_ID)).thenReturn(Optional.of(job));
+
+        generationJobService.cancel(JOB_ID, 7L);
+
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.CANCELLED);
+        assertThat(job.awaitsCancellationSettlement("worker-a")).isTrue();
+        verifyNoInteractions(ticketFacadeService);
+
+        generationJobService.confirmCancelled(JOB_ID, "worker-a");
+
+        assertThat(job.isTicketRefunded()).isTrue();
+        assertThat(job.getLeaseOwner()).isNull();
+        verify(ticketFacadeService).markTicketUsageAsFailed(USAGE_ID);
+    }
+
+    @Test
+    @DisplayName("취소 후 생성이 끝나 결과가 유지되면 환불하지 않고 티켓을 사용 처리한다")
+    void cancelledJobKeepingResultCompletesTicket() {
+        GenerationJob job = runningJob(GenerationJobType.ROADMAP, "worker-a");
+        ReflectionTestUtils.setField(job, "roadmapId", null);
+        when(generationJobRepository.findByIdAndMemberId(JOB_ID, 7L)).thenReturn(Optional.of(job));
+        when(generationJobRepository.findByIdForUpdate(JOB_ID)).thenReturn(Optional.of(job));
+
+        generationJobService.cancel(JOB_ID, 7L);
+        generationJobService.markSucceeded(JOB_ID, "worker-a", 42L, 0);
+
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.CANCELLED);
+        assertThat(job.getRoadmapId()).isEqualTo(42L);
+        assertThat(job.isTicketRefunded()).isFalse();
+        verify(roadmapService).completeRoadmapTicket(USAGE_ID);
+        verify(roadmapService, never()).refundRoadmapTicket(any());
+    }
+
+    @Test
+    @DisplayName("저장된 일차가 있는 학습지 작업은 중단 확인 시 티켓을 사용 처리한다")
+    void cancelledWorksheetWithProgressCompletesTicket() {
+        GenerationJob job = runningJob(GenerationJobType.WORKSHEET, "worker-a");
+        ReflectionTestUtils.setField(job, "completedUnits", 2);
+        when(generationJobRepository.findByIdAndMemberId(JOB_ID, 7L)).thenReturn(Optional.of(job));
+        when(generationJobRepository.findByIdForUpdate(JOB_ID)).thenReturn(Optional.of(job));
+
+        generationJobService.cancel(JOB_ID, 7L);
+        generationJobService.confirmCancelled(JOB_ID, "worker-a");
+
+        assertThat(job.isTicketRefunded()).isFalse();
+        verify(ticketFacadeService).markTicketUsageAsCompleted(USAGE_ID);
+        verify(ticketFacadeService, never()).markTicketUsageAsFailed(any());
+    }
+
+    @Test
+    @DisplayName("정산된 취소 작업은 완료/실패/재대기 처리로 상태가 바뀌지 않는다")
+    void settledCancelledJobIsNotOverwritten() {
+        GenerationJob job = runningJob(GenerationJobType.WORKSHEET, "worker-a");
+        when(generationJobRepository.findByIdAndMemberId(JOB_ID, 7L)).thenReturn(Optional.of(job));
+        when(generationJobRepository.findByIdForUpdate(JOB_ID)).thenReturn(Optional.of(job));
+        generationJobService.cancel(JOB_ID, 7L);
+        generationJobService.markFailed(JOB_ID, "worker-a", "중단");
+
+        generationJobService.markSucceeded(JOB_ID, "worker-a", 42L, 0);
+        generationJobService.markFailed(JOB_ID, "worker-a", "타임아웃");
+        generationJobService.markRequeued(JOB_ID, "worker-a");
+
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.CANCELLED);
+        assertThat(job.getRoadmapId()).isEqualTo(3L);
+        assertThat(job.getAttempts()).isEqualTo(1);
+        verify(ticketFacadeService).markTicketUsageAsFailed(USAGE_ID);
+        verify(ticketFacadeService, never()).markTicketUsageAsCompleted(any());
+    }
+
+    @Test
+    @DisplayName("이미 종료된 작업의 취소는 409 로 거절한다")
+    void cancelFinishedJobIsConflict() {
+        GenerationJob job = runningJob(GenerationJobType.WORKSHEET, null);
+        ReflectionTestUtils.setField(job, "status", GenerationJobStatus.SUCCEEDED);
+        when(generationJobRepository.findByIdAndMemberId(JOB_ID, 7L)).thenReturn(Optional.of(job));
+
+        assertThatThrownBy(() -> generationJobService.cancel(JOB_ID, 7L))
+                .isInstanceOfSatisfying(GenerationJobException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.SUCCEEDED);
+        verifyNoInteractions(ticketFacadeService);
+    }
+
+    @Test
+    @DisplayName("로드맵 삭제 시 작업은 처리 중이어도 바로 환불하고 요청 시 생성도 중단한다")
+    void cancelForRoadmapRefundsAndStopsOnDemand() {
+        GenerationJob job = runningJob(GenerationJobType.WORKSHEET, "worker-a");
+        ReflectionTestUtils.setField(job, "completedUnits", 2);
+        when(generationJobRepository.findAllByRoadmapIdAndStatusIn(eq(3L), any())).thenReturn(List.of(job));
+        AtomicBoolean onDemandStopped = new AtomicBoolean();
+        cancellations.registerRoadmap(3L).onCancel(() -> onDemandStopped.set(true));
+
+        generationJobService.cancelForRoadmap(3L);
+
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.CANCELLED);
+        assertThat(job.isTicketRefunded()).isTrue();
+        assertThat(job.awaitsCancellationSettlement()).isFalse();
+        assertThat(onDemandStopped).isTrue();
+        verify(ticketFacadeService).markTicketUsageAsFailed(USAGE_ID);
+    }
+
+    @Test
+    @DisplayName("워커가 정산하지 못한 취소 작업은 리스 만료 후 정산한다")
+    void settleExpiredCancellations() {
+        GenerationJob job = runningJob(GenerationJobType.WORKSHEET, "worker-a");
+        job.cancel("사용자 취소");
+        ReflectionTestUtils.setField(job, "leaseExpiresAt", LocalDateTime.now().minusMinutes(1));
+        when(generationJobRepository.findUnsettledCancelledIds(any(LocalDateTime.class))).thenReturn(List.of(JOB_ID));
+        when(generationJobRepository.findByIdForUpdate(JOB_ID)).thenReturn(Optional.of(job));
+
+        assertThat(generationJobService.settleExpiredCancellations()).isEqualTo(1);
+        assertThat(job.isTicketRefunded()).isTrue();
+        assertThat(job.getLeaseOwner()).isNull();
+        verify(ticketFacadeService).markTicketUsageAsFailed(USAGE_ID);
+    }
+
+    @Test
+    @DisplayName("퀴즈 생성 등록 거절은 상황별 4xx 로 응답한다")
+    void enqueueQuizzesRejectionsAreClientErrors() {
+        when(generationJobRepository.findFirstByRoadmapIdAndMemberIdAndJobTypeOrderByIdDesc(3L, 7L, GenerationJobType.WORKSHEET))
+                .thenReturn(Optional.empty());
+        assertThatThrownBy(() -> generationJobService.enqueueQuizzes(3L, 7L))
+                .isInstanceOfSatisfying(GenerationJobException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+
+        GenerationJob worksheetJob = runningJob(GenerationJobType.WORKSHEET, "worker-a");
+        when(generationJobRepository.findFirstByRoadmapIdAndMemberIdAndJobTypeOrderByIdDesc(3L, 7L, GenerationJobType.WORKSHEET))
+                .thenReturn(Optional.of(worksheetJob));
+        assertThatThrownBy(() -> generationJobService.enqueueQuizzes(3L, 7L))
+                .isInstanceOfSatisfying(GenerationJobException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+
+        ReflectionTestUtils.setField(worksheetJob, "status", GenerationJobStatus.SUCCEEDED);
+        when(generationJobRepository.existsByRoadmapIdAndJobTypeAndStatusIn(eq(3L), eq(GenerationJobType.QUIZ), any()))
+                .thenReturn(true);
+        assertThatThrownBy(() -> generationJobService.enqueueQuizzes(3L, 7L))
+                .isInstanceOfSatisfying(GenerationJobException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+        verify(generationJobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("학습지 재개 거절은 상황별 4xx 로 응답한다")
+    void resumeWorksheetsRejectionsAreClientErrors() {
+        when(generationJobRepository.findFirstByRoadmapIdAndMemberIdAndJobTypeOrderByIdDesc(3L, 7L, GenerationJobType.WORKSHEET))
+                .thenReturn(Optional.empty());
+        assertRejected(() -> generationJobService.resumeWorksheets(3L, 7L), HttpStatus.NOT_FOUND);
+
+        GenerationJob previous = runningJob(GenerationJobType.WORKSHEET, "worker-a");
+        when(generationJobRepository.findFirstByRoadmapIdAndMemberIdAndJobTypeOrderByIdDesc(3L, 7L, GenerationJobType.WORKSHEET))
+                .thenReturn(Optional.of(previous));
+        assertRejected(() -> generationJobService.resumeWorksheets(3L, 7L), HttpStatus.CONFLICT);
+
+        ReflectionTestUtils.setField(previous, "status", GenerationJobStatus.FAILED);
+        ReflectionTestUtils.setField(previous, "ticketRefunded", true);
+        assertRejected(() -> generationJobService.resumeWorksheets(3L, 7L), HttpStatus.BAD_REQUEST);
+
+        ReflectionTestUtils.setField(previous, "ticketRefunded", false);
+        when(dailyPlanRepository.countPendingWorksheets(3L)).thenReturn(0L);
+        assertRejected(() -> generationJobService.resumeWorksheets(3L, 7L), HttpStatus.CONFLICT);
+        verify(generationJobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("없는 작업이나 다른 회원의 작업, 없는 로드맵은 404 로 응답한다")
+    void unknownJobOrRoadmapIsNotFound() {
+        when(generationJobRepository.findByIdAndMemberId(JOB_ID, 8L)).thenReturn(Optional.empty());
+        when(roadMapRepository.existsById(99L)).thenReturn(false);
+
+        assertRejected(() -> generationJobService.getJob(JOB_ID, 8L), HttpStatus.NOT_FOUND);
+        assertRejected(() -> generationJobService.cancel(JOB_ID, 8L), HttpStatus.NOT_FOUND);
+        assertRejected(() -> generationJobService.enqueueWorksheets(99L, null, 7L), HttpStatus.NOT_FOUND);
+        verifyNoInteractions(ticketFacadeService);
+    }
+
+    private static void assertRejected(ThrowingCallable call, HttpStatus status) {
+        assertThatThrownBy(call).isInstanceOfSatisfying(GenerationJobException.class,
+                e -> assertThat(e.getStatus()).isEqualTo(status));
+    }
+
+    private GenerationJob runningJob(GenerationJobType jobType, String leaseOwner) {
+        GenerationJob job = GenerationJob.builder()
+                .jobType(jobType)
+                .memberId(7L)
+                .roadmapId(3L)
+                .payload("{}")
+                .ticketUsageId(USAGE_ID)
+                .maxAttempts(3)
+                .build();
+        ReflectionTestUtils.setField(job, "id", JOB_ID);
+        ReflectionTestUtils.setField(job, "status", GenerationJobStatus.RUNNING);
+        ReflectionTestUtils.setField(job, "attempts", 1);
+        ReflectionTestUtils.setField(job, "leaseOwner", leaseOwner);
+        ReflectionTestUtils.setField(job, "leaseExpiresAt", LocalDateTime.now().plus(LEASE));
+        return job;
+    }
+}
@@ -0,0 +1,50 @@
+package com.study.moya.roadmap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 정규식 기반 이전 학습지 파서 (WorksheetStreamParser 동등성 검증과 벤치마크 기준용, 로그만 제거)
+ */
+public final class LegacyWorksheetResponseParser {
+
+    private static final Pattern DAY_PATTERN = Pattern.compile(
+            "===\\s*DAY\\s*(\\d+)\\s*===\\s*([\\s\\S]*?)(?====\\s*DAY|$)");
+
+    private LegacyWorksheetResponseParser() {
+    }
+
+    public static Map<Integer, String> parseResponse(String apiResponse) {
+        try {
+            Map<Integer, String> dayWorksheets = new HashMap<>();
+            apiResponse = cleanResponse(apiResponse);
+
+            Matcher matcher = DAY_PATTERN.matcher(apiResponse);
+            while (matcher.find()) {
+                int day = Integer.parseInt(matcher.group(1));
+                String content = matcher.group(2).trim();
+                if (content.length() > 50) {
+                    dayWorksheets.put(day, content);
+                }
+            }
+
+            if (dayWorksheets.isEmpty()) {
+                throw new IllegalStateException("파싱된 학습 가이드가 없습니다. 원본 응답: " + apiResponse);
+            }
+            return dayWorksheets;
+        } catch (Exception e) {
+            throw new RuntimeException("학습 가이드 파싱 실패", e);
+        }
+    }
+
+    private static String cleanResponse(String response) {
+        response = response.replaceAll("```.*?```", "");
+        response = response.replaceAll("#+ ", "");
+        response = response.replaceAll("^[-*] ", "");
+        response = response.replaceAll("^\\d+\\. ", "");
+        response = response.replaceAll("\\n\\s*\\n", "\n");
+        return response.trim();
+    }
+}
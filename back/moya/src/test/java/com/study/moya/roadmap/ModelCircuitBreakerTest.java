@@ -0,0 +1,105 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.study.moya.ai_roadmap.client.ModelCircuitBreaker;
+import com.study.moya.ai_roadmap.client.ModelCircuitBreaker.State;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ModelCircuitBreakerTest {
+
+    @Test
+    @DisplayName("최소 호출 수를 채우기 전에는 실패가 이어져도 열리지 않는다")
+    void staysClosedBelowMinimumCalls() {
+        ModelCircuitBreaker breaker = new ModelCircuitBreaker(10, 4, 0.5, Duration.ofMinutes(1));
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    @DisplayName("실패 비율이 임계치를 넘으면 열리고 대기 시간 동안 호출을 막는다")
+    void opensWhenFailureRateReachesThreshold() {
+        ModelCircuitBreaker breaker = new ModelCircuitBreaker(4, 4, 0.5, Duration.ofMinutes(1));
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    @DisplayName("오래된 결과는 창 밖으로 밀려나 실패 비율에서 빠진다")
+    void slidesWindow() {
+        ModelCircuitBreaker breaker = new ModelCircuitBreaker(3, 3, 0.67, Duration.ofMinutes(1));
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("대기 시간이 지나면 시험 호출 한 건만 허용하고, 성공하면 닫는다")
+    void halfOpenProbeClosesOnSuccess() {
+        ModelCircuitBreaker breaker = openBreaker();
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    @DisplayName("시험 호출이 실패하면 다시 열린다")
+    void halfOpenProbeReopensOnFailure() {
+        ModelCircuitBreaker breaker = openBreaker();
+        breaker.tryAcquirePermission();
+
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    @DisplayName("장애로 보지 않는 결과로 끝난 시험 호출은 다음 호출이 다시 시험할 수 있다")
+    void ignoredProbeReleasesPermission() {
+        ModelCircuitBreaker breaker = openBreaker();
+        breaker.tryAcquirePermission();
+
+        breaker.onIgnored();
+
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    /**
+     * 대기 시간이 0 이라 바로 시험 호출을 받을 수 있는 열린 브레이커
+     */
+    private ModelCircuitBreaker openBreaker() {
+        ModelCircuitBreaker breaker = new ModelCircuitBreaker(2, 2, 0.5, Duration.ZERO);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        return breaker;
+    }
+}
@@ -0,0 +1,62 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.study.moya.ai_roadmap.util.QuizResponseParser;
+import com.study.moya.ai_roadmap.util.QuizResponseParser.ParsedQuiz;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QuizResponseParserTest {
+
+    private final QuizResponseParser parser = new QuizResponseParser();
+
+    @Test
+    @DisplayName("항목별로 문제/정답 쌍을 나누고 여러 줄 정답은 이어 붙인다")
+    void parsesItemsAndMultilineAnswers() {
+        String response = """
+                === ITEM 1 ===
+                Q: 자바에서 int 의 크기는?
+                A: 4바이트
+                Q: 기본형이 아닌 것은?
+                A: String 이다.
+                참조형이기 때문이다.
+
+                ===ITEM 2===
+                q： 람다식이란?
+                a： 익명 함수를 간결하게 표현한 식
+                """;
+
+        Map<Integer, List<ParsedQuiz>> items = parser.parseResponse(response);
+
+        assertThat(items).containsOnlyKeys(1, 2);
+        assertThat(items.get(1)).containsExactly(
+                new ParsedQuiz("자바에서 int 의 크기는?", "4바이트"),
+                new ParsedQuiz("기본형이 아닌 것은?", "String 이다. 참조형이기 때문이다."));
+        assertThat(items.get(2)).containsExactly(new ParsedQuiz("람다식이란?", "익명 함수를 간결하게 표현한 식"));
+    }
+
+    @Test
+    @DisplayName("정답이 없는 문항과 항목 밖의 줄은 버리고, 컬럼 길이를 넘으면 자른다")
+    void dropsIncompletePairsAndTruncates() {
+        String response = """
+                안내 문구
+                Q: 항목 전 문제
+                A: 항목 전 정답
+                === ITEM 3 ===
+                Q: 정답 없는 문제
+                Q: 긴 정답 문제
+                A: %s
+                """.formatted("가".repeat(QuizResponseParser.MAX_LENGTH + 10));
+
+        Map<Integer, List<ParsedQuiz>> items = parser.parseResponse(response);
+
+        assertThat(items).containsOnlyKeys(3);
+        assertThat(items.get(3)).singleElement().satisfies(quiz -> {
+            assertThat(quiz.question()).isEqualTo("긴 정답 문제");
+            assertThat(quiz.answer()).hasSize(QuizResponseParser.MAX_LENGTH);
+        });
+    }
+}
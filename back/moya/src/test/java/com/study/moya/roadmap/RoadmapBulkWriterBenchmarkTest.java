@@ -0,0 +1,185 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.study.moya.ai_roadmap.domain.DailyPlan;
+import com.study.moya.ai_roadmap.domain.RoadMap;
+import com.study.moya.ai_roadmap.domain.WeeklyPlan;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import com.study.moya.ai_roadmap.repository.DailyPlanRepository;
+import com.study.moya.ai_roadmap.repository.RoadMapRepository;
+import com.study.moya.ai_roadmap.repository.WeeklyPlanRepository;
+import com.study.moya.ai_roadmap.service.RoadmapBulkWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StopWatch;
+
+/**
+ * 52주 로드맵 저장 시 기존 JPA 행 단위 저장과 RoadmapBulkWriter 의 SQL 실행 수/소요 시간 비교
+ * 기본 test 태스크에서는 제외된다. (./gradlew benchmarkTest 로 실행, 저장한 데이터는 테스트 트랜잭션과 함께 롤백)
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class RoadmapBulkWriterBenchmarkTest {
+
+    private static final AtomicInteger PREPARED_STATEMENTS = new AtomicInteger();
+    private static final int WEEKS = 52;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private RoadmapBulkWriter roadmapBulkWriter;
+
+    @Autowired
+    private RoadMapRepository roadMapRepository;
+
+    @Autowired
+    private WeeklyPlanRepository weeklyPlanRepository;
+
+    @Autowired
+    private DailyPlanRepository dailyPlanRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("벌크 저장은 JPA 행 단위 저장보다 SQL 실행 수가 적다 (소요 시간은 로그로 비교)")
+    void bulkWriterUsesFewerStatements() {
+        WeeklyRoadmapResponse response = createResponse();
+        StopWatch stopWatch = new StopWatch();
+
+        // 워밍업
+        saveWithJpa(response);
+        roadmapBulkWriter.saveCurriculum(2, "워밍업", WEEKS, "기본 개념 이해", response, null, null, null);
+
+        PREPARED_STATEMENTS.set(0);
+        stopWatch.start("JPA 행 단위 저장");
+        for (int i = 0; i < ROUNDS; i++) {
+            saveWithJpa(response);
+        }
+        stopWatch.stop();
+        int jpaStatements = PREPARED_STATEMENTS.get() / ROUNDS;
+
+        PREPARED_STATEMENTS.set(0);
+        stopWatch.start("JDBC 벌크 저장");
+        for (int i = 0; i < ROUNDS; i++) {
+            roadmapBulkWriter.saveCurriculum(2, "벌크", WEEKS, "기본 개념 이해", response, null, null, null);
+        }
+        stopWatch.stop();
+        int bulkStatements = PREPARED_STATEMENTS.get() / ROUNDS;
+
+        log.info("로드맵 1건당 SQL 수 - JPA: {}, 벌크: {}\n{}", jpaStatements, bulkStatements, stopWatch.prettyPrint());
+
+        assertThat(jpaStatements).isGreaterThan(WEEKS * 8);
+        assertThat(bulkStatements).isLessThanOrEqualTo(5);
+    }
+
+    /**
+     * 변경 전 saveCurriculum 과 동일한 행 단위 저장
+     */
+    private void saveWithJpa(WeeklyRoadmapResponse response) {
+        transactionTemplate.executeWithoutResult(status -> {
+            RoadMap savedRoadMap = roadMapRepository.save(RoadMap.builder()
+                    .duration(WEEKS)
+                    .goalLevel(2)
+                    .topic("JPA")
+                    .evaluation(response.getCurriculumEvaluation())
+                    .overallTips(new ArrayList<>(response.getOverallTips()))
+                    .learningObjective("기본 개념 이해")
+                    .build());
+
+            for (WeeklyRoadmapResponse.WeeklyPlan weeklyPlanDto : response.getWeeklyPlans()) {
+                WeeklyPlan savedWeeklyPlan = weeklyPlanRepository.save(WeeklyPlan.builder()
+                        .weekNumber(weeklyPlanDto.getWeek())
+                        .keyword(weeklyPlanDto.getWeeklyKeyword())
+                        .roadMap(savedRoadMap)
+                        .build());
+
+                for (WeeklyRoadmapResponse.DailyPlan dailyPlanDto : weeklyPlanDto.getDailyPlans()) {
+                    dailyPlanRepository.save(DailyPlan.builder()
+                            .dayNumber(dailyPlanDto.getDay())
+                            .keyword(dailyPlanDto.getDailyKeyword())
+                            .weeklyPlan(savedWeeklyPlan)
+                            .build());
+                }
+            }
+        });
+    }
+
+    private WeeklyRoadmapResponse createResponse() {
+        List<WeeklyRoadmapResponse.WeeklyPlan> weeklyPlans = new ArrayList<>();
+        for (int week = 1; week <= WEEKS; week++) {
+            List<WeeklyRoadmapResponse.DailyPlan> dailyPlans = new ArrayList<>();
+            for (int day = 1; day <= 7; day++) {
+                dailyPlans.add(new WeeklyRoadmapResponse.DailyPlan(day, week + "주차 " + day + "일차 학습", null));
+            }
+            weeklyPlans.add(new WeeklyRoadmapResponse.WeeklyPlan(week, week + "주차 키워드", dailyPlans));
+        }
+        return new WeeklyRoadmapResponse(weeklyPlans,
+                List.of("매일 꾸준히 학습하세요.", "실습 위주로 진행하세요."), "초급자에게 적합합니다.", "없음");
+    }
+
+    /**
+     * DataSource 에서 준비되는 Statement 수를 세기 위한 프록시
+     */
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return countingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static DataSource countingDataSource(DataSource target) {
+            return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                    new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        return result instanceof Connection connection ? countingConnection(connection) : result;
+                    });
+        }
+
+        private static Connection countingConnection(Connection target) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement") || method.getName().equals("createStatement")) {
+                            PREPARED_STATEMENTS.incrementAndGet();
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.study.moya.ai_roadmap.repository.RoadMapRepository;
+import com.study.moya.ai_roadmap.service.RoadmapGenerationCache;
+import com.study.moya.ai_roadmap.util.RoadmapGenerationKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+@ExtendWith(MockitoExtension.class)
+class RoadmapGenerationCacheTest {
+
+    private static final Long ROADMAP_ID = 3L;
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final RoadmapGenerationKey KEY =
+            new RoadmapGenerationKey("개발", "백엔드", "", "", "입문", 4, "스프링");
+    private static final String ENTRY = "roadmap:generation:key:" + KEY.hash();
+    private static final String INDEX = "roadmap:generation:roadmap:3";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private RoadMapRepository roadMapRepository;
+
+    private RoadmapGenerationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RoadmapGenerationCache(redisTemplate, roadMapRepository, new SimpleMeterRegistry(), true, TTL);
+    }
+
+    @Test
+    @DisplayName("저장한 항목은 Redis 에 TTL 과 함께 남기고, 로드맵별 색인에도 키 해시를 기록한다")
+    void putStoresEntryAndIndex() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+
+        cache.put(KEY, ROADMAP_ID);
+
+        verify(valueOperations).set(ENTRY, "3", TTL);
+        verify(setOperations).add(INDEX, KEY.hash());
+        verify(redisTemplate).expire(INDEX, TTL);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 저장한 항목도 적중하고, 삭제된 로드맵을 가리키면 지우고 미적중 처리한다")
+    void findSharedEntry() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(ENTRY)).thenReturn("3");
+        when(roadMapRepository.existsById(ROADMAP_ID)).thenReturn(true, false);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(INDEX)).thenReturn(Set.of(KEY.hash()));
+        when(valueOperations.multiGet(List.of(ENTRY))).thenReturn(List.of("3"));
+
+        assertThat(cache.find(KEY)).contains(ROADMAP_ID);
+        assertThat(cache.find(KEY)).isEmpty();
+
+        verify(redisTemplate).delete(List.of(ENTRY));
+        verify(redisTemplate).delete(INDEX);
+    }
+
+    @Test
+    @DisplayName("로드맵을 지울 때 그 사이 다른 로드맵으로 바뀐 항목은 남긴다")
+    void evictKeepsReassignedEntries() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(INDEX)).thenReturn(Set.of(KEY.hash()));
+        when(valueOperations.multiGet(List.of(ENTRY))).thenReturn(List.of("7"));
+
+        cache.evictRoadmap(ROADMAP_ID);
+
+        verify(redisTemplate, never()).delete(List.of(ENTRY));
+        verify(redisTemplate).delete(INDEX);
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 미적중으로 처리해 새로 생성한다")
+    void redisFailureIsMiss() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(ENTRY)).thenThrow(new RedisConnectionFailureException("연결 실패"));
+
+        assertThat(cache.find(KEY)).isEmpty();
+        verify(roadMapRepository, never()).existsById(ROADMAP_ID);
+    }
+}
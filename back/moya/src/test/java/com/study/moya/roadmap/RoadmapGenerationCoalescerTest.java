@@ -0,0 +1,101 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.study.moya.ai_roadmap.service.RoadmapGenerationCoalescer;
+import com.study.moya.ai_roadmap.service.RoadmapGenerationCoalescer.GeneratedRoadmap;
+import com.study.moya.ai_roadmap.util.RoadmapGenerationKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RoadmapGenerationCoalescerTest {
+
+    private static final RoadmapGenerationKey KEY =
+            new RoadmapGenerationKey("개발", "백엔드", "", "", "입문", 4, "스프링");
+
+    private final RoadmapGenerationCoalescer coalescer = new RoadmapGenerationCoalescer(new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("이끄는 생성이 취소되면 기다리던 요청은 취소 오류 없이 직접 다시 생성한다")
+    void followerRetriesAfterLeaderCancelled() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        Thread leader = new Thread(() -> {
+            try {
+                coalescer.execute(KEY, () -> {
+                    leaderStarted.countDown();
+                    awaitQuietly(releaseLeader);
+                    throw new CancellationException("생성 작업 취소");
+                });
+            } catch (CancellationException ignored) {
+                // 이끄는 요청만 취소된다
+            }
+        });
+        leader.start();
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(coalescer.leadsSharedGeneration(leader)).isFalse();
+
+        CompletableFuture<GeneratedRoadmap> follower = CompletableFuture.supplyAsync(
+                () -> coalescer.execute(KEY, () -> new GeneratedRoadmap(2L, null)));
+        awaitFollower(leader);
+
+        releaseLeader.countDown();
+
+        assertThat(follower.get(5, TimeUnit.SECONDS).roadMapId()).isEqualTo(2L);
+        leader.join(5000);
+        assertThat(coalescer.leadsSharedGeneration(leader)).isFalse();
+    }
+
+    @Test
+    @DisplayName("이끄는 생성의 일반 오류는 기다리던 요청에도 그대로 전달한다")
+    void followerSharesLeaderFailure() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        AtomicReference<Thread> leaderThread = new AtomicReference<>();
+        CompletableFuture<GeneratedRoadmap> leader = CompletableFuture.supplyAsync(() -> coalescer.execute(KEY, () -> {
+            leaderThread.set(Thread.currentThread());
+            leaderStarted.countDown();
+            awaitQuietly(releaseLeader);
+            throw new IllegalStateException("응답 파싱 실패");
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Throwable> follower = CompletableFuture.supplyAsync(() -> {
+            try {
+                coalescer.execute(KEY, () -> new GeneratedRoadmap(2L, null));
+                return null;
+            } catch (RuntimeException e) {
+                return e;
+            }
+        });
+        awaitFollower(leaderThread.get());
+        releaseLeader.countDown();
+
+        assertThat(follower.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("응답 파싱 실패");
+        assertThat(leader).failsWithin(5, TimeUnit.SECONDS);
+    }
+
+    private void awaitFollower(Thread leader) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!coalescer.leadsSharedGeneration(leader) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(coalescer.leadsSharedGeneration(leader)).isTrue();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
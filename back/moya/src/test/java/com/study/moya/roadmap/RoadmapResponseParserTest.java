@@ -0,0 +1,87 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import com.study.moya.ai_roadmap.util.DecodedRoadmap;
+import com.study.moya.ai_roadmap.util.RoadmapResponseParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RoadmapResponseParserTest {
+
+    private static final String RESPONSE = """
+            {
+              "weeklyPlans": [
+                {"week": 1, "weeklyKeyword": "자바 기초", "dailyPlans": [
+                  {"day": 1, "dailyKeyword": "설치"}, {"day": "2", "dailyKeyword": "변수", "worksheet": null}]},
+                {"week": 2, "weeklyKeyword": "객체 지향", "meta": {"note": [1, 2]}, "dailyPlans": [
+                  {"day": 1, "dailyKeyword": "클래스"}]},
+                {"week": 3, "weeklyKeyword": "컬렉션", "dailyPlans": [
+                  {"day": 1, "dailyKeyword": "리스트"}]}
+              ],
+              "overallTips": ["매일 꾸준히 학습하세요."],
+              "curriculumEvaluation": "초급자에게 적합합니다.",
+              "hasRestrictedTopics": "없음"
+            }
+            """;
+
+    private final RoadmapResponseParser responseParser = new RoadmapResponseParser(new ObjectMapper());
+
+    @Test
+    @DisplayName("완전한 응답은 트리 없이 바로 응답 객체로 변환된다")
+    void decodesCompleteResponse() {
+        DecodedRoadmap decoded = responseParser.decode(RESPONSE, 3);
+
+        WeeklyRoadmapResponse response = decoded.response();
+        assertThat(decoded.isComplete()).isTrue();
+        assertThat(response.getWeeklyPlans()).extracting(WeeklyRoadmapResponse.WeeklyPlan::getWeek).containsExactly(1, 2, 3);
+        assertThat(response.getWeeklyPlans().get(0).getDailyPlans())
+                .extracting(WeeklyRoadmapResponse.DailyPlan::getDay, WeeklyRoadmapResponse.DailyPlan::getWorksheet)
+                .containsExactly(tuple(1, ""), tuple(2, ""));
+        assertThat(response.getOverallTips()).containsExactly("매일 꾸준히 학습하세요.");
+        assertThat(response.getHasRestrictedTopics()).isEqualTo("없음");
+    }
+
+    @Test
+    @DisplayName("잘린 응답에서는 닫힌 주차만 살리고 빠진 주차를 알려준다")
+    void salvagesCompleteWeeksFromTruncatedResponse() {
+        String truncated = RESPONSE.substring(0, RESPONSE.indexOf("\"컬렉션\""));
+
+        DecodedRoadmap decoded = responseParser.decode(truncated, 4);
+
+        assertThat(decoded.truncated()).isTrue();
+        assertThat(decoded.isComplete()).isFalse();
+        assertThat(decoded.response().getWeeklyPlans()).extracting(WeeklyRoadmapResponse.WeeklyPlan::getWeek)
+                .containsExactly(1, 2);
+        assertThat(decoded.missingWeeks()).containsExactly(3, 4);
+        assertThat(decoded.response().getCurriculumEvaluation()).isNull();
+    }
+
+    @Test
+    @DisplayName("전체 파싱은 잘린 응답을 기존처럼 실패로 처리한다")
+    void parseResponseRejectsTruncatedResponse() {
+        assertThat(responseParser.parseResponse(RESPONSE).getWeeklyPlans()).hasSize(3);
+        assertThatThrownBy(() -> responseParser.parseResponse(RESPONSE.substring(0, RESPONSE.length() / 2)))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    @DisplayName("기간을 넘는 주차와 중복된 주차는 버린다")
+    void dropsWeeksBeyondDuration() {
+        String response = RESPONSE.replace("{\"week\": 3,", "{\"week\": 1,");
+
+        DecodedRoadmap decoded = responseParser.decode(RESPONSE, 2);
+        DecodedRoadmap duplicated = responseParser.decode(response, 3);
+
+        assertThat(decoded.response().getWeeklyPlans()).extracting(WeeklyRoadmapResponse.WeeklyPlan::getWeek)
+                .containsExactly(1, 2);
+        assertThat(decoded.isComplete()).isTrue();
+        assertThat(duplicated.response().getWeeklyPlans()).extracting(WeeklyRoadmapResponse.WeeklyPlan::getWeeklyKeyword)
+                .containsExactly("자바 기초", "객체 지향");
+        assertThat(duplicated.missingWeeks()).containsExactly(3);
+    }
+}
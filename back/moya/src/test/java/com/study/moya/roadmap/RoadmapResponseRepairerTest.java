@@ -0,0 +1,142 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.client.ChatCompletionGateway;
+import com.study.moya.ai_roadmap.dto.request.RoadmapRequest;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import com.study.moya.ai_roadmap.service.RoadmapPromptService;
+import com.study.moya.ai_roadmap.service.RoadmapResponseRepairer;
+import com.study.moya.ai_roadmap.service.RoadmapResponseRepairer.RepairedRoadmap;
+import com.study.moya.ai_roadmap.util.DecodedRoadmap;
+import com.study.moya.ai_roadmap.util.RoadmapResponseParser;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RoadmapResponseRepairerTest {
+
+    private static final String TWO_WEEKS = """
+            {"weeklyPlans": [
+              {"week": 1, "weeklyKeyword": "자바 기초", "dailyPlans": [{"day": 1, "dailyKeyword": "설치"}]},
+              {"week": 2, "weeklyKeyword": "객체 지향", "dailyPlans": [{"day": 1, "dailyKeyword": "클래스"}]}""";
+    private static final String WEEK_THREE = """
+            {"weeklyPlans": [{"week": 3, "weeklyKeyword": "컬렉션", "dailyPlans": [{"day": 1, "dailyKeyword": "리스트"}]}],
+             "overallTips": ["복습하세요."], "curriculumEvaluation": "적절합니다.", "hasRestrictedTopics": "없음"}
+            """;
+    private static final String SUMMARY_ONLY = """
+            {"weeklyPlans": [], "overallTips": ["복습하세요."], "curriculumEvaluation": "적절합니다.", "hasRestrictedTopics": "없음"}
+            """;
+
+    @Mock
+    private ChatCompletionGateway chatCompletionGateway;
+
+    private final RoadmapResponseParser responseParser = new RoadmapResponseParser(new ObjectMapper());
+    private RoadmapResponseRepairer repairer;
+    private RoadmapRequest request;
+
+    @BeforeEach
+    void setUp() {
+        repairer = new RoadmapResponseRepairer(chatCompletionGateway, new RoadmapPromptService(), responseParser,
+                new SimpleMeterRegistry(), "gpt-4o-mini");
+        request = new RoadmapRequest("프로그래밍 언어", "자바", "1", 3, "기본 개념 이해", null, null);
+    }
+
+    @Test
+    @DisplayName("잘린 응답은 빠진 주차와 평가를 보완 응답으로 채우고 주차 순으로 정렬한다")
+    void fillsMissingWeeksAndSummary() {
+        when(chatCompletionGateway.createChatCompletion(any())).thenReturn(result(WEEK_THREE, 300));
+
+        RepairedRoadmap repaired = repairer.repair(request, "시스템", responseParser.decode(TWO_WEEKS, 3));
+
+        WeeklyRoadmapResponse response = repaired.response();
+        assertThat(response.getWeeklyPlans()).extracting(WeeklyRoadmapResponse.WeeklyPlan::getWeek).containsExactly(1, 2, 3);
+        assertThat(response.getCurriculumEvaluation()).isEqualTo("적절합니다.");
+        assertThat(response.getHasRestrictedTopics()).isEqualTo("없음");
+        assertThat(repaired.extraTokens()).isEqualTo(300);
+        assertThat(lastPrompt()).contains("3주차만 포함");
+    }
+
+    @Test
+    @DisplayName("주차는 모두 있고 평가만 빠졌으면 평가만 다시 요청한다")
+    void requestsSummaryWhenOnlySummaryMissing() {
+        DecodedRoadmap decoded = responseParser.decode(TWO_WEEKS + "]}", 2);
+        when(chatCompletionGateway.createChatCompletion(any())).thenReturn(result(SUMMARY_ONLY, 100));
+
+        RepairedRoadmap repaired = repairer.repair(request, "시스템", decoded);
+
+        assertThat(repaired.response().getWeeklyPlans()).hasSize(2);
+        assertThat(repaired.response().getCurriculumEvaluation()).isEqualTo("적절합니다.");
+        assertThat(lastPrompt()).contains("weeklyPlans 는 빈 배열");
+    }
+
+    @Test
+    @DisplayName("파싱하지 못한 보완 응답은 보완 횟수로 세지 않는다")
+    void unparsableSupplementDoesNotUseRound() {
+        when(chatCompletionGateway.createChatCompletion(any())).thenReturn(
+                result("죄송합니다, 다시 시도해주세요.", 50),
+                result(SUMMARY_ONLY, 100),
+                result(WEEK_THREE, 300));
+
+        RepairedRoadmap repaired = repairer.repair(request, "시스템", responseParser.decode(TWO_WEEKS, 3));
+
+        assertThat(repaired.response().getWeeklyPlans()).extracting(WeeklyRoadmapResponse.WeeklyPlan::getWeek).containsExactly(1, 2, 3);
+        assertThat(repaired.extraTokens()).isEqualTo(450);
+        verify(chatCompletionGateway, times(3)).createChatCompletion(any());
+    }
+
+    @Test
+    @DisplayName("보완 횟수 안에 채우지 못하면 실패한다")
+    void failsAfterMaxRounds() {
+        when(chatCompletionGateway.createChatCompletion(any())).thenReturn(result(SUMMARY_ONLY, 100));
+
+        assertThatThrownBy(() -> repairer.repair(request, "시스템", responseParser.decode(TWO_WEEKS, 3)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("[3]");
+        verify(chatCompletionGateway, times(2)).createChatCompletion(any());
+    }
+
+    @Test
+    @DisplayName("살릴 주차가 없으면 보완 없이 실패한다")
+    void failsWithoutAnyWeek() {
+        assertThatThrownBy(() -> repairer.repair(request, "시스템", responseParser.decode("{\"overallTips\": [", 3)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private String lastPrompt() {
+        ArgumentCaptor<ChatCompletionRequest> captor = ArgumentCaptor.forClass(ChatCompletionRequest.class);
+        verify(chatCompletionGateway, atLeastOnce()).createChatCompletion(captor.capture());
+        List<ChatMessage> messages = captor.getValue().getMessages();
+        return messages.get(messages.size() - 1).getContent();
+    }
+
+    private static ChatCompletionResult result(String content, long totalTokens) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(new ChatMessage("assistant", content));
+        Usage usage = new Usage();
+        usage.setTotalTokens(totalTokens);
+        ChatCompletionResult result = new ChatCompletionResult();
+        result.setChoices(List.of(choice));
+        result.setUsage(usage);
+        return result;
+    }
+}
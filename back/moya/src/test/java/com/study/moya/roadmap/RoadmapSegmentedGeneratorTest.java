@@ -0,0 +1,188 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.client.ChatCompletionGateway;
+import com.study.moya.ai_roadmap.dto.request.RoadmapRequest;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import com.study.moya.ai_roadmap.service.GeneratedCurriculum;
+import com.study.moya.ai_roadmap.service.RoadmapGenerationException;
+import com.study.moya.ai_roadmap.service.RoadmapPromptService;
+import com.study.moya.ai_roadmap.service.RoadmapSegmentedGenerator;
+import com.study.moya.ai_roadmap.util.RoadmapResponseParser;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RoadmapSegmentedGeneratorTest {
+
+    private static final String OUTLINE = """
+            {"weeklyPlans": [
+              {"week": 1, "weeklyKeyword": "기초", "dailyPlans": []}, {"week": 2, "weeklyKeyword": "제어문", "dailyPlans": []},
+              {"week": 3, "weeklyKeyword": "객체", "dailyPlans": []}, {"week": 4, "weeklyKeyword": "컬렉션", "dailyPlans": []}],
+             "overallTips": ["개요 팁"], "curriculumEvaluation": "개요 평가", "hasRestrictedTopics": "없음"}
+            """;
+
+    @Mock
+    private ChatCompletionGateway chatCompletionGateway;
+
+    private final List<String> prompts = new CopyOnWriteArrayList<>();
+    private RoadmapSegmentedGenerator generator;
+    private RoadmapRequest request;
+
+    @BeforeEach
+    void setUp() {
+        // 세그먼트를 호출 스레드에서 바로 실행해 순서를 고정
+        generator = new RoadmapSegmentedGenerator(chatCompletionGateway, new RoadmapPromptService(),
+                new RoadmapResponseParser(new ObjectMapper()), Runnable::run, new SimpleMeterRegistry(),
+                "gpt-4o-mini", true, 4, 2);
+        request = new RoadmapRequest("프로그래밍 언어", "자바", "1", 4, "기본 개념 이해", null, null);
+    }
+
+    @Test
+    @DisplayName("세그먼트를 주차 순으로 합치고 주차 키워드와 팁/평가는 개요를 따른다")
+    void mergesSegmentsWithOutline() {
+        respond(prompt -> {
+            if (isOutline(prompt)) {
+                return result(OUTLINE, 100);
+            }
+            return prompt.contains("1, 2주차만")
+                    ? result(weeks(1, 2, "세그먼트 키워드"), 200)
+                    : result(weeks(3, 4, "세그먼트 키워드"), 300);
+        });
+
+        GeneratedCurriculum generated = generator.generate(request, "시스템");
+
+        WeeklyRoadmapResponse response = generated.response();
+        assertThat(response.getWeeklyPlans()).extracting(WeeklyRoadmapResponse.WeeklyPlan::getWeek).containsExactly(1, 2, 3, 4);
+        assertThat(response.getWeeklyPlans()).extracting(WeeklyRoadmapResponse.WeeklyPlan::getWeeklyKeyword)
+                .containsExactly("기초", "제어문", "객체", "컬렉션");
+        assertThat(response.getCurriculumEvaluation()).isEqualTo("개요 평가");
+        assertThat(generated.tokens()).isEqualTo(600);
+    }
+
+    @Test
+    @DisplayName("개요에 팁/평가가 있으면 세그먼트는 주차 계획만 요청한다")
+    void segmentsAskForWeeklyPlansOnly() {
+        respond(prompt -> isOutline(prompt) ? result(OUTLINE, 100)
+                : prompt.contains("1, 2주차만") ? result(weeks(1, 2, "키워드"), 200) : result(weeks(3, 4, "키워드"), 200));
+
+        generator.generate(request, "시스템");
+
+        assertThat(prompts.stream().filter(prompt -> !isOutline(prompt)))
+                .hasSize(2)
+                .allMatch(prompt -> prompt.contains("생략하고 weeklyPlans 만"));
+    }
+
+    @Test
+    @DisplayName("개요가 실패하면 첫 세그먼트만 팁/평가를 함께 작성한다")
+    void firstSegmentFillsSummaryWithoutOutline() {
+        respond(prompt -> {
+            if (isOutline(prompt)) {
+                return result("개요를 만들 수 없습니다", 50);
+            }
+            return prompt.contains("1, 2주차만")
+                    ? result(withSummary(weeks(1, 2, "키워드")), 200)
+                    : result(weeks(3, 4, "키워드"), 200);
+        });
+
+        GeneratedCurriculum generated = generator.generate(request, "시스템");
+
+        assertThat(generated.response().getCurriculumEvaluation()).isEqualTo("평가");
+        assertThat(prompts).filteredOn(prompt -> prompt.contains("1, 2주차만")).singleElement()
+                .satisfies(prompt -> assertThat(prompt).contains("전체 기간을 기준으로 작성"));
+        assertThat(prompts).filteredOn(prompt -> prompt.contains("3, 4주차만")).singleElement()
+                .satisfies(prompt -> assertThat(prompt).contains("생략하고 weeklyPlans 만"));
+    }
+
+    @Test
+    @DisplayName("모델이 주차 번호를 1부터 다시 매기면 요청한 주차로 맞춘다")
+    void renumbersShiftedWeeks() {
+        respond(prompt -> isOutline(prompt) ? result(OUTLINE, 100)
+                : prompt.contains("1, 2주차만") ? result(weeks(1, 2, "앞"), 200) : result(weeks(1, 2, "뒤"), 200));
+
+        GeneratedCurriculum generated = generator.generate(request, "시스템");
+
+        assertThat(generated.response().getWeeklyPlans()).extracting(WeeklyRoadmapResponse.WeeklyPlan::getWeek)
+                .containsExactly(1, 2, 3, 4);
+        assertThat(generated.response().getWeeklyPlans().get(2).getDailyPlans().get(0).getDailyKeyword()).isEqualTo("뒤 1");
+    }
+
+    @Test
+    @DisplayName("세그먼트가 끝내 실패하면 그때까지 쓴 토큰을 예외에 담는다")
+    void reportsSpentTokensOnFailure() {
+        respond(prompt -> {
+            if (isOutline(prompt)) {
+                return result(OUTLINE, 100);
+            }
+            // 두 번째 세그먼트는 엉뚱한 주차만 돌려줘 재요청 후에도 채우지 못한다
+            return prompt.contains("1, 2주차만") ? result(weeks(1, 2, "키워드"), 200) : result(weeks(7, 7, "키워드"), 150);
+        });
+
+        assertThatThrownBy(() -> generator.generate(request, "시스템"))
+                .isInstanceOfSatisfying(RoadmapGenerationException.class,
+                        e -> assertThat(e.getSpentTokens()).isEqualTo(100 + 200 + 150 * 2));
+    }
+
+    private void respond(Function<String, ChatCompletionResult> responder) {
+        when(chatCompletionGateway.createChatCompletion(any())).thenAnswer(invocation -> {
+            ChatCompletionRequest completionRequest = invocation.getArgument(0);
+            List<ChatMessage> messages = completionRequest.getMessages();
+            String prompt = messages.get(messages.size() - 1).getContent();
+            prompts.add(prompt);
+            return responder.apply(prompt);
+        });
+    }
+
+    private static boolean isOutline(String prompt) {
+        return prompt.contains("주차별 키워드만 정해주세요");
+    }
+
+    /**
+     * from ~ to 주차의 세그먼트 응답 (주차마다 일차 1개)
+     */
+    private static String weeks(int from, int to, String keyword) {
+        StringBuilder json = new StringBuilder("{\"weeklyPlans\": [");
+        for (int week = from; week <= to; week++) {
+            if (week > from) {
+                json.append(", ");
+            }
+            json.append(String.format("{\"week\": %d, \"weeklyKeyword\": \"%s\", \"dailyPlans\": [{\"day\": 1, \"dailyKeyword\": \"%s %d\"}]}",
+                    week, keyword, keyword, week - from + 1));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String withSummary(String segment) {
+        return segment.substring(0, segment.length() - 1)
+                + ", \"overallTips\": [\"팁\"], \"curriculumEvaluation\": \"평가\", \"hasRestrictedTopics\": \"없음\"}";
+    }
+
+    private static ChatCompletionResult result(String content, long totalTokens) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(new ChatMessage("assistant", content));
+        Usage usage = new Usage();
+        usage.setTotalTokens(totalTokens);
+        ChatCompletionResult result = new ChatCompletionResult();
+        result.setChoices(List.of(choice));
+        result.setUsage(usage);
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import com.study.moya.ai_roadmap.service.RoadmapSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class RoadmapSnapshotStoreTest {
+
+    private static final Long ROADMAP_ID = 3L;
+    private static final String KEY = "roadmap:snapshot:3";
+    private static final Duration TTL = Duration.ofHours(24);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger loads = new AtomicInteger();
+    private RoadmapSnapshotStore snapshotStore;
+
+    @BeforeEach
+    void setUp() {
+        snapshotStore = store(true);
+    }
+
+    @Test
+    @DisplayName("스냅샷이 있으면 DB 조회 없이 저장된 JSON 을 그대로 돌려준다")
+    void returnsStoredJson() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(KEY)).thenReturn("{\"overallTips\":[\"저장된 팁\"]}");
+
+        WeeklyRoadmapResponse response = snapshotStore.getResponse(ROADMAP_ID, loader());
+
+        assertThat(response.getOverallTips()).containsExactly("저장된 팁");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("스냅샷이 없으면 DB 에서 만들어 TTL 과 함께 저장한다")
+    void loadsAndSavesOnMiss() throws Exception {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        String json = snapshotStore.getJson(ROADMAP_ID, loader());
+
+        assertThat(loads).hasValue(1);
+        assertThat(objectMapper.readValue(json, WeeklyRoadmapResponse.class).getOverallTips()).containsExactly("DB 팁");
+        verify(valueOperations).set(KEY, json, TTL);
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 예외 없이 DB 에서 조회한다")
+    void fallsBackToLoaderWhenRedisFails() {
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("연결 실패"));
+
+        WeeklyRoadmapResponse response = snapshotStore.getResponse(ROADMAP_ID, loader());
+
+        assertThat(response.getOverallTips()).containsExactly("DB 팁");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("깨진 스냅샷은 무시하고 다시 만든다")
+    void rebuildsUnreadableSnapshot() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(KEY)).thenReturn("{깨진 JSON");
+
+        WeeklyRoadmapResponse response = snapshotStore.getResponse(ROADMAP_ID, loader());
+
+        assertThat(response.getOverallTips()).containsExactly("DB 팁");
+        verify(valueOperations).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서는 바로 한 번만 지운다")
+    void evictsImmediatelyOutsideTransaction() {
+        snapshotStore.evict(ROADMAP_ID);
+
+        verify(redisTemplate).delete(KEY);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서는 바로 지우고 커밋 직후 한 번 더 지운다")
+    void evictsAgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            snapshotStore.evict(ROADMAP_ID);
+            verify(redisTemplate, times(1)).delete(KEY);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(redisTemplate, times(2)).delete(KEY);
+    }
+
+    @Test
+    @DisplayName("롤백되면 커밋 후 삭제는 실행되지 않는다")
+    void skipsSecondEvictOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            snapshotStore.evict(ROADMAP_ID);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(redisTemplate, times(1)).delete(KEY);
+    }
+
+    @Test
+    @DisplayName("비활성화하면 Redis 를 건드리지 않고 항상 DB 에서 조회한다")
+    void disabledStoreBypassesRedis() {
+        RoadmapSnapshotStore disabled = store(false);
+
+        disabled.getJson(ROADMAP_ID, loader());
+        disabled.evict(ROADMAP_ID);
+
+        assertThat(loads).hasValue(1);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("로드맵 ID 가 없으면 삭제하지 않는다")
+    void ignoresNullRoadmapId() {
+        snapshotStore.evict(null);
+
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    private RoadmapSnapshotStore store(boolean enabled) {
+        return new RoadmapSnapshotStore(redisTemplate, objectMapper, new SimpleMeterRegistry(), enabled, TTL);
+    }
+
+    private Supplier<WeeklyRoadmapResponse> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return new WeeklyRoadmapResponse(List.of(), List.of("DB 팁"), "평가", "없음");
+        };
+    }
+}
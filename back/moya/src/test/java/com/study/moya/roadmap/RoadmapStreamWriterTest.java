@@ -0,0 +1,78 @@
+package com.study.moya.roadmap;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.study.moya.ai_roadmap.domain.Etc;
+import com.study.moya.ai_roadmap.domain.RoadMap;
+import com.study.moya.ai_roadmap.repository.DailyPlanRepository;
+import com.study.moya.ai_roadmap.repository.EtcRepository;
+import com.study.moya.ai_roadmap.repository.RoadMapRepository;
+import com.study.moya.ai_roadmap.repository.WeeklyPlanRepository;
+import com.study.moya.ai_roadmap.service.RoadmapService;
+import com.study.moya.ai_roadmap.service.RoadmapSnapshotStore;
+import com.study.moya.ai_roadmap.service.RoadmapStreamWriter;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RoadmapStreamWriterTest {
+
+    private static final Long ROADMAP_ID = 3L;
+
+    @Mock
+    private RoadMapRepository roadMapRepository;
+
+    @Mock
+    private WeeklyPlanRepository weeklyPlanRepository;
+
+    @Mock
+    private DailyPlanRepository dailyPlanRepository;
+
+    @Mock
+    private EtcRepository etcRepository;
+
+    @Mock
+    private RoadmapSnapshotStore snapshotStore;
+
+    @InjectMocks
+    private RoadmapStreamWriter roadmapStreamWriter;
+
+    @Test
+    @DisplayName("부분 저장된 로드맵을 지우면 함께 만든 분류(Etc)도 로드맵 다음에 삭제한다")
+    void discardDeletesEtcs() {
+        Etc etc1 = Etc.builder().name("백엔드").etcType(RoadmapService.MAIN_CATEGORY).build();
+        RoadMap roadMap = RoadMap.builder().goalLevel(1).topic("자바").duration(4).etc1(etc1).build();
+        when(roadMapRepository.findById(ROADMAP_ID)).thenReturn(Optional.of(roadMap));
+
+        roadmapStreamWriter.discard(ROADMAP_ID);
+
+        InOrder order = inOrder(dailyPlanRepository, weeklyPlanRepository, roadMapRepository, etcRepository);
+        order.verify(dailyPlanRepository).deleteByWeeklyPlanRoadMapId(ROADMAP_ID);
+        order.verify(weeklyPlanRepository).deleteByRoadMapId(ROADMAP_ID);
+        order.verify(roadMapRepository).delete(roadMap);
+        order.verify(etcRepository).deleteAll(List.of(etc1));
+        verify(snapshotStore).evict(ROADMAP_ID);
+    }
+
+    @Test
+    @DisplayName("이미 지워진 로드맵은 분류 삭제 없이 넘어간다")
+    void discardMissingRoadmap() {
+        when(roadMapRepository.findById(ROADMAP_ID)).thenReturn(Optional.empty());
+
+        roadmapStreamWriter.discard(ROADMAP_ID);
+
+        verify(etcRepository, never()).deleteAll(any());
+        verify(snapshotStore).evict(ROADMAP_ID);
+    }
+}
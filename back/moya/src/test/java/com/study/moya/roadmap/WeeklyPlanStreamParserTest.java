@@ -0,0 +1,75 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.dto.response.WeeklyRoadmapResponse;
+import com.study.moya.ai_roadmap.util.RoadmapResponseParser;
+import com.study.moya.ai_roadmap.util.WeeklyPlanStreamParser;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class WeeklyPlanStreamParserTest {
+
+    private static final String RESPONSE = """
+            {
+              "weeklyPlans": [
+                {
+                  "week": 1,
+                  "weeklyKeyword": "자바 기초 {중괄호} 이해",
+                  "dailyPlans": [
+                    {"day": 1, "dailyKeyword": "자바 설치 및 \\"환경\\" 설정"},
+                    {"day": 2, "dailyKeyword": "배열 [] 기초"}
+                  ]
+                },
+                {
+                  "week": 2,
+                  "weeklyKeyword": "객체 지향 프로그래밍 기본",
+                  "dailyPlans": [
+                    {"day": 1, "dailyKeyword": "클래스와 객체 개념"}
+                  ]
+                }
+              ],
+              "overallTips": ["매일 꾸준히 학습하세요."],
+              "curriculumEvaluation": "초급자에게 적합합니다.",
+              "hasRestrictedTopics": "없음"
+            }
+            """;
+
+    private final RoadmapResponseParser responseParser = new RoadmapResponseParser(new ObjectMapper());
+
+    @Test
+    @DisplayName("주차 객체가 닫히는 즉시 해당 주차를 반환한다")
+    void emitsWeekAsSoonAsObjectCloses() {
+        WeeklyPlanStreamParser streamParser = responseParser.newStreamParser();
+        int secondWeekStart = RESPONSE.indexOf("\"week\": 2");
+
+        List<WeeklyRoadmapResponse.WeeklyPlan> firstPart = streamParser.feed(RESPONSE.substring(0, secondWeekStart));
+        List<WeeklyRoadmapResponse.WeeklyPlan> secondPart = streamParser.feed(RESPONSE.substring(secondWeekStart));
+
+        assertThat(firstPart).extracting(WeeklyRoadmapResponse.WeeklyPlan::getWeek).containsExactly(1);
+        assertThat(secondPart).extracting(WeeklyRoadmapResponse.WeeklyPlan::getWeek).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("한 글자씩 들어와도 문자열 안의 괄호와 이스케이프를 무시하고 전체 응답과 같은 결과를 만든다")
+    void characterByCharacterFeedMatchesFullParse() {
+        WeeklyPlanStreamParser streamParser = responseParser.newStreamParser();
+        List<WeeklyRoadmapResponse.WeeklyPlan> streamed = new ArrayList<>();
+
+        for (char c : RESPONSE.toCharArray()) {
+            streamed.addAll(streamParser.feed(String.valueOf(c)));
+        }
+        WeeklyRoadmapResponse full = streamParser.finish();
+
+        assertThat(streamed).hasSize(2);
+        assertThat(streamed.get(0).getWeeklyKeyword()).isEqualTo("자바 기초 {중괄호} 이해");
+        assertThat(streamed.get(0).getDailyPlans()).extracting(WeeklyRoadmapResponse.DailyPlan::getDailyKeyword)
+                .containsExactly("자바 설치 및 \"환경\" 설정", "배열 [] 기초");
+        assertThat(full.getWeeklyPlans()).extracting(WeeklyRoadmapResponse.WeeklyPlan::getWeeklyKeyword)
+                .containsExactlyElementsOf(streamed.stream().map(WeeklyRoadmapResponse.WeeklyPlan::getWeeklyKeyword).toList());
+        assertThat(full.getOverallTips()).containsExactly("매일 꾸준히 학습하세요.");
+    }
+}
@@ -0,0 +1,95 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.study.moya.ai_roadmap.client.OpenAiRateLimiter;
+import com.study.moya.ai_roadmap.service.WorksheetBatchPlan;
+import com.study.moya.ai_roadmap.service.WorksheetBatchPlanner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class WorksheetBatchPlannerTest {
+
+    private WorksheetBatchPlanner planner(int tokensPerMinute) {
+        return planner(tokensPerMinute, 2500);
+    }
+
+    private WorksheetBatchPlanner planner(int tokensPerMinute, int maxCompletionTokens) {
+        OpenAiRateLimiter limiter = new OpenAiRateLimiter(new SimpleMeterRegistry(), 500, tokensPerMinute, 0.9);
+        return new WorksheetBatchPlanner(limiter, 450, 30, 700, maxCompletionTokens, 60, Duration.ofSeconds(1), 6);
+    }
+
+    @Test
+    @DisplayName("1주 로드맵은 일차를 잘게 나눠 병렬로 생성한다")
+    void shortRoadmapRunsInParallel() {
+        WorksheetBatchPlan plan = planner(200_000).plan(List.of(7));
+
+        assertThat(plan.groupSize()).isLessThan(3);
+        assertThat(plan.inFlight()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("긴 로드맵도 작업당 동시 호출 수는 상한을 넘지 않고 완료 토큰은 예산 안에 든다")
+    void longRoadmapIsBounded() {
+        WorksheetBatchPlan plan = planner(200_000).plan(Collections.nCopies(52, 7));
+
+        assertThat(plan.inFlight()).isLessThanOrEqualTo(6);
+        assertThat(plan.maxTokens()).isLessThanOrEqualTo(2500);
+        assertThat(plan.split(Collections.nCopies(52, List.of(1, 2, 3, 4, 5, 6, 7)))).hasSize(plan.groups());
+    }
+
+    @Test
+    @DisplayName("토큰 예산이 빠듯하면 프롬프트 고정 비용을 줄이도록 큰 그룹을 쓴다")
+    void tightBudgetPrefersLargerGroups() {
+        WorksheetBatchPlan generous = planner(200_000).plan(Collections.nCopies(52, 7));
+        WorksheetBatchPlan tight = planner(20_000).plan(Collections.nCopies(52, 7));
+
+        assertThat(tight.groupSize()).isGreaterThan(generous.groupSize());
+    }
+
+    @Test
+    @DisplayName("기본 완료 토큰 상한이면 예산이 빠듯할 때 한 주차 전체를 한 그룹으로 생성한다")
+    void defaultCompletionBudgetAllowsWholeWeek() {
+        WorksheetBatchPlan plan = planner(20_000, 6144).plan(Collections.nCopies(52, 7));
+
+        assertThat(plan.groupSize()).isEqualTo(7);
+        assertThat(plan.groups()).isEqualTo(52);
+        assertThat(plan.maxTokens()).isLessThanOrEqualTo(6144);
+    }
+
+    @Test
+    @DisplayName("완료 토큰 상한이 작으면 그룹 크기는 상한 / 일차별 토큰을 넘지 않는다")
+    void groupSizeIsBoundedByCompletionBudget() {
+        WorksheetBatchPlan plan = planner(20_000, 2500).plan(Collections.nCopies(52, 7));
+
+        assertThat(plan.groupSize()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("실패한 그룹이 있어도 나머지 그룹은 끝까지 처리하고, 실패 그룹 수를 담아 예외로 완료한다")
+    void runReportsFailedGroups() {
+        WorksheetBatchPlan plan = new WorksheetBatchPlan(1, 1000, 2, 3, 1.0);
+        List<Integer> processed = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Void> result = plan.run(List.of(List.of(1), List.of(2), List.of(3)), group -> {
+            if (group.getFirst() == 2) {
+                throw new IllegalStateException("파싱된 학습 가이드가 없습니다.");
+            }
+            processed.add(group.getFirst());
+        }, Runnable::run);
+
+        assertThat(processed).containsExactlyInAnyOrder(1, 3);
+        assertThatThrownBy(result::join)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .cause()
+                .hasMessage("학습지 생성 실패 그룹 1/3")
+                .hasRootCauseMessage("파싱된 학습 가이드가 없습니다.");
+    }
+}
@@ -0,0 +1,45 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.study.moya.ai_roadmap.util.WorksheetCodec;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class WorksheetCodecTest {
+
+    private static final String WORKSHEET = """
+            오늘은 스프링 트랜잭션의 전파 속성에 대해 학습합니다. 트랜잭션 전파는 이미 진행 중인 트랜잭션이 있을 때 \
+            새로운 메서드가 어떻게 동작할지를 결정하는 규칙으로, 데이터 일관성을 지키기 위해 이해하는 것이 중요합니다. \
+            핵심 학습 내용은 REQUIRED, REQUIRES_NEW, NESTED 의 차이와 각각이 롤백 범위에 미치는 영향입니다. \
+            실무에서는 주문 처리와 로그 저장처럼 서로 독립적으로 커밋되어야 하는 작업을 분리할 때 REQUIRES_NEW 를 활용할 수 있습니다. \
+            학습 시 주의사항으로는 같은 클래스 내부 호출에서는 프록시를 거치지 않아 전파 속성이 적용되지 않는다는 점을 기억해야 합니다.""";
+
+    @Test
+    @DisplayName("압축한 학습지는 원문으로 복원되고 저장 크기가 줄어든다")
+    void roundTripShrinks() {
+        String stored = WorksheetCodec.encode(WORKSHEET);
+
+        assertThat(stored).startsWith(WorksheetCodec.MARKER);
+        assertThat(stored.length()).isLessThan(WORKSHEET.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(WorksheetCodec.decode(stored)).isEqualTo(WORKSHEET);
+    }
+
+    @Test
+    @DisplayName("압축 도입 전 원문과 짧은 본문은 그대로 읽고 쓴다")
+    void legacyAndShortValuesPassThrough() {
+        assertThat(WorksheetCodec.decode("기존에 저장된 학습지")).isEqualTo("기존에 저장된 학습지");
+        assertThat(WorksheetCodec.encode("짧은 학습지")).isEqualTo("짧은 학습지");
+        assertThat(WorksheetCodec.encode("")).isEmpty();
+        assertThat(WorksheetCodec.decode(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("마커로 시작하는 원문도 원래 값으로 복원된다")
+    void markerLikeTextIsEscaped() {
+        String text = WorksheetCodec.MARKER + "원문";
+
+        assertThat(WorksheetCodec.decode(WorksheetCodec.encode(text))).isEqualTo(text);
+    }
+}
@@ -0,0 +1,132 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.study.moya.ai_roadmap.service.WorksheetFairScheduler;
+import com.study.moya.ai_roadmap.service.WorksheetFairScheduler.Flow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class WorksheetFairSchedulerTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final WorksheetFairScheduler scheduler = new WorksheetFairScheduler(executor, new SimpleMeterRegistry(), 1, 4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("큰 작업이 먼저 그룹을 모두 넣어도 나중에 온 작은 작업이 바로 다음 순서로 실행된다")
+    void smallJobIsInterleavedBeforeLargeBacklog() throws Exception {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> large = scheduler.submit(Flow.job(1L, 10L), groups("large", 10), group -> {
+            await(release);
+            order.add(group.getFirst());
+        }, 6);
+        CompletableFuture<Void> small = scheduler.submit(Flow.job(2L, 20L), groups("small", 1),
+                group -> order.add(group.getFirst()), 6);
+        release.countDown();
+
+        CompletableFuture.allOf(large, small).get(5, TimeUnit.SECONDS);
+        assertThat(order).hasSize(11);
+        assertThat(order.indexOf("small-0")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("한 회원의 다른 흐름이 끝나면 남은 흐름이 그 회원 몫의 가중치를 모두 가져간다")
+    void memberWeightFollowsActiveFlows() throws Exception {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> blocker = scheduler.submit(Flow.job(9L, 90L), groups("blocker", 1), group -> await(release), 1);
+        CompletableFuture<Void> shortJob = scheduler.submit(Flow.job(1L, 10L), groups("short", 1),
+                group -> order.add(group.getFirst()), 1);
+        CompletableFuture<Void> sameMember = scheduler.submit(Flow.job(1L, 11L), groups("same", 8),
+                group -> order.add(group.getFirst()), 1);
+        CompletableFuture<Void> otherMember = scheduler.submit(Flow.job(2L, 20L), groups("other", 8),
+                group -> order.add(group.getFirst()), 1);
+        release.countDown();
+
+        CompletableFuture.allOf(blocker, shortJob, sameMember, otherMember).get(5, TimeUnit.SECONDS);
+        assertThat(order.getFirst()).isEqualTo("short-0");
+        // 짧은 작업이 끝난 뒤에는 두 회원이 같은 몫으로 번갈아 실행된다
+        List<String> afterShort = order.subList(1, 9);
+        assertThat(afterShort.stream().filter(group -> group.startsWith("same"))).hasSize(4);
+        assertThat(afterShort.stream().filter(group -> group.startsWith("other"))).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("실패한 그룹이 있어도 나머지를 끝까지 실행하고 실패 수를 담아 완료한다")
+    void failureCompletesAfterAllGroups() {
+        List<String> done = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<Void> result = scheduler.submit(Flow.job(1L, 10L), groups("job", 3), group -> {
+            if (group.getFirst().equals("job-1")) {
+                throw new IllegalStateException("boom");
+            }
+            done.add(group.getFirst());
+        }, 2);
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasMessageContaining("1/3");
+        assertThat(done).containsExactlyInAnyOrder("job-0", "job-2");
+    }
+
+    @Test
+    @DisplayName("흐름을 취소하면 대기 그룹은 실행되지 않고 실행 중인 그룹은 인터럽트된다")
+    void cancelDropsQueuedGroupsAndInterruptsRunning() throws Exception {
+        List<String> done = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Flow flow = Flow.job(1L, 10L);
+
+        CompletableFuture<Void> result = scheduler.submit(flow, groups("job", 3), group -> {
+            started.countDown();
+            try {
+                Thread.sleep(5_000);
+                done.add(group.getFirst());
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }, 1);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        scheduler.cancel(flow);
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        scheduler.submit(Flow.job(2L, 20L), groups("next", 1), group -> done.add(group.getFirst()), 1)
+                .get(5, TimeUnit.SECONDS);
+        assertThat(done).containsExactly("next-0");
+    }
+
+    private List<List<String>> groups(String prefix, int count) {
+        List<List<String>> groups = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            groups.add(List.of(prefix + "-" + i));
+        }
+        return groups;
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.study.moya.ai_roadmap.util.WorksheetLibraryKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class WorksheetLibraryKeyTest {
+
+    @Test
+    @DisplayName("대소문자, 공백, 문장부호, 전각 문자 차이는 같은 키가 된다")
+    void normalizesNotation() {
+        String key = WorksheetLibraryKey.of("프로그래밍 언어", "자바", "Spring Boot 기초", 2);
+
+        assertThat(WorksheetLibraryKey.of(" 프로그래밍  언어", "자바", "spring-boot 기초!", 2)).isEqualTo(key);
+        assertThat(WorksheetLibraryKey.of("프로그래밍 언어", "자바", "Ｓｐｒｉｎｇ　Ｂｏｏｔ　기초", 2)).isEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("기술 용어의 +, # 은 유지하고 분류나 목표 수준이 다르면 다른 키가 된다")
+    void distinguishesContent() {
+        String key = WorksheetLibraryKey.of("프로그래밍 언어", null, "C++ 포인터", 2);
+
+        assertThat(WorksheetLibraryKey.of("프로그래밍 언어", "", "C++ 포인터", 2)).isEqualTo(key);
+        assertThat(WorksheetLibraryKey.of("프로그래밍 언어", null, "C 포인터", 2)).isNotEqualTo(key);
+        assertThat(WorksheetLibraryKey.of("프로그래밍 언어", null, "C++ 포인터", 3)).isNotEqualTo(key);
+        assertThat(WorksheetLibraryKey.of("프로그래밍 언어", "C++", "포인터", 2)).isNotEqualTo(key);
+    }
+}
@@ -0,0 +1,105 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.study.moya.ai_roadmap.domain.DailyPlan;
+import com.study.moya.ai_roadmap.domain.WorksheetLibraryEntry;
+import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
+import com.study.moya.ai_roadmap.repository.WorksheetLibraryRepository;
+import com.study.moya.ai_roadmap.service.WorksheetLibrary;
+import com.study.moya.ai_roadmap.util.WorksheetLibraryKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class WorksheetLibraryTest {
+
+    private static final WorkSheetRequest REQUEST = new WorkSheetRequest("프로그래밍 언어", "자바");
+    private static final int GOAL_LEVEL = 2;
+
+    @Mock
+    private WorksheetLibraryRepository libraryRepository;
+
+    private WorksheetLibrary library;
+
+    @BeforeEach
+    void setUp() {
+        library = new WorksheetLibrary(libraryRepository, new SimpleMeterRegistry(), true, Duration.ofDays(30), 50_000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("신선한 항목이 있는 키는 건너뛰고, 나머지 키는 오래된 항목을 지운 뒤 새로 저장한다")
+    void replacesStaleEntries() {
+        DailyPlan freshDay = plan(1L, 1, "변수");
+        DailyPlan staleDay = plan(2L, 2, "제어문");
+        when(libraryRepository.findFreshKeys(anyCollection(), any(LocalDateTime.class))).thenReturn(List.of(key("변수")));
+
+        LocalDateTime before = LocalDateTime.now().minusDays(30);
+        library.store(List.of(freshDay, staleDay), Map.of(1, "변수 학습지", 2, "새 제어문 학습지"), REQUEST, GOAL_LEVEL, 700);
+
+        ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<LocalDateTime> freshSince = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(libraryRepository).deleteStale(keys.capture(), freshSince.capture());
+        assertThat(keys.getValue()).containsExactly(key("제어문"));
+        assertThat(freshSince.getValue()).isBetween(before, LocalDateTime.now().minusDays(30));
+
+        ArgumentCaptor<WorksheetLibraryEntry> saved = ArgumentCaptor.forClass(WorksheetLibraryEntry.class);
+        verify(libraryRepository, times(1)).save(saved.capture());
+        assertThat(saved.getValue().getContentKey()).isEqualTo(key("제어문"));
+        assertThat(saved.getValue().getWorkSheet()).isEqualTo("새 제어문 학습지");
+    }
+
+    @Test
+    @DisplayName("모든 키가 신선하면 지우거나 저장하지 않는다")
+    void skipsWhenAllFresh() {
+        when(libraryRepository.findFreshKeys(anyCollection(), any(LocalDateTime.class))).thenReturn(List.of(key("변수")));
+
+        library.store(List.of(plan(1L, 1, "변수")), Map.of(1, "변수 학습지"), REQUEST, GOAL_LEVEL, 700);
+
+        verify(libraryRepository, never()).deleteStale(anyCollection(), any());
+        verify(libraryRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("같은 키워드가 여러 일차에 있어도 한 번만 저장한다")
+    void storesDuplicateKeyOnce() {
+        when(libraryRepository.findFreshKeys(anyCollection(), any(LocalDateTime.class))).thenReturn(List.of());
+
+        library.store(List.of(plan(1L, 1, "복습"), plan(2L, 2, "복습")), Map.of(1, "복습 1", 2, "복습 2"),
+                REQUEST, GOAL_LEVEL, 700);
+
+        verify(libraryRepository).deleteStale(eq(Set.of(key("복습"))), any(LocalDateTime.class));
+        verify(libraryRepository, times(1)).save(any());
+    }
+
+    private static String key(String keyword) {
+        return WorksheetLibraryKey.of(REQUEST.mainCategory(), REQUEST.subCategory(), keyword, GOAL_LEVEL);
+    }
+
+    private static DailyPlan plan(Long id, int dayNumber, String keyword) {
+        DailyPlan plan = DailyPlan.builder().dayNumber(dayNumber).keyword(keyword).build();
+        ReflectionTestUtils.setField(plan, "id", id);
+        return plan;
+    }
+}
@@ -0,0 +1,319 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.moya.ai_roadmap.constants.GenerationJobStatus;
+import com.study.moya.ai_roadmap.constants.GenerationJobType;
+import com.study.moya.ai_roadmap.domain.DailyPlan;
+import com.study.moya.ai_roadmap.domain.GenerationJob;
+import com.study.moya.ai_roadmap.domain.WeeklyPlan;
+import com.study.moya.ai_roadmap.dto.request.WorkSheetRequest;
+import com.study.moya.ai_roadmap.repository.DailyPlanRepository;
+import com.study.moya.ai_roadmap.repository.GenerationJobRepository;
+import com.study.moya.ai_roadmap.repository.RoadMapRepository;
+import com.study.moya.ai_roadmap.service.GenerationJobCancellations;
+import com.study.moya.ai_roadmap.service.RoadmapSnapshotStore;
+import com.study.moya.ai_roadmap.service.WorksheetBatchPlanner;
+import com.study.moya.ai_roadmap.service.WorksheetFairScheduler;
+import com.study.moya.ai_roadmap.service.WorksheetFairScheduler.Flow;
+import com.study.moya.ai_roadmap.service.WorksheetCheckpoint;
+import com.study.moya.ai_roadmap.service.WorksheetLibrary;
+import com.study.moya.ai_roadmap.service.WorksheetOnDemandGenerator;
+import com.study.moya.ai_roadmap.service.WorksheetPrefetchStore;
+import com.study.moya.ai_roadmap.service.WorksheetProgressTracker;
+import com.study.moya.ai_roadmap.service.WorksheetService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class WorksheetOnDemandGeneratorTest {
+
+    private static final Long ROADMAP_ID = 3L;
+    private static final Long MEMBER_ID = 7L;
+    private static final WorkSheetRequest REQUEST = new WorkSheetRequest("프로그래밍 언어", "자바");
+
+    @Mock
+    private WorksheetService worksheetService;
+
+    @Mock
+    private DailyPlanRepository dailyPlanRepository;
+
+    @Mock
+    private GenerationJobRepository generationJobRepository;
+
+    @Mock
+    private WorksheetFairScheduler fairScheduler;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GenerationJobCancellations cancellations = new GenerationJobCancellations();
+
+    private DailyPlan week1Day6;
+    private DailyPlan week1Day7;
+    private DailyPlan week2Day1;
+
+    @BeforeEach
+    void setUp() {
+        WeeklyPlan week1 = weeklyPlan(101L, 1);
+        WeeklyPlan week2 = weeklyPlan(102L, 2);
+        week1Day6 = dailyPlan(11L, week1, 6);
+        week1Day7 = dailyPlan(12L, week1, 7);
+        week2Day1 = dailyPlan(13L, week2, 1);
+    }
+
+    @Test
+    @DisplayName("같은 일차를 동시에 열면 먼저 온 요청만 생성하고 나머지는 그 생성을 기다린다")
+    void followersShareLeaderGeneration() throws Exception {
+        WorksheetOnDemandGenerator generator = generator(Duration.ofSeconds(5));
+        givenWindow();
+        givenLatestJob(GenerationJobStatus.SUCCEEDED, false);
+        CompletableFuture<Void> generation = new CompletableFuture<>();
+        CountDownLatch submitted = new CountDownLatch(2);
+        when(worksheetService.generateDays(eq(ROADMAP_ID), anyList(), eq(REQUEST), any(Flow.class))).thenAnswer(invocation -> {
+            submitted.countDown();
+            return generation;
+        });
+
+        CompletableFuture<Void> leader = CompletableFuture.runAsync(() -> generator.ensureGenerated(ROADMAP_ID, 1, 6, MEMBER_ID));
+        assertThat(submitted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> follower = CompletableFuture.runAsync(() -> generator.ensureGenerated(ROADMAP_ID, 1, 6, MEMBER_ID));
+        awaitCount("follower", 3);
+        assertThat(leader).isNotDone();
+
+        generation.complete(null);
+        leader.get(5, TimeUnit.SECONDS);
+        follower.get(5, TimeUnit.SECONDS);
+
+        // 주차가 바뀌는 지점에서 나눠 두 번 제출하고, 뒤따른 요청은 제출하지 않는다
+        verify(worksheetService).generateDays(ROADMAP_ID, List.of(week1Day6, week1Day7), REQUEST, Flow.onDemand(MEMBER_ID, ROADMAP_ID));
+        verify(worksheetService).generateDays(ROADMAP_ID, List.of(week2Day1), REQUEST, Flow.onDemand(MEMBER_ID, ROADMAP_ID));
+        assertThat(count("leader")).isEqualTo(3);
+        assertThat(gauge()).isZero();
+    }
+
+    @Test
+    @DisplayName("생성이 끝나거나 실패한 일차는 진행 중 목록에서 빠져 다시 열면 새로 생성한다")
+    void completedGenerationIsReleased() {
+        WorksheetOnDemandGenerator generator = generator(Duration.ofSeconds(5));
+        givenWindow();
+        givenLatestJob(GenerationJobStatus.SUCCEEDED, false);
+        when(worksheetService.generateDays(eq(ROADMAP_ID), anyList(), eq(REQUEST), any(Flow.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("학습지 생성 실패")));
+
+        generator.ensureGenerated(ROADMAP_ID, 1, 6, MEMBER_ID);
+        generator.ensureGenerated(ROADMAP_ID, 1, 6, MEMBER_ID);
+
+        verify(worksheetService, times(4)).generateDays(eq(ROADMAP_ID), anyList(), eq(REQUEST), any(Flow.class));
+        assertThat(count("follower")).isZero();
+    }
+
+    @Test
+    @DisplayName("요청한 일차가 이미 채워져 있으면 생성하지 않는다")
+    void skipsGeneratedDay() {
+        WorksheetOnDemandGenerator generator = generator(Duration.ofSeconds(5));
+        when(dailyPlanRepository.findPendingFrom(eq(ROADMAP_ID), eq(1), eq(6), any(Pageable.class)))
+                .thenReturn(List.of(week1Day7, week2Day1));
+
+        generator.ensureGenerated(ROADMAP_ID, 1, 6, MEMBER_ID);
+
+        verifyNoInteractions(generationJobRepository, worksheetService);
+    }
+
+    @Test
+    @DisplayName("학습지 작업이 없거나, 진행 중이거나, 환불된 회원은 생성하지 않는다")
+    void requiresEntitledWorksheetJob() {
+        WorksheetOnDemandGenerator generator = generator(Duration.ofSeconds(5));
+        givenWindow();
+
+        when(generationJobRepository.findFirstByRoadmapIdAndMemberIdAndJobTypeOrderByIdDesc(
+                ROADMAP_ID, MEMBER_ID, GenerationJobType.WORKSHEET)).thenReturn(Optional.empty());
+        generator.ensureGenerated(ROADMAP_ID, 1, 6, MEMBER_ID);
+
+        givenLatestJob(GenerationJobStatus.RUNNING, false);
+        generator.ensureGenerated(ROADMAP_ID, 1, 6, MEMBER_ID);
+
+        givenLatestJob(GenerationJobStatus.FAILED, true);
+        generator.ensureGenerated(ROADMAP_ID, 1, 6, MEMBER_ID);
+
+        verifyNoInteractions(worksheetService);
+    }
+
+    @Test
+    @DisplayName("비로그인 요청이나 비활성화 상태에서는 조회하지 않는다")
+    void disabledOrAnonymous() {
+        generator(Duration.ofSeconds(5)).ensureGenerated(ROADMAP_ID, 1, 6, null);
+        disabledGenerator().ensureGenerated(ROADMAP_ID, 1, 6, MEMBER_ID);
+
+        verifyNoInteractions(dailyPlanRepository, generationJobRepository, worksheetService);
+    }
+
+    @Test
+    @DisplayName("로드맵을 삭제하면 진행 중인 요청 시 생성의 흐름을 취소한다")
+    void roadmapCancellationStopsGeneration() {
+        WorksheetOnDemandGenerator generator = generator(Duration.ofMillis(50));
+        givenWindow();
+        givenLatestJob(GenerationJobStatus.SUCCEEDED, false);
+        when(worksheetService.generateDays(eq(ROADMAP_ID), anyList(), eq(REQUEST), any(Flow.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        generator.ensureGenerated(ROADMAP_ID, 1, 6, MEMBER_ID);
+
+        assertThat(cancellations.cancelRoadmap(ROADMAP_ID)).isEqualTo(2);
+        verify(fairScheduler, times(2)).cancel(Flow.onDemand(MEMBER_ID, ROADMAP_ID));
+    }
+
+    @Test
+    @DisplayName("끝난 요청 시 생성은 등록에서 빠져 로드맵 삭제 시 취소하지 않는다")
+    void finishedGenerationIsUnregistered() {
+        WorksheetOnDemandGenerator generator = generator(Duration.ofSeconds(5));
+        givenWindow();
+        givenLatestJob(GenerationJobStatus.SUCCEEDED, false);
+        when(worksheetService.generateDays(eq(ROADMAP_ID), anyList(), eq(REQUEST), any(Flow.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        generator.ensureGenerated(ROADMAP_ID, 1, 6, MEMBER_ID);
+
+        assertThat(cancellations.cancelRoadmap(ROADMAP_ID)).isZero();
+        verify(fairScheduler, never()).cancel(any());
+    }
+
+    @Test
+    @DisplayName("생성 직전에 다시 확인해 이미 채워진 일차는 빼고 생성한다")
+    void generateDaysSkipsDaysFilledMeanwhile() {
+        WorksheetLibrary worksheetLibrary = mock(WorksheetLibrary.class);
+        RoadMapRepository roadMapRepository = mock(RoadMapRepository.class);
+        WorksheetService service = new WorksheetService(null, null, null, null, dailyPlanRepository, mock(RoadmapSnapshotStore.class),
+                mock(WorksheetBatchPlanner.class), mock(WorksheetProgressTracker.class),
+                worksheetLibrary, roadMapRepository, null, null, fairScheduler, null);
+        when(dailyPlanRepository.findIdsWithoutWorksheet(List.of(11L, 12L))).thenReturn(List.of(12L));
+        when(roadMapRepository.findGoalLevelById(ROADMAP_ID)).thenReturn(Optional.of(1));
+        when(worksheetLibrary.lookup(List.of(week1Day7), REQUEST, 1)).thenReturn(Map.of(12L, "라이브러리 학습지"));
+
+        CompletableFuture<Void> generation = service.generateDays(ROADMAP_ID, List.of(week1Day6, week1Day7), REQUEST,
+                Flow.onDemand(MEMBER_ID, ROADMAP_ID));
+
+        assertThat(generation).isCompleted();
+        assertThat(week1Day7.getWorkSheet()).isEqualTo("라이브러리 학습지");
+        verifyNoInteractions(fairScheduler);
+    }
+
+    @Test
+    @DisplayName("모든 일차가 이미 채워졌으면 라이브러리 조회와 생성 없이 끝난다")
+    void generateDaysWithEveryDayFilled() {
+        WorksheetLibrary worksheetLibrary = mock(WorksheetLibrary.class);
+        WorksheetService service = new WorksheetService(null, null, null, null, dailyPlanRepository, null, null, null,
+                worksheetLibrary, null, null, null, fairScheduler, null);
+        when(dailyPlanRepository.findIdsWithoutWorksheet(List.of(11L, 12L))).thenReturn(List.of());
+
+        CompletableFuture<Void> generation = service.generateDays(ROADMAP_ID, List.of(week1Day6, week1Day7), REQUEST,
+                Flow.onDemand(MEMBER_ID, ROADMAP_ID));
+
+        assertThat(generation).isCompleted();
+        verifyNoInteractions(worksheetLibrary, fairScheduler);
+    }
+
+    @Test
+    @DisplayName("요청 시 생성 모드의 학습지 작업은 앞쪽 일차만 만들고 나머지 일차 수를 돌려준다")
+    void pendingWorksheetsLeaveLaterDaysToOnDemand() {
+        WorksheetPrefetchStore prefetchStore = mock(WorksheetPrefetchStore.class);
+        WorksheetCheckpoint checkpoint = mock(WorksheetCheckpoint.class);
+        WorksheetService service = new WorksheetService(null, null, null, null, dailyPlanRepository, mock(RoadmapSnapshotStore.class),
+                mock(WorksheetBatchPlanner.class), mock(WorksheetProgressTracker.class),
+                mock(WorksheetLibrary.class), mock(RoadMapRepository.class), prefetchStore, null, fairScheduler, null);
+        ReflectionTestUtils.setField(service, "onDemandEnabled", true);
+        ReflectionTestUtils.setField(service, "onDemandInitialDays", 2);
+        when(dailyPlanRepository.findAllWithoutWorksheetByRoadmapId(ROADMAP_ID))
+                .thenReturn(List.of(week1Day6, week1Day7, week2Day1));
+        when(prefetchStore.claim(ROADMAP_ID)).thenReturn(Map.of(11L, "미리 생성한 학습지", 12L, "미리 생성한 학습지"));
+
+        int onDemandDays = service.generatePendingWorksheets(ROADMAP_ID, REQUEST, Flow.job(MEMBER_ID, 1L), checkpoint);
+
+        assertThat(onDemandDays).isEqualTo(1);
+        assertThat(week2Day1.getWorkSheet()).isNull();
+        verify(checkpoint).started(2);
+        verifyNoInteractions(fairScheduler);
+    }
+
+    private WorksheetOnDemandGenerator generator(Duration waitTimeout) {
+        return new WorksheetOnDemandGenerator(worksheetService, dailyPlanRepository, generationJobRepository,
+                cancellations, fairScheduler, objectMapper, meterRegistry, true, 2, waitTimeout);
+    }
+
+    private WorksheetOnDemandGenerator disabledGenerator() {
+        return new WorksheetOnDemandGenerator(worksheetService, dailyPlanRepository, generationJobRepository,
+                cancellations, fairScheduler, objectMapper, new SimpleMeterRegistry(), false, 2, Duration.ofSeconds(5));
+    }
+
+    private void givenWindow() {
+        when(dailyPlanRepository.findPendingFrom(eq(ROADMAP_ID), eq(1), eq(6), any(Pageable.class)))
+                .thenReturn(List.of(week1Day6, week1Day7, week2Day1));
+    }
+
+    private void givenLatestJob(GenerationJobStatus status, boolean refunded) {
+        GenerationJob job = GenerationJob.builder()
+                .jobType(GenerationJobType.WORKSHEET)
+                .memberId(MEMBER_ID)
+                .roadmapId(ROADMAP_ID)
+                .payload("{\"mainCategory\":\"프로그래밍 언어\",\"subCategory\":\"자바\"}")
+                .ticketUsageId(100L)
+                .maxAttempts(3)
+                .build();
+        ReflectionTestUtils.setField(job, "id", 1L);
+        ReflectionTestUtils.setField(job, "status", status);
+        ReflectionTestUtils.setField(job, "ticketRefunded", refunded);
+        when(generationJobRepository.findFirstByRoadmapIdAndMemberIdAndJobTypeOrderByIdDesc(
+                ROADMAP_ID, MEMBER_ID, GenerationJobType.WORKSHEET)).thenReturn(Optional.of(job));
+    }
+
+    private void awaitCount(String role, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(role) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(count(role)).isEqualTo(expected);
+    }
+
+    private double count(String role) {
+        return meterRegistry.counter("worksheet.on_demand.days", "role", role).count();
+    }
+
+    private double gauge() {
+        return meterRegistry.get("worksheet.on_demand.in_flight").gauge().value();
+    }
+
+    private static WeeklyPlan weeklyPlan(Long id, int weekNumber) {
+        WeeklyPlan weeklyPlan = WeeklyPlan.builder().weekNumber(weekNumber).keyword(weekNumber + "주차").build();
+        ReflectionTestUtils.setField(weeklyPlan, "id", id);
+        return weeklyPlan;
+    }
+
+    private static DailyPlan dailyPlan(Long id, WeeklyPlan weeklyPlan, int dayNumber) {
+        DailyPlan dailyPlan = DailyPlan.builder().dayNumber(dayNumber).keyword(dayNumber + "일차").weeklyPlan(weeklyPlan).build();
+        ReflectionTestUtils.setField(dailyPlan, "id", id);
+        return dailyPlan;
+    }
+}
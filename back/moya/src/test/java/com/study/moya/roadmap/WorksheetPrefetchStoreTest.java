@@ -0,0 +1,151 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.study.moya.ai_roadmap.service.WorksheetPrefetchStore;
+import com.study.moya.ai_roadmap.util.WorksheetCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+@ExtendWith(MockitoExtension.class)
+class WorksheetPrefetchStoreTest {
+
+    private static final Long ROADMAP_ID = 3L;
+    private static final List<String> KEYS = List.of("worksheet:prefetch:3");
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private WorksheetPrefetchStore prefetchStore;
+
+    @BeforeEach
+    void setUp() {
+        prefetchStore = store(true, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("조회와 삭제를 스크립트 한 번으로 처리하고 일차 ID 별 학습지를 돌려준다")
+    @SuppressWarnings("unchecked")
+    void claimsAtomically() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS)))
+                .thenReturn(List.of("11", WorksheetCodec.encode("1일차 학습지"), "12", "2일차 학습지"));
+
+        Map<Long, String> worksheets = prefetchStore.claim(ROADMAP_ID);
+
+        ArgumentCaptor<RedisScript<?>> script = ArgumentCaptor.forClass(RedisScript.class);
+        verify(redisTemplate).execute(script.capture(), eq(KEYS));
+        assertThat(script.getValue().getScriptAsString()).contains("HGETALL").contains("DEL");
+        assertThat(worksheets).containsOnly(Map.entry(11L, "1일차 학습지"), Map.entry(12L, "2일차 학습지"));
+        assertThat(meterRegistry.counter("worksheet.prefetch.days", "result", "claimed").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("이미 가져갔거나 없는 결과는 빈 맵을 돌려준다")
+    @SuppressWarnings("unchecked")
+    void claimWithoutEntries() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS))).thenReturn(List.of());
+
+        assertThat(prefetchStore.claim(ROADMAP_ID)).isEmpty();
+        assertThat(meterRegistry.counter("worksheet.prefetch.days", "result", "claimed").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Redis 장애면 빈 맵을 돌려줘 전체 일차를 생성하게 한다")
+    @SuppressWarnings("unchecked")
+    void claimSurvivesRedisFailure() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS)))
+                .thenThrow(new RedisConnectionFailureException("연결 실패"));
+
+        assertThat(prefetchStore.claim(ROADMAP_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("비활성화되어 있으면 Redis 를 건드리지 않는다")
+    void disabledStore() {
+        prefetchStore = store(false, Duration.ofSeconds(5));
+
+        prefetchStore.save(ROADMAP_ID, Map.of(11L, "학습지"));
+
+        assertThat(prefetchStore.claim(ROADMAP_ID)).isEmpty();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("진행 중인 미리 생성이 있으면 끝날 때까지 기다린 뒤 가져간다")
+    @SuppressWarnings("unchecked")
+    void claimAwaitsInFlightPrefetch() {
+        AtomicBoolean prefetched = new AtomicBoolean();
+        CompletableFuture<Void> task = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            prefetched.set(true);
+            task.complete(null);
+        }, 100, TimeUnit.MILLISECONDS);
+        prefetchStore.track(ROADMAP_ID, task);
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS)))
+                .thenAnswer(invocation -> prefetched.get() ? List.of("11", "학습지") : List.of());
+
+        assertThat(prefetchStore.claim(ROADMAP_ID)).containsOnly(Map.entry(11L, "학습지"));
+    }
+
+    @Test
+    @DisplayName("미리 생성이 join-timeout 안에 끝나지 않으면 기다리지 않고 진행한다")
+    @SuppressWarnings("unchecked")
+    void claimStopsWaitingAfterTimeout() {
+        prefetchStore = store(true, Duration.ofMillis(50));
+        prefetchStore.track(ROADMAP_ID, new CompletableFuture<>());
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS))).thenReturn(List.of());
+
+        long startedAt = System.nanoTime();
+        assertThat(prefetchStore.claim(ROADMAP_ID)).isEmpty();
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("끝난 미리 생성 작업은 등록에서 빠져 다음 claim 이 기다리지 않는다")
+    @SuppressWarnings("unchecked")
+    void completedTaskIsUntracked() {
+        prefetchStore = store(true, Duration.ofSeconds(30));
+        CompletableFuture<Void> task = new CompletableFuture<>();
+        prefetchStore.track(ROADMAP_ID, task);
+        task.completeExceptionally(new IllegalStateException("미리 생성 실패"));
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS))).thenReturn(List.of());
+
+        long startedAt = System.nanoTime();
+        assertThat(prefetchStore.claim(ROADMAP_ID)).isEmpty();
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    private WorksheetPrefetchStore store(boolean enabled, Duration joinTimeout) {
+        return new WorksheetPrefetchStore(redisTemplate, meterRegistry, enabled, Duration.ofHours(6), joinTimeout);
+    }
+}
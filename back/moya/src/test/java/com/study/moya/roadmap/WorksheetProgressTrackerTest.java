@@ -0,0 +1,156 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.study.moya.ai_roadmap.domain.DailyPlan;
+import com.study.moya.ai_roadmap.dto.response.WorksheetProgressEvent;
+import com.study.moya.ai_roadmap.service.WorksheetProgressTracker;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class WorksheetProgressTrackerTest {
+
+    private static final Long ROADMAP_ID = 3L;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    // Redis 대신 쓰는 메모리 저장소
+    private final Map<String, String> values = new HashMap<>();
+    private final Map<String, Set<String>> sets = new HashMap<>();
+
+    private WorksheetProgressTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        lenient().doAnswer(invocation -> values.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        lenient().when(valueOperations.get(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        lenient().when(setOperations.add(anyString(), any(String[].class))).thenAnswer(invocation -> {
+            Object[] arguments = invocation.getRawArguments();
+            Set<String> members = sets.computeIfAbsent((String) arguments[0], key -> new HashSet<>());
+            return Arrays.stream((String[]) arguments[1]).filter(members::add).count();
+        });
+        lenient().when(setOperations.size(anyString()))
+                .thenAnswer(invocation -> (long) sets.getOrDefault(invocation.<String>getArgument(0), Set.of()).size());
+        lenient().when(redisTemplate.delete(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            keys.forEach(key -> {
+                values.remove(key);
+                sets.remove(key);
+            });
+            return (long) keys.size();
+        });
+
+        tracker = new WorksheetProgressTracker(redisTemplate, messagingTemplate, Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("그룹 저장 후 완료 알림 전에 DB 에서 채워도 같은 일차를 두 번 세지 않는다")
+    void seedBeforeGroupNoticeDoesNotDoubleCount() {
+        tracker.seed(ROADMAP_ID, 10, List.of(11L, 12L, 13L));
+
+        tracker.onGroupCompleted(ROADMAP_ID, plans(12L, 13L));
+
+        assertThat(tracker.findProgress(ROADMAP_ID)).contains(30L);
+        assertThat(sentEvent().getReady()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("다시 채워도 이미 준비된 일차는 유지되고 새 일차만 더해진다")
+    void reseedMergesReadyDays() {
+        tracker.seed(ROADMAP_ID, 4, List.of(11L));
+        tracker.onGroupCompleted(ROADMAP_ID, plans(12L));
+
+        tracker.seed(ROADMAP_ID, 4, List.of(11L, 12L, 13L));
+
+        assertThat(tracker.findProgress(ROADMAP_ID)).contains(75L);
+    }
+
+    @Test
+    @DisplayName("작업 도중 지워졌으면 이벤트를 보내지 않고, 다음 조회 때 DB 기준으로 채워진다")
+    void groupAfterEvictWaitsForSeed() {
+        tracker.seed(ROADMAP_ID, 4, List.of(11L));
+        tracker.evict(ROADMAP_ID);
+
+        tracker.onGroupCompleted(ROADMAP_ID, plans(12L));
+
+        assertThat(tracker.findProgress(ROADMAP_ID)).isEmpty();
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+
+        tracker.seed(ROADMAP_ID, 4, List.of(11L, 12L));
+        assertThat(tracker.findProgress(ROADMAP_ID)).contains(50L);
+    }
+
+    @Test
+    @DisplayName("마지막 그룹이 저장되면 완료 이벤트를 보낸다")
+    void lastGroupCompletes() {
+        tracker.seed(ROADMAP_ID, 2, List.of(11L));
+
+        tracker.onGroupCompleted(ROADMAP_ID, plans(12L));
+
+        WorksheetProgressEvent event = sentEvent();
+        assertThat(event.getReadyDailyPlanIds()).containsExactly(12L);
+        assertThat(event.getProgress()).isEqualTo(100);
+        assertThat(event.isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 진행률은 비어 있어 DB 에서 계산하게 한다")
+    void redisFailureFallsBackToDatabase() {
+        lenient().when(redisTemplate.opsForValue()).thenThrow(new IllegalStateException("연결 실패"));
+
+        assertThat(tracker.findProgress(ROADMAP_ID)).isEmpty();
+    }
+
+    private WorksheetProgressEvent sentEvent() {
+        ArgumentCaptor<WorksheetProgressEvent> event = ArgumentCaptor.forClass(WorksheetProgressEvent.class);
+        verify(messagingTemplate).convertAndSend(eq(WorksheetProgressTracker.destination(ROADMAP_ID)), event.capture());
+        return event.getValue();
+    }
+
+    private static List<DailyPlan> plans(Long... ids) {
+        return Arrays.stream(ids).map(id -> {
+            DailyPlan plan = DailyPlan.builder().dayNumber(1).keyword("키워드").build();
+            ReflectionTestUtils.setField(plan, "id", id);
+            return plan;
+        }).toList();
+    }
+}
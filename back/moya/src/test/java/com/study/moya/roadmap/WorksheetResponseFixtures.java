@@ -0,0 +1,74 @@
+package com.study.moya.roadmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 학습지 응답 파서 동등성 검증/벤치마크용 응답 모음.
+ * 프롬프트 형식을 지킨 응답과 모델이 자주 어기는 형식(마크다운, 코드 블록, 불릿, CRLF, 구분자 변형)을 함께 담았다.
+ */
+public final class WorksheetResponseFixtures {
+
+    private static final String PARAGRAPH = "스프링의 의존성 주입은 객체 간 결합도를 낮추고 테스트를 쉽게 만들어 줍니다. "
+            + "실무에서는 생성자 주입을 사용하는 것이 좋으며, 순환 참조가 생기지 않도록 주의해야 합니다.";
+
+    private WorksheetResponseFixtures() {
+    }
+
+    public static List<String> corpus() {
+        List<String> corpus = new ArrayList<>();
+        corpus.add(wellFormed(7));
+        corpus.add(wellFormed(3).replace("\n", "\r\n"));
+        corpus.add("""
+                ## 학습 가이드
+                - === DAY 1 ===
+                ### 핵심 학습 내용
+                %s
+
+                * 실습: `@Autowired` 대신 생성자 주입을 사용합니다.
+                1. 주의사항: C# 과 달리 자바는 프로퍼티 문법이 없습니다.
+
+                === DAY 2 ===
+                ```java
+                public class Hello {}
+                ```
+                인라인 ```코드``` 는 지우고 %s
+
+                === DAY 3 ===
+                짧은 내용
+                """.formatted(PARAGRAPH, PARAGRAPH));
+        corpus.add("1. === DAY 1 === " + PARAGRAPH + "====DAY 2 === " + PARAGRAPH + "=== DAY 2 === 덮어쓰기 " + PARAGRAPH);
+        corpus.add("- " + wellFormed(2) + "\n\n\n   \n" + "=== DAY 3 ===\t\n\n" + PARAGRAPH + "\u2028");
+        corpus.add("```" + wellFormed(2) + "```");
+        corpus.add("=== DAY 1 ===\n" + PARAGRAPH + "\n=== DAY x ===\n" + PARAGRAPH + "\n===   DAY   5   ===" + PARAGRAPH);
+        corpus.add(largeResponse(new Random(7), 28));
+        return corpus;
+    }
+
+    public static String wellFormed(int days) {
+        StringBuilder builder = new StringBuilder();
+        for (int day = 1; day <= days; day++) {
+            builder.append("=== DAY ").append(day).append(" ===\n")
+                    .append(day).append("일차에서는 ").append(PARAGRAPH).append("\n\n")
+                    .append("핵심 학습 내용은 다음과 같습니다. ").append(PARAGRAPH).append("\n\n");
+        }
+        return builder.toString().trim();
+    }
+
+    /**
+     * 섹션마다 마크다운 헤더/불릿/빈 줄이 섞인 큰 응답 (벤치마크용)
+     */
+    public static String largeResponse(Random random, int days) {
+        StringBuilder builder = new StringBuilder();
+        for (int day = 1; day <= days; day++) {
+            builder.append("=== DAY ").append(day).append(" ===\n\n");
+            int paragraphs = 4 + random.nextInt(4);
+            for (int i = 0; i < paragraphs; i++) {
+                builder.append(random.nextBoolean() ? "## 학습 목표\n" : "- ")
+                        .append(PARAGRAPH).append(random.nextBoolean() ? "\n\n \n" : "\n");
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.study.moya.roadmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.study.moya.ai_roadmap.util.WorksheetResponseParser;
+import com.study.moya.ai_roadmap.util.WorksheetStreamParser;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class WorksheetStreamParserTest {
+
+    private static final String[] TOKENS = {
+            "=== DAY 1 ===", "===DAY 2===", "====DAY 4 ===", "=== DAY", " DAY ", "===", "==", "=",
+            "```", "``", "`", "```java\n", "#", "## ", "C# ", "- ", "* ", "1. ", "12. ", "1.",
+            "\n", "\n\n", "\r\n", " \n \n", "\t", " ", "\u0085", "\u2028", "\u000B", "\u0001", "99999999999", ".",
+            "학습 가이드 내용은 충분히 길게 작성되어야 하며 실습 예제를 포함합니다.", "짧음"
+    };
+
+    private final WorksheetResponseParser parser = new WorksheetResponseParser();
+
+    @Test
+    @DisplayName("응답 모음에서 기존 정규식 파서와 같은 결과를 낸다")
+    void matchesLegacyParserOnCorpus() {
+        for (String response : WorksheetResponseFixtures.corpus()) {
+            assertThat(parser.parseResponse(response)).isEqualTo(LegacyWorksheetResponseParser.parseResponse(response));
+            assertThat(parseInChunks(response, new Random(response.length())))
+                    .isEqualTo(LegacyWorksheetResponseParser.parseResponse(response));
+        }
+    }
+
+    @Test
+    @DisplayName("무작위로 섞은 형식 조각에서도 결과와 실패 여부가 기존 파서와 같다")
+    void matchesLegacyParserOnRandomInput() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String response = randomResponse(random);
+            Object expected = parseOrFailure(() -> LegacyWorksheetResponseParser.parseResponse(response));
+
+            assertThat(parseOrFailure(() -> parser.parseResponse(response))).as(response).isEqualTo(expected);
+            assertThat(parseOrFailure(() -> parseInChunks(response, random))).as(response).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("다음 일차 구분자가 들어오는 즉시 앞 일차를 반환한다")
+    void emitsDayWhenNextHeaderArrives() {
+        String response = WorksheetResponseFixtures.wellFormed(2);
+        int secondDay = response.indexOf("=== DAY 2");
+        WorksheetStreamParser streamParser = parser.newStreamParser();
+
+        Map<Integer, String> firstPart = streamParser.feed(response.substring(0, secondDay));
+        Map<Integer, String> header = streamParser.feed(response.substring(secondDay, secondDay + 9));
+        Map<Integer, String> rest = streamParser.feed(response.substring(secondDay + 9));
+        Map<Integer, String> all = streamParser.finish();
+
+        assertThat(firstPart).isEmpty();
+        assertThat(header).containsOnlyKeys(1);
+        assertThat(rest).isEmpty();
+        assertThat(all).containsOnlyKeys(1, 2);
+    }
+
+    @Test
+    @DisplayName("유효한 일차가 없으면 기존과 같이 실패한다")
+    void failsWithoutDays() {
+        assertThatThrownBy(() -> parser.parseResponse("=== DAY 1 === 짧음")).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> parser.parseResponse(null)).isInstanceOf(RuntimeException.class);
+    }
+
+    private Map<Integer, String> parseInChunks(String response, Random random) {
+        WorksheetStreamParser streamParser = parser.newStreamParser();
+        for (int start = 0; start < response.length(); ) {
+            int end = Math.min(response.length(), start + 1 + random.nextInt(8));
+            streamParser.feed(response.substring(start, end));
+            start = end;
+        }
+        return streamParser.finish();
+    }
+
+    private static String randomResponse(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int tokens = 1 + random.nextInt(25);
+        for (int i = 0; i < tokens; i++) {
+            int kind = random.nextInt(10);
+            if (kind < 3) {
+                builder.append("=== DAY ").append(random.nextInt(8)).append(" ===").append(random.nextBoolean() ? "\n" : "");
+            } else if (kind < 6) {
+                builder.append(TOKENS[TOKENS.length - 2]);
+            } else {
+                builder.append(TOKENS[random.nextInt(TOKENS.length)]);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static Object parseOrFailure(Supplier<Map<Integer, String>> parse) {
+        try {
+            return parse.get();
+        } catch (RuntimeException e) {
+            return "실패";
+        }
+    }
+}